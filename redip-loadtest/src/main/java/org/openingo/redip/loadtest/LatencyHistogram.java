@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram
+ *
+ * 无锁延迟分布，每个2的幂区间再分4个子桶，相对误差不超过19%
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:30
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKETS = 4;
+
+	private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+	/**
+	 * 记录一次延迟
+	 * @param nanos 单位ns
+	 */
+	public void record(long nanos) {
+		this.counts.incrementAndGet(index(Math.max(1, nanos)));
+	}
+
+	/**
+	 * 当前分布，与上一次的快照相减即为区间分布
+	 * @return counts
+	 */
+	public long[] snapshot() {
+		long[] snapshot = new long[this.counts.length()];
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = this.counts.get(i);
+		}
+		return snapshot;
+	}
+
+	public static long[] minus(long[] current, long[] previous) {
+		long[] interval = new long[current.length];
+		for (int i = 0; i < current.length; i++) {
+			interval[i] = current[i] - previous[i];
+		}
+		return interval;
+	}
+
+	public static long count(long[] counts) {
+		long count = 0;
+		for (long c : counts) {
+			count += c;
+		}
+		return count;
+	}
+
+	/**
+	 * 分位数的估算值，返回所在桶的上限
+	 * @param counts 分布
+	 * @param quantile 分位，如0.99
+	 * @return 单位ms，无记录时为0
+	 */
+	public static double percentileMillis(long[] counts, double quantile) {
+		long total = count(counts);
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * quantile));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return upperBound(i) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+			}
+		}
+		return upperBound(counts.length - 1) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private static int index(long nanos) {
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		if (exponent < 2) {
+			return (int) nanos - 1;
+		}
+		int sub = (int) ((nanos >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+		return exponent * SUB_BUCKETS + sub;
+	}
+
+	private static long upperBound(int index) {
+		int exponent = index / SUB_BUCKETS;
+		int sub = index % SUB_BUCKETS;
+		if (exponent < 2) {
+			return index + 1;
+		}
+		return (1L << exponent) + ((long) (sub + 1) << (exponent - 2)) - 1;
+	}
+}
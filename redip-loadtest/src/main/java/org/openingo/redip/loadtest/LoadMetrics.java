@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadMetrics
+ *
+ * 各模拟节点共享的压测指标，节点以各自的类加载器加载redip，指标类由压测主程序加载，只以jdk类型交互
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:35
+ */
+@Getter
+public final class LoadMetrics {
+
+	/**
+	 * 写入次数
+	 */
+	private final LongAdder writes = new LongAdder();
+
+	/**
+	 * 写入的词数
+	 */
+	private final LongAdder writtenWords = new LongAdder();
+
+	/**
+	 * 写入失败次数
+	 */
+	private final LongAdder writeErrors = new LongAdder();
+
+	/**
+	 * 节点轮询次数，每次检测一个词典
+	 */
+	private final LongAdder polls = new LongAdder();
+
+	/**
+	 * 轮询失败次数
+	 */
+	private final LongAdder pollErrors = new LongAdder();
+
+	/**
+	 * 全量reload次数
+	 */
+	private final LongAdder reloads = new LongAdder();
+
+	/**
+	 * 增量应用次数
+	 */
+	private final LongAdder applies = new LongAdder();
+
+	/**
+	 * 未检测到变化的轮询耗时
+	 */
+	private final LatencyHistogram checkLatency = new LatencyHistogram();
+
+	/**
+	 * 检测到变化并获取词库的轮询耗时
+	 */
+	private final LatencyHistogram fetchLatency = new LatencyHistogram();
+
+	/**
+	 * 写入的新词到达各节点词典的延迟
+	 */
+	private final LatencyHistogram propagationLag = new LatencyHistogram();
+
+	/**
+	 * 新词到达的节点数
+	 */
+	private final LongAdder arrivals = new LongAdder();
+
+	/**
+	 * 新词 => 写入时间，单位ns
+	 */
+	private final Map<String, Long> writtenAt = new ConcurrentHashMap<>();
+
+	/**
+	 * 新词写入前记录写入时间，新词可能在写入返回前即被节点获取
+	 * @param words 新词
+	 */
+	public void writing(String... words) {
+		long now = System.nanoTime();
+		for (String word : words) {
+			this.writtenAt.put(word, now);
+		}
+	}
+
+	public void written(int words) {
+		this.writes.increment();
+		this.writtenWords.add(words);
+	}
+
+	/**
+	 * 写入失败的新词不再等待到达
+	 * @param words 新词
+	 */
+	public void failed(String... words) {
+		this.writeErrors.increment();
+		for (String word : words) {
+			this.writtenAt.remove(word);
+		}
+	}
+
+	/**
+	 * 新词到达节点词典
+	 * @param word 词
+	 * @return true为压测写入的新词
+	 */
+	public boolean arrived(String word) {
+		Long writtenAt = this.writtenAt.get(word);
+		if (writtenAt == null) {
+			return false;
+		}
+		this.propagationLag.record(System.nanoTime() - writtenAt);
+		this.arrivals.increment();
+		return true;
+	}
+
+	public void polled(long nanos, boolean fetched) {
+		this.polls.increment();
+		(fetched ? this.fetchLatency : this.checkLatency).record(nanos);
+	}
+
+	/**
+	 * 尚未到达全部节点的新词数
+	 * @param nodes 节点数
+	 */
+	public long pending(int nodes) {
+		return Math.max(0, this.writtenAt.size() * (long) nodes - this.arrivals.sum());
+	}
+
+	static double perSecond(long count, long nanos) {
+		return nanos <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.loadtest.standin.StandIn;
+
+import java.util.Objects;
+
+/**
+ * LoadReport
+ *
+ * 按间隔输出区间指标，结束时输出汇总：写入速率、词源QPS、轮询耗时分位、reload/增量次数、传播延迟
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:35
+ */
+@Slf4j
+final class LoadReport {
+
+	private final LoadScenario scenario;
+
+	private final LoadMetrics metrics;
+
+	private final StandIn standIn;
+
+	private final long startNanos = System.nanoTime();
+
+	private Sample previous;
+
+	LoadReport(LoadScenario scenario, LoadMetrics metrics, StandIn standIn) {
+		this.scenario = scenario;
+		this.metrics = metrics;
+		this.standIn = standIn;
+		this.previous = this.sample();
+	}
+
+	/**
+	 * 输出上次报告以来的区间指标
+	 */
+	synchronized void interval() {
+		Sample current = this.sample();
+		Sample previous = this.previous;
+		this.previous = current;
+		long nanos = current.nanos - previous.nanos;
+		long[] check = LatencyHistogram.minus(current.check, previous.check);
+		long[] fetch = LatencyHistogram.minus(current.fetch, previous.fetch);
+		long[] lag = LatencyHistogram.minus(current.lag, previous.lag);
+		log.info("[{}s] writes {}/s words {}/s | backend {} | polls {}/s errors {} | check p50 {}ms p99 {}ms | fetch p50 {}ms p99 {}ms | reloads {} applies {} | lag p50 {}ms p99 {}ms max {}ms pending {}",
+				(current.nanos - this.startNanos) / 1_000_000_000L,
+				rate(current.writes - previous.writes, nanos),
+				rate(current.words - previous.words, nanos),
+				this.backend(current.requests - previous.requests, nanos),
+				rate(current.polls - previous.polls, nanos),
+				current.pollErrors - previous.pollErrors,
+				millis(check, 0.5), millis(check, 0.99),
+				millis(fetch, 0.5), millis(fetch, 0.99),
+				current.reloads - previous.reloads,
+				current.applies - previous.applies,
+				millis(lag, 0.5), millis(lag, 0.99), millis(lag, 1),
+				this.metrics.pending(this.scenario.getNodes()));
+	}
+
+	/**
+	 * 输出全程汇总
+	 */
+	synchronized void summary() {
+		Sample current = this.sample();
+		long nanos = current.nanos - this.startNanos;
+		log.info("summary: etymology '{}', '{}' nodes, '{}' domains, '{}'s", this.scenario.getEtymology(), this.scenario.getNodes(),
+				this.scenario.getDomains(), nanos / 1_000_000_000L);
+		log.info("summary: writes '{}' ({}/s), words '{}', write errors '{}'", current.writes, rate(current.writes, nanos),
+				current.words, this.metrics.getWriteErrors().sum());
+		log.info("summary: backend {}, polls '{}' ({}/s), poll errors '{}'", this.backend(current.requests, nanos), current.polls,
+				rate(current.polls, nanos), current.pollErrors);
+		log.info("summary: check latency p50 {}ms p90 {}ms p99 {}ms p999 {}ms", millis(current.check, 0.5), millis(current.check, 0.9),
+				millis(current.check, 0.99), millis(current.check, 0.999));
+		log.info("summary: fetch latency p50 {}ms p90 {}ms p99 {}ms p999 {}ms", millis(current.fetch, 0.5), millis(current.fetch, 0.9),
+				millis(current.fetch, 0.99), millis(current.fetch, 0.999));
+		log.info("summary: reloads '{}', applies '{}'", current.reloads, current.applies);
+		log.info("summary: propagation lag p50 {}ms p90 {}ms p99 {}ms max {}ms, arrivals '{}', not arrived '{}'", millis(current.lag, 0.5),
+				millis(current.lag, 0.9), millis(current.lag, 0.99), millis(current.lag, 1), this.metrics.getArrivals().sum(),
+				this.metrics.pending(this.scenario.getNodes()));
+	}
+
+	private Sample sample() {
+		Sample sample = new Sample();
+		sample.nanos = System.nanoTime();
+		sample.writes = this.metrics.getWrites().sum();
+		sample.words = this.metrics.getWrittenWords().sum();
+		sample.requests = Objects.isNull(this.standIn) ? 0 : this.standIn.requests();
+		sample.polls = this.metrics.getPolls().sum();
+		sample.pollErrors = this.metrics.getPollErrors().sum();
+		sample.reloads = this.metrics.getReloads().sum();
+		sample.applies = this.metrics.getApplies().sum();
+		sample.check = this.metrics.getCheckLatency().snapshot();
+		sample.fetch = this.metrics.getFetchLatency().snapshot();
+		sample.lag = this.metrics.getPropagationLag().snapshot();
+		return sample;
+	}
+
+	/**
+	 * 外部词源无法统计服务端请求数
+	 */
+	private String backend(long requests, long nanos) {
+		return Objects.isNull(this.standIn) ? "n/a" : String.format("%s req/s", rate(requests, nanos));
+	}
+
+	private static String rate(long count, long nanos) {
+		return String.format("%.1f", LoadMetrics.perSecond(count, nanos));
+	}
+
+	private static String millis(long[] counts, double quantile) {
+		return String.format("%.2f", LatencyHistogram.percentileMillis(counts, quantile));
+	}
+
+	private static final class Sample {
+		long nanos;
+		long writes;
+		long words;
+		long requests;
+		long polls;
+		long pollErrors;
+		long reloads;
+		long applies;
+		long[] check;
+		long[] fetch;
+		long[] lag;
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import lombok.Data;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+
+/**
+ * LoadScenario
+ *
+ * 压测场景，参数以 --name=value 形式传入，name为字段名的中划线形式，如 --write-rate=20
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:20
+ */
+@Data
+public class LoadScenario {
+
+	/**
+	 * 词源：mysql、redis、http
+	 */
+	String etymology = "mysql";
+
+	/**
+	 * 模拟的es节点数，每个节点独立加载redip，拥有各自的RemoteDictionary实例
+	 */
+	int nodes = 20;
+
+	/**
+	 * 领域数，每个节点为每个领域持有一个词典
+	 */
+	int domains = 10;
+
+	/**
+	 * 每个领域的初始词数
+	 */
+	int seedWords = 1000;
+
+	/**
+	 * 每秒写入次数，0为只读压测
+	 */
+	int writeRate = 10;
+
+	/**
+	 * 每次写入的词数
+	 */
+	int wordsPerWrite = 1;
+
+	/**
+	 * 节点轮询间隔，单位ms，ik插件默认60s
+	 */
+	long pollInterval = 1000;
+
+	/**
+	 * 轮询线程数，所有节点共用
+	 */
+	int pollThreads = 16;
+
+	/**
+	 * 压测时长，单位s
+	 */
+	long duration = 60;
+
+	/**
+	 * 报告间隔，单位s
+	 */
+	long reportInterval = 5;
+
+	/**
+	 * 节点是否开启词库缓存
+	 */
+	boolean cache = false;
+
+	/**
+	 * http词源是否长轮询
+	 */
+	boolean longPoll = false;
+
+	/**
+	 * redis词源的分桶数
+	 */
+	int redisBuckets = 1;
+
+	/**
+	 * mysql、redis词源的节点是否读取快照，快照由写入方在后台生成
+	 */
+	boolean snapshot = false;
+
+	/**
+	 * 是否使用本地替身(内嵌jdbc库、内嵌redis协议服务、本地http服务)，为false时压测下列外部服务
+	 */
+	boolean standIn = true;
+
+	String mysqlUrl;
+
+	String mysqlUsername;
+
+	String mysqlPassword;
+
+	String redisHost;
+
+	int redisPort = 6379;
+
+	String httpBase;
+
+	/**
+	 * 解析命令行参数
+	 * @param args --name=value
+	 * @return scenario
+	 */
+	public static LoadScenario parse(String... args) {
+		LoadScenario scenario = new LoadScenario();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException(String.format("the argument '%s' is illegal, expect --name=value", arg));
+			}
+			String name = arg.substring(2, arg.indexOf('='));
+			scenario.set(name, arg.substring(arg.indexOf('=') + 1));
+		}
+		return scenario;
+	}
+
+	private void set(String name, String value) {
+		StringBuilder fieldName = new StringBuilder();
+		for (String part : name.split("-")) {
+			fieldName.append(fieldName.length() == 0 ? part : part.substring(0, 1).toUpperCase(Locale.ROOT) + part.substring(1));
+		}
+		try {
+			Field field = LoadScenario.class.getDeclaredField(fieldName.toString());
+			if (Modifier.isStatic(field.getModifiers())) {
+				throw new NoSuchFieldException(name);
+			}
+			Class<?> type = field.getType();
+			if (int.class.equals(type)) {
+				field.setInt(this, Integer.parseInt(value));
+			} else if (long.class.equals(type)) {
+				field.setLong(this, Long.parseLong(value));
+			} else if (boolean.class.equals(type)) {
+				field.setBoolean(this, Boolean.parseBoolean(value));
+			} else {
+				field.set(this, value);
+			}
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalArgumentException(String.format("the argument '%s' is unknown", name), e);
+		}
+	}
+
+	/**
+	 * 第index个领域
+	 */
+	public String domain(int index) {
+		return String.format("loadtest-%d", index);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.loadtest.node.SimulatedNode;
+import org.openingo.redip.loadtest.standin.StandIn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoadTest
+ *
+ * 压测入口：启动词源替身(或使用外部词源)，写入初始词，启动N个模拟es节点轮询M个领域的词典，
+ * 按写入速率写入新词，定期输出指标，结束后等待新词传播并输出汇总
+ *
+ * 例：--etymology=redis --nodes=50 --domains=20 --write-rate=100 --poll-interval=1000 --duration=300
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:40
+ */
+@Slf4j
+public final class LoadTest {
+
+	/**
+	 * 停止写入后等待新词传播的最短时间，单位ms
+	 */
+	private static final long MIN_DRAIN_MILLIS = 5000;
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadScenario scenario = LoadScenario.parse(args);
+		log.info("load test scenario '{}'", scenario);
+		StandIn standIn = scenario.isStandIn() ? StandIn.of(scenario.getEtymology()) : null;
+		if (Objects.isNull(standIn) && "http".equals(scenario.getEtymology()) && scenario.getWriteRate() > 0) {
+			log.warn("the 'http' etymology does not support adding words, run read-only against '{}'.", scenario.getHttpBase());
+			scenario.setWriteRate(0);
+		}
+		if (Objects.nonNull(standIn)) {
+			standIn.start(scenario);
+		}
+		LoadMetrics metrics = new LoadMetrics();
+		LoadWriter writer = new LoadWriter(scenario, metrics, standIn);
+		writer.seed();
+		List<Runnable> nodes = new ArrayList<>(scenario.getNodes());
+		for (int id = 0; id < scenario.getNodes(); id++) {
+			nodes.add(startNode(scenario, id, metrics));
+		}
+		log.info("'{}' simulated nodes are started.", nodes.size());
+
+		ScheduledExecutorService pollers = Executors.newScheduledThreadPool(scenario.getPollThreads(), new NamedThreadFactory("redip-loadtest-poll"));
+		for (Runnable node : nodes) {
+			// 节点启动时间错开，避免同时轮询
+			long delay = ThreadLocalRandom.current().nextLong(Math.max(1, scenario.getPollInterval()));
+			pollers.scheduleWithFixedDelay(node, delay, scenario.getPollInterval(), TimeUnit.MILLISECONDS);
+		}
+		ScheduledExecutorService writers = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("redip-loadtest-write"));
+		if (scenario.getWriteRate() > 0) {
+			writers.scheduleAtFixedRate(writer, 0, TimeUnit.SECONDS.toNanos(1) / scenario.getWriteRate(), TimeUnit.NANOSECONDS);
+		}
+		LoadReport report = new LoadReport(scenario, metrics, standIn);
+		ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("redip-loadtest-report"));
+		reporter.scheduleAtFixedRate(report::interval, scenario.getReportInterval(), scenario.getReportInterval(), TimeUnit.SECONDS);
+
+		TimeUnit.SECONDS.sleep(scenario.getDuration());
+		writers.shutdown();
+		writers.awaitTermination(10, TimeUnit.SECONDS);
+		long drainDeadline = System.currentTimeMillis() + Math.max(MIN_DRAIN_MILLIS, scenario.getPollInterval() * 3);
+		while (metrics.pending(scenario.getNodes()) > 0 && System.currentTimeMillis() < drainDeadline) {
+			TimeUnit.MILLISECONDS.sleep(100);
+		}
+		reporter.shutdown();
+		pollers.shutdownNow();
+		report.summary();
+		if (Objects.nonNull(standIn)) {
+			standIn.close();
+		}
+		// 各节点的词源连接及线程随进程退出关闭
+		System.exit(0);
+	}
+
+	/**
+	 * 以独立的类加载器创建模拟节点
+	 */
+	private static Runnable startNode(LoadScenario scenario, int id, LoadMetrics metrics) throws ReflectiveOperationException {
+		NodeClassLoader classLoader = new NodeClassLoader();
+		Class<?> nodeClass = classLoader.loadClass(SimulatedNode.class.getName());
+		return (Runnable) nodeClass.getConstructor(LoadScenario.class, int.class, LoadMetrics.class).newInstance(scenario, id, metrics);
+	}
+}
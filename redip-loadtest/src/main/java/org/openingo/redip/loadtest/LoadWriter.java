@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+import org.openingo.redip.loadtest.node.NodeProperties;
+import org.openingo.redip.loadtest.standin.StandIn;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadWriter
+ *
+ * 按场景写入新词：领域轮流写入，词源不支持addWord时(http)直接写入替身
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:30
+ */
+@Slf4j
+final class LoadWriter implements Runnable {
+
+	private static final int SEED_BATCH_SIZE = 500;
+
+	private final LoadScenario scenario;
+
+	private final LoadMetrics metrics;
+
+	private final StandIn standIn;
+
+	private final RemoteDictionaryEtymology etymology;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	LoadWriter(LoadScenario scenario, LoadMetrics metrics, StandIn standIn) {
+		this.scenario = scenario;
+		this.metrics = metrics;
+		this.standIn = standIn;
+		this.etymology = RemoteDictionaryEtymology.newEtymology(scenario.getEtymology());
+		// 写入方与模拟节点相互独立，由主程序的类加载器加载redip
+		RemoteDictionary.initial(NodeProperties.of(scenario, true));
+	}
+
+	/**
+	 * 写入各领域的初始词，不计入传播延迟
+	 */
+	void seed() {
+		for (int domain = 0; domain < this.scenario.getDomains(); domain++) {
+			for (int from = 0; from < this.scenario.getSeedWords(); from += SEED_BATCH_SIZE) {
+				String[] words = new String[Math.min(SEED_BATCH_SIZE, this.scenario.getSeedWords() - from)];
+				for (int i = 0; i < words.length; i++) {
+					words[i] = String.format("seed-%d-%d", domain, from + i);
+				}
+				this.add(this.scenario.domain(domain), words);
+			}
+		}
+		log.info("seeded '{}' words for '{}' domains.", this.scenario.getSeedWords(), this.scenario.getDomains());
+	}
+
+	@Override
+	public void run() {
+		long sequence = this.sequence.getAndIncrement();
+		String domain = this.scenario.domain((int) (sequence % this.scenario.getDomains()));
+		String[] words = new String[this.scenario.getWordsPerWrite()];
+		for (int i = 0; i < words.length; i++) {
+			words[i] = String.format("word-%d-%d", sequence, i);
+		}
+		this.metrics.writing(words);
+		try {
+			if (this.add(domain, words)) {
+				this.metrics.written(words.length);
+				return;
+			}
+		} catch (RuntimeException e) {
+			log.warn("write words to domain '{}' failure '{}'.", domain, e.getMessage());
+		}
+		this.metrics.failed(words);
+	}
+
+	private boolean add(String domain, String... words) {
+		if (Objects.nonNull(this.standIn) && this.standIn.addWords(domain, DictionaryType.MAIN_WORDS, words)) {
+			return true;
+		}
+		return RemoteDictionary.addWord(this.etymology, DictionaryType.MAIN_WORDS, domain, words);
+	}
+}
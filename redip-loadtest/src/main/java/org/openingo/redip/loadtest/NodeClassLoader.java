@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest;
+
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+import org.openingo.redip.loadtest.node.SimulatedNode;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * NodeClassLoader
+ *
+ * 模拟节点的类加载器：redip及节点类优先自行加载，使每个节点拥有独立的静态状态(RemoteDictionary、http词源的连接池及修改记录等)，
+ * 压测指标、场景及第三方依赖委托父加载器共享
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:55
+ */
+final class NodeClassLoader extends URLClassLoader {
+
+	private static final String REDIP_PACKAGE = "org.openingo.redip.";
+
+	private static final String LOADTEST_PACKAGE = "org.openingo.redip.loadtest.";
+
+	private static final String NODE_PACKAGE = SimulatedNode.class.getPackage().getName() + ".";
+
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
+
+	NodeClassLoader() {
+		super(codeSources(), NodeClassLoader.class.getClassLoader());
+	}
+
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		if (!this.isIsolated(name)) {
+			return super.loadClass(name, resolve);
+		}
+		synchronized (this.getClassLoadingLock(name)) {
+			Class<?> loaded = this.findLoadedClass(name);
+			if (Objects.isNull(loaded)) {
+				loaded = this.findClass(name);
+			}
+			if (resolve) {
+				this.resolveClass(loaded);
+			}
+			return loaded;
+		}
+	}
+
+	private boolean isIsolated(String name) {
+		if (name.startsWith(NODE_PACKAGE)) {
+			return true;
+		}
+		return name.startsWith(REDIP_PACKAGE) && !name.startsWith(LOADTEST_PACKAGE);
+	}
+
+	private static URL[] codeSources() {
+		Set<URL> urls = new LinkedHashSet<>();
+		for (Class<?> type : new Class<?>[] { RemoteDictionary.class, SimulatedNode.class }) {
+			CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+			if (Objects.isNull(codeSource)) {
+				throw new IllegalStateException(String.format("the code source of '%s' is unknown", type.getName()));
+			}
+			urls.add(codeSource.getLocation());
+		}
+		return urls.toArray(new URL[0]);
+	}
+}
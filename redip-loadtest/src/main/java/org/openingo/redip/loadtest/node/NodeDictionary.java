@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.node;
+
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+import org.openingo.redip.loadtest.LoadMetrics;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * NodeDictionary
+ *
+ * 模拟ik插件的领域词典，只保存词并统计新词到达
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:45
+ */
+final class NodeDictionary implements IDictionary {
+
+	private final URI domainUri;
+
+	private final LoadMetrics metrics;
+
+	private final Map<DictionaryType, Set<String>> words = new EnumMap<>(DictionaryType.class);
+
+	/**
+	 * 当前轮询是否交付了词库
+	 */
+	private volatile boolean fetched;
+
+	NodeDictionary(URI domainUri, LoadMetrics metrics) {
+		this.domainUri = domainUri;
+		this.metrics = metrics;
+	}
+
+	URI getDomainUri() {
+		return this.domainUri;
+	}
+
+	/**
+	 * 节点启动时加载词典
+	 */
+	void load() {
+		for (DictionaryType dictionaryType : DictionaryType.values()) {
+			this.replace(dictionaryType, RemoteDictionary.getRemoteWords(dictionaryType, this.domainUri));
+		}
+	}
+
+	/**
+	 * 开始一次轮询
+	 */
+	void polling() {
+		this.fetched = false;
+	}
+
+	boolean isFetched() {
+		return this.fetched;
+	}
+
+	@Override
+	public void reload(DictionaryType dictionaryType) {
+		this.fetched = true;
+		this.metrics.getReloads().increment();
+		this.replace(dictionaryType, RemoteDictionary.getRemoteWords(dictionaryType, this.domainUri));
+	}
+
+	@Override
+	public boolean reload(DictionaryType dictionaryType, Set<String> words) {
+		this.fetched = true;
+		this.metrics.getReloads().increment();
+		this.replace(dictionaryType, words);
+		return true;
+	}
+
+	@Override
+	public synchronized boolean apply(DictionaryDelta delta) {
+		this.fetched = true;
+		this.metrics.getApplies().increment();
+		Set<String> current = this.words.computeIfAbsent(delta.getDictionaryKey().getDictionaryType(), k -> new HashSet<>());
+		for (String word : delta.getAdded()) {
+			if (current.add(word)) {
+				this.metrics.arrived(word);
+			}
+		}
+		current.removeAll(delta.getRemoved());
+		return true;
+	}
+
+	private synchronized void replace(DictionaryType dictionaryType, Set<String> words) {
+		Set<String> current = this.words.getOrDefault(dictionaryType, Collections.emptySet());
+		for (String word : words) {
+			if (!current.contains(word)) {
+				this.metrics.arrived(word);
+			}
+		}
+		this.words.put(dictionaryType, new HashSet<>(words));
+	}
+}
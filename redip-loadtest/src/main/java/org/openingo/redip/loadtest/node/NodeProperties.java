@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.node;
+
+import org.openingo.redip.configuration.RedipConfigurationProperties;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.loadtest.LoadScenario;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * NodeProperties
+ *
+ * 按压测场景生成节点的redip配置，只开启压测的词源
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:40
+ */
+public final class NodeProperties {
+
+	private NodeProperties() {
+	}
+
+	public static RedipConfigurationProperties of(LoadScenario scenario) {
+		return of(scenario, false);
+	}
+
+	/**
+	 * @param scenario 压测场景
+	 * @param writer 是否为写入方，开启快照时由写入方生成快照
+	 * @return properties
+	 */
+	public static RedipConfigurationProperties of(LoadScenario scenario, boolean writer) {
+		RedipConfigurationProperties properties = new RedipConfigurationProperties();
+		RedipConfigurationProperties.Remote remote = properties.getRemote();
+		remote.getCache().setEnabled(scenario.isCache());
+		// 默认配置会加载本机http词源，压测时只保留压测的词源
+		remote.getHttp().setBase(null);
+		RemoteDictionaryEtymology etymology = RemoteDictionaryEtymology.newEtymology(scenario.getEtymology());
+		if (Objects.isNull(etymology)) {
+			throw new IllegalArgumentException(String.format("the etymology '%s' is unknown", scenario.getEtymology()));
+		}
+		switch (etymology) {
+			case MYSQL:
+				RemoteConfiguration.MySQL mysql = remote.getMysql();
+				mysql.setUrl(scenario.getMysqlUrl());
+				mysql.setUsername(scenario.getMysqlUsername());
+				mysql.setPassword(scenario.getMysqlPassword());
+				// 替身为内嵌h2库，由写入方按h2方言创建最新版本的表
+				mysql.setSchemaMigration(scenario.isStandIn() ? "migrate" : "validate");
+				// 每个节点一个连接池，节点多时限制单节点连接数
+				mysql.getPool().setMaximumPoolSize(2);
+				mysql.getPool().setMinimumIdle(1);
+				break;
+			case REDIS:
+				remote.getRedis().setHost(scenario.getRedisHost());
+				remote.getRedis().setPort(scenario.getRedisPort());
+				remote.getRedis().setBuckets(scenario.getRedisBuckets());
+				break;
+			case HTTP:
+				remote.getHttp().setBase(scenario.getHttpBase());
+				remote.getHttp().setLongPoll(scenario.isLongPoll());
+				break;
+			default:
+				throw new IllegalArgumentException(String.format("the etymology '%s' is not supported by load test", scenario.getEtymology()));
+		}
+		if (scenario.isSnapshot()) {
+			RemoteConfiguration.Snapshot snapshot = remote.getSnapshot();
+			snapshot.setEnabled(true);
+			snapshot.setCompact(writer);
+			// 压测词库较小，新增少量词即重新生成快照
+			snapshot.setCompactPeriod(5);
+			snapshot.setMinWords(1);
+			snapshot.setDeltaThreshold(Math.max(1, scenario.getSeedWords() / 10));
+			List<String> domains = IntStream.range(0, scenario.getDomains()).mapToObj(scenario::domain).collect(Collectors.toList());
+			snapshot.setDomains(domains);
+		}
+		return properties;
+	}
+}
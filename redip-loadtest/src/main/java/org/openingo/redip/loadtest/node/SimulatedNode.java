@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.node;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+import org.openingo.redip.loadtest.LoadMetrics;
+import org.openingo.redip.loadtest.LoadScenario;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SimulatedNode
+ *
+ * 模拟一个es节点：由独立的类加载器加载，拥有各自的RemoteDictionary实例、词源连接及缓存，
+ * 为每个领域持有一个词典，每次run轮询全部词典
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:50
+ */
+@Slf4j
+public final class SimulatedNode implements Runnable {
+
+	private final int id;
+
+	private final LoadMetrics metrics;
+
+	private final List<NodeDictionary> dictionaries = new ArrayList<>();
+
+	public SimulatedNode(LoadScenario scenario, int id, LoadMetrics metrics) {
+		this.id = id;
+		this.metrics = metrics;
+		RemoteDictionary.initial(NodeProperties.of(scenario));
+		for (int i = 0; i < scenario.getDomains(); i++) {
+			URI domainUri = URI.create(String.format("%s://%s", scenario.getEtymology(), scenario.domain(i)));
+			NodeDictionary dictionary = new NodeDictionary(domainUri, metrics);
+			dictionary.load();
+			this.dictionaries.add(dictionary);
+		}
+		log.info("the simulated node '{}' loaded '{}' dictionaries.", id, this.dictionaries.size());
+	}
+
+	@Override
+	public void run() {
+		for (NodeDictionary dictionary : this.dictionaries) {
+			for (DictionaryType dictionaryType : DictionaryType.values()) {
+				dictionary.polling();
+				long start = System.nanoTime();
+				try {
+					RemoteDictionary.reloadRemoteDictionary(dictionary, dictionaryType, dictionary.getDomainUri());
+					this.metrics.polled(System.nanoTime() - start, dictionary.isFetched());
+				} catch (RuntimeException e) {
+					this.metrics.getPollErrors().increment();
+					log.warn("the simulated node '{}' poll '{}' dictionary '{}' failure '{}'.", this.id, dictionary.getDomainUri(), dictionaryType, e.getMessage());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.standin;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.loadtest.LoadScenario;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HttpStandIn
+ *
+ * 本地词库http服务，替代http词源：按 ${base}/es-dict/${dictName}/${domain} 提供文本词库，
+ * 支持HEAD检测、ETag/Last-Modified条件请求、Prefer: wait=N 长轮询，响应携带写入戳
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:20
+ */
+@Slf4j
+public class HttpStandIn implements StandIn {
+
+	private static final String CONTEXT = "/es-dict/";
+
+	private final Map<String, Words> dictionaries = new ConcurrentHashMap<>();
+
+	private final LongAdder requests = new LongAdder();
+
+	/**
+	 * 长轮询挂起请求，线程数不设上限
+	 */
+	private final ExecutorService executor = Executors.newCachedThreadPool(new NamedThreadFactory("redip-http-stand-in"));
+
+	private HttpServer server;
+
+	@Override
+	public void start(LoadScenario scenario) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+		this.server.createContext(CONTEXT, this::handle);
+		this.server.setExecutor(this.executor);
+		this.server.start();
+		scenario.setHttpBase(String.format("http://%s:%d", InetAddress.getLoopbackAddress().getHostAddress(), this.server.getAddress().getPort()));
+		log.info("the http stand-in is started at '{}'.", scenario.getHttpBase());
+	}
+
+	@Override
+	public long requests() {
+		return this.requests.sum();
+	}
+
+	@Override
+	public boolean addWords(String domain, DictionaryType dictionaryType, String... words) {
+		this.words(dictionaryType.getDictName(), domain).add(words);
+		return true;
+	}
+
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+	}
+
+	private Words words(String dictName, String domain) {
+		return this.dictionaries.computeIfAbsent(String.format("%s/%s", dictName, domain), k -> new Words());
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		this.requests.increment();
+		try {
+			String[] path = exchange.getRequestURI().getPath().substring(CONTEXT.length()).split("/");
+			if (path.length != 2 || Objects.isNull(DictionaryType.newByDictName(path[0]))) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			Words words = this.words(path[0], path[1]);
+			Headers request = exchange.getRequestHeaders();
+			String eTag = request.getFirst("If-None-Match");
+			String prefer = request.getFirst("Prefer");
+			boolean head = "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+			Snapshot snapshot = words.snapshot();
+			if (!head && Objects.nonNull(prefer) && prefer.startsWith("wait=") && snapshot.eTag().equals(eTag)) {
+				snapshot = words.await(snapshot.version, TimeUnit.SECONDS.toMillis(Long.parseLong(prefer.substring("wait=".length()).trim())));
+			}
+			Headers response = exchange.getResponseHeaders();
+			response.set("ETag", snapshot.eTag());
+			response.set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(snapshot.committedAt).atOffset(ZoneOffset.UTC)));
+			response.set(CommitStamp.HTTP_HEADER, CommitStamp.of(snapshot.version, snapshot.committedAt).toString());
+			if (snapshot.eTag().equals(eTag)) {
+				exchange.sendResponseHeaders(304, -1);
+				return;
+			}
+			response.set("Content-Type", "text/plain; charset=UTF-8");
+			if (head) {
+				exchange.sendResponseHeaders(200, -1);
+				return;
+			}
+			byte[] body = String.join("\n", snapshot.words).getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static final class Snapshot {
+		final long version;
+		final long committedAt;
+		final Set<String> words;
+
+		Snapshot(long version, long committedAt, Set<String> words) {
+			this.version = version;
+			this.committedAt = committedAt;
+			this.words = words;
+		}
+
+		String eTag() {
+			return String.format("\"%d\"", this.version);
+		}
+	}
+
+	/**
+	 * 一个词典的词及版本，写入后唤醒挂起的长轮询
+	 */
+	private static final class Words {
+
+		private Set<String> words = new LinkedHashSet<>();
+		private long version;
+		private long committedAt;
+
+		synchronized void add(String... added) {
+			// 写时复制，响应中的快照不受后续写入影响
+			Set<String> words = new LinkedHashSet<>(this.words);
+			boolean changed = false;
+			for (String word : added) {
+				changed |= words.add(word);
+			}
+			if (changed) {
+				this.words = words;
+				this.version++;
+				this.committedAt = System.currentTimeMillis();
+				this.notifyAll();
+			}
+		}
+
+		synchronized Snapshot snapshot() {
+			return new Snapshot(this.version, this.committedAt, this.words);
+		}
+
+		synchronized Snapshot await(long version, long timeoutMillis) {
+			long deadline = System.currentTimeMillis() + timeoutMillis;
+			long remaining;
+			while (this.version == version && (remaining = deadline - System.currentTimeMillis()) > 0) {
+				try {
+					this.wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			return this.snapshot();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.standin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.loadtest.LoadScenario;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JdbcStandIn
+ *
+ * 内嵌的h2库，替代mysql词源。词源按url选择h2方言，写入方以migrate方式创建最新版本的表
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:05
+ */
+@Slf4j
+public class JdbcStandIn implements StandIn {
+
+	private static final String URL = "jdbc:h2:mem:redip;DB_CLOSE_DELAY=-1";
+
+	private static final String USERNAME = "sa";
+
+	private static final String[] STATISTICS = {
+			"SET QUERY_STATISTICS_MAX_ENTRIES 10000",
+			"SET QUERY_STATISTICS TRUE"
+	};
+
+	/**
+	 * 内存库在最后一个连接关闭时销毁，替身运行期间持有一个连接
+	 */
+	private Connection connection;
+
+	@Override
+	public void start(LoadScenario scenario) throws SQLException {
+		this.connection = DriverManager.getConnection(URL, USERNAME, "");
+		try (Statement statement = this.connection.createStatement()) {
+			for (String sql : STATISTICS) {
+				statement.execute(sql);
+			}
+		}
+		scenario.setMysqlUrl(URL);
+		scenario.setMysqlUsername(USERNAME);
+		scenario.setMysqlPassword("");
+		log.info("the jdbc stand-in is started at '{}'.", URL);
+	}
+
+	@Override
+	public long requests() {
+		try (Statement statement = this.connection.createStatement();
+			 ResultSet resultSet = statement.executeQuery("SELECT COALESCE(SUM(execution_count), 0) FROM information_schema.query_statistics")) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		} catch (SQLException e) {
+			log.warn("the jdbc stand-in read query statistics failure '{}'.", e.getMessage());
+			return 0;
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (this.connection != null) {
+			try (Statement statement = this.connection.createStatement()) {
+				statement.execute("SHUTDOWN");
+			}
+		}
+	}
+}
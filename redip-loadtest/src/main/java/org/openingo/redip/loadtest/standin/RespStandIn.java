@@ -0,0 +1,456 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.standin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.loadtest.LoadScenario;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RespStandIn
+ *
+ * 内嵌的redis协议服务，替代redis词源：只实现redis词源用到的字符串及有序集合命令，
+ * 命令串行执行与redis一致；不支持脚本，词源回退为非原子写入
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:10
+ */
+@Slf4j
+public class RespStandIn implements StandIn {
+
+	private final Map<String, String> strings = new HashMap<>();
+
+	private final Map<String, ZSet> sortedSets = new HashMap<>();
+
+	private final LongAdder requests = new LongAdder();
+
+	private final ExecutorService connections = Executors.newCachedThreadPool(new NamedThreadFactory("redip-resp-stand-in"));
+
+	private ServerSocket serverSocket;
+
+	@Override
+	public void start(LoadScenario scenario) throws IOException {
+		this.serverSocket = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+		this.connections.execute(this::accept);
+		scenario.setRedisHost(InetAddress.getLoopbackAddress().getHostAddress());
+		scenario.setRedisPort(this.serverSocket.getLocalPort());
+		log.info("the resp stand-in is started at port '{}'.", this.serverSocket.getLocalPort());
+	}
+
+	@Override
+	public long requests() {
+		return this.requests.sum();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.serverSocket.close();
+		this.connections.shutdownNow();
+	}
+
+	private void accept() {
+		while (!this.serverSocket.isClosed()) {
+			try {
+				Socket socket = this.serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				this.connections.execute(() -> this.serve(socket));
+			} catch (IOException e) {
+				if (!this.serverSocket.isClosed()) {
+					log.warn("the resp stand-in accept failure '{}'.", e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (Socket client = socket;
+			 InputStream in = new BufferedInputStream(client.getInputStream());
+			 OutputStream out = new BufferedOutputStream(client.getOutputStream())) {
+			List<String> command;
+			while ((command = readCommand(in)) != null) {
+				this.requests.increment();
+				synchronized (this) {
+					this.execute(command, out);
+				}
+				// 管道中的命令处理完后再写出
+				if (in.available() == 0) {
+					out.flush();
+				}
+			}
+		} catch (EOFException e) {
+			log.debug("the resp stand-in connection closed.");
+		} catch (IOException e) {
+			log.debug("the resp stand-in connection failure '{}'.", e.getMessage());
+		}
+	}
+
+	private void execute(List<String> command, OutputStream out) throws IOException {
+		String name = command.get(0).toUpperCase(Locale.ROOT);
+		switch (name) {
+			case "PING":
+				simple(out, "PONG");
+				return;
+			case "SELECT":
+			case "CLIENT":
+				simple(out, "OK");
+				return;
+			case "GET":
+				bulk(out, this.strings.get(command.get(1)));
+				return;
+			case "SET":
+				this.strings.put(command.get(1), command.get(2));
+				simple(out, "OK");
+				return;
+			case "GETRANGE":
+				bulk(out, this.getrange(command));
+				return;
+			case "GETSET":
+				bulk(out, this.strings.put(command.get(1), command.get(2)));
+				return;
+			case "INCR":
+				long value = Long.parseLong(this.strings.getOrDefault(command.get(1), "0")) + 1;
+				this.strings.put(command.get(1), String.valueOf(value));
+				integer(out, value);
+				return;
+			case "DEL":
+				long deleted = 0;
+				for (String key : command.subList(1, command.size())) {
+					boolean removed = this.strings.remove(key) != null;
+					removed |= this.sortedSets.remove(key) != null;
+					deleted += removed ? 1 : 0;
+				}
+				integer(out, deleted);
+				return;
+			case "ZADD":
+				this.zadd(command, out);
+				return;
+			case "ZCARD":
+				integer(out, this.sortedSet(command.get(1)).size());
+				return;
+			case "ZRANGE":
+			case "ZREVRANGE":
+				this.zrange(command, "ZREVRANGE".equals(name), out);
+				return;
+			case "ZRANGEBYSCORE":
+				this.zrangeByScore(command, out);
+				return;
+			case "ZCOUNT":
+				this.zcount(command, out);
+				return;
+			default:
+				// EVAL、EVALSHA、HELLO等返回unknown command，客户端回退
+				error(out, String.format("ERR unknown command '%s'", command.get(0)));
+		}
+	}
+
+	private void zadd(List<String> command, OutputStream out) throws IOException {
+		ZSet sortedSet = this.sortedSets.computeIfAbsent(command.get(1), k -> new ZSet());
+		int index = 2;
+		boolean nx = false;
+		boolean ch = false;
+		for (; index < command.size(); index++) {
+			String option = command.get(index).toUpperCase(Locale.ROOT);
+			if ("NX".equals(option)) {
+				nx = true;
+			} else if ("CH".equals(option)) {
+				ch = true;
+			} else if (!"XX".equals(option) && !"GT".equals(option) && !"LT".equals(option)) {
+				break;
+			}
+		}
+		long added = 0;
+		for (; index + 1 < command.size(); index += 2) {
+			added += sortedSet.add(Double.parseDouble(command.get(index)), command.get(index + 1), nx, ch) ? 1 : 0;
+		}
+		integer(out, added);
+	}
+
+	private void zrange(List<String> command, boolean reverse, OutputStream out) throws IOException {
+		ZSet sortedSet = this.sortedSet(command.get(1));
+		int size = sortedSet.size();
+		long start = Long.parseLong(command.get(2));
+		long stop = Long.parseLong(command.get(3));
+		start = start < 0 ? Math.max(0, size + start) : start;
+		stop = stop < 0 ? size + stop : Math.min(stop, size - 1);
+		boolean withScores = command.size() > 4 && "WITHSCORES".equalsIgnoreCase(command.get(4));
+		List<Member> members = new ArrayList<>();
+		long rank = 0;
+		for (Iterator<Member> iterator = sortedSet.iterator(reverse); iterator.hasNext() && rank <= stop; rank++) {
+			Member member = iterator.next();
+			if (rank >= start) {
+				members.add(member);
+			}
+		}
+		members(out, members, withScores);
+	}
+
+	private void zrangeByScore(List<String> command, OutputStream out) throws IOException {
+		Bound min = Bound.parse(command.get(2));
+		Bound max = Bound.parse(command.get(3));
+		boolean withScores = false;
+		long offset = 0;
+		long count = -1;
+		for (int index = 4; index < command.size(); index++) {
+			String option = command.get(index).toUpperCase(Locale.ROOT);
+			if ("WITHSCORES".equals(option)) {
+				withScores = true;
+			} else if ("LIMIT".equals(option)) {
+				offset = Long.parseLong(command.get(++index));
+				count = Long.parseLong(command.get(++index));
+			}
+		}
+		List<Member> members = new ArrayList<>();
+		for (Member member : this.sortedSet(command.get(1)).from(min.value)) {
+			if (!max.above(member.score) || count == 0) {
+				break;
+			}
+			if (!min.below(member.score)) {
+				continue;
+			}
+			if (offset > 0) {
+				offset--;
+				continue;
+			}
+			members.add(member);
+			count--;
+		}
+		members(out, members, withScores);
+	}
+
+	private String getrange(List<String> command) {
+		String value = this.strings.getOrDefault(command.get(1), "");
+		int length = value.length();
+		int start = Integer.parseInt(command.get(2));
+		int end = Integer.parseInt(command.get(3));
+		start = start < 0 ? Math.max(0, length + start) : start;
+		end = end < 0 ? length + end : Math.min(end, length - 1);
+		return start > end ? "" : value.substring(start, end + 1);
+	}
+
+	private void zcount(List<String> command, OutputStream out) throws IOException {
+		Bound min = Bound.parse(command.get(2));
+		Bound max = Bound.parse(command.get(3));
+		long count = 0;
+		for (Member member : this.sortedSet(command.get(1)).from(min.value)) {
+			if (!max.above(member.score)) {
+				break;
+			}
+			if (min.below(member.score)) {
+				count++;
+			}
+		}
+		integer(out, count);
+	}
+
+	private ZSet sortedSet(String key) {
+		return this.sortedSets.getOrDefault(key, ZSet.EMPTY);
+	}
+
+	private static List<String> readCommand(InputStream in) throws IOException {
+		int type = in.read();
+		if (type == -1) {
+			return null;
+		}
+		if (type != '*') {
+			throw new IOException(String.format("unexpected resp type '%s'", (char) type));
+		}
+		int count = Integer.parseInt(readLine(in));
+		List<String> command = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			if (in.read() != '$') {
+				throw new IOException("unexpected resp bulk string");
+			}
+			int length = Integer.parseInt(readLine(in));
+			byte[] bytes = new byte[length];
+			int read = 0;
+			while (read < length) {
+				int n = in.read(bytes, read, length - read);
+				if (n == -1) {
+					throw new EOFException();
+				}
+				read += n;
+			}
+			readLine(in);
+			command.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+		return command;
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int c;
+		while ((c = in.read()) != '\r') {
+			if (c == -1) {
+				throw new EOFException();
+			}
+			line.append((char) c);
+		}
+		in.read();
+		return line.toString();
+	}
+
+	private static void simple(OutputStream out, String value) throws IOException {
+		out.write(String.format("+%s\r\n", value).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void error(OutputStream out, String message) throws IOException {
+		out.write(String.format("-%s\r\n", message).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void integer(OutputStream out, long value) throws IOException {
+		out.write(String.format(":%d\r\n", value).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void bulk(OutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.write(String.format("$%d\r\n", bytes.length).getBytes(StandardCharsets.UTF_8));
+		out.write(bytes);
+		out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void members(OutputStream out, List<Member> members, boolean withScores) throws IOException {
+		out.write(String.format("*%d\r\n", withScores ? members.size() * 2 : members.size()).getBytes(StandardCharsets.UTF_8));
+		for (Member member : members) {
+			bulk(out, member.value);
+			if (withScores) {
+				bulk(out, Double.toString(member.score));
+			}
+		}
+	}
+
+	private static final class Member {
+		final double score;
+		final String value;
+
+		Member(double score, String value) {
+			this.score = score;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * 有序集合，按score、member排序
+	 */
+	private static final class ZSet {
+
+		static final ZSet EMPTY = new ZSet();
+
+		private final Map<String, Member> byValue = new HashMap<>();
+
+		private final TreeSet<Member> ordered = new TreeSet<>(Comparator.<Member>comparingDouble(m -> m.score).thenComparing(m -> m.value));
+
+		/**
+		 * @return 新增，或ch时score有变化
+		 */
+		boolean add(double score, String value, boolean nx, boolean ch) {
+			Member existing = this.byValue.get(value);
+			if (existing != null) {
+				if (nx || existing.score == score) {
+					return false;
+				}
+				this.ordered.remove(existing);
+				Member member = new Member(score, value);
+				this.byValue.put(value, member);
+				this.ordered.add(member);
+				return ch;
+			}
+			Member member = new Member(score, value);
+			this.byValue.put(value, member);
+			this.ordered.add(member);
+			return true;
+		}
+
+		int size() {
+			return this.byValue.size();
+		}
+
+		Iterator<Member> iterator(boolean reverse) {
+			return reverse ? this.ordered.descendingIterator() : this.ordered.iterator();
+		}
+
+		/**
+		 * score不小于min的成员，同score的成员按member排序，空串最小
+		 */
+		NavigableSet<Member> from(double min) {
+			return Double.isInfinite(min) && min < 0 ? this.ordered : this.ordered.tailSet(new Member(min, ""), true);
+		}
+	}
+
+	/**
+	 * score区间边界：-inf、+inf、(1.5不含、1.5含
+	 */
+	private static final class Bound {
+		final double value;
+		final boolean exclusive;
+
+		Bound(double value, boolean exclusive) {
+			this.value = value;
+			this.exclusive = exclusive;
+		}
+
+		static Bound parse(String bound) {
+			if ("-inf".equalsIgnoreCase(bound)) {
+				return new Bound(Double.NEGATIVE_INFINITY, false);
+			}
+			if ("+inf".equalsIgnoreCase(bound) || "inf".equalsIgnoreCase(bound)) {
+				return new Bound(Double.POSITIVE_INFINITY, false);
+			}
+			if (bound.startsWith("(")) {
+				return new Bound(Double.parseDouble(bound.substring(1)), true);
+			}
+			return new Bound(Double.parseDouble(bound), false);
+		}
+
+		boolean below(double score) {
+			return this.exclusive ? this.value < score : this.value <= score;
+		}
+
+		boolean above(double score) {
+			return this.exclusive ? this.value > score : this.value >= score;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.loadtest.standin;
+
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.loadtest.LoadScenario;
+
+/**
+ * StandIn
+ *
+ * 词源的本地替身，压测无需网络及外部服务
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:00
+ */
+public interface StandIn extends AutoCloseable {
+
+	/**
+	 * 启动替身，并将连接信息写入场景
+	 * @param scenario 压测场景
+	 * @throws Exception 启动失败
+	 */
+	void start(LoadScenario scenario) throws Exception;
+
+	/**
+	 * 替身收到的请求数，用于计算词源QPS
+	 * @return requests
+	 */
+	long requests();
+
+	/**
+	 * 直接向替身写入新词，用于不支持addWord的词源
+	 * @param domain 领域
+	 * @param dictionaryType 词典类型
+	 * @param words 新词
+	 * @return true已写入，false由词源的addWord写入
+	 */
+	default boolean addWords(String domain, DictionaryType dictionaryType, String... words) {
+		return false;
+	}
+
+	/**
+	 * 按词源创建替身
+	 * @param etymology 词源
+	 * @return stand-in
+	 */
+	static StandIn of(String etymology) {
+		switch (etymology) {
+			case "mysql":
+				return new JdbcStandIn();
+			case "redis":
+				return new RespStandIn();
+			case "http":
+				return new HttpStandIn();
+			default:
+				throw new IllegalArgumentException(String.format("the etymology '%s' has no stand-in", etymology));
+		}
+	}
+}
@@ -0,0 +1,352 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.loadtest.LoadScenario;
+import org.openingo.redip.loadtest.node.NodeProperties;
+import org.openingo.redip.loadtest.standin.StandIn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * TestMultiNodeReload
+ *
+ * 多个节点轮询同一词源，每个节点都应检测到同一变化，同一领域的main-words与stop-words互不影响
+ *
+ * @author Qicz
+ * @since 2026/10/19 23:10
+ */
+public class TestMultiNodeReload {
+
+	private static final String DOMAIN = "multi-node";
+
+	private static final int NODES = 3;
+
+	private final List<AbstractRemoteDictionary> nodes = new ArrayList<>();
+
+	private StandIn standIn;
+
+	private final LoadScenario redisScenario = new LoadScenario();
+
+	@After
+	public void close() throws Exception {
+		this.nodes.forEach(AbstractRemoteDictionary::closeResource);
+		if (this.standIn != null) {
+			this.standIn.close();
+		}
+	}
+
+	@Test
+	public void everyJdbcNodeSeesChanges() throws Exception {
+		this.everyNodeSeesChanges("mysql", MySQLRemoteDictionary::new);
+	}
+
+	@Test
+	public void everyRedisNodeSeesChanges() throws Exception {
+		this.everyNodeSeesChanges("redis", RedisRemoteDictionary::new);
+	}
+
+	@Test
+	public void everyJdbcDictionarySeesChanges() throws Exception {
+		this.everyDictionarySeesChanges("mysql", MySQLRemoteDictionary::new);
+	}
+
+	@Test
+	public void everyRedisDictionarySeesChanges() throws Exception {
+		this.everyDictionarySeesChanges("redis", RedisRemoteDictionary::new);
+	}
+
+	/**
+	 * redis替身不支持脚本，写入回退为逐条命令：重复的词不改变score，也不递增版本
+	 */
+	@Test
+	public void redisDuplicateWordsKeepVersion() throws Exception {
+		LoadScenario scenario = new LoadScenario();
+		scenario.setEtymology("redis");
+		this.standIn = StandIn.of("redis");
+		this.standIn.start(scenario);
+		AbstractRemoteDictionary node = new RedisRemoteDictionary(NodeProperties.of(scenario, true).getRemote());
+		this.nodes.add(node);
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed"));
+		CapturingDictionary dictionary = new CapturingDictionary();
+		node.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		String version = node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		int deliveries = dictionary.deliveries;
+
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed"));
+		Assert.assertEquals(version, node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		node.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(deliveries, dictionary.deliveries);
+
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed", "main-1"));
+		Assert.assertNotEquals(version, node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		node.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		// 已存在的词score不变，增量只包含新增的词
+		Assert.assertEquals(1, dictionary.applies);
+		Assert.assertTrue(dictionary.words.get(DictionaryType.MAIN_WORDS).contains("main-1"));
+	}
+
+	/**
+	 * 批量获取多个领域、多种词典类型的词库，一次往返按词典分组返回，没有词的词典为空集合
+	 */
+	@Test
+	public void redisBatchReadGroupsDictionaries() throws Exception {
+		AbstractRemoteDictionary node = this.redisNode(1);
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "main-1", "main-2"));
+		Assert.assertTrue(node.addWord(DictionaryType.STOP_WORDS, DOMAIN, "stop-1"));
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, "other", "other-1"));
+		DictionaryKey mainKey = DictionaryKey.of(node.etymology(), DictionaryType.MAIN_WORDS, DOMAIN);
+		DictionaryKey stopKey = DictionaryKey.of(node.etymology(), DictionaryType.STOP_WORDS, DOMAIN);
+		DictionaryKey otherKey = DictionaryKey.of(node.etymology(), DictionaryType.MAIN_WORDS, "other");
+		DictionaryKey emptyKey = DictionaryKey.of(node.etymology(), DictionaryType.STOP_WORDS, "other");
+		Map<DictionaryKey, Set<String>> remoteWords = node.getRemoteWords(Arrays.asList(mainKey, stopKey, otherKey, emptyKey));
+		Assert.assertEquals(4, remoteWords.size());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("main-1", "main-2")), remoteWords.get(mainKey));
+		Assert.assertEquals(Collections.singleton("stop-1"), remoteWords.get(stopKey));
+		Assert.assertEquals(Collections.singleton("other-1"), remoteWords.get(otherKey));
+		Assert.assertTrue(remoteWords.get(emptyKey).isEmpty());
+	}
+
+	/**
+	 * 单key布局迁移到分桶布局后，词按hash分散到各桶，读取合并各桶，新词路由到所在桶并递增版本
+	 */
+	@Test
+	public void redisBucketsRouteWordsByHash() throws Exception {
+		int buckets = 4;
+		RedisRemoteDictionary single = (RedisRemoteDictionary) this.redisNode(1);
+		Set<String> words = new HashSet<>();
+		for (int i = 0; i < 40; i++) {
+			words.add(String.format("bucket-word-%s", i));
+		}
+		Assert.assertTrue(single.addWord(DictionaryType.MAIN_WORDS, DOMAIN, words.toArray(new String[0])));
+		Assert.assertEquals(words.size(), single.migrateToBuckets(buckets, true, DOMAIN));
+		Assert.assertTrue(single.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN).isEmpty());
+
+		AbstractRemoteDictionary bucketed = this.redisNode(buckets);
+		Assert.assertEquals(words, bucketed.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+		String version = bucketed.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertTrue(bucketed.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "bucket-word-new"));
+		Assert.assertNotEquals(version, bucketed.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		words.add("bucket-word-new");
+		Assert.assertEquals(words, bucketed.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+
+		RedisClient client = RedisClient.create(RedisURI.create(this.redisScenario.getRedisHost(), this.redisScenario.getRedisPort()));
+		try (StatefulRedisConnection<String, String> connection = client.connect()) {
+			for (int bucket = 0; bucket < buckets; bucket++) {
+				String bucketKey = String.format("es-ik-words:{%s:%s:%d}", DOMAIN, DictionaryType.MAIN_WORDS.getDictName(), bucket);
+				for (String word : connection.sync().zrange(bucketKey, 0, -1)) {
+					Assert.assertEquals(bucket, Math.floorMod(word.hashCode(), buckets));
+					Assert.assertTrue(words.remove(word));
+				}
+			}
+		} finally {
+			client.shutdown();
+		}
+		Assert.assertTrue(words.isEmpty());
+	}
+
+	/**
+	 * 权重写入权重key，只有权重变化时也递增版本，预算内按权重加载
+	 */
+	@Test
+	public void redisWeightedWordsBumpVersion() throws Exception {
+		LoadScenario scenario = new LoadScenario();
+		scenario.setEtymology("redis");
+		this.standIn = StandIn.of("redis");
+		this.standIn.start(scenario);
+		RemoteConfiguration remoteConfiguration = NodeProperties.of(scenario, true).getRemote();
+		remoteConfiguration.getBudget().setMaxWords(2L);
+		AbstractRemoteDictionary node = new RedisRemoteDictionary(remoteConfiguration);
+		this.nodes.add(node);
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "low", "middle", "high"));
+		String version = node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Map<String, Integer> weights = new HashMap<>();
+		weights.put("high", 30);
+		weights.put("middle", 20);
+		Assert.assertTrue(node.addWeightedWord(DictionaryType.MAIN_WORDS, DOMAIN, weights));
+		String weighted = node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertNotEquals(version, weighted);
+		Assert.assertEquals(new HashSet<>(Arrays.asList("high", "middle")), node.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 权重不变时不改变版本
+		Assert.assertTrue(node.addWeightedWord(DictionaryType.MAIN_WORDS, DOMAIN, weights));
+		Assert.assertEquals(weighted, node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		Assert.assertTrue(node.addWeightedWord(DictionaryType.MAIN_WORDS, DOMAIN, Collections.singletonMap("top", 40)));
+		Assert.assertNotEquals(weighted, node.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("top", "high")), node.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+	}
+
+	/**
+	 * 连接同一redis替身的节点，首次调用时启动替身
+	 */
+	private AbstractRemoteDictionary redisNode(int buckets) throws Exception {
+		if (this.standIn == null) {
+			this.redisScenario.setEtymology("redis");
+			this.standIn = StandIn.of("redis");
+			this.standIn.start(this.redisScenario);
+		}
+		this.redisScenario.setRedisBuckets(buckets);
+		AbstractRemoteDictionary node = new RedisRemoteDictionary(NodeProperties.of(this.redisScenario, true).getRemote());
+		this.nodes.add(node);
+		return node;
+	}
+
+	/**
+	 * 同一节点的两个词典轮询同一词典，一个词典的重新加载或其他读取不会掩盖另一个词典的变化
+	 */
+	private void everyDictionarySeesChanges(String etymology,
+											Function<RemoteConfiguration, AbstractRemoteDictionary> factory) throws Exception {
+		LoadScenario scenario = new LoadScenario();
+		scenario.setEtymology(etymology);
+		this.standIn = StandIn.of(etymology);
+		this.standIn.start(scenario);
+		AbstractRemoteDictionary node = factory.apply(NodeProperties.of(scenario, true).getRemote());
+		this.nodes.add(node);
+		Assert.assertTrue(node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed"));
+		CapturingDictionary first = new CapturingDictionary();
+		CapturingDictionary second = new CapturingDictionary();
+		for (CapturingDictionary dictionary : new CapturingDictionary[]{first, second}) {
+			dictionary.words.put(DictionaryType.MAIN_WORDS, new HashSet<>(node.getRemoteWords(DictionaryType.MAIN_WORDS, etymology, DOMAIN)));
+			node.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		}
+
+		node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "main-1");
+		node.reloadDictionary(first, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertTrue(first.words.get(DictionaryType.MAIN_WORDS).contains("main-1"));
+		// 其他词典的首次加载、批量获取不会标记变化已交付
+		Assert.assertTrue(node.getRemoteWords(DictionaryType.MAIN_WORDS, etymology, DOMAIN).contains("main-1"));
+		node.getRemoteWords(Collections.singleton(DictionaryKey.of(etymology, DictionaryType.MAIN_WORDS, DOMAIN)));
+		node.reloadDictionary(second, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertTrue(second.words.get(DictionaryType.MAIN_WORDS).contains("main-1"));
+
+		// 各词典按各自的水位计算增量
+		node.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "main-2");
+		node.reloadDictionary(second, DictionaryType.MAIN_WORDS, DOMAIN);
+		node.reloadDictionary(first, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(first.words.get(DictionaryType.MAIN_WORDS), second.words.get(DictionaryType.MAIN_WORDS));
+		Assert.assertTrue(first.words.get(DictionaryType.MAIN_WORDS).contains("main-2"));
+		Assert.assertEquals(2, first.applies);
+		Assert.assertEquals(2, second.applies);
+	}
+
+	private void everyNodeSeesChanges(String etymology,
+									  Function<RemoteConfiguration, AbstractRemoteDictionary> factory) throws Exception {
+		LoadScenario scenario = new LoadScenario();
+		scenario.setEtymology(etymology);
+		this.standIn = StandIn.of(etymology);
+		this.standIn.start(scenario);
+		// 第一个节点为写入方，建表完成后再启动其余节点
+		AbstractRemoteDictionary writer = factory.apply(NodeProperties.of(scenario, true).getRemote());
+		this.nodes.add(writer);
+		Assert.assertTrue(writer.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed"));
+		for (int i = 1; i < NODES; i++) {
+			this.nodes.add(factory.apply(NodeProperties.of(scenario).getRemote()));
+		}
+
+		List<CapturingDictionary> dictionaries = new ArrayList<>();
+		for (AbstractRemoteDictionary node : this.nodes) {
+			CapturingDictionary dictionary = new CapturingDictionary();
+			for (DictionaryType dictionaryType : DictionaryType.values()) {
+				dictionary.words.put(dictionaryType, new HashSet<>(node.getRemoteWords(dictionaryType, etymology, DOMAIN)));
+			}
+			dictionaries.add(dictionary);
+		}
+
+		writer.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "main-1");
+		// 首个节点轮询后，其余节点仍能检测到变化
+		for (int i = 0; i < NODES; i++) {
+			this.nodes.get(i).reloadDictionary(dictionaries.get(i), DictionaryType.MAIN_WORDS, DOMAIN);
+			Assert.assertTrue(dictionaries.get(i).words.get(DictionaryType.MAIN_WORDS).contains("main-1"));
+		}
+
+		writer.addWord(DictionaryType.STOP_WORDS, DOMAIN, "stop-1");
+		// 获取main-words不会掩盖同一领域stop-words的变化
+		for (AbstractRemoteDictionary node : this.nodes) {
+			Assert.assertTrue(node.getRemoteWords(DictionaryType.MAIN_WORDS, etymology, DOMAIN).contains("main-1"));
+		}
+		for (int i = 0; i < NODES; i++) {
+			this.nodes.get(i).reloadDictionary(dictionaries.get(i), DictionaryType.STOP_WORDS, DOMAIN);
+			Assert.assertTrue(dictionaries.get(i).words.get(DictionaryType.STOP_WORDS).contains("stop-1"));
+		}
+
+		// 没有变化时不再交付
+		int delivered = dictionaries.get(1).deliveries;
+		this.nodes.get(1).reloadDictionary(dictionaries.get(1), DictionaryType.STOP_WORDS, DOMAIN);
+		Assert.assertEquals(delivered, dictionaries.get(1).deliveries);
+	}
+
+	private static class CapturingDictionary implements IDictionary {
+
+		final Map<DictionaryType, Set<String>> words = new EnumMap<>(DictionaryType.class);
+
+		int deliveries;
+
+		int applies;
+
+		@Override
+		public void reload(DictionaryType dictionaryType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean reload(DictionaryType dictionaryType, Set<String> words) {
+			this.deliveries++;
+			this.words.put(dictionaryType, new HashSet<>(words));
+			return true;
+		}
+
+		@Override
+		public boolean apply(DictionaryDelta delta) {
+			this.deliveries++;
+			this.applies++;
+			Set<String> current = this.words.computeIfAbsent(delta.getDictionaryKey().getDictionaryType(), k -> new HashSet<>());
+			current.addAll(delta.getAdded());
+			current.removeAll(delta.getRemoved());
+			return true;
+		}
+	}
+}
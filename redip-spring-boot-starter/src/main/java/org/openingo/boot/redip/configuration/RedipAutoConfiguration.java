@@ -28,10 +28,17 @@
 package org.openingo.boot.redip.configuration;
 
 import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.remote.CompositeRemoteDictionary;
+import org.openingo.redip.dictionary.remote.FileRemoteDictionary;
+import org.openingo.redip.dictionary.remote.JdbcRemoteDictionary;
 import org.openingo.redip.dictionary.remote.MySQLRemoteDictionary;
 import org.openingo.redip.dictionary.remote.RedisRemoteDictionary;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -53,13 +60,125 @@ public class RedipAutoConfiguration {
 		return new RemoteConfiguration();
 	}
 
+	@Bean
+	RemoteDictionaryReadiness remoteDictionaryReadiness() {
+		return new RemoteDictionaryReadiness();
+	}
+
+	/**
+	 * 词源按配置创建，未配置的词源不建立连接；连接在后台或首次使用时建立，由容器关闭
+	 */
 	@Bean(destroyMethod = "closeResource")
+	@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "mysql.url")
 	public MySQLRemoteDictionary mysqlRemoteDictionary(RemoteConfiguration remoteConfiguration) {
 		return new MySQLRemoteDictionary(remoteConfiguration);
 	}
 
 	@Bean(destroyMethod = "closeResource")
+	@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "jdbc.url")
+	public JdbcRemoteDictionary jdbcRemoteDictionary(RemoteConfiguration remoteConfiguration) {
+		return new JdbcRemoteDictionary(remoteConfiguration);
+	}
+
+	@Bean(destroyMethod = "closeResource")
+	@Conditional(OnRedisCondition.class)
 	public RedisRemoteDictionary redisRemoteDictionary(RemoteConfiguration remoteConfiguration) {
 		return new RedisRemoteDictionary(remoteConfiguration);
 	}
+
+	@Bean(destroyMethod = "closeResource")
+	@Conditional(OnFileCondition.class)
+	public FileRemoteDictionary fileRemoteDictionary(RemoteConfiguration remoteConfiguration) {
+		RemoteConfiguration.File file = remoteConfiguration.getFile();
+		return new FileRemoteDictionary(remoteConfiguration, file.paths(DictionaryType.MAIN_WORDS), file.paths(DictionaryType.STOP_WORDS));
+	}
+
+	/**
+	 * 组合词源的成员为容器中已加载的词源
+	 */
+	@Bean(destroyMethod = "closeResource")
+	@Conditional(OnCompositeCondition.class)
+	public CompositeRemoteDictionary compositeRemoteDictionary(RemoteConfiguration remoteConfiguration) {
+		return new CompositeRemoteDictionary(remoteConfiguration);
+	}
+
+	/**
+	 * 配置了redis单机地址或集群节点
+	 */
+	static class OnRedisCondition extends AnyNestedCondition {
+
+		OnRedisCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "redis.host")
+		static class Host {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "redis.cluster.nodes")
+		static class ClusterNodes {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "redis.cluster.nodes[0]")
+		static class ClusterNodeList {
+
+		}
+	}
+
+	/**
+	 * 配置了主词典或stop词典文件
+	 */
+	static class OnFileCondition extends AnyNestedCondition {
+
+		OnFileCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "file.main")
+		static class Main {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "file.main[0]")
+		static class MainList {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "file.stop")
+		static class Stop {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "file.stop[0]")
+		static class StopList {
+
+		}
+	}
+
+	/**
+	 * 开启了组合词源或配置了成员词源
+	 */
+	static class OnCompositeCondition extends AnyNestedCondition {
+
+		OnCompositeCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "composite.enabled", havingValue = "true")
+		static class Enabled {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "composite.sources")
+		static class Sources {
+
+		}
+
+		@ConditionalOnProperty(prefix = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX, name = "composite.sources[0]")
+		static class SourceList {
+
+		}
+	}
 }
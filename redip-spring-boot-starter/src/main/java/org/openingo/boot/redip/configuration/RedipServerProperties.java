@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.configuration;
+
+import lombok.Data;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+
+/**
+ * RedipServerProperties
+ *
+ * 词库http服务配置
+ *
+ * @author Qicz
+ * @since 2026/10/19 15:10
+ */
+@Data
+public class RedipServerProperties {
+
+	/**
+	 * 是否启用词库http服务：${base}/es-dict/{main-words|stop-words}/{domain}
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * 词库来源
+	 */
+	private RemoteDictionaryEtymology etymology = RemoteDictionaryEtymology.MYSQL;
+
+	/**
+	 * 快照版本检查周期，单位s
+	 */
+	private Integer refreshPeriod = 5;
+
+	/**
+	 * 长轮询最长等待时间，单位s
+	 */
+	private Integer longPollTimeout = 30;
+
+	/**
+	 * 每个词库保留的增量个数，更早的修订号只能全量获取
+	 */
+	private Integer historySize = 32;
+
+	/**
+	 * 快照最长空闲时间，单位s，超过后不再检查版本并释放，再次请求时重新生成
+	 */
+	private Integer snapshotIdleTimeout = 600;
+
+	/**
+	 * 最多维护的快照个数，超出时释放最久未被请求的快照
+	 */
+	private Integer maxSnapshots = 1024;
+}
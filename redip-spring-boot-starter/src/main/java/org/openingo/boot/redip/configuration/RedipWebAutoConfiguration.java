@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.configuration;
+
+import org.openingo.boot.redip.web.DictionarySnapshotService;
+import org.openingo.boot.redip.web.RemoteDictionaryController;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RedipWebAutoConfiguration
+ *
+ * 提供 HttpRemoteDictionary 所需的词库http服务，词库来自内存快照，
+ * 仅在词源版本变化时刷新快照
+ *
+ * @author Qicz
+ * @since 2026/10/19 15:15
+ */
+@Configuration
+@AutoConfigureAfter(RedipAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = RedipWebAutoConfiguration.SERVER_PROPERTIES_PREFIX, name = "enabled", havingValue = "true")
+public class RedipWebAutoConfiguration {
+
+	protected final static String SERVER_PROPERTIES_PREFIX = RedipAutoConfiguration.CONFIGURATION_PROPERTIES_PREFIX + ".server";
+
+	@Bean
+	@ConfigurationProperties(prefix = RedipWebAutoConfiguration.SERVER_PROPERTIES_PREFIX)
+	RedipServerProperties redipServerProperties() {
+		return new RedipServerProperties();
+	}
+
+	@Bean(destroyMethod = "close")
+	public DictionarySnapshotService dictionarySnapshotService(RedipServerProperties redipServerProperties) {
+		return new DictionarySnapshotService(redipServerProperties);
+	}
+
+	@Bean
+	public RemoteDictionaryController remoteDictionaryController(DictionarySnapshotService dictionarySnapshotService,
+																   RedipServerProperties redipServerProperties) {
+		return new RemoteDictionaryController(dictionarySnapshotService, redipServerProperties);
+	}
+}
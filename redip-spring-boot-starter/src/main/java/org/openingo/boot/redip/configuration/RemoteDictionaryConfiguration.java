@@ -27,6 +27,7 @@
 
 package org.openingo.boot.redip.configuration;
 
+import org.openingo.redip.configuration.RemoteConfiguration;
 import org.openingo.redip.dictionary.remote.AbstractRemoteDictionary;
 import org.openingo.redip.dictionary.remote.RemoteDictionary;
 import org.springframework.beans.BeansException;
@@ -43,13 +44,15 @@ import java.util.Map;
  */
 public class RemoteDictionaryConfiguration implements ApplicationContextAware {
 
-	public RemoteDictionaryConfiguration() {
-		RemoteDictionary.initial();
+	public RemoteDictionaryConfiguration(RemoteConfiguration remoteConfiguration) {
+		RemoteDictionary.initial(remoteConfiguration);
 	}
 
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		Map<String, AbstractRemoteDictionary> remoteDictionaryMap = applicationContext.getBeansOfType(AbstractRemoteDictionary.class);
 		remoteDictionaryMap.values().forEach(RemoteDictionary::addRemoteDictionary);
+		// 词源加载完成后开始预热
+		RemoteDictionary.warmUp();
 	}
 }
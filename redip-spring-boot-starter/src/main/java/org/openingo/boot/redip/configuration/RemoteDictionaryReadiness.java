@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+import org.openingo.redip.dictionary.remote.WarmupStatus;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RemoteDictionaryReadiness
+ *
+ * 词库预热完成前将应用就绪状态保持为 REFUSING_TRAFFIC，就绪后（包括失败的词典在后台重试成功后）恢复为 ACCEPTING_TRAFFIC
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:30
+ */
+@Slf4j
+public class RemoteDictionaryReadiness implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>>, ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	private final AtomicBoolean waiting = new AtomicBoolean();
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+		if (!ReadinessState.ACCEPTING_TRAFFIC.equals(event.getState()) || RemoteDictionary.warmupStatus().isReady()) {
+			return;
+		}
+		log.info("remote dictionaries are warming up, refusing traffic: {}", RemoteDictionary.warmupStatus());
+		AvailabilityChangeEvent.publish(this.applicationContext, ReadinessState.REFUSING_TRAFFIC);
+		if (this.waiting.compareAndSet(false, true)) {
+			RemoteDictionary.readiness().thenAccept(this::accept);
+			RemoteDictionary.warmedUp().thenAccept(this::accept);
+			RemoteDictionary.warmupReady().thenAccept(this::accept);
+		}
+	}
+
+	private void accept(WarmupStatus status) {
+		if (status.isReady()) {
+			log.info("remote dictionaries are ready, accepting traffic: {}", status);
+			AvailabilityChangeEvent.publish(this.applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+		} else {
+			log.warn("remote dictionaries are not ready: {}", status);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.relay;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * RedipRelayApplication
+ *
+ * 独立运行的词库中继：只有中继访问 openingo.redip 配置的词源，
+ * ES节点通过 HttpRemoteDictionary 或长轮询 ${base}/es-dict/{main-words|stop-words}/{domain}/changes 从中继获取词库，
+ * 词源的负载与ES节点数量无关
+ *
+ * <pre>
+ * java -cp redip-spring-boot-starter.jar:... org.openingo.boot.redip.relay.RedipRelayApplication --spring.config.location=relay.yml
+ * </pre>
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:00
+ */
+@SpringBootApplication
+public class RedipRelayApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(RedipRelayApplication.class)
+				.properties("openingo.redip.server.enabled=true")
+				.run(args);
+	}
+}
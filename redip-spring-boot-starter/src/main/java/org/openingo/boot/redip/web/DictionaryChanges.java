@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.web;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * DictionaryChanges
+ *
+ * 词库自某一修订号以来的变化，增量不可用时reset为true，需重新获取全量词库
+ *
+ * @author Qicz
+ * @since 2026/10/19 18:40
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DictionaryChanges {
+
+	/**
+	 * 当前修订号
+	 */
+	private final long revision;
+
+	/**
+	 * 是否需要重新获取全量词库
+	 */
+	private final boolean reset;
+
+	/**
+	 * 新增的词
+	 */
+	private final Set<String> added;
+
+	/**
+	 * 删除的词
+	 */
+	private final Set<String> removed;
+
+	static DictionaryChanges of(long revision, Set<String> added, Set<String> removed) {
+		return new DictionaryChanges(revision, false, added, removed);
+	}
+
+	static DictionaryChanges reset(long revision) {
+		return new DictionaryChanges(revision, true, Collections.emptySet(), Collections.emptySet());
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.web;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.codec.DictionaryBinaryCodec;
+import org.openingo.redip.dictionary.CommitStamp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * DictionarySnapshot
+ *
+ * 词库快照：预先编码、预先压缩的词库内容，ETag由内容摘要生成，多实例间一致
+ *
+ * @author Qicz
+ * @since 2026/10/19 15:20
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DictionarySnapshot {
+
+	/**
+	 * 快照修订号，内容每变化一次加1
+	 */
+	private final long revision;
+
+	/**
+	 * 词源版本
+	 */
+	private final String version;
+
+	/**
+	 * 词数
+	 */
+	private final int words;
+
+	/**
+	 * 换行分隔的utf-8词库内容
+	 */
+	private final byte[] content;
+
+	/**
+	 * gzip压缩后的词库内容
+	 */
+	private final byte[] gzipContent;
+
+	/**
+	 * 二进制格式的词库内容
+	 */
+	private final byte[] binaryContent;
+
+	/**
+	 * 强ETag
+	 */
+	private final String eTag;
+
+	/**
+	 * 二进制格式的强ETag，与文本格式区分
+	 */
+	private final String binaryETag;
+
+	/**
+	 * 快照内容变化的时间，单位ms
+	 */
+	private final long lastModified;
+
+	/**
+	 * 词源最近一次写入的写入戳，随响应头传递给客户端，词源不支持时为null
+	 */
+	private final CommitStamp commit;
+
+	/**
+	 * 生成快照
+	 * @param revision 修订号
+	 * @param version 词源版本
+	 * @param commit 写入戳
+	 * @param words 词库
+	 * @return snapshot
+	 */
+	public static DictionarySnapshot of(long revision, String version, CommitStamp commit, Set<String> words) {
+		List<String> sortedWords = new ArrayList<>(words);
+		Collections.sort(sortedWords);
+		byte[] content = String.join("\n", sortedWords).getBytes(StandardCharsets.UTF_8);
+		// Last-Modified 精确到秒
+		long lastModified = SystemClockKit.now() / 1000 * 1000;
+		String eTag = eTag(content);
+		String binaryETag = eTag.substring(0, eTag.length() - 1) + "-bin\"";
+		return new DictionarySnapshot(revision, version, sortedWords.size(), content, gzip(content),
+				DictionaryBinaryCodec.encode(sortedWords), eTag, binaryETag, lastModified, commit);
+	}
+
+	/**
+	 * 生成快照
+	 * @param revision 修订号
+	 * @param version 词源版本
+	 * @param words 词库
+	 * @return snapshot
+	 */
+	public static DictionarySnapshot of(long revision, String version, Set<String> words) {
+		return of(revision, version, null, words);
+	}
+
+	/**
+	 * 词源版本变化但内容未变时沿用原快照，保持 Last-Modified 不变
+	 * @param version 词源版本
+	 * @param commit 写入戳
+	 * @return snapshot
+	 */
+	public DictionarySnapshot withVersion(String version, CommitStamp commit) {
+		return new DictionarySnapshot(this.revision, version, this.words, this.content, this.gzipContent,
+				this.binaryContent, this.eTag, this.binaryETag, this.lastModified, commit);
+	}
+
+	/**
+	 * 还原快照中的词库
+	 * @return words
+	 */
+	public Set<String> decodeWords() {
+		try {
+			return DictionaryBinaryCodec.decode(this.binaryContent);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static byte[] gzip(byte[] content) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, content.length / 3));
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(content);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static String eTag(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+			StringBuilder eTag = new StringBuilder("\"");
+			for (byte b : digest) {
+				eTag.append(String.format("%02x", b));
+			}
+			return eTag.append("\"").toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,345 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.boot.redip.configuration.RedipServerProperties;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.remote.AbstractRemoteDictionary;
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+import org.openingo.redip.dictionary.remote.RemoteDictionaryException;
+import org.openingo.redip.helper.NamedThreadFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DictionarySnapshotService
+ *
+ * 维护词库的内存快照：首次请求时生成，之后周期性检查词源版本，仅在版本变化时重新读取词库；
+ * 快照变化时记录增量并唤醒等待该词库变化的长轮询请求，词源的负载与消费者数量无关；
+ * 空闲的快照会被释放，快照个数有上限
+ *
+ * @author Qicz
+ * @since 2026/10/19 15:30
+ */
+@Slf4j
+public class DictionarySnapshotService {
+
+	private final RedipServerProperties serverProperties;
+
+	/**
+	 * 各词库的快照，首次生成在map之外进行，生成期间的请求等待同一结果
+	 */
+	private final Map<DictionaryKey, CompletableFuture<DictionarySnapshot>> snapshots = new ConcurrentHashMap<>();
+
+	/**
+	 * 各快照最近被请求的时间
+	 */
+	private final Map<DictionaryKey, Long> accessed = new ConcurrentHashMap<>();
+
+	/**
+	 * 各词库最近的增量，按修订号递增
+	 */
+	private final Map<DictionaryKey, Deque<DictionaryChanges>> histories = new ConcurrentHashMap<>();
+
+	/**
+	 * 等待词库变化的请求
+	 */
+	private final Map<DictionaryKey, Queue<Waiter>> waiters = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("redip-snapshot-refresh"));
+
+	public DictionarySnapshotService(RedipServerProperties serverProperties) {
+		this.serverProperties = serverProperties;
+		long period = Math.max(1, serverProperties.getRefreshPeriod());
+		this.refresher.scheduleWithFixedDelay(this::refresh, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * 获取词库快照
+	 * @param dictionaryType 词典类型
+	 * @param domain 领域
+	 * @return snapshot
+	 */
+	public DictionarySnapshot getSnapshot(DictionaryType dictionaryType, String domain) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.serverProperties.getEtymology(), dictionaryType, domain);
+		CompletableFuture<DictionarySnapshot> snapshot = this.snapshots.get(dictionaryKey);
+		if (Objects.isNull(snapshot)) {
+			CompletableFuture<DictionarySnapshot> loading = new CompletableFuture<>();
+			snapshot = this.snapshots.putIfAbsent(dictionaryKey, loading);
+			if (Objects.isNull(snapshot)) {
+				snapshot = loading;
+				this.evictOverflow();
+				try {
+					// 修订号以时间起始，服务重启后不会与重启前的修订号混淆
+					loading.complete(this.load(dictionaryKey, SystemClockKit.now(), null));
+				} catch (RuntimeException e) {
+					// 生成失败不保留，下次请求重新生成
+					this.snapshots.remove(dictionaryKey, loading);
+					loading.completeExceptionally(e);
+				}
+			}
+		}
+		try {
+			DictionarySnapshot dictionarySnapshot = snapshot.join();
+			this.accessed.put(dictionaryKey, SystemClockKit.now());
+			return dictionarySnapshot;
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * 等待词库变化
+	 * @param dictionaryType 词典类型
+	 * @param domain 领域
+	 * @param revision 已知的修订号
+	 * @return 修订号大于已知修订号的快照
+	 */
+	public CompletableFuture<DictionarySnapshot> awaitChange(DictionaryType dictionaryType, String domain, long revision) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.serverProperties.getEtymology(), dictionaryType, domain);
+		Waiter waiter = new Waiter(revision);
+		this.waiters.compute(dictionaryKey, (key, keyWaiters) -> {
+			Queue<Waiter> queue = Objects.isNull(keyWaiters) ? new ConcurrentLinkedQueue<>() : keyWaiters;
+			queue.add(waiter);
+			return queue;
+		});
+		// 最后一个等待结束时移除队列，任意领域的请求不会残留
+		waiter.future.whenComplete((snapshot, e) -> this.waiters.computeIfPresent(dictionaryKey, (key, keyWaiters) -> {
+			keyWaiters.remove(waiter);
+			return keyWaiters.isEmpty() ? null : keyWaiters;
+		}));
+		// 注册期间快照已变化
+		DictionarySnapshot snapshot = this.getSnapshot(dictionaryType, domain);
+		if (snapshot.getRevision() > revision) {
+			waiter.future.complete(snapshot);
+		}
+		return waiter.future;
+	}
+
+	/**
+	 * 词库自某一修订号以来的变化
+	 * @param dictionaryType 词典类型
+	 * @param domain 领域
+	 * @param since 已知的修订号
+	 * @return changes，尚无变化时为null
+	 */
+	public DictionaryChanges changesSince(DictionaryType dictionaryType, String domain, long since) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.serverProperties.getEtymology(), dictionaryType, domain);
+		long revision = this.getSnapshot(dictionaryType, domain).getRevision();
+		if (since == revision) {
+			return null;
+		}
+		Deque<DictionaryChanges> history = this.histories.getOrDefault(dictionaryKey, new ArrayDeque<>());
+		List<DictionaryChanges> changes;
+		synchronized (history) {
+			changes = new ArrayList<>(history);
+		}
+		changes.removeIf(change -> change.getRevision() <= since || change.getRevision() > revision);
+		// 已知修订号超出记录范围，只能全量获取
+		if (since > revision || changes.isEmpty() || changes.get(0).getRevision() != since + 1
+				|| changes.get(changes.size() - 1).getRevision() != revision) {
+			return DictionaryChanges.reset(revision);
+		}
+		Set<String> added = new HashSet<>();
+		Set<String> removed = new HashSet<>();
+		for (DictionaryChanges change : changes) {
+			for (String word : change.getRemoved()) {
+				if (!added.remove(word)) {
+					removed.add(word);
+				}
+			}
+			for (String word : change.getAdded()) {
+				if (!removed.remove(word)) {
+					added.add(word);
+				}
+			}
+		}
+		return DictionaryChanges.of(revision, added, removed);
+	}
+
+	/**
+	 * 检查各快照的词源版本，有变化时重新读取
+	 */
+	void refresh() {
+		this.evictIdle();
+		this.snapshots.forEach((dictionaryKey, current) -> {
+			// 仍在生成或生成失败的快照无需检查
+			DictionarySnapshot snapshot = current.getNow(null);
+			if (Objects.isNull(snapshot) || current.isCompletedExceptionally()) {
+				return;
+			}
+			try {
+				String version = this.getRemoteDictionary().currentVersion(dictionaryKey.getDictionaryType(), dictionaryKey.getDomain());
+				if (Objects.nonNull(version) && version.equals(snapshot.getVersion())) {
+					return;
+				}
+				DictionarySnapshot fresh = this.load(dictionaryKey, snapshot.getRevision() + 1, version);
+				if (fresh.getETag().equals(snapshot.getETag())) {
+					this.snapshots.replace(dictionaryKey, current, CompletableFuture.completedFuture(snapshot.withVersion(version, fresh.getCommit())));
+					return;
+				}
+				// 检查期间快照已被释放
+				if (!this.snapshots.replace(dictionaryKey, current, CompletableFuture.completedFuture(fresh))) {
+					return;
+				}
+				log.info("the snapshot of '{}' is refreshed to version '{}' with '{}' words.", dictionaryKey, version, fresh.getWords());
+				this.record(dictionaryKey, snapshot, fresh);
+				this.wakeUp(dictionaryKey, fresh);
+			} catch (RuntimeException e) {
+				log.error("refresh the snapshot of '{}' error, keep serving version '{}' =>", dictionaryKey, snapshot.getVersion(), e);
+			}
+		});
+	}
+
+	/**
+	 * 释放空闲的快照，有长轮询等待的快照不释放
+	 */
+	void evictIdle() {
+		long idleTimeout = TimeUnit.SECONDS.toMillis(Math.max(1, this.serverProperties.getSnapshotIdleTimeout()));
+		long now = SystemClockKit.now();
+		for (Map.Entry<DictionaryKey, CompletableFuture<DictionarySnapshot>> entry : new ArrayList<>(this.snapshots.entrySet())) {
+			DictionaryKey dictionaryKey = entry.getKey();
+			Long lastAccessed = this.accessed.get(dictionaryKey);
+			// 生成中的快照尚未记录请求时间
+			if (!entry.getValue().isDone() || (Objects.nonNull(lastAccessed) && now - lastAccessed < idleTimeout)
+					|| this.isAwaited(dictionaryKey)) {
+				continue;
+			}
+			log.info("the snapshot of '{}' is idle, release it.", dictionaryKey);
+			this.release(dictionaryKey);
+		}
+	}
+
+	/**
+	 * 快照个数超出上限时释放最久未被请求的快照
+	 */
+	private void evictOverflow() {
+		int maxSnapshots = Math.max(1, this.serverProperties.getMaxSnapshots());
+		while (this.snapshots.size() > maxSnapshots) {
+			Optional<DictionaryKey> eldest = this.snapshots.entrySet().stream()
+					.filter(entry -> entry.getValue().isDone() && !this.isAwaited(entry.getKey()))
+					.map(Map.Entry::getKey)
+					.min(Comparator.comparing(dictionaryKey -> this.accessed.getOrDefault(dictionaryKey, 0L)));
+			if (!eldest.isPresent()) {
+				return;
+			}
+			log.info("the snapshots exceed '{}', release the snapshot of '{}'.", maxSnapshots, eldest.get());
+			this.release(eldest.get());
+		}
+	}
+
+	private boolean isAwaited(DictionaryKey dictionaryKey) {
+		Queue<Waiter> keyWaiters = this.waiters.get(dictionaryKey);
+		return Objects.nonNull(keyWaiters) && !keyWaiters.isEmpty();
+	}
+
+	private void release(DictionaryKey dictionaryKey) {
+		this.snapshots.remove(dictionaryKey);
+		this.accessed.remove(dictionaryKey);
+		this.histories.remove(dictionaryKey);
+	}
+
+	/**
+	 * 记录两个快照之间的增量
+	 */
+	private void record(DictionaryKey dictionaryKey, DictionarySnapshot snapshot, DictionarySnapshot fresh) {
+		Set<String> oldWords = snapshot.decodeWords();
+		Set<String> freshWords = fresh.decodeWords();
+		Set<String> added = new HashSet<>(freshWords);
+		added.removeAll(oldWords);
+		oldWords.removeAll(freshWords);
+		Deque<DictionaryChanges> history = this.histories.computeIfAbsent(dictionaryKey, k -> new ArrayDeque<>());
+		int historySize = Math.max(1, this.serverProperties.getHistorySize());
+		synchronized (history) {
+			history.addLast(DictionaryChanges.of(fresh.getRevision(), added, oldWords));
+			while (history.size() > historySize) {
+				history.removeFirst();
+			}
+		}
+	}
+
+	private void wakeUp(DictionaryKey dictionaryKey, DictionarySnapshot fresh) {
+		Queue<Waiter> keyWaiters = this.waiters.get(dictionaryKey);
+		if (Objects.isNull(keyWaiters)) {
+			return;
+		}
+		for (Waiter waiter : keyWaiters) {
+			if (fresh.getRevision() > waiter.revision) {
+				waiter.future.complete(fresh);
+			}
+		}
+	}
+
+	private DictionarySnapshot load(DictionaryKey dictionaryKey, long revision, String version) {
+		AbstractRemoteDictionary remoteDictionary = this.getRemoteDictionary();
+		DictionaryType dictionaryType = dictionaryKey.getDictionaryType();
+		String domain = dictionaryKey.getDomain();
+		// 先取版本再读词库，读取期间的新词会使下次检查时版本不一致而重新读取
+		if (Objects.isNull(version)) {
+			version = remoteDictionary.currentVersion(dictionaryType, domain);
+		}
+		CommitStamp commit = remoteDictionary.commitStamp(dictionaryType, domain);
+		return DictionarySnapshot.of(revision, version, commit, remoteDictionary.readRemoteWords(dictionaryType, domain));
+	}
+
+	private AbstractRemoteDictionary getRemoteDictionary() {
+		AbstractRemoteDictionary remoteDictionary = RemoteDictionary.getRemoteDictionary(this.serverProperties.getEtymology());
+		if (Objects.isNull(remoteDictionary)) {
+			throw new RemoteDictionaryException(String.format("the remote dictionary for etymology '%s' not found", this.serverProperties.getEtymology()));
+		}
+		return remoteDictionary;
+	}
+
+	public void close() {
+		this.refresher.shutdownNow();
+		this.waiters.values().forEach(keyWaiters -> keyWaiters.forEach(waiter -> waiter.future.cancel(false)));
+	}
+
+	private static class Waiter {
+		final long revision;
+		final CompletableFuture<DictionarySnapshot> future = new CompletableFuture<>();
+
+		Waiter(long revision) {
+			this.revision = revision;
+		}
+	}
+}
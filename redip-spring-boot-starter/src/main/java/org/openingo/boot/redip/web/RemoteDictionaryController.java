@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.boot.redip.configuration.RedipServerProperties;
+import org.openingo.redip.codec.DictionaryBinaryCodec;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.remote.RemoteDictionaryException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RemoteDictionaryController
+ *
+ * HttpRemoteDictionary 的服务端：${base}/es-dict/{main-words|stop-words}/{domain}，
+ * 词库内容来自内存快照，ETag/Last-Modified 未变化时返回304；
+ * 请求携带 Prefer: wait=N 且 If-None-Match 与当前ETag一致时，挂起请求直至词库变化或超时，
+ * ${base}/es-dict/{main-words|stop-words}/{domain}/changes?since=R 长轮询返回修订号R以来的增量
+ *
+ * @author Qicz
+ * @since 2026/10/19 15:40
+ */
+@Slf4j
+@RestController
+@RequestMapping("/es-dict")
+public class RemoteDictionaryController {
+
+	private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+	private static final MediaType BINARY = MediaType.valueOf(DictionaryBinaryCodec.MEDIA_TYPE);
+
+	private static final Pattern PREFER_WAIT = Pattern.compile("wait=(\\d+)");
+
+	private final DictionarySnapshotService snapshotService;
+
+	private final RedipServerProperties serverProperties;
+
+	public RemoteDictionaryController(DictionarySnapshotService snapshotService,
+									  RedipServerProperties serverProperties) {
+		this.snapshotService = snapshotService;
+		this.serverProperties = serverProperties;
+	}
+
+	/**
+	 * 获取词库，HEAD请求同样由此处理，仅返回响应头
+	 * @param dictName main-words或stop-words
+	 * @param domain 领域
+	 * @param accept Accept
+	 * @param acceptEncoding Accept-Encoding
+	 * @return words
+	 */
+	@GetMapping("/{dictName}/{domain}")
+	public ResponseEntity<byte[]> getWords(@PathVariable String dictName,
+										   @PathVariable String domain,
+										   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+										   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		DictionaryType dictionaryType = DictionaryType.newByDictName(dictName);
+		if (Objects.isNull(dictionaryType)) {
+			return ResponseEntity.notFound().build();
+		}
+		return this.toResponse(this.snapshotService.getSnapshot(dictionaryType, domain), accept, acceptEncoding);
+	}
+
+	/**
+	 * 长轮询获取词库：If-None-Match 与当前ETag一致时等待词库变化，超时返回304
+	 * @param dictName main-words或stop-words
+	 * @param domain 领域
+	 * @param prefer Prefer: wait=N
+	 * @param ifNoneMatch If-None-Match
+	 * @param accept Accept
+	 * @param acceptEncoding Accept-Encoding
+	 * @return words
+	 */
+	@GetMapping(value = "/{dictName}/{domain}", headers = { "Prefer", HttpHeaders.IF_NONE_MATCH })
+	public DeferredResult<ResponseEntity<byte[]>> awaitWords(@PathVariable String dictName,
+															 @PathVariable String domain,
+															 @RequestHeader("Prefer") String prefer,
+															 @RequestHeader(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+															 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+															 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		DictionaryType dictionaryType = DictionaryType.newByDictName(dictName);
+		if (Objects.isNull(dictionaryType)) {
+			DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>();
+			result.setResult(ResponseEntity.notFound().build());
+			return result;
+		}
+		DictionarySnapshot snapshot = this.snapshotService.getSnapshot(dictionaryType, domain);
+		String eTag = this.isBinaryAccepted(accept) ? snapshot.getBinaryETag() : snapshot.getETag();
+		long wait = this.waitMillis(prefer);
+		DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(wait,
+				ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build());
+		// 客户端持有的已不是最新词库，直接返回
+		if (wait <= 0 || !ifNoneMatch.contains(eTag)) {
+			result.setResult(this.toResponse(snapshot, accept, acceptEncoding));
+			return result;
+		}
+		CompletableFuture<DictionarySnapshot> change = this.snapshotService.awaitChange(dictionaryType, domain, snapshot.getRevision());
+		change.thenAccept(fresh -> result.setResult(this.toResponse(fresh, accept, acceptEncoding)));
+		result.onCompletion(() -> change.cancel(false));
+		return result;
+	}
+
+	/**
+	 * 长轮询获取增量：修订号since以来有变化时立即返回，否则等待词库变化，超时返回304
+	 * @param dictName main-words或stop-words
+	 * @param domain 领域
+	 * @param since 已知的修订号，小于0时返回当前修订号且需全量获取
+	 * @param wait 等待时间，单位s
+	 * @return changes
+	 */
+	@GetMapping("/{dictName}/{domain}/changes")
+	public DeferredResult<ResponseEntity<DictionaryChanges>> awaitChanges(@PathVariable String dictName,
+																		  @PathVariable String domain,
+																		  @RequestParam(defaultValue = "-1") long since,
+																		  @RequestParam(defaultValue = "30") long wait) {
+		DeferredResult<ResponseEntity<DictionaryChanges>> result = new DeferredResult<>(this.waitMillis(wait),
+				ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+		DictionaryType dictionaryType = DictionaryType.newByDictName(dictName);
+		if (Objects.isNull(dictionaryType)) {
+			result.setResult(ResponseEntity.notFound().build());
+			return result;
+		}
+		DictionaryChanges changes = this.snapshotService.changesSince(dictionaryType, domain, since);
+		if (Objects.nonNull(changes) || wait <= 0) {
+			result.setResult(Objects.nonNull(changes) ? ResponseEntity.ok(changes) : ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+			return result;
+		}
+		CompletableFuture<DictionarySnapshot> change = this.snapshotService.awaitChange(dictionaryType, domain, since);
+		change.thenAccept(fresh -> result.setResult(ResponseEntity.ok(this.snapshotService.changesSince(dictionaryType, domain, since))));
+		result.onCompletion(() -> change.cancel(false));
+		return result;
+	}
+
+	private ResponseEntity<byte[]> toResponse(DictionarySnapshot snapshot, String accept, String acceptEncoding) {
+		// ETag、Last-Modified 与请求的条件头匹配时，由框架直接返回304
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+				.lastModified(snapshot.getLastModified())
+				.cacheControl(CacheControl.noCache())
+				.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+		if (Objects.nonNull(snapshot.getCommit())) {
+			builder.header(CommitStamp.HTTP_HEADER, snapshot.getCommit().toString());
+		}
+		// 客户端接受二进制词库时优先返回二进制格式
+		if (this.isBinaryAccepted(accept)) {
+			return builder.eTag(snapshot.getBinaryETag()).contentType(BINARY).body(snapshot.getBinaryContent());
+		}
+		builder.eTag(snapshot.getETag()).contentType(TEXT_PLAIN_UTF8);
+		if (Objects.nonNull(acceptEncoding) && acceptEncoding.contains("gzip")) {
+			return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzipContent());
+		}
+		return builder.body(snapshot.getContent());
+	}
+
+	private boolean isBinaryAccepted(String accept) {
+		return Objects.nonNull(accept) && accept.contains(DictionaryBinaryCodec.MEDIA_TYPE);
+	}
+
+	private long waitMillis(String prefer) {
+		Matcher matcher = PREFER_WAIT.matcher(prefer);
+		return matcher.find() ? this.waitMillis(Long.parseLong(matcher.group(1))) : 0;
+	}
+
+	/**
+	 * 等待时间不超过 longPollTimeout
+	 */
+	private long waitMillis(long wait) {
+		return TimeUnit.SECONDS.toMillis(Math.max(0, Math.min(wait, this.serverProperties.getLongPollTimeout())));
+	}
+
+	@ExceptionHandler(RemoteDictionaryException.class)
+	public ResponseEntity<String> remoteDictionaryUnavailable(RemoteDictionaryException e) {
+		log.error("the remote dictionary is unavailable =>", e);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.boot.redip.web;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openingo.boot.redip.configuration.RedipServerProperties;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.remote.FileRemoteDictionary;
+import org.openingo.redip.dictionary.remote.RemoteDictionary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestDictionarySnapshotService
+ *
+ * @author Qicz
+ * @since 2026/10/20 11:40
+ */
+public class TestDictionarySnapshotService {
+
+	private static final String DOMAIN = "snapshot";
+
+	private static Path directory;
+
+	private static Path mainFile;
+
+	private DictionarySnapshotService snapshotService;
+
+	private long modified = System.currentTimeMillis();
+
+	@BeforeClass
+	public static void setUpClass() throws IOException {
+		directory = Files.createTempDirectory("redip-snapshot");
+		mainFile = directory.resolve("main.dic");
+		Files.write(mainFile, "seed\n".getBytes(StandardCharsets.UTF_8));
+		RemoteDictionary.initial();
+		RemoteDictionary.addRemoteDictionary(new FileRemoteDictionary(new RemoteConfiguration(),
+				Collections.singletonList(mainFile), Collections.emptyList()));
+	}
+
+	@AfterClass
+	public static void tearDownClass() throws IOException {
+		Files.deleteIfExists(mainFile);
+		Files.deleteIfExists(directory);
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		this.write("seed");
+		RedipServerProperties serverProperties = new RedipServerProperties();
+		serverProperties.setEtymology(RemoteDictionaryEtymology.FILE);
+		// 只由测试触发检查
+		serverProperties.setRefreshPeriod(3600);
+		this.snapshotService = new DictionarySnapshotService(serverProperties);
+	}
+
+	@After
+	public void tearDown() {
+		this.snapshotService.close();
+	}
+
+	@Test
+	public void snapshotRefreshedOnlyWhenVersionChanges() throws IOException {
+		DictionarySnapshot snapshot = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(Collections.singleton("seed"), snapshot.decodeWords());
+		Assert.assertSame(snapshot, this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 版本未变化时保留快照
+		this.snapshotService.refresh();
+		Assert.assertSame(snapshot, this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN));
+
+		this.write("seed", "added");
+		// 检查之前仍提供原快照
+		Assert.assertSame(snapshot, this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN));
+		this.snapshotService.refresh();
+		DictionarySnapshot fresh = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(snapshot.getRevision() + 1, fresh.getRevision());
+		Assert.assertNotEquals(snapshot.getETag(), fresh.getETag());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("seed", "added")), fresh.decodeWords());
+	}
+
+	@Test
+	public void sameWordsKeepRevision() throws IOException {
+		DictionarySnapshot snapshot = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN);
+		// 版本变化而词库不变，只更新版本，修订号与ETag不变
+		this.write("seed");
+		this.snapshotService.refresh();
+		DictionarySnapshot refreshed = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertNotEquals(snapshot.getVersion(), refreshed.getVersion());
+		Assert.assertEquals(snapshot.getRevision(), refreshed.getRevision());
+		Assert.assertEquals(snapshot.getETag(), refreshed.getETag());
+	}
+
+	@Test
+	public void changesSinceMergesHistory() throws IOException {
+		long initial = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN).getRevision();
+		Assert.assertNull(this.snapshotService.changesSince(DictionaryType.MAIN_WORDS, DOMAIN, initial));
+		this.write("seed", "transient");
+		this.snapshotService.refresh();
+		this.write("seed", "kept");
+		this.snapshotService.refresh();
+		long revision = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN).getRevision();
+		Assert.assertEquals(initial + 2, revision);
+
+		// 先新增后删除的词互相抵消
+		DictionaryChanges merged = this.snapshotService.changesSince(DictionaryType.MAIN_WORDS, DOMAIN, initial);
+		Assert.assertFalse(merged.isReset());
+		Assert.assertEquals(revision, merged.getRevision());
+		Assert.assertEquals(Collections.singleton("kept"), merged.getAdded());
+		Assert.assertTrue(merged.getRemoved().isEmpty());
+
+		DictionaryChanges last = this.snapshotService.changesSince(DictionaryType.MAIN_WORDS, DOMAIN, initial + 1);
+		Assert.assertEquals(Collections.singleton("kept"), last.getAdded());
+		Assert.assertEquals(Collections.singleton("transient"), last.getRemoved());
+
+		// 超出记录范围的修订号只能全量获取
+		Assert.assertTrue(this.snapshotService.changesSince(DictionaryType.MAIN_WORDS, DOMAIN, initial - 1).isReset());
+		Assert.assertTrue(this.snapshotService.changesSince(DictionaryType.MAIN_WORDS, DOMAIN, revision + 1).isReset());
+	}
+
+	@Test
+	public void awaitChangeWakesUpOnRefresh() throws Exception {
+		DictionarySnapshot snapshot = this.snapshotService.getSnapshot(DictionaryType.MAIN_WORDS, DOMAIN);
+		CompletableFuture<DictionarySnapshot> first = this.snapshotService.awaitChange(DictionaryType.MAIN_WORDS, DOMAIN, snapshot.getRevision());
+		CompletableFuture<DictionarySnapshot> second = this.snapshotService.awaitChange(DictionaryType.MAIN_WORDS, DOMAIN, snapshot.getRevision());
+		this.snapshotService.refresh();
+		Assert.assertFalse(first.isDone());
+
+		this.write("seed", "awaited");
+		this.snapshotService.refresh();
+		for (CompletableFuture<DictionarySnapshot> waiter : Arrays.asList(first, second)) {
+			DictionarySnapshot changed = waiter.get(1, TimeUnit.SECONDS);
+			Assert.assertEquals(snapshot.getRevision() + 1, changed.getRevision());
+			Assert.assertTrue(changed.decodeWords().contains("awaited"));
+		}
+		// 已知修订号落后时立即返回
+		Assert.assertTrue(this.snapshotService.awaitChange(DictionaryType.MAIN_WORDS, DOMAIN, snapshot.getRevision()).isDone());
+	}
+
+	private void write(String... words) throws IOException {
+		Files.write(mainFile, (String.join("\n", words) + "\n").getBytes(StandardCharsets.UTF_8));
+		// 保证修改时间变化
+		this.modified += 1000;
+		Files.setLastModifiedTime(mainFile, FileTime.fromMillis(this.modified));
+	}
+}
@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.codec;
+
+import org.openingo.redip.helper.WordInterner;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * DictionaryBinaryCodec
+ *
+ * 词库二进制格式，用于http传输、快照及redis blob：
+ * <pre>
+ * magic        4 bytes  "RDIC"
+ * version      1 byte
+ * flags        1 byte   bit0: 含block索引
+ * words        varint   词数
+ * blockSize    varint   每个block的词数
+ * [blocks      varint   block数，含block索引时存在
+ *  offset...   varint   各block相对数据区的起始偏移]
+ * data                  按utf-8字节序排列的词，每个block的首词完整存储：len + bytes，
+ *                       其余词前缀压缩：共享前缀长度 + 后缀长度 + 后缀bytes
+ * checksum     4 bytes  之前所有字节的CRC32
+ * </pre>
+ * 解码时逐词还原，无需先读取整个内容为字符串再按行拆分
+ *
+ * @author Qicz
+ * @since 2026/10/19 16:10
+ */
+public final class DictionaryBinaryCodec {
+
+	/**
+	 * http Content-Type/Accept
+	 */
+	public static final String MEDIA_TYPE = "application/x-redip-dict";
+
+	private static final byte[] MAGIC = { 'R', 'D', 'I', 'C' };
+	private static final int VERSION = 1;
+	private static final int FLAG_BLOCK_INDEX = 1;
+	private static final int DEFAULT_BLOCK_SIZE = 128;
+
+	private static final Comparator<byte[]> UNSIGNED_BYTES = (a, b) -> {
+		int length = Math.min(a.length, b.length);
+		for (int i = 0; i < length; i++) {
+			int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return a.length - b.length;
+	};
+
+	private DictionaryBinaryCodec() {
+	}
+
+	/**
+	 * 是否为二进制词库
+	 * @param bytes 内容
+	 * @return true是
+	 */
+	public static boolean isBinary(byte[] bytes) {
+		if (Objects.isNull(bytes) || bytes.length < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (bytes[i] != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static byte[] encode(Collection<String> words) {
+		return encode(words, false);
+	}
+
+	public static byte[] encode(Collection<String> words, boolean blockIndex) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			encode(words, out, blockIndex);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 编码词库
+	 * @param words 词库
+	 * @param out 输出
+	 * @param blockIndex 是否写入block索引
+	 * @throws IOException 写入失败
+	 */
+	public static void encode(Collection<String> words, OutputStream out, boolean blockIndex) throws IOException {
+		List<byte[]> sortedWords = new ArrayList<>(words.size());
+		for (String word : words) {
+			if (Objects.nonNull(word)) {
+				sortedWords.add(word.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		sortedWords.sort(UNSIGNED_BYTES);
+
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		List<Integer> blockOffsets = new ArrayList<>();
+		byte[] previous = null;
+		int count = 0;
+		for (byte[] word : sortedWords) {
+			if (Objects.nonNull(previous) && Arrays.equals(previous, word)) {
+				continue;
+			}
+			int shared = 0;
+			if (count % DEFAULT_BLOCK_SIZE == 0) {
+				blockOffsets.add(data.size());
+			} else {
+				shared = sharedPrefix(previous, word);
+				writeVarint(data, shared);
+			}
+			writeVarint(data, word.length - shared);
+			data.write(word, shared, word.length - shared);
+			previous = word;
+			count++;
+		}
+
+		CRC32 crc = new CRC32();
+		CheckedOutputStream checked = new CheckedOutputStream(out, crc);
+		checked.write(MAGIC);
+		checked.write(VERSION);
+		checked.write(blockIndex ? FLAG_BLOCK_INDEX : 0);
+		writeVarint(checked, count);
+		writeVarint(checked, DEFAULT_BLOCK_SIZE);
+		if (blockIndex) {
+			writeVarint(checked, blockOffsets.size());
+			for (Integer offset : blockOffsets) {
+				writeVarint(checked, offset);
+			}
+		}
+		data.writeTo(checked);
+		long checksum = crc.getValue();
+		out.write((int) (checksum >>> 24));
+		out.write((int) (checksum >>> 16));
+		out.write((int) (checksum >>> 8));
+		out.write((int) checksum);
+		out.flush();
+	}
+
+	public static Set<String> decode(byte[] bytes) throws IOException {
+		return decode(new ByteArrayInputStream(bytes));
+	}
+
+	/**
+	 * 解码词库
+	 * @param in 输入
+	 * @return words
+	 * @throws IOException 读取失败或内容损坏
+	 */
+	public static Set<String> decode(InputStream in) throws IOException {
+		InputStream buffered = in instanceof BufferedInputStream || in instanceof ByteArrayInputStream ? in : new BufferedInputStream(in);
+		CRC32 crc = new CRC32();
+		CheckedInputStream checked = new CheckedInputStream(buffered, crc);
+		byte[] magic = new byte[MAGIC.length];
+		readFully(checked, magic, 0, magic.length);
+		if (!isBinary(magic)) {
+			throw new IOException("not a redip binary dictionary");
+		}
+		int version = checked.read();
+		if (version != VERSION) {
+			throw new IOException(String.format("unsupported redip binary dictionary version '%s'", version));
+		}
+		int flags = checked.read();
+		int count = readVarint(checked);
+		int blockSize = readVarint(checked);
+		if (blockSize <= 0) {
+			throw new IOException("corrupted redip binary dictionary: illegal block size");
+		}
+		if ((flags & FLAG_BLOCK_INDEX) != 0) {
+			int blocks = readVarint(checked);
+			for (int i = 0; i < blocks; i++) {
+				readVarint(checked);
+			}
+		}
+		Set<String> words = new HashSet<>(Math.max(16, (int) (count / 0.75f) + 1));
+		byte[] word = new byte[64];
+		int length = 0;
+		for (int i = 0; i < count; i++) {
+			int shared = i % blockSize == 0 ? 0 : readVarint(checked);
+			if (shared > length) {
+				throw new IOException("corrupted redip binary dictionary: illegal shared prefix");
+			}
+			int suffix = readVarint(checked);
+			if (shared + suffix > word.length) {
+				word = Arrays.copyOf(word, Math.max(word.length * 2, shared + suffix));
+			}
+			readFully(checked, word, shared, suffix);
+			length = shared + suffix;
+			words.add(WordInterner.intern(new String(word, 0, length, StandardCharsets.UTF_8)));
+		}
+		long expected = crc.getValue();
+		byte[] checksum = new byte[4];
+		readFully(buffered, checksum, 0, checksum.length);
+		long actual = ((checksum[0] & 0xFFL) << 24) | ((checksum[1] & 0xFFL) << 16) | ((checksum[2] & 0xFFL) << 8) | (checksum[3] & 0xFFL);
+		if (expected != actual) {
+			throw new IOException("corrupted redip binary dictionary: checksum mismatch");
+		}
+		return words;
+	}
+
+	private static int sharedPrefix(byte[] previous, byte[] word) {
+		int length = Math.min(previous.length, word.length);
+		int shared = 0;
+		while (shared < length && previous[shared] == word[shared]) {
+			shared++;
+		}
+		return shared;
+	}
+
+	private static void writeVarint(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarint(InputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.read();
+			if (b < 0) {
+				throw new EOFException("unexpected end of redip binary dictionary");
+			}
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("corrupted redip binary dictionary: malformed varint");
+	}
+
+	private static void readFully(InputStream in, byte[] bytes, int offset, int length) throws IOException {
+		while (length > 0) {
+			int read = in.read(bytes, offset, length);
+			if (read < 0) {
+				throw new EOFException("unexpected end of redip binary dictionary");
+			}
+			offset += read;
+			length -= read;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.codec;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * DictionarySnapshotCodec
+ *
+ * 词库快照格式，用于jdbc ik_dict_snapshot及redis快照key：
+ * <pre>
+ * magic        4 bytes  "RSNP"
+ * version      1 byte
+ * flags        1 byte   保留
+ * watermark    8 bytes  快照包含的最大水位(jdbc为id，redis为score)
+ * words        4 bytes  词数
+ * body                  gzip压缩的 DictionaryBinaryCodec 词库
+ * </pre>
+ * 头部定长且不压缩，可只读取头部判断是否需要重新生成快照
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:20
+ */
+public final class DictionarySnapshotCodec {
+
+	/**
+	 * 头部长度
+	 */
+	public static final int HEADER_LENGTH = 18;
+
+	private static final byte[] MAGIC = { 'R', 'S', 'N', 'P' };
+	private static final int VERSION = 1;
+
+	private DictionarySnapshotCodec() {
+	}
+
+	/**
+	 * 编码快照
+	 * @param watermark 快照包含的最大水位
+	 * @param words 词库
+	 * @return bytes
+	 */
+	public static byte[] encode(double watermark, Collection<String> words) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			Set<String> uniqueWords = words instanceof Set ? (Set<String>) words : new HashSet<>(words);
+			out.write(ByteBuffer.allocate(HEADER_LENGTH)
+					.put(MAGIC)
+					.put((byte) VERSION)
+					.put((byte) 0)
+					.putDouble(watermark)
+					.putInt(uniqueWords.size())
+					.array());
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+				DictionaryBinaryCodec.encode(uniqueWords, gzip, false);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 解码快照头部
+	 * @param bytes 快照，至少包含头部
+	 * @return header
+	 * @throws IOException 不是快照或版本不支持
+	 */
+	public static Header header(byte[] bytes) throws IOException {
+		if (Objects.isNull(bytes) || bytes.length < HEADER_LENGTH) {
+			throw new IOException("not a redip dictionary snapshot");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, HEADER_LENGTH);
+		for (byte b : MAGIC) {
+			if (buffer.get() != b) {
+				throw new IOException("not a redip dictionary snapshot");
+			}
+		}
+		int version = buffer.get();
+		if (version != VERSION) {
+			throw new IOException(String.format("unsupported redip dictionary snapshot version '%s'", version));
+		}
+		buffer.get();
+		return new Header(buffer.getDouble(), buffer.getInt());
+	}
+
+	/**
+	 * 解码快照
+	 * @param bytes 快照
+	 * @return snapshot
+	 * @throws IOException 内容损坏或词数与头部不一致
+	 */
+	public static Snapshot decode(byte[] bytes) throws IOException {
+		Header header = header(bytes);
+		Set<String> words;
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH))) {
+			words = DictionaryBinaryCodec.decode(in);
+		}
+		if (words.size() != header.words) {
+			throw new IOException("corrupted redip dictionary snapshot: words mismatch");
+		}
+		return new Snapshot(header.watermark, header.words, words);
+	}
+
+	/**
+	 * 快照头部
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Header {
+		private final double watermark;
+		private final int words;
+	}
+
+	/**
+	 * 快照
+	 */
+	@Getter
+	public static final class Snapshot extends Header {
+		private final Set<String> content;
+
+		Snapshot(double watermark, int words, Set<String> content) {
+			super(watermark, words);
+			this.content = content;
+		}
+	}
+}
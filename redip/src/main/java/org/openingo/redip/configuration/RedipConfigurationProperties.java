@@ -28,12 +28,17 @@
 package org.openingo.redip.configuration;
 
 import lombok.Data;
+import org.openingo.jdkits.lang.StrKit;
+import org.openingo.redip.constants.DictionaryType;
 import org.openingo.redip.helper.StringHelper;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * RedipConfigurationProperties
@@ -57,6 +62,17 @@ public class RedipConfigurationProperties {
 		return new HashSet<>(StringHelper.filterBlank(dict.local.stop));
 	}
 
+	/**
+	 * 本地词典文件路径
+	 * @param dictionaryType 词典类型
+	 * @return 以base解析后的文件路径
+	 */
+	public final List<Path> getLocalExtDictPaths(DictionaryType dictionaryType) {
+		Set<String> files = DictionaryType.MAIN_WORDS.equals(dictionaryType) ? this.getLocalMainExtDictFiles() : this.getLocalStopExtDictFiles();
+		Path base = Paths.get(StrKit.notBlank(dict.local.base) ? dict.local.base : "");
+		return files.stream().map(base::resolve).collect(Collectors.toList());
+	}
+
 	public final Remote.Refresh getRemoteRefresh() {
 		return this.dict.remote.getRefresh();
 	}
@@ -85,6 +101,11 @@ public class RedipConfigurationProperties {
 	@Data
 	public static class DictFile {
 
+		/**
+		 * 词典文件相对路径的基准目录，为空时为工作目录
+		 */
+		String base;
+
 		/**
 		 * 主词典文件
 		 */
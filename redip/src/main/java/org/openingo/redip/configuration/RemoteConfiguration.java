@@ -28,8 +28,17 @@
 package org.openingo.redip.configuration;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.openingo.redip.constants.DictionaryType;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * RemoteConfiguration
@@ -45,31 +54,159 @@ public class RemoteConfiguration {
      */
     MySQL mysql = new MySQL();
 
+    /**
+     * jdbc 配置，按url或dialect选择方言，如postgresql、h2、sqlite
+     */
+    Jdbc jdbc = new Jdbc();
+
     /**
      * redis 配置
      */
     Redis redis = new Redis();
 
+    /**
+     * 熔断配置
+     */
+    Breaker breaker = new Breaker();
+
+    /**
+     * 词库缓存配置
+     */
+    Cache cache = new Cache();
+
+    /**
+     * 领域词库预算
+     */
+    Budget budget = new Budget();
+
+    /**
+     * 组合词源配置
+     */
+    Composite composite = new Composite();
+
+    /**
+     * file词源配置，starter中配置了词典文件时注册file词源，Pure Java方式使用dict.local
+     */
+    File file = new File();
+
+    /**
+     * 预热配置
+     */
+    Warmup warmup = new Warmup();
+
+    /**
+     * 词库快照配置
+     */
+    Snapshot snapshot = new Snapshot();
+
+    /**
+     * 是否跨领域复用内容相同的词实例，减少多领域节点的堆占用，统计见 RemoteDictionary.internerStats()
+     */
+    boolean internWords = true;
+
     public Http http() {
         return new Http();
     }
 
+    /**
+     * mysql词源，与jdbc词源配置相同
+     */
     @Data
-    public static class MySQL {
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    public static class MySQL extends Jdbc {
+
+    }
+
+    @Data
+    public static class Jdbc {
         private String url;
+        /**
+         * 方言：mysql|postgresql|h2|sqlite，为空时按url选择
+         */
+        private String dialect;
         private String username;
         private String password;
+        /**
+         * 启动时的schema处理：none不处理，validate检查版本，migrate执行未应用的迁移，mysql以外的方言直接创建最新版本的表
+         */
+        private String schemaMigration = "validate";
+        /**
+         * 只读副本地址，用户名、密码与主库相同；配置后词库读取及状态检测走副本，写入走主库
+         */
+        private List<String> replicas;
+        /**
+         * 副本健康检查周期，单位s
+         */
+        private Integer replicaHealthCheckPeriod = 10;
+        /**
+         * 写入后该领域的读取在此时间内走主库，单位s，不大于0时不启用
+         */
+        private Integer readYourWrites = 5;
+        /**
+         * 并行读取的并发数，大于1时词数不少于 parallelReadThreshold 的词库按id范围拆分，经多个连接并发以id游标分页读取，不超过连接池大小的一半
+         */
+        private Integer readParallelism = 1;
+        /**
+         * 并行读取时启用的最小词数
+         */
+        private Integer parallelReadThreshold = 100000;
+        /**
+         * 并行读取时每页的词数
+         */
+        private Integer readChunkSize = 10000;
+        /**
+         * 连接池配置，主库与副本各自一个连接池
+         */
+        private Pool pool = new Pool();
+
+        @Data
+        public static class Pool {
+            private Integer maximumPoolSize = 10;
+            private Integer minimumIdle = 2;
+            /**
+             * 获取连接超时时间，单位s
+             */
+            private Integer connectionTimeout = 30;
+            /**
+             * 空闲连接回收时间，单位s
+             */
+            private Integer idleTimeout = 600;
+            /**
+             * 连接最大存活时间，单位s
+             */
+            private Integer maxLifetime = 1800;
+            /**
+             * 预编译语句缓存
+             */
+            private boolean cachePrepStmts = true;
+            private Integer prepStmtCacheSize = 250;
+            private Integer prepStmtCacheSqlLimit = 2048;
+        }
     }
 
     @Data
     public static class Redis {
-        private String host = "localhost";
+        /**
+         * 单机地址，Pure Java方式初始化时未配置host且未配置集群节点则不创建redis词源；连接时未配置按localhost
+         */
+        private String host;
         private Integer port = 6379;
         private String username;
         private String password;
         private Integer database = 0;
         private Cluster cluster;
         private boolean ssl = false;
+        /**
+         * 使用hash tag key：es-ik-words:{domain}:main-words，同一领域的key落在同一slot，
+         * 新词写入可通过lua脚本原子完成；旧key可通过 RedisRemoteDictionary#migrateToHashTagKeys 迁移
+         */
+        private boolean hashTagKeys = false;
+        /**
+         * 词库分桶数，大于1时词按hash分散到多个key(es-ik-words:{domain:main-words:i})，集群模式下分布于不同slot，
+         * 写入按桶路由，读取各桶并发后合并；state、version等key不分桶；旧布局可通过 RedisRemoteDictionary#migrateToBuckets 迁移
+         */
+        private Integer buckets = 1;
         @Data
         public static class Cluster {
             /**
@@ -80,8 +217,214 @@ public class RemoteConfiguration {
         }
     }
 
+    @Data
+    public static class Breaker {
+        /**
+         * 是否启用熔断，熔断期间直接返回上一次成功获取的词库
+         */
+        private boolean enabled = true;
+        /**
+         * 领域连续失败次数阈值
+         */
+        private Integer failureThreshold = 3;
+        /**
+         * 词源连续失败次数阈值
+         */
+        private Integer etymologyFailureThreshold = 10;
+        /**
+         * 熔断持续时间，单位s，到期后进入半开状态
+         */
+        private Integer openDuration = 30;
+        /**
+         * 半开状态允许的探测请求数
+         */
+        private Integer halfOpenProbes = 1;
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * 是否启用进程内词库缓存
+         */
+        private boolean enabled = false;
+        /**
+         * 缓存有效期，单位s
+         */
+        private Integer ttl = 60;
+        /**
+         * 缓存的最大词数，不大于0时不限制
+         */
+        private Long maxWords = 5_000_000L;
+        /**
+         * 缓存的最大估算字节数，不大于0时不限制
+         */
+        private Long maxBytes = 0L;
+    }
+
+    @Data
+    public static class Budget {
+        /**
+         * 每个词库加载的最大词数，不大于0时不限制；超出预算时按权重从高到低加载
+         */
+        private Long maxWords = 0L;
+        /**
+         * 每个词库加载的最大估算字节数，不大于0时不限制
+         */
+        private Long maxBytes = 0L;
+        /**
+         * 领域单独的预算，domain => budget，未配置的领域使用上述预算
+         */
+        private Map<String, Budget> domains;
+
+        /**
+         * 领域的预算
+         * @param domain 领域
+         * @return budget
+         */
+        public Budget of(String domain) {
+            if (Objects.isNull(this.domains) || !this.domains.containsKey(domain)) {
+                return this;
+            }
+            return this.domains.get(domain);
+        }
+
+        /**
+         * 是否限制了预算
+         */
+        public boolean isLimited() {
+            return (Objects.nonNull(this.maxWords) && this.maxWords > 0)
+                    || (Objects.nonNull(this.maxBytes) && this.maxBytes > 0);
+        }
+    }
+
+    @Data
+    public static class Composite {
+        /**
+         * starter中是否注册组合词源，配置了sources时自动注册；Pure Java方式总是注册
+         */
+        private boolean enabled = false;
+        /**
+         * 领域词源Uri未指定sources时的成员词源，如 mysql,redis,http
+         */
+        private List<String> sources;
+        /**
+         * 主词库是否排除同领域的stop词，Uri可通过stopOverrides参数单独指定
+         */
+        private boolean stopOverrides = false;
+        /**
+         * 并发获取成员词源的线程数
+         */
+        private Integer parallelism = 4;
+    }
+
+    @Data
+    public static class File {
+        /**
+         * 词典文件相对路径的基准目录，为空时为工作目录
+         */
+        private String base;
+        /**
+         * 主词典文件
+         */
+        private List<String> main = Collections.emptyList();
+        /**
+         * stop词典文件
+         */
+        private List<String> stop = Collections.emptyList();
+
+        /**
+         * 词典文件路径
+         * @param dictionaryType 词典类型
+         * @return 以base解析后的文件路径
+         */
+        public List<Path> paths(DictionaryType dictionaryType) {
+            List<String> files = DictionaryType.MAIN_WORDS.equals(dictionaryType) ? this.main : this.stop;
+            if (Objects.isNull(files)) {
+                return Collections.emptyList();
+            }
+            Path base = Paths.get(Objects.isNull(this.base) ? "" : this.base);
+            return files.stream().map(base::resolve).collect(Collectors.toList());
+        }
+    }
+
+    @Data
+    public static class Warmup {
+        /**
+         * 初始化时预热的领域词源Uri，如 mysql://user、composite://user?sources=mysql,redis，主词库与stop词库均预热
+         */
+        private List<String> locations;
+        /**
+         * 并发预热数
+         */
+        private Integer parallelism = 4;
+        /**
+         * 同一词源合并为一次批量获取的最大词典数
+         */
+        private Integer batchSize = 100;
+        /**
+         * 预热期限，单位s，超过后不再等待，未完成的预热继续在后台进行
+         */
+        private Integer deadline = 60;
+        /**
+         * 预热超时或存在失败时是否仍视为就绪
+         */
+        private boolean failOpen = false;
+        /**
+         * 预热失败的词典在后台重试的间隔，单位s，全部加载后就绪；0不重试
+         */
+        private Integer retryInterval = 10;
+    }
+
+    @Data
+    public static class Snapshot {
+        /**
+         * 是否启用快照，启用后mysql/jdbc、redis词库的全量读取为快照加快照水位之后新增的词
+         */
+        private boolean enabled = false;
+        /**
+         * 是否在本节点后台生成快照，多个节点时只需一个节点(如写入方)开启
+         */
+        private boolean compact = false;
+        /**
+         * 后台检查周期，单位s
+         */
+        private Integer compactPeriod = 60;
+        /**
+         * 快照水位之后新增的词数达到该值时重新生成快照
+         */
+        private Integer deltaThreshold = 10000;
+        /**
+         * 词数不少于该值的词库才生成快照
+         */
+        private Integer minWords = 10000;
+        /**
+         * 生成快照的领域，为空时为本节点读取过的领域
+         */
+        private List<String> domains;
+    }
+
     @Data
     public static class Http {
         String base = "http://localhost";
+
+        /**
+         * 批量获取词库时的并发请求数
+         */
+        Integer parallelism = 8;
+
+        /**
+         * 长轮询：请求携带上次的ETag及等待时间(Prefer: wait=N)，服务端挂起至词库变化，收到响应后立即交付词典并再次发起
+         */
+        boolean longPoll = false;
+
+        /**
+         * 长轮询等待时间，单位s
+         */
+        Integer longPollTimeout = 30;
+
+        /**
+         * 长轮询线程数，每个线程同时持有一个等待中的请求，词库地址多于线程数时轮流等待
+         */
+        Integer longPollThreads = 4;
     }
 }
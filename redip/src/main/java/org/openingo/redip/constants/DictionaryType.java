@@ -29,6 +29,8 @@ package org.openingo.redip.constants;
 
 import lombok.Getter;
 
+import java.util.stream.Stream;
+
 /**
  * DictionaryType
  *
@@ -47,4 +49,12 @@ public enum DictionaryType {
 		this.type = type;
 		this.dictName = dictName;
 	}
+
+	public static DictionaryType newByType(Integer type) {
+		return Stream.of(values()).filter(t -> t.type.equals(type)).findFirst().orElse(null);
+	}
+
+	public static DictionaryType newByDictName(String dictName) {
+		return Stream.of(values()).filter(t -> t.dictName.equals(dictName)).findFirst().orElse(null);
+	}
 }
@@ -45,6 +45,9 @@ public enum RemoteDictionaryEtymology {
 	HTTP("http"),
 	REDIS("redis"),
 	MYSQL("mysql"),
+	JDBC("jdbc"),
+	FILE("file"),
+	COMPOSITE("composite"),
 	DEFAULT(HTTP.etymology);
 
 	String etymology;
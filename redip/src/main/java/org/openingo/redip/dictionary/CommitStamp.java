@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * CommitStamp
+ *
+ * 词库写入戳：写入后的词库版本及提交时间，随MySQL ik_dict_state、Redis commit key、HTTP响应头传递，
+ * 用于计算新词从写入到各节点生效的延迟
+ *
+ * @author Qicz
+ * @since 2026/10/19 22:10
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CommitStamp {
+
+	/**
+	 * HTTP响应头，值为 version:committedAt
+	 */
+	public static final String HTTP_HEADER = "X-Redip-Commit";
+
+	/**
+	 * 词库版本
+	 */
+	private final long version;
+
+	/**
+	 * 提交时间，单位ms
+	 */
+	private final long committedAt;
+
+	public static CommitStamp of(long version, long committedAt) {
+		return new CommitStamp(version, committedAt);
+	}
+
+	/**
+	 * 解析 version:committedAt
+	 * @param stamp 写入戳
+	 * @return 格式不正确或没有提交时间时为null
+	 */
+	public static CommitStamp parse(String stamp) {
+		if (Objects.isNull(stamp)) {
+			return null;
+		}
+		int index = stamp.indexOf(':');
+		if (index <= 0) {
+			return null;
+		}
+		try {
+			long committedAt = Long.parseLong(stamp.substring(index + 1).trim());
+			return committedAt > 0 ? of(Long.parseLong(stamp.substring(0, index).trim()), committedAt) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s:%s", this.version, this.committedAt);
+	}
+}
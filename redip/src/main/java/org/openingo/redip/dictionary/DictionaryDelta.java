@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * DictionaryDelta
+ *
+ * 词典增量：某一词典自上次加载以来新增、删除的词
+ *
+ * @author Qicz
+ * @since 2026/10/19 17:00
+ */
+@Getter
+@ToString(of = "dictionaryKey")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DictionaryDelta {
+
+	/**
+	 * 词典标识
+	 */
+	private final DictionaryKey dictionaryKey;
+
+	/**
+	 * 新增的词
+	 */
+	private final Set<String> added;
+
+	/**
+	 * 删除的词
+	 */
+	private final Set<String> removed;
+
+	public static DictionaryDelta of(DictionaryKey dictionaryKey, Set<String> added, Set<String> removed) {
+		return new DictionaryDelta(dictionaryKey,
+				Collections.unmodifiableSet(added),
+				Collections.unmodifiableSet(removed));
+	}
+
+	public static DictionaryDelta added(DictionaryKey dictionaryKey, Set<String> added) {
+		return of(dictionaryKey, added, Collections.emptySet());
+	}
+
+	/**
+	 * 是否无变化
+	 * @return true无变化
+	 */
+	public boolean isEmpty() {
+		return this.added.isEmpty() && this.removed.isEmpty();
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * DictionaryKey
+ *
+ * 词典标识：词源 + 词典类型 + 领域 + 词源参数
+ *
+ * @author Qicz
+ * @since 2026/10/19 10:30
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DictionaryKey {
+
+	/**
+	 * 词源
+	 */
+	private final String etymology;
+
+	/**
+	 * 词典类型
+	 */
+	private final DictionaryType dictionaryType;
+
+	/**
+	 * 领域
+	 */
+	private final String domain;
+
+	/**
+	 * 词源参数，如组合词源的sources、stopOverrides，参数不同的词典互不共享缓存、合并调用及熔断；
+	 * 按参数排序，无参数时为null
+	 */
+	private final String query;
+
+	public static DictionaryKey of(String etymology, DictionaryType dictionaryType, String domain) {
+		return new DictionaryKey(etymology, dictionaryType, domain, null);
+	}
+
+	public static DictionaryKey of(RemoteDictionaryEtymology etymology, DictionaryType dictionaryType, String domain) {
+		return of(etymology.getEtymology(), dictionaryType, domain);
+	}
+
+	public static DictionaryKey of(DictionaryType dictionaryType, URI domainUri) {
+		String domain = domainUri.getAuthority();
+		if (Objects.isNull(domain)) {
+			// 如 http:http://localhost/words.dic 形式的完整地址
+			domain = domainUri.getSchemeSpecificPart();
+		}
+		return new DictionaryKey(domainUri.getScheme(), dictionaryType, domain, normalize(domainUri.getRawQuery()));
+	}
+
+	/**
+	 * 同一词源、领域及参数的其他类型词典
+	 * @param dictionaryType 词典类型
+	 * @return key
+	 */
+	public DictionaryKey withDictionaryType(DictionaryType dictionaryType) {
+		return new DictionaryKey(this.etymology, dictionaryType, this.domain, this.query);
+	}
+
+	/**
+	 * 领域词源Uri，携带词源参数
+	 * @return uri
+	 */
+	public URI toUri() {
+		return URI.create(Objects.isNull(this.query)
+				? String.format("%s://%s", this.etymology, this.domain)
+				: String.format("%s://%s?%s", this.etymology, this.domain, this.query));
+	}
+
+	private static String normalize(String query) {
+		if (Objects.isNull(query)) {
+			return null;
+		}
+		String normalized = Arrays.stream(query.split("&"))
+				.filter(parameter -> !parameter.isEmpty())
+				.sorted()
+				.collect(Collectors.joining("&"));
+		return normalized.isEmpty() ? null : normalized;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s#%s", this.toUri(), this.dictionaryType.getDictName());
+	}
+}
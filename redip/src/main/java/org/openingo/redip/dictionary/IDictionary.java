@@ -29,6 +29,8 @@ package org.openingo.redip.dictionary;
 
 import org.openingo.redip.constants.DictionaryType;
 
+import java.util.Set;
+
 /**
  * IDictionary
  *
@@ -38,4 +40,23 @@ import org.openingo.redip.constants.DictionaryType;
 public interface IDictionary {
 
 	void reload(DictionaryType dictionaryType);
+
+	/**
+	 * 携带词库重新加载词典，词源检测到变化时一并获取词库，省去回调getRemoteWords的往返
+	 * @param dictionaryType 词典类型
+	 * @param words 最新词库
+	 * @return true已加载，false不支持，词源将回退为reload(dictionaryType)
+	 */
+	default boolean reload(DictionaryType dictionaryType, Set<String> words) {
+		return false;
+	}
+
+	/**
+	 * 增量更新词典，词源能够计算增量时优先调用
+	 * @param delta 新增、删除的词
+	 * @return true已应用，false不支持增量，词源将回退为reload
+	 */
+	default boolean apply(DictionaryDelta delta) {
+		return false;
+	}
 }
@@ -30,11 +30,13 @@ package org.openingo.redip.dictionary.remote;
 import org.openingo.jdkits.validate.AssertKit;
 import org.openingo.redip.configuration.RemoteConfiguration;
 import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
 import org.openingo.redip.dictionary.IDictionary;
 
 import java.net.URI;
-import java.util.Collections;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Stream;
 
 /**
@@ -49,7 +51,6 @@ public abstract class AbstractRemoteDictionary {
 
 	AbstractRemoteDictionary(RemoteConfiguration remoteConfiguration) {
 		this.remoteConfiguration = remoteConfiguration;
-		Runtime.getRuntime().addShutdownHook(new Thread(this::closeResource));
 	}
 
 	/**
@@ -78,6 +79,62 @@ public abstract class AbstractRemoteDictionary {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * 读取远程词库，与getRemoteWords不同，不改变词库状态，供快照等旁路读取使用
+	 * @param dictionaryType 词典类型
+	 * @param domain 领域
+	 * @return words
+	 */
+	public Set<String> readRemoteWords(DictionaryType dictionaryType,
+									   String domain) {
+		return this.getRemoteWords(dictionaryType, DictionaryKey.of(this.etymology(), dictionaryType, domain).toUri());
+	}
+
+	/**
+	 * 词库当前版本，词库有变化时版本随之变化
+	 * @param dictionaryType 词典类型
+	 * @param domain 领域
+	 * @return version，不支持时为null
+	 */
+	public String currentVersion(DictionaryType dictionaryType,
+								 String domain) {
+		return null;
+	}
+
+	/**
+	 * 词库最近一次写入的写入戳
+	 * @param dictionaryType 词典类型
+	 * @param domain 领域
+	 * @return stamp，不支持时为null
+	 */
+	public CommitStamp commitStamp(DictionaryType dictionaryType,
+								   String domain) {
+		return null;
+	}
+
+	/**
+	 * 检测到词库变化时记录写入戳，词典生效时据此计算延迟
+	 * @param dictionaryKey 词典标识
+	 * @param stamp 写入戳
+	 */
+	protected void observed(DictionaryKey dictionaryKey,
+							CommitStamp stamp) {
+		RemoteDictionary.observed(dictionaryKey, stamp);
+	}
+
+	/**
+	 * 批量获取远程词库，默认逐个获取，各词源可按自身特性合并为一次往返
+	 * @param dictionaryKeys 词典标识
+	 * @return 各词典的words
+	 */
+	public Map<DictionaryKey, Set<String>> getRemoteWords(Collection<DictionaryKey> dictionaryKeys) {
+		Map<DictionaryKey, Set<String>> remoteWords = new LinkedHashMap<>();
+		for (DictionaryKey dictionaryKey : new LinkedHashSet<>(dictionaryKeys)) {
+			remoteWords.put(dictionaryKey, this.getRemoteWords(dictionaryKey.getDictionaryType(), dictionaryKey.toUri()));
+		}
+		return remoteWords;
+	}
+
 	/**
 	 * 重新加载词库
 	 * @param dictionary 词典
@@ -104,6 +161,31 @@ public abstract class AbstractRemoteDictionary {
 
 	}
 
+	/**
+	 * 向词典交付增量
+	 * @param dictionary 词典
+	 * @param delta 增量，无法计算时为null
+	 * @return true增量已应用，false需全量交付
+	 */
+	protected boolean deliver(IDictionary dictionary,
+							  DictionaryDelta delta) {
+		return Objects.nonNull(delta) && (delta.isEmpty() || dictionary.apply(delta));
+	}
+
+	/**
+	 * 向词典交付全量词库，词典不支持时回退为reload
+	 * @param dictionary 词典
+	 * @param dictionaryType 词典类型
+	 * @param words 最新词库
+	 */
+	protected void deliver(IDictionary dictionary,
+						   DictionaryType dictionaryType,
+						   Set<String> words) {
+		if (!dictionary.reload(dictionaryType, words)) {
+			dictionary.reload(dictionaryType);
+		}
+	}
+
 	/**
 	 * 添加主词
 	 * @param domain 业务
@@ -128,6 +210,24 @@ public abstract class AbstractRemoteDictionary {
 		}
 	}
 
+	/**
+	 * 添加带权重的词，已存在的词更新权重，词或权重有变化时递增词库版本以触发重新加载
+	 * @param dictionaryType 词典类型
+	 * @param domain 业务
+	 * @param weights 词及权重
+	 * @return true成功
+	 */
+	public boolean addWeightedWord(DictionaryType dictionaryType, String domain, Map<String, Integer> weights) {
+		if (Objects.isNull(weights) || weights.isEmpty()) {
+			throw new IllegalArgumentException("the weights is 'null' or 'empty'.");
+		}
+		synchronized (this) {
+			boolean added = this.addWeightedWords(dictionaryType, domain, weights);
+			RemoteDictionary.invalidate(DictionaryKey.of(this.etymology(), dictionaryType, domain));
+			return added;
+		}
+	}
+
 	/**
 	 * 处理添加新词
 	 * @param dictionaryType 词典类型
@@ -137,7 +237,9 @@ public abstract class AbstractRemoteDictionary {
 	 */
 	private boolean processAddingWords(DictionaryType dictionaryType, String domain, String... words) {
 		AssertKit.notEmpty(words, "the words is 'null' or 'empty'.");
-		return this.addWord(dictionaryType, domain, words);
+		boolean added = this.addWord(dictionaryType, domain, words);
+		RemoteDictionary.invalidate(DictionaryKey.of(this.etymology(), dictionaryType, domain));
+		return added;
 	}
 	/**
 	 * 添加新词
@@ -149,7 +251,18 @@ public abstract class AbstractRemoteDictionary {
 	protected abstract boolean addWord(DictionaryType dictionaryType, String domain, String... words);
 
 	/**
-	 * close resources
+	 * 添加带权重的词，默认不支持返回false
+	 * @param dictionaryType 词典类型
+	 * @param domain 业务
+	 * @param weights 词及权重
+	 * @return true成功
+	 */
+	protected boolean addWeightedWords(DictionaryType dictionaryType, String domain, Map<String, Integer> weights) {
+		return false;
+	}
+
+	/**
+	 * close resources，由容器(destroyMethod)或 RemoteDictionary#close 调用，可重复调用
 	 */
 	protected abstract void closeResource();
 
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.sys.SystemClockKit;
+
+/**
+ * CircuitBreaker
+ *
+ * 连续失败达到阈值后熔断，熔断期满进入半开状态，允许有限的探测请求，
+ * 探测成功则恢复，失败则继续熔断
+ *
+ * @author Qicz
+ * @since 2026/10/19 11:45
+ */
+@Slf4j
+final class CircuitBreaker {
+
+	enum State {
+		CLOSED,
+		OPEN,
+		HALF_OPEN
+	}
+
+	private final String name;
+	private final int failureThreshold;
+	private final long openMillis;
+	private final int halfOpenProbes;
+
+	private State state = State.CLOSED;
+	private int failures;
+	private long openedAt;
+	private int probes;
+
+	CircuitBreaker(String name, int failureThreshold, long openMillis, int halfOpenProbes) {
+		this.name = name;
+		this.failureThreshold = Math.max(1, failureThreshold);
+		this.openMillis = Math.max(0, openMillis);
+		this.halfOpenProbes = Math.max(1, halfOpenProbes);
+	}
+
+	/**
+	 * 申请一次调用
+	 * @return true允许调用
+	 */
+	synchronized boolean tryAcquire() {
+		if (State.CLOSED.equals(this.state)) {
+			return true;
+		}
+		if (State.OPEN.equals(this.state)) {
+			if (this.remainingOpenMillis() > 0) {
+				return false;
+			}
+			log.info("circuit breaker '{}' is half-open, probing...", this.name);
+			this.state = State.HALF_OPEN;
+			this.probes = 0;
+		}
+		if (this.probes >= this.halfOpenProbes) {
+			return false;
+		}
+		this.probes++;
+		return true;
+	}
+
+	/**
+	 * 归还未使用的调用许可
+	 */
+	synchronized void release() {
+		if (State.HALF_OPEN.equals(this.state) && this.probes > 0) {
+			this.probes--;
+		}
+	}
+
+	synchronized void onSuccess() {
+		if (!State.CLOSED.equals(this.state)) {
+			log.info("circuit breaker '{}' is closed", this.name);
+		}
+		this.state = State.CLOSED;
+		this.failures = 0;
+		this.probes = 0;
+	}
+
+	synchronized void onFailure() {
+		this.failures++;
+		if (State.HALF_OPEN.equals(this.state) || this.failures >= this.failureThreshold) {
+			if (!State.OPEN.equals(this.state)) {
+				log.warn("circuit breaker '{}' is open after '{}' failures", this.name, this.failures);
+			}
+			this.state = State.OPEN;
+			this.openedAt = SystemClockKit.now();
+			this.probes = 0;
+		}
+	}
+
+	/**
+	 * 熔断剩余时间
+	 * @return 毫秒，非熔断状态为0
+	 */
+	synchronized long remainingOpenMillis() {
+		if (!State.OPEN.equals(this.state)) {
+			return 0;
+		}
+		return Math.max(0, this.openedAt + this.openMillis - SystemClockKit.now());
+	}
+
+	synchronized State getState() {
+		return this.state;
+	}
+}
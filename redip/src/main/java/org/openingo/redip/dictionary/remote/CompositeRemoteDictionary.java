@@ -0,0 +1,410 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.lang.StrKit;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.helper.NamedThreadFactory;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CompositeRemoteDictionary
+ *
+ * 组合词源：composite://domain?sources=mysql,redis,http&stopOverrides=true，
+ * 并发获取各成员词源同一领域的词库并合并去重；各成员词源独立检测变化，只重新获取发生变化的成员词源
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:40
+ */
+@Slf4j
+public class CompositeRemoteDictionary extends AbstractRemoteDictionary {
+
+	/**
+	 * 词源 => 成员远程词典
+	 */
+	private final Map<String, AbstractRemoteDictionary> members;
+
+	private final ExecutorService fetchExecutor;
+
+	/**
+	 * 词典类型 + 领域词源Uri => 组合词库
+	 */
+	private final Map<String, Composite> composites = new ConcurrentHashMap<>();
+
+	/**
+	 * 成员词源为RemoteDictionary已加载的词源
+	 * @param remoteConfiguration 远程词典配置
+	 */
+	public CompositeRemoteDictionary(RemoteConfiguration remoteConfiguration) {
+		this(remoteConfiguration, RemoteDictionary.remoteDictionaries());
+	}
+
+	public CompositeRemoteDictionary(RemoteConfiguration remoteConfiguration,
+									 Map<String, AbstractRemoteDictionary> members) {
+		super(remoteConfiguration);
+		this.members = members;
+		int parallelism = Optional.ofNullable(this.remoteConfiguration.getComposite().getParallelism()).orElse(4);
+		this.fetchExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), new NamedThreadFactory("redip-composite"));
+	}
+
+	@Override
+	public Set<String> getRemoteWords(DictionaryType dictionaryType,
+									  URI domainUri) {
+		Composite composite = this.composite(dictionaryType, domainUri);
+		log.info("'composite' remote dictionary get new words from domain '{}' dictionary '{}' sources '{}'", composite.domain, dictionaryType, composite.sources);
+		Map<String, Set<String>> sourceWords = this.fetchAll(composite.sources,
+				source -> this.member(source).getRemoteWords(dictionaryType, composite.sourceUri(source)));
+		synchronized (composite) {
+			composite.sourceWords.putAll(sourceWords);
+			composite.merged = this.merge(composite);
+			log.info("'composite' remote dictionary append '{}' words.", composite.merged.size());
+			return composite.merged;
+		}
+	}
+
+	@Override
+	public Set<String> getRemoteWords(DictionaryType dictionaryType,
+									  String etymology,
+									  String domain) {
+		return this.getRemoteWords(dictionaryType, DictionaryKey.of(this.etymology(), dictionaryType, domain).toUri());
+	}
+
+	@Override
+	public Set<String> readRemoteWords(DictionaryType dictionaryType, String domain) {
+		Composite composite = this.composite(dictionaryType, DictionaryKey.of(this.etymology(), dictionaryType, domain).toUri());
+		Map<String, Set<String>> sourceWords = this.fetchAll(composite.sources,
+				source -> this.member(source).readRemoteWords(dictionaryType, domain));
+		return this.merge(composite, sourceWords, this.stopWords(composite, () -> this.fetchAll(composite.sources,
+				source -> this.member(source).readRemoteWords(DictionaryType.STOP_WORDS, domain))));
+	}
+
+	@Override
+	protected void reloadDictionary(IDictionary dictionary,
+									DictionaryType dictionaryType,
+									URI domainUri) {
+		Composite composite = this.composite(dictionaryType, domainUri);
+		log.info("'composite' remote dictionary reload dictionary from domain '{}' dictionary '{}' sources '{}'", composite.domain, dictionaryType, composite.sources);
+		synchronized (composite) {
+			if (composite.dictionaries.add(dictionary)) {
+				composite.pending.add(dictionary);
+			}
+			composite.reloading++;
+		}
+		try {
+			// 各成员词源并发检测变化，变化的成员通过回调交付各自的词库
+			this.fetchAll(composite.sources, source -> {
+				this.member(source).reloadDictionary(composite.sourceDictionaries.computeIfAbsent(source, k -> new SourceDictionary(composite, source)),
+						dictionaryType, composite.sourceUri(source));
+				return Collections.emptySet();
+			});
+		} finally {
+			synchronized (composite) {
+				composite.reloading--;
+				if (composite.changed) {
+					this.publish(composite);
+				} else if (!composite.pending.isEmpty() && !composite.sourceWords.isEmpty()) {
+					// 成员词源无变化时不再交付，新加入的词典直接交付当前的组合词库
+					composite.pending.forEach(pending -> this.deliver(pending, composite.dictionaryType, composite.merged));
+					composite.pending.clear();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 并发调用各成员词源
+	 * @return 词源 => words
+	 */
+	private Map<String, Set<String>> fetchAll(List<String> sources, Function<String, Set<String>> fetcher) {
+		Map<String, CompletableFuture<Set<String>>> futures = new LinkedHashMap<>();
+		for (String source : sources) {
+			futures.put(source, CompletableFuture.supplyAsync(() -> fetcher.apply(source), this.fetchExecutor));
+		}
+		Map<String, Set<String>> sourceWords = new LinkedHashMap<>();
+		try {
+			futures.forEach((source, future) -> sourceWords.put(source, future.join()));
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RemoteDictionaryException) {
+				throw (RemoteDictionaryException) e.getCause();
+			}
+			throw new RemoteDictionaryException("'composite' remote dictionary get words failure", e.getCause());
+		}
+		return sourceWords;
+	}
+
+	/**
+	 * 合并各成员词源的词库，按词数由多到少合并，最大的词库直接作为初始集合
+	 */
+	private Set<String> merge(Composite composite) {
+		return this.merge(composite, composite.sourceWords, this.stopWords(composite, () -> {
+			Composite stop = this.composites.get(composite.siblingKey(DictionaryType.STOP_WORDS));
+			if (Objects.nonNull(stop) && !stop.sourceWords.isEmpty()) {
+				return stop.sourceWords;
+			}
+			return this.fetchAll(composite.sources,
+					source -> this.member(source).readRemoteWords(DictionaryType.STOP_WORDS, composite.domain));
+		}));
+	}
+
+	private Set<String> merge(Composite composite,
+							  Map<String, Set<String>> sourceWords,
+							  Set<String> stopWords) {
+		List<Set<String>> words = sourceWords.values().stream()
+				.filter(Objects::nonNull)
+				.sorted(Comparator.comparingInt(Set<String>::size).reversed())
+				.collect(Collectors.toList());
+		if (words.isEmpty()) {
+			return Collections.emptySet();
+		}
+		int size = words.stream().mapToInt(Set::size).sum();
+		Set<String> merged = new HashSet<>(Math.max(16, (int) (size / 0.75f) + 1));
+		words.forEach(merged::addAll);
+		if (!stopWords.isEmpty()) {
+			merged.removeIf(stopWords::contains);
+			log.info("'composite' remote dictionary domain '{}' main words overridden by '{}' stop words.", composite.domain, stopWords.size());
+		}
+		return merged;
+	}
+
+	/**
+	 * 主词库需要排除的stop词
+	 */
+	private Set<String> stopWords(Composite composite, Callable<Map<String, Set<String>>> stopSourceWords) {
+		if (!DictionaryType.MAIN_WORDS.equals(composite.dictionaryType) || !composite.stopOverrides) {
+			return Collections.emptySet();
+		}
+		try {
+			Set<String> stopWords = new HashSet<>();
+			stopSourceWords.call().values().forEach(stopWords::addAll);
+			return stopWords;
+		} catch (RemoteDictionaryException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RemoteDictionaryException("'composite' remote dictionary get stop words failure", e);
+		}
+	}
+
+	/**
+	 * 重新合并并交付各词典，可计算增量时只交付增量，新加入的词典交付全量
+	 */
+	private void publish(Composite composite) {
+		composite.changed = false;
+		Set<String> previous = composite.merged;
+		composite.merged = this.merge(composite);
+		Set<String> added = new HashSet<>(composite.merged);
+		added.removeAll(previous);
+		Set<String> removed = new HashSet<>(previous);
+		removed.removeAll(composite.merged);
+		log.info("'composite' remote dictionary domain '{}' dictionary '{}' changed, added '{}' removed '{}'.",
+				composite.domain, composite.dictionaryType, added.size(), removed.size());
+		DictionaryDelta delta = DictionaryDelta.of(composite.dictionaryKey, added, removed);
+		for (IDictionary dictionary : new ArrayList<>(composite.dictionaries)) {
+			if (composite.pending.contains(dictionary) || !this.deliver(dictionary, delta)) {
+				this.deliver(dictionary, composite.dictionaryType, composite.merged);
+			}
+		}
+		composite.pending.clear();
+		// stop词变化时，排除stop词的主词库随之变化
+		if (DictionaryType.STOP_WORDS.equals(composite.dictionaryType)) {
+			Composite main = this.composites.get(composite.siblingKey(DictionaryType.MAIN_WORDS));
+			if (Objects.nonNull(main) && main.stopOverrides) {
+				synchronized (main) {
+					this.publish(main);
+				}
+			}
+		}
+	}
+
+	private Composite composite(DictionaryType dictionaryType, URI domainUri) {
+		Map<String, String> parameters = this.parameters(domainUri);
+		RemoteConfiguration.Composite configuration = this.remoteConfiguration.getComposite();
+		String sources = parameters.get("sources");
+		List<String> members = StrKit.notBlank(sources)
+				? Arrays.stream(sources.split(",")).map(String::trim).filter(StrKit::notBlank).distinct().collect(Collectors.toList())
+				: Optional.ofNullable(configuration.getSources()).orElse(Collections.emptyList());
+		boolean stopOverrides = parameters.containsKey("stopOverrides")
+				? Boolean.parseBoolean(parameters.get("stopOverrides"))
+				: configuration.isStopOverrides();
+		String domain = domainUri.getAuthority();
+		String key = Composite.key(dictionaryType, domain, members, stopOverrides);
+		return this.composites.computeIfAbsent(key, k -> new Composite(DictionaryKey.of(dictionaryType, domainUri), members, stopOverrides));
+	}
+
+	private Map<String, String> parameters(URI domainUri) {
+		Map<String, String> parameters = new HashMap<>();
+		String query = domainUri.getQuery();
+		if (StrKit.isBlank(query)) {
+			return parameters;
+		}
+		for (String parameter : query.split("&")) {
+			int index = parameter.indexOf('=');
+			if (index > 0) {
+				parameters.put(parameter.substring(0, index), parameter.substring(index + 1));
+			}
+		}
+		return parameters;
+	}
+
+	private AbstractRemoteDictionary member(String source) {
+		AbstractRemoteDictionary member = this.members.get(source);
+		if (Objects.isNull(member) || member == this) {
+			throw new RemoteDictionaryException(String.format("'composite' remote dictionary source '%s' not found", source));
+		}
+		return member;
+	}
+
+	@Override
+	protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
+		log.info("'{}' remote dictionary add new word 'not support", this.etymology());
+		return false;
+	}
+
+	@Override
+	protected void closeResource() {
+		this.fetchExecutor.shutdownNow();
+	}
+
+	@Override
+	protected String etymology() {
+		return RemoteDictionaryEtymology.COMPOSITE.getEtymology();
+	}
+
+	/**
+	 * 组合词库：各成员词源的词库及合并结果
+	 */
+	private static class Composite {
+		/**
+		 * 携带词源参数的词典标识
+		 */
+		final DictionaryKey dictionaryKey;
+		final DictionaryType dictionaryType;
+		final String domain;
+		final List<String> sources;
+		final boolean stopOverrides;
+		/**
+		 * 词源 => 该词源最近一次交付的词库
+		 */
+		final Map<String, Set<String>> sourceWords = new ConcurrentHashMap<>();
+		final Map<String, SourceDictionary> sourceDictionaries = new ConcurrentHashMap<>();
+		Set<String> merged = Collections.emptySet();
+		/**
+		 * 加载该组合词库的词典，同一组合词库可被多个词典加载
+		 */
+		final Set<IDictionary> dictionaries = Collections.newSetFromMap(new WeakHashMap<>());
+		/**
+		 * 尚未交付过组合词库的词典
+		 */
+		final Set<IDictionary> pending = Collections.newSetFromMap(new WeakHashMap<>());
+		/**
+		 * 进行中的reload数，reload期间的变化在结束时合并交付一次
+		 */
+		int reloading;
+		boolean changed;
+
+		Composite(DictionaryKey dictionaryKey, List<String> sources, boolean stopOverrides) {
+			this.dictionaryKey = dictionaryKey;
+			this.dictionaryType = dictionaryKey.getDictionaryType();
+			this.domain = dictionaryKey.getDomain();
+			this.sources = sources;
+			this.stopOverrides = stopOverrides;
+		}
+
+		URI sourceUri(String source) {
+			return URI.create(String.format("%s://%s", source, this.domain));
+		}
+
+		String siblingKey(DictionaryType dictionaryType) {
+			return key(dictionaryType, this.domain, this.sources, this.stopOverrides);
+		}
+
+		static String key(DictionaryType dictionaryType, String domain, List<String> sources, boolean stopOverrides) {
+			return String.format("%s:%s:%s:%s", dictionaryType.getDictName(), domain, String.join(",", sources), stopOverrides);
+		}
+	}
+
+	/**
+	 * 接收成员词源交付的词典，更新该词源的词库后合并交付，长轮询、文件监听等异步交付同样生效
+	 */
+	private class SourceDictionary implements IDictionary {
+
+		private final Composite composite;
+		private final String source;
+
+		SourceDictionary(Composite composite, String source) {
+			this.composite = composite;
+			this.source = source;
+		}
+
+		@Override
+		public void reload(DictionaryType type) {
+			this.changed(member(this.source).getRemoteWords(type, this.composite.sourceUri(this.source)));
+		}
+
+		@Override
+		public boolean reload(DictionaryType type, Set<String> words) {
+			this.changed(words);
+			return true;
+		}
+
+		@Override
+		public boolean apply(DictionaryDelta delta) {
+			synchronized (this.composite) {
+				Set<String> words = this.composite.sourceWords.get(this.source);
+				if (Objects.isNull(words)) {
+					return false;
+				}
+				Set<String> applied = new HashSet<>(words);
+				applied.addAll(delta.getAdded());
+				applied.removeAll(delta.getRemoved());
+				this.changed(applied);
+			}
+			return true;
+		}
+
+		private void changed(Set<String> words) {
+			synchronized (this.composite) {
+				this.composite.sourceWords.put(this.source, words);
+				this.composite.changed = true;
+				if (this.composite.reloading == 0) {
+					publish(this.composite);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * DeliveryStates
+ *
+ * 各词典最近一次交付的状态（版本、水位等），同一JVM中的多个词典各自检测变化、计算增量，
+ * 一个词典的重新加载或其他读取不影响其他词典；词典不再使用后随之回收
+ *
+ * @author Qicz
+ * @since 2026/10/20 09:30
+ */
+final class DeliveryStates<S> {
+
+	private final Map<IDictionary, Map<DictionaryKey, S>> states = new WeakHashMap<>();
+
+	/**
+	 * 词典最近一次交付的状态
+	 * @param dictionary 词典
+	 * @param dictionaryKey 词典标识
+	 * @return state，尚未交付时为null
+	 */
+	synchronized S get(IDictionary dictionary, DictionaryKey dictionaryKey) {
+		Map<DictionaryKey, S> dictionaryStates = this.states.get(dictionary);
+		return Objects.isNull(dictionaryStates) ? null : dictionaryStates.get(dictionaryKey);
+	}
+
+	/**
+	 * 记录词典交付的状态
+	 * @param dictionary 词典
+	 * @param dictionaryKey 词典标识
+	 * @param state 状态
+	 */
+	synchronized void put(IDictionary dictionary, DictionaryKey dictionaryKey, S state) {
+		this.states.computeIfAbsent(dictionary, k -> new HashMap<>()).put(dictionaryKey, state);
+	}
+}
@@ -0,0 +1,424 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.helper.WordInterner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * FileRemoteDictionary
+ *
+ * 本地词库文件词源(file://)：以内存映射逐行解码读取，WatchService监听文件变化，仅重新加载变化的词典类型；
+ * 文件仅追加时只读取追加的部分，以增量交付词典；读取位置按词典分别记录，文件变化时通知所有词典
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:30
+ */
+@Slf4j
+public class FileRemoteDictionary extends AbstractRemoteDictionary {
+
+	/**
+	 * 单次映射的最大字节数
+	 */
+	private static final long MAP_CHUNK_SIZE = 64L * 1024 * 1024;
+
+	/**
+	 * 判断文件仅追加时比对的已读内容末尾字节数
+	 */
+	private static final int TAIL_CHECK_SIZE = 64;
+
+	private final Map<DictionaryType, List<Path>> dictFiles = new EnumMap<>(DictionaryType.class);
+
+	/**
+	 * 词典类型 => 重新加载过的词典及其读取状态，文件变化时逐个通知；词典不再使用后随之回收
+	 */
+	private final Map<DictionaryType, Map<IDictionary, Consumer>> consumers = new EnumMap<>(DictionaryType.class);
+
+	private final WatchService watchService;
+
+	public FileRemoteDictionary(RemoteConfiguration remoteConfiguration,
+								Collection<Path> mainFiles,
+								Collection<Path> stopFiles) {
+		super(remoteConfiguration);
+		this.dictFiles.put(DictionaryType.MAIN_WORDS, this.toDictFiles(mainFiles));
+		this.dictFiles.put(DictionaryType.STOP_WORDS, this.toDictFiles(stopFiles));
+		for (DictionaryType dictionaryType : DictionaryType.values()) {
+			this.consumers.put(dictionaryType, new WeakHashMap<>());
+		}
+		this.watchService = this.watch();
+	}
+
+	@Override
+	public Set<String> getRemoteWords(DictionaryType dictionaryType,
+									  String etymology,
+									  String domain) {
+		log.info("'file' remote dictionary get new words of dictionary '{}'", dictionaryType);
+		Set<String> words = new HashSet<>();
+		for (Path path : this.dictFiles.get(dictionaryType)) {
+			this.read(path, 0, words);
+		}
+		log.info("'file' remote dictionary append '{}' words.", words.size());
+		return words;
+	}
+
+	@Override
+	public String currentVersion(DictionaryType dictionaryType, String domain) {
+		StringBuilder version = new StringBuilder();
+		for (Path path : this.dictFiles.get(dictionaryType)) {
+			FileStat stat = FileStat.of(path);
+			version.append(stat.size).append('-').append(stat.modified).append(';');
+		}
+		return version.toString();
+	}
+
+	@Override
+	protected void reloadDictionary(IDictionary dictionary,
+									DictionaryType dictionaryType,
+									String domain) {
+		Consumer consumer;
+		Map<IDictionary, Consumer> typeConsumers = this.consumers.get(dictionaryType);
+		synchronized (typeConsumers) {
+			consumer = typeConsumers.computeIfAbsent(dictionary, k -> new Consumer());
+			consumer.domain = domain;
+		}
+		// 各词典的读取状态独立，同一词典的重新加载串行执行
+		synchronized (consumer) {
+			List<Path> changedFiles = new ArrayList<>();
+			for (Path path : this.dictFiles.get(dictionaryType)) {
+				Tail tail = consumer.tails.get(path);
+				// 未记录读取状态的词典首次重新加载时全量交付
+				if (Objects.isNull(tail) || !FileStat.of(path).equals(tail.stat)) {
+					changedFiles.add(path);
+				}
+			}
+			if (changedFiles.isEmpty()) {
+				return;
+			}
+			log.info("'file' remote dictionary '{}' files of dictionary '{}' changed.", changedFiles.size(), dictionaryType);
+			DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+			// 文件的修改时间即提交时间
+			long modified = changedFiles.stream().mapToLong(path -> FileStat.of(path).modified).max().orElse(0);
+			if (modified > 0) {
+				this.observed(dictionaryKey, CommitStamp.of(modified, modified));
+			}
+			// 仅追加时读取追加的部分
+			Set<String> added = new HashSet<>();
+			Map<Path, Tail> tails = new LinkedHashMap<>();
+			for (Path path : changedFiles) {
+				Tail tail = consumer.tails.get(path);
+				if (!this.isAppended(path, tail)) {
+					tails = null;
+					break;
+				}
+				tails.put(path, this.read(path, tail.consumed, added));
+			}
+			if (Objects.nonNull(tails) && this.deliver(dictionary, DictionaryDelta.added(dictionaryKey, added))) {
+				consumer.tails.putAll(tails);
+				return;
+			}
+			Set<String> words = new HashSet<>();
+			Map<Path, Tail> fullTails = new HashMap<>();
+			for (Path path : this.dictFiles.get(dictionaryType)) {
+				fullTails.put(path, this.read(path, 0, words));
+			}
+			this.deliver(dictionary, dictionaryType, words);
+			consumer.tails.putAll(fullTails);
+		}
+	}
+
+	/**
+	 * 文件大小不小于已读位置、已读内容末尾未变化且已读内容以完整行结束时，视为仅追加
+	 */
+	private boolean isAppended(Path path, Tail tail) {
+		if (Objects.isNull(tail) || tail.partial || tail.stat.size < 0) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < tail.consumed) {
+				return false;
+			}
+			return Arrays.equals(tail.check, this.readCheck(channel, tail.consumed));
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 从指定位置逐行读取
+	 * @param path 文件
+	 * @param from 起始位置，位于行首
+	 * @param words 读取的词
+	 * @return 读取结束的位置
+	 */
+	private Tail read(Path path, long from, Set<String> words) {
+		if (!Files.isRegularFile(path)) {
+			log.warn("'file' remote dictionary file '{}' not found.", path);
+			return new Tail(0, new byte[0], false, FileStat.of(path));
+		}
+		FileStat stat = FileStat.of(path);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long position = from == 0 ? this.skipBom(channel) : from;
+			long consumed = position;
+			byte[] line = new byte[256];
+			int length = 0;
+			while (position < size) {
+				long chunkSize = Math.min(MAP_CHUNK_SIZE, size - position);
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize);
+				while (buffer.hasRemaining()) {
+					byte b = buffer.get();
+					if (b == '\n') {
+						this.addLine(words, line, length);
+						length = 0;
+						consumed = position + buffer.position();
+						continue;
+					}
+					if (length == line.length) {
+						line = Arrays.copyOf(line, length * 2);
+					}
+					line[length++] = b;
+				}
+				position += chunkSize;
+			}
+			// 末行没有换行符时同样加入，但不计入已读位置
+			this.addLine(words, line, length);
+			return new Tail(consumed, this.readCheck(channel, consumed), length > 0, stat);
+		} catch (IOException e) {
+			throw new RemoteDictionaryException(String.format("'file' remote dictionary read file '%s' failure", path), e);
+		}
+	}
+
+	private void addLine(Set<String> words, byte[] line, int length) {
+		if (length > 0 && line[length - 1] == '\r') {
+			length--;
+		}
+		if (length == 0) {
+			return;
+		}
+		String word = new String(line, 0, length, StandardCharsets.UTF_8).trim();
+		if (!word.isEmpty()) {
+			words.add(WordInterner.intern(word));
+		}
+	}
+
+	private long skipBom(FileChannel channel) throws IOException {
+		ByteBuffer bom = ByteBuffer.allocate(3);
+		channel.read(bom, 0);
+		byte[] bytes = bom.array();
+		return bom.position() == 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF ? 3 : 0;
+	}
+
+	private byte[] readCheck(FileChannel channel, long consumed) throws IOException {
+		int length = (int) Math.min(TAIL_CHECK_SIZE, consumed);
+		ByteBuffer check = ByteBuffer.allocate(length);
+		while (check.hasRemaining() && channel.read(check, consumed - length + check.position()) > 0) {
+			// read fully
+		}
+		return check.array();
+	}
+
+	/**
+	 * 监听词库文件所在目录，文件变化时通知对应类型的词典
+	 */
+	private WatchService watch() {
+		Set<Path> directories = new HashSet<>();
+		this.dictFiles.values().forEach(files -> files.forEach(path -> directories.add(path.getParent())));
+		if (directories.isEmpty()) {
+			return null;
+		}
+		try {
+			WatchService watchService = FileSystems.getDefault().newWatchService();
+			for (Path directory : directories) {
+				if (Files.isDirectory(directory)) {
+					directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+				}
+			}
+			new NamedThreadFactory("redip-file-watch").newThread(() -> this.watching(watchService)).start();
+			return watchService;
+		} catch (IOException e) {
+			log.warn("'file' remote dictionary watch service is unavailable, changes are detected on reload only.", e);
+			return null;
+		}
+	}
+
+	private void watching(WatchService watchService) {
+		while (true) {
+			WatchKey watchKey;
+			try {
+				watchKey = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			Path directory = (Path) watchKey.watchable();
+			Set<DictionaryType> changedTypes = EnumSet.noneOf(DictionaryType.class);
+			for (WatchEvent<?> event : watchKey.pollEvents()) {
+				if (!(event.context() instanceof Path)) {
+					continue;
+				}
+				Path changed = directory.resolve((Path) event.context());
+				this.dictFiles.forEach((dictionaryType, files) -> {
+					if (files.contains(changed)) {
+						changedTypes.add(dictionaryType);
+					}
+				});
+			}
+			watchKey.reset();
+			for (DictionaryType dictionaryType : changedTypes) {
+				Map<IDictionary, Consumer> typeConsumers = this.consumers.get(dictionaryType);
+				Map<IDictionary, String> notified = new LinkedHashMap<>();
+				synchronized (typeConsumers) {
+					typeConsumers.forEach((dictionary, consumer) -> notified.put(dictionary, consumer.domain));
+				}
+				notified.forEach((dictionary, domain) -> {
+					try {
+						this.reloadDictionary(dictionary, dictionaryType, domain);
+					} catch (RuntimeException e) {
+						log.error("'file' remote dictionary reload dictionary '{}' of domain '{}' error =>", dictionaryType, domain, e);
+					}
+				});
+			}
+		}
+	}
+
+	private List<Path> toDictFiles(Collection<Path> paths) {
+		List<Path> files = new ArrayList<>();
+		if (Objects.nonNull(paths)) {
+			paths.forEach(path -> files.add(path.toAbsolutePath().normalize()));
+		}
+		return files;
+	}
+
+	@Override
+	protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
+		log.info("'{}' remote dictionary add new word 'not support", this.etymology());
+		return false;
+	}
+
+	@Override
+	protected void closeResource() {
+		if (Objects.isNull(this.watchService)) {
+			return;
+		}
+		try {
+			this.watchService.close();
+		} catch (IOException e) {
+			log.error("'file' remote dictionary close watch service error", e);
+		}
+	}
+
+	@Override
+	protected String etymology() {
+		return RemoteDictionaryEtymology.FILE.getEtymology();
+	}
+
+	/**
+	 * 一个词典的读取状态
+	 */
+	private static class Consumer {
+		/**
+		 * 最近一次重新加载的领域
+		 */
+		volatile String domain;
+		/**
+		 * 各文件最近一次交付时的读取结束位置
+		 */
+		final Map<Path, Tail> tails = new HashMap<>();
+	}
+
+	private static class Tail {
+		/**
+		 * 最后一个完整行之后的位置
+		 */
+		final long consumed;
+		/**
+		 * consumed之前的若干字节
+		 */
+		final byte[] check;
+		/**
+		 * 末行是否没有换行符
+		 */
+		final boolean partial;
+		final FileStat stat;
+
+		Tail(long consumed, byte[] check, boolean partial, FileStat stat) {
+			this.consumed = consumed;
+			this.check = check;
+			this.partial = partial;
+			this.stat = stat;
+		}
+	}
+
+	private static class FileStat {
+		final long size;
+		final long modified;
+
+		FileStat(long size, long modified) {
+			this.size = size;
+			this.modified = modified;
+		}
+
+		static FileStat of(Path path) {
+			try {
+				return new FileStat(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+			} catch (IOException e) {
+				return new FileStat(-1, -1);
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof FileStat)) {
+				return false;
+			}
+			FileStat that = (FileStat) o;
+			return this.size == that.size && this.modified == that.modified;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.size, this.modified);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * FreshnessStats
+ *
+ * 词典新鲜度统计快照：新词从写入到词典生效的延迟分布及当前的滞后时间
+ *
+ * @author Qicz
+ * @since 2026/10/19 22:10
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class FreshnessStats {
+
+	/**
+	 * 已生效的词库版本
+	 */
+	private final long appliedVersion;
+
+	/**
+	 * 已生效的词库提交时间，单位ms
+	 */
+	private final long appliedCommittedAt;
+
+	/**
+	 * 当前滞后时间：已检测到但尚未生效的写入距今的时间，单位ms，无待生效的写入时为0
+	 */
+	private final long stalenessMillis;
+
+	/**
+	 * 生效次数
+	 */
+	private final long count;
+
+	/**
+	 * 延迟总和，单位ms
+	 */
+	private final long sumMillis;
+
+	/**
+	 * 最大延迟，单位ms
+	 */
+	private final long maxMillis;
+
+	/**
+	 * 延迟分布：桶上限(ms，Long.MAX_VALUE为无上限) => 落入该桶的次数
+	 */
+	private final Map<Long, Long> histogram;
+
+	public double meanMillis() {
+		return this.count == 0 ? 0 : (double) this.sumMillis / this.count;
+	}
+
+	/**
+	 * 延迟分位数的估算值，返回所在桶的上限
+	 * @param quantile 分位，如0.99
+	 * @return 单位ms
+	 */
+	public long percentile(double quantile) {
+		long rank = (long) Math.ceil(this.count * quantile);
+		long seen = 0;
+		for (Map.Entry<Long, Long> bucket : this.histogram.entrySet()) {
+			seen += bucket.getValue();
+			if (seen >= rank && seen > 0) {
+				return Math.min(bucket.getKey(), this.maxMillis);
+			}
+		}
+		return this.maxMillis;
+	}
+}
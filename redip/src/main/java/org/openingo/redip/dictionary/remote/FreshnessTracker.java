@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryKey;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FreshnessTracker
+ *
+ * 按词源、领域、词典类型记录新词从写入到词典生效的延迟：
+ * 词源检测到变化时记录写入戳，词典reload或增量应用完成时以提交时间计算延迟
+ *
+ * @author Qicz
+ * @since 2026/10/19 22:10
+ */
+@Slf4j
+final class FreshnessTracker {
+
+	/**
+	 * 延迟分布的桶上限，单位ms
+	 */
+	private static final long[] BUCKETS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000, Long.MAX_VALUE };
+
+	private final Map<DictionaryKey, Freshness> freshness = new ConcurrentHashMap<>();
+
+	/**
+	 * 词源检测到变化
+	 * @param dictionaryKey 词典标识
+	 * @param stamp 写入戳
+	 */
+	void observed(DictionaryKey dictionaryKey, CommitStamp stamp) {
+		if (Objects.isNull(stamp)) {
+			return;
+		}
+		this.freshness.computeIfAbsent(dictionaryKey, k -> new Freshness()).observed(stamp);
+	}
+
+	/**
+	 * 词典已生效
+	 * @param dictionaryKey 词典标识
+	 */
+	void applied(DictionaryKey dictionaryKey) {
+		Freshness freshness = this.freshness.get(dictionaryKey);
+		if (Objects.isNull(freshness)) {
+			return;
+		}
+		long lag = freshness.applied();
+		if (lag >= 0) {
+			log.info("the dictionary '{}' is fresh after '{}'ms.", dictionaryKey, lag);
+		}
+	}
+
+	Map<DictionaryKey, FreshnessStats> stats() {
+		Map<DictionaryKey, FreshnessStats> stats = new LinkedHashMap<>();
+		this.freshness.forEach((dictionaryKey, freshness) -> stats.put(dictionaryKey, freshness.stats()));
+		return stats;
+	}
+
+	private static final class Freshness {
+
+		private CommitStamp pending;
+		private CommitStamp applied;
+		private final long[] counts = new long[BUCKETS.length];
+		private long count;
+		private long sumMillis;
+		private long maxMillis;
+
+		synchronized void observed(CommitStamp stamp) {
+			if (Objects.nonNull(this.applied) && stamp.getVersion() <= this.applied.getVersion()) {
+				return;
+			}
+			if (Objects.isNull(this.pending) || stamp.getVersion() > this.pending.getVersion()) {
+				this.pending = stamp;
+			}
+		}
+
+		/**
+		 * @return 本次生效的延迟，没有待生效的写入时为-1
+		 */
+		synchronized long applied() {
+			if (Objects.isNull(this.pending)) {
+				return -1;
+			}
+			long lag = Math.max(0, SystemClockKit.now() - this.pending.getCommittedAt());
+			int bucket = 0;
+			while (lag > BUCKETS[bucket]) {
+				bucket++;
+			}
+			this.counts[bucket]++;
+			this.count++;
+			this.sumMillis += lag;
+			this.maxMillis = Math.max(this.maxMillis, lag);
+			this.applied = this.pending;
+			this.pending = null;
+			return lag;
+		}
+
+		synchronized FreshnessStats stats() {
+			Map<Long, Long> histogram = new LinkedHashMap<>();
+			for (int i = 0; i < BUCKETS.length; i++) {
+				histogram.put(BUCKETS[i], this.counts[i]);
+			}
+			long staleness = Objects.isNull(this.pending) ? 0 : Math.max(0, SystemClockKit.now() - this.pending.getCommittedAt());
+			return new FreshnessStats(
+					Objects.isNull(this.applied) ? 0 : this.applied.getVersion(),
+					Objects.isNull(this.applied) ? 0 : this.applied.getCommittedAt(),
+					staleness, this.count, this.sumMillis, this.maxMillis, histogram);
+		}
+	}
+}
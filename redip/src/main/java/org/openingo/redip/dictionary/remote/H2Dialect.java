@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+/**
+ * H2Dialect
+ *
+ * 内嵌库，适用于边缘节点本地词库及本地集成、性能测试
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:55
+ */
+class H2Dialect extends JdbcDialect {
+
+	@Override
+	public String getName() {
+		return "h2";
+	}
+
+	@Override
+	public String getDriverClassName() {
+		return "org.h2.Driver";
+	}
+
+	@Override
+	public String insertWordsSql() {
+		// 仅在不存在时插入，更新计数即新增的词数
+		return "MERGE INTO ik_words t USING (SELECT CAST(? AS VARCHAR(200)) AS word, CAST(? AS SMALLINT) AS word_type, CAST(? AS VARCHAR(100)) AS domain) s " +
+				"ON t.domain = s.domain AND t.word_type = s.word_type AND t.word = s.word " +
+				"WHEN NOT MATCHED THEN INSERT (word, word_type, domain) VALUES (s.word, s.word_type, s.domain)";
+	}
+
+	@Override
+	public String upsertStateSql() {
+		return "MERGE INTO ik_dict_state t USING (SELECT CAST(? AS VARCHAR(10)) AS state, CAST(? AS VARCHAR(100)) AS domain, CAST(? AS BIGINT) AS committed_at) s " +
+				"ON t.domain = s.domain " +
+				"WHEN MATCHED THEN UPDATE SET state = s.state, version = t.version + 1, committed_at = s.committed_at, update_time = CURRENT_TIMESTAMP " +
+				"WHEN NOT MATCHED THEN INSERT (state, domain, version, committed_at) VALUES (s.state, s.domain, 1, s.committed_at)";
+	}
+
+	@Override
+	public String upsertLegacyStateSql() {
+		return "MERGE INTO ik_dict_state t USING (SELECT CAST(? AS VARCHAR(10)) AS state, CAST(? AS VARCHAR(100)) AS domain) s " +
+				"ON t.domain = s.domain " +
+				"WHEN MATCHED THEN UPDATE SET state = s.state, version = t.version + 1, update_time = CURRENT_TIMESTAMP " +
+				"WHEN NOT MATCHED THEN INSERT (state, domain, version) VALUES (s.state, s.domain, 1)";
+	}
+}
@@ -32,6 +32,7 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -39,19 +40,32 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.openingo.jdkits.lang.StrKit;
+import org.openingo.redip.codec.DictionaryBinaryCodec;
 import org.openingo.redip.configuration.RemoteConfiguration;
 import org.openingo.redip.constants.DictionaryType;
 import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryKey;
 import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.helper.WordInterner;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HttpRemoteDictionary
@@ -62,17 +76,50 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 class HttpRemoteDictionary extends AbstractRemoteDictionary {
 
-    private static final CloseableHttpClient HTTP_CLIENT = HttpClients.createDefault();
+    /**
+     * 连接池，批量获取时并发请求复用连接
+     */
+    private static final PoolingHttpClientConnectionManager CONNECTION_MANAGER = new PoolingHttpClientConnectionManager();
+
+    static {
+        CONNECTION_MANAGER.setMaxTotal(64);
+        CONNECTION_MANAGER.setDefaultMaxPerRoute(16);
+    }
+
+    private static final CloseableHttpClient HTTP_CLIENT = HttpClients.custom().setConnectionManager(CONNECTION_MANAGER).build();
     /**
      * 超时设置
      */
     private static final RequestConfig REQUEST_CONFIG = RequestConfig.custom().setConnectionRequestTimeout(10 * 1000)
             .setConnectTimeout(10 * 1000).setSocketTimeout(15 * 1000).build();
 
-    private static final Map<String, Modifier> MODIFIER_MAPPING = new ConcurrentHashMap<>();
+    /**
+     * 优先使用二进制词库，兼容文本词库
+     */
+    private static final String ACCEPT = String.format("%s, text/plain;q=0.9", DictionaryBinaryCodec.MEDIA_TYPE);
+
+    /**
+     * 各词典最近一次交付时的Last-Modified、ETag，同一地址的多个词典各自检测变化
+     */
+    private final DeliveryStates<Modifier> modifiers = new DeliveryStates<>();
+
+    private final ExecutorService fetchExecutor;
+
+    /**
+     * location => 长轮询
+     */
+    private final Map<String, LongPoll> longPolls = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService longPollExecutor;
 
     public HttpRemoteDictionary(RemoteConfiguration remoteConfiguration) {
         super(remoteConfiguration);
+        Integer parallelism = Optional.ofNullable(remoteConfiguration.http().getParallelism()).orElse(1);
+        this.fetchExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), new NamedThreadFactory("redip-http-fetch"));
+        RemoteConfiguration.Http http = remoteConfiguration.http();
+        this.longPollExecutor = http.isLongPoll()
+                ? Executors.newScheduledThreadPool(Math.max(1, http.getLongPollThreads()), new NamedThreadFactory("redip-http-long-poll"))
+                : null;
     }
 
     @Override
@@ -83,7 +130,10 @@ class HttpRemoteDictionary extends AbstractRemoteDictionary {
 
     @Override
     protected void closeResource() {
-
+        this.fetchExecutor.shutdownNow();
+        if (Objects.nonNull(this.longPollExecutor)) {
+            this.longPollExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -91,34 +141,73 @@ class HttpRemoteDictionary extends AbstractRemoteDictionary {
                                       URI domainUri) {
         String location = this.getLocation(dictionaryType, domainUri);
         log.info("'http' remote dictionary get new words from domain '{}' dictionary '{}' location '{}'", domainUri, dictionaryType, location);
+        return this.getRemoteWords(location);
+    }
+
+    @Override
+    public Map<DictionaryKey, Set<String>> getRemoteWords(Collection<DictionaryKey> dictionaryKeys) {
+        Map<DictionaryKey, CompletableFuture<Set<String>>> futures = new LinkedHashMap<>();
+        for (DictionaryKey dictionaryKey : dictionaryKeys) {
+            String location = this.getLocation(dictionaryKey.getDictionaryType(), dictionaryKey.toUri());
+            futures.computeIfAbsent(dictionaryKey, k -> CompletableFuture.supplyAsync(() -> this.getRemoteWords(location), this.fetchExecutor));
+        }
+        log.info("'http' remote dictionary get new words from '{}' dictionaries", futures.size());
+        Map<DictionaryKey, Set<String>> remoteWords = new LinkedHashMap<>();
+        try {
+            futures.forEach((dictionaryKey, future) -> remoteWords.put(dictionaryKey, future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RemoteDictionaryException) {
+                throw (RemoteDictionaryException) e.getCause();
+            }
+            throw new RemoteDictionaryException("'http' remote dictionary get words failure", e.getCause());
+        }
+        return remoteWords;
+    }
+
+    private Set<String> getRemoteWords(String location) {
         Set<String> words = new HashSet<>();
-        CloseableHttpResponse response;
         HttpGet get = new HttpGet(location);
         get.setConfig(REQUEST_CONFIG);
-        try {
-            response = HTTP_CLIENT.execute(get);
-            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                String charset = "UTF-8";
-                // 获取编码，默认为utf-8
-                HttpEntity entity = response.getEntity();
-                if (entity != null) {
-                    Header contentType = entity.getContentType();
-                    if (contentType != null && contentType.getValue() != null) {
-                        String typeValue = contentType.getValue();
-                        if (typeValue != null && typeValue.contains("charset=")) {
-                            charset = typeValue.substring(typeValue.lastIndexOf("=") + 1);
-                        }
-                    }
-
-                    String string = EntityUtils.toString(entity, charset);
-                    if(StrKit.notBlank(string)) {
-                        words.addAll(Arrays.asList(string.split("\n|\r\n")));
-                    }
-                }
+        get.setHeader("Accept", ACCEPT);
+        // 连接池模式下需确保response被关闭以归还连接
+        try (CloseableHttpResponse response = HTTP_CLIENT.execute(get)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                throw new RemoteDictionaryException(String.format("'http' remote dictionary location '%s' return bad code '%s'", location, statusCode));
+            }
+            HttpEntity entity = response.getEntity();
+            if (statusCode == HttpStatus.SC_OK && entity != null) {
+                return this.readWords(entity);
             }
-            response.close();
+            EntityUtils.consumeQuietly(entity);
         } catch (IllegalStateException | IOException e) {
-            log.error("getRemoteWords error '{}' location '{}'", e, location);
+            throw new RemoteDictionaryException(String.format("'http' remote dictionary get words from location '%s' failure", location), e);
+        }
+        return words;
+    }
+
+    private Set<String> readWords(HttpEntity entity) throws IOException {
+        String typeValue = Optional.ofNullable(entity.getContentType()).map(Header::getValue).orElse("");
+        // 二进制词库逐词解码
+        if (typeValue.startsWith(DictionaryBinaryCodec.MEDIA_TYPE)) {
+            try (InputStream content = entity.getContent()) {
+                return DictionaryBinaryCodec.decode(content);
+            }
+        }
+        // 获取编码，默认为utf-8
+        String charset = "UTF-8";
+        if (typeValue.contains("charset=")) {
+            charset = typeValue.substring(typeValue.lastIndexOf("=") + 1);
+        }
+        // 按行读取，不再整体读入后拆分
+        Set<String> words = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(entity.getContent(), charset))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StrKit.notBlank(line)) {
+                    words.add(WordInterner.intern(line));
+                }
+            }
         }
         return words;
     }
@@ -135,14 +224,20 @@ class HttpRemoteDictionary extends AbstractRemoteDictionary {
                                     DictionaryType dictionaryType,
                                     URI domainUri) {
         String location = this.getLocation(dictionaryType, domainUri);
+        DictionaryKey dictionaryKey = DictionaryKey.of(dictionaryType, domainUri);
+        if (Objects.nonNull(this.longPollExecutor)) {
+            this.longPoll(dictionary, dictionaryKey, location);
+            return;
+        }
         log.info("'http' remote dictionary reload dictionary from domain '{}' dictionary '{}' location '{}'", domainUri, dictionaryType, location);
         HttpHead head = new HttpHead(location);
         head.setConfig(REQUEST_CONFIG);
+        head.setHeader("Accept", ACCEPT);
         // 上次更改时间
         String lastModified = null;
         // 资源属性
         String eTags = null;
-        Modifier modifier = MODIFIER_MAPPING.get(location);
+        Modifier modifier = this.modifiers.get(dictionary, dictionaryKey);
         if (Objects.nonNull(modifier)) {
             lastModified = modifier.lastModified;
             eTags = modifier.eTags;
@@ -172,17 +267,21 @@ class HttpRemoteDictionary extends AbstractRemoteDictionary {
                 boolean needReload = (Objects.nonNull(lastHeader) && !lastHeader.getValue().equalsIgnoreCase(lastModified))
                         || (Objects.nonNull(eTag) && !eTag.getValue().equalsIgnoreCase(eTags));
                 if (needReload) {
-                    // 远程词库有更新,需要重新加载词典，并修改last_modified,eTags
-                    dictionary.reload(dictionaryType);
+                    this.observed(dictionaryKey, response);
+                    // 远程词库有更新,获取词库直接交付词典，并修改last_modified,eTags
+                    this.deliver(dictionary, dictionaryType, this.getRemoteWords(location));
                     lastModified = Objects.isNull(lastHeader) ? null : lastHeader.getValue();
                     eTags = Objects.isNull(eTag) ? null : eTag.getValue();
-                    MODIFIER_MAPPING.put(location, new Modifier(lastModified, eTags));
+                    this.modifiers.put(dictionary, dictionaryKey, new Modifier(lastModified, eTags));
                 }
                 return;
             }
+            if (statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                throw new RemoteDictionaryException(String.format("remote_ext_dict '%s' return bad code '%s'", location, statusCode));
+            }
             log.info("remote_ext_dict '{}' return bad code '{}'", location, statusCode);
-        } catch (Exception e) {
-            log.error("remote_ext_dict error '{}' location '{}' !", e, location);
+        } catch (IOException e) {
+            throw new RemoteDictionaryException(String.format("remote_ext_dict error location '%s'", location), e);
         } finally {
             try {
                 if (response != null) {
@@ -194,6 +293,87 @@ class HttpRemoteDictionary extends AbstractRemoteDictionary {
         }
     }
 
+    /**
+     * 首次调用时发起长轮询，之后的调用仅加入词典，同一地址的所有词典均收到变化
+     */
+    private void longPoll(IDictionary dictionary,
+                          DictionaryKey dictionaryKey,
+                          String location) {
+        LongPoll longPoll = this.longPolls.computeIfAbsent(location, k -> {
+            LongPoll started = new LongPoll(location, dictionaryKey);
+            log.info("'http' remote dictionary start long polling location '{}'", location);
+            this.longPollExecutor.execute(() -> this.poll(started));
+            return started;
+        });
+        // 长轮询已获取过词库时，新加入的词典直接交付当前词库
+        Set<String> words = longPoll.join(dictionary);
+        if (Objects.nonNull(words)) {
+            this.deliver(dictionary, longPoll.dictionaryKey.getDictionaryType(), words);
+        }
+    }
+
+    /**
+     * 一次长轮询，完成后再次发起：服务端未挂起请求(立即返回)时按等待时间间隔轮询，失败时退避重试
+     */
+    private void poll(LongPoll longPoll) {
+        RemoteConfiguration.Http http = this.remoteConfiguration.http();
+        int wait = Math.max(1, http.getLongPollTimeout());
+        HttpGet get = new HttpGet(longPoll.location);
+        get.setConfig(RequestConfig.copy(REQUEST_CONFIG).setSocketTimeout((wait + 15) * 1000).build());
+        get.setHeader("Accept", ACCEPT);
+        get.setHeader("Prefer", String.format("wait=%d", wait));
+        if (Objects.nonNull(longPoll.eTag)) {
+            get.setHeader("If-None-Match", longPoll.eTag);
+        }
+        long delay = 0;
+        long start = System.currentTimeMillis();
+        try (CloseableHttpResponse response = HTTP_CLIENT.execute(get)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            if (statusCode == HttpStatus.SC_OK && entity != null) {
+                Set<String> words = this.readWords(entity);
+                Header eTag = response.getLastHeader("ETag");
+                String current = Objects.isNull(eTag) ? null : eTag.getValue();
+                // 服务端忽略If-None-Match时同样返回200，ETag未变化（无ETag时词库未变化）不再交付
+                List<IDictionary> dictionaries = longPoll.changed(current, words);
+                if (dictionaries.isEmpty()) {
+                    log.info("'http' remote dictionary long polling location '{}' not modified.", longPoll.location);
+                } else {
+                    log.info("'http' remote dictionary long polling location '{}' changed, '{}' words.", longPoll.location, words.size());
+                    this.observed(longPoll.dictionaryKey, response);
+                    dictionaries.forEach(dictionary -> this.deliver(dictionary, longPoll.dictionaryKey.getDictionaryType(), words));
+                }
+            } else {
+                EntityUtils.consumeQuietly(entity);
+                if (statusCode != HttpStatus.SC_NOT_MODIFIED) {
+                    log.info("remote_ext_dict '{}' return bad code '{}'", longPoll.location, statusCode);
+                }
+            }
+            // 服务端未挂起请求（不支持Prefer: wait或立即返回）时按等待时间间隔轮询，避免持续请求
+            if (System.currentTimeMillis() - start < wait * 1000L / 2) {
+                delay = wait;
+            }
+            longPoll.failures = 0;
+        } catch (IOException | RuntimeException e) {
+            longPoll.failures++;
+            delay = Math.min(wait, 1L << Math.min(longPoll.failures, 5));
+            log.error("'http' remote dictionary long polling location '{}' failure, retry after '{}'s =>", longPoll.location, delay, e);
+        }
+        if (!this.longPollExecutor.isShutdown()) {
+            this.longPollExecutor.schedule(() -> this.poll(longPoll), delay, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 词库服务在响应头中携带写入戳
+     */
+    private void observed(DictionaryKey dictionaryKey, HttpResponse response) {
+        Header commit = response.getLastHeader(CommitStamp.HTTP_HEADER);
+        if (Objects.nonNull(commit)) {
+            this.observed(dictionaryKey, CommitStamp.parse(commit.getValue()));
+        }
+    }
+
     @Override
     public String etymology() {
         return RemoteDictionaryEtymology.HTTP.getEtymology();
@@ -211,6 +391,49 @@ class HttpRemoteDictionary extends AbstractRemoteDictionary {
         return String.format("%s/es-dict/%s/%s", http.getBase(), dictionaryType.getDictName(), domainUri.getAuthority());
     }
 
+    static class LongPoll {
+        final String location;
+        final DictionaryKey dictionaryKey;
+        /**
+         * 等待该地址变化的词典
+         */
+        private final Set<IDictionary> dictionaries = Collections.newSetFromMap(new WeakHashMap<>());
+        /**
+         * 最近一次交付的词库，为null时尚未获取
+         */
+        private Set<String> words;
+        volatile String eTag;
+        int failures;
+
+        LongPoll(String location, DictionaryKey dictionaryKey) {
+            this.location = location;
+            this.dictionaryKey = dictionaryKey;
+        }
+
+        /**
+         * 加入词典
+         * @return 新加入且已获取过词库时为当前词库，否则为null
+         */
+        synchronized Set<String> join(IDictionary dictionary) {
+            return this.dictionaries.add(dictionary) ? this.words : null;
+        }
+
+        /**
+         * 收到词库，有变化时记录ETag及词库
+         * @return 需要交付的词典，无变化时为空
+         */
+        synchronized List<IDictionary> changed(String eTag, Set<String> words) {
+            boolean unchanged = Objects.nonNull(this.words)
+                    && (Objects.nonNull(eTag) ? eTag.equals(this.eTag) : Objects.isNull(this.eTag) && words.equals(this.words));
+            if (unchanged) {
+                return Collections.emptyList();
+            }
+            this.eTag = eTag;
+            this.words = words;
+            return new ArrayList<>(this.dictionaries);
+        }
+    }
+
     @AllArgsConstructor
     @NoArgsConstructor
     static class Modifier {
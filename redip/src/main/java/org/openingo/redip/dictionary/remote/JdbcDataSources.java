@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.jdkits.validate.ValidateKit;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.helper.NamedThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JdbcDataSources
+ *
+ * 主库与只读副本的连接池：写入走主库，读取在健康的副本间轮询，副本均不可用时回退主库；
+ * 领域写入后的一段时间内该领域的读取走主库，保证写入方读到自己的写入
+ *
+ * @author Qicz
+ * @since 2026/10/19 18:10
+ */
+@Slf4j
+class JdbcDataSources {
+
+	private static final int VALID_TIMEOUT_SECONDS = 2;
+
+	private final HikariDataSource primary;
+
+	private final List<Replica> replicas = new ArrayList<>();
+
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	/**
+	 * domain => 最近一次写入时间
+	 */
+	private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+	private final long readYourWritesMillis;
+
+	private final ScheduledExecutorService healthChecker;
+
+	private final JdbcDialect dialect;
+
+	JdbcDataSources(RemoteConfiguration.Jdbc jdbc, JdbcDialect dialect) {
+		this.dialect = dialect;
+		this.primary = this.createDataSource(jdbc, jdbc.getUrl(), String.format("redip-%s-primary", dialect));
+		this.readYourWritesMillis = TimeUnit.SECONDS.toMillis(Math.max(0, Optional.ofNullable(jdbc.getReadYourWrites()).orElse(0)));
+		List<String> urls = jdbc.getReplicas();
+		if (ValidateKit.isNull(urls) || urls.isEmpty()) {
+			this.healthChecker = null;
+			return;
+		}
+		for (String url : urls) {
+			if (ValidateKit.isNotEmpty(url)) {
+				this.replicas.add(new Replica(url, this.createDataSource(jdbc, url, String.format("redip-%s-replica-%d", dialect, this.replicas.size() + 1))));
+			}
+		}
+		long period = Math.max(1, Optional.ofNullable(jdbc.getReplicaHealthCheckPeriod()).orElse(10));
+		this.healthChecker = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(String.format("redip-%s-health", dialect)));
+		this.healthChecker.scheduleWithFixedDelay(this::checkReplicas, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * 主库，写入及状态更新
+	 */
+	HikariDataSource primary() {
+		return this.primary;
+	}
+
+	boolean hasReplicas() {
+		return !this.replicas.isEmpty();
+	}
+
+	/**
+	 * 读取领域词库使用的数据源
+	 * @param domains 领域
+	 * @return 健康的副本，刚写入过的领域或无可用副本时为主库
+	 */
+	DataSource reader(Collection<String> domains) {
+		if (this.replicas.isEmpty()) {
+			return this.primary;
+		}
+		if (this.readYourWritesMillis > 0) {
+			long now = SystemClockKit.now();
+			for (String domain : domains) {
+				Long written = this.recentWrites.get(domain);
+				if (Objects.isNull(written)) {
+					continue;
+				}
+				if (now - written < this.readYourWritesMillis) {
+					return this.primary;
+				}
+				this.recentWrites.remove(domain, written);
+			}
+		}
+		int size = this.replicas.size();
+		int start = Math.floorMod(this.sequence.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			Replica replica = this.replicas.get((start + i) % size);
+			if (replica.healthy) {
+				return replica.dataSource;
+			}
+		}
+		return this.primary;
+	}
+
+	/**
+	 * 记录领域写入
+	 * @param domain 领域
+	 */
+	void written(String domain) {
+		if (this.readYourWritesMillis > 0 && !this.replicas.isEmpty()) {
+			this.recentWrites.put(domain, SystemClockKit.now());
+		}
+	}
+
+	/**
+	 * 读取失败时标记副本不健康，由健康检查恢复
+	 * @param dataSource 数据源
+	 */
+	void failed(DataSource dataSource) {
+		for (Replica replica : this.replicas) {
+			if (replica.dataSource == dataSource && replica.healthy) {
+				replica.healthy = false;
+				log.warn("'{}' remote dictionary replica '{}' is unhealthy.", this.dialect, replica.url);
+			}
+		}
+	}
+
+	private void checkReplicas() {
+		for (Replica replica : this.replicas) {
+			boolean healthy;
+			try (Connection connection = replica.dataSource.getConnection()) {
+				healthy = connection.isValid(VALID_TIMEOUT_SECONDS);
+			} catch (SQLException e) {
+				healthy = false;
+			}
+			if (healthy != replica.healthy) {
+				log.info("'{}' remote dictionary replica '{}' healthy '{}'.", this.dialect, replica.url, healthy);
+			}
+			replica.healthy = healthy;
+		}
+	}
+
+	void close() {
+		if (Objects.nonNull(this.healthChecker)) {
+			this.healthChecker.shutdownNow();
+		}
+		for (Replica replica : this.replicas) {
+			replica.dataSource.close();
+		}
+		if (!this.primary.isClosed()) {
+			this.primary.close();
+		}
+	}
+
+	private HikariDataSource createDataSource(RemoteConfiguration.Jdbc jdbc, String url, String poolName) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName(poolName);
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(jdbc.getUsername());
+		dataSource.setPassword(jdbc.getPassword());
+		RemoteConfiguration.Jdbc.Pool pool = Optional.ofNullable(jdbc.getPool()).orElseGet(RemoteConfiguration.Jdbc.Pool::new);
+		dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+		dataSource.setMinimumIdle(Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+		dataSource.setConnectionTimeout(TimeUnit.SECONDS.toMillis(pool.getConnectionTimeout()));
+		dataSource.setIdleTimeout(TimeUnit.SECONDS.toMillis(pool.getIdleTimeout()));
+		dataSource.setMaxLifetime(TimeUnit.SECONDS.toMillis(pool.getMaxLifetime()));
+		if (Objects.nonNull(this.dialect.getDriverClassName())) {
+			dataSource.setDriverClassName(this.dialect.getDriverClassName());
+		}
+		this.dialect.configure(dataSource, pool);
+		return dataSource;
+	}
+
+	private static class Replica {
+		final String url;
+		final HikariDataSource dataSource;
+		volatile boolean healthy = true;
+
+		Replica(String url, HikariDataSource dataSource) {
+			this.url = url;
+			this.dataSource = dataSource;
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openingo.jdkits.lang.StrKit;
+import org.openingo.redip.configuration.RemoteConfiguration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * JdbcDialect
+ *
+ * jdbc词源的数据库方言：驱动及连接参数、流式读取方式、忽略重复词的写入、状态的upsert及批量大小；
+ * 内置mysql、postgresql、h2、sqlite，可通过register扩展
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:40
+ */
+public abstract class JdbcDialect {
+
+	/**
+	 * 流式读取时每次获取的行数
+	 */
+	protected static final int FETCH_SIZE = 1000;
+
+	private static final List<JdbcDialect> DIALECTS = new CopyOnWriteArrayList<>(Arrays.asList(
+			new MySQLDialect(),
+			new PostgreSQLDialect(),
+			new H2Dialect(),
+			new SQLiteDialect()));
+
+	/**
+	 * 注册方言，后注册的优先匹配
+	 * @param dialect 方言
+	 */
+	public static void register(JdbcDialect dialect) {
+		DIALECTS.add(0, dialect);
+	}
+
+	/**
+	 * 获取方言
+	 * @param name 方言名称，为空时按url匹配
+	 * @param url jdbc url
+	 * @return dialect
+	 */
+	public static JdbcDialect of(String name, String url) {
+		for (JdbcDialect dialect : DIALECTS) {
+			if (StrKit.notBlank(name) ? dialect.getName().equalsIgnoreCase(name) : dialect.accepts(url)) {
+				return dialect;
+			}
+		}
+		throw new RemoteDictionaryException(String.format("no jdbc dialect for name '%s' url '%s'", name, url));
+	}
+
+	/**
+	 * 方言名称
+	 * @return name
+	 */
+	public abstract String getName();
+
+	/**
+	 * 是否支持url
+	 * @param url jdbc url
+	 * @return true支持
+	 */
+	public boolean accepts(String url) {
+		return Objects.nonNull(url) && url.startsWith(String.format("jdbc:%s:", this.getName()));
+	}
+
+	/**
+	 * 驱动类名，为null时由DriverManager按url选择
+	 * @return driver class name
+	 */
+	public String getDriverClassName() {
+		return null;
+	}
+
+	/**
+	 * 设置驱动相关的连接参数
+	 * @param dataSource 连接池
+	 * @param pool 连接池配置
+	 */
+	public void configure(HikariDataSource dataSource, RemoteConfiguration.Jdbc.Pool pool) {
+
+	}
+
+	/**
+	 * 设置查询为流式读取，避免大词库一次性载入驱动内存
+	 * @param connection 连接
+	 * @param statement 查询
+	 * @throws SQLException sql exception
+	 */
+	public void streaming(Connection connection, PreparedStatement statement) throws SQLException {
+		statement.setFetchSize(FETCH_SIZE);
+	}
+
+	/**
+	 * 单次executeBatch的最大语句数
+	 * @return batch size
+	 */
+	public int getBatchSize() {
+		return 1000;
+	}
+
+	/**
+	 * 写入词，重复的词忽略；参数依次为word、word_type、domain
+	 * @return sql
+	 */
+	public abstract String insertWordsSql();
+
+	/**
+	 * 标记领域有新词并递增版本，不存在时插入；参数依次为state、domain、committed_at
+	 * @return sql
+	 */
+	public abstract String upsertStateSql();
+
+	/**
+	 * schema版本4之前（没有committed_at列）标记领域有新词并递增版本，不存在时插入；参数依次为state、domain
+	 * 默认不支持，该方言的表需迁移到最新版本
+	 * @return sql
+	 */
+	public String upsertLegacyStateSql() {
+		throw new RemoteDictionaryException(String.format("the jdbc dialect '%s' requires the latest schema, please migrate", this.getName()));
+	}
+
+	/**
+	 * 最新版本的schema，为空时按版本逐个迁移
+	 * @return ddl
+	 */
+	public List<String> schema() {
+		return Arrays.asList(
+				"CREATE TABLE IF NOT EXISTS ik_dict_state (" +
+						String.format("id %s, ", this.identityColumn()) +
+						"domain varchar(100) NOT NULL UNIQUE, " +
+						"state varchar(10) NOT NULL, " +
+						"version bigint NOT NULL DEFAULT 0, " +
+						"update_time timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+						"committed_at bigint NOT NULL DEFAULT 0)",
+				"CREATE TABLE IF NOT EXISTS ik_words (" +
+						String.format("id %s, ", this.identityColumn()) +
+						"word varchar(200) NOT NULL, " +
+						"word_type smallint NOT NULL, " +
+						"domain varchar(100) NOT NULL, " +
+						"create_time timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+						"weight int NOT NULL DEFAULT 0, " +
+						"CONSTRAINT uk_domain_type_word UNIQUE (domain, word_type, word))",
+				"CREATE INDEX IF NOT EXISTS idx_domain_type_id_word ON ik_words (domain, word_type, id, word)",
+				"CREATE INDEX IF NOT EXISTS idx_domain_type_weight_id_word ON ik_words (domain, word_type, weight, id, word)",
+				"CREATE TABLE IF NOT EXISTS ik_dict_snapshot (" +
+						"domain varchar(100) NOT NULL, " +
+						"word_type smallint NOT NULL, " +
+						"max_id bigint NOT NULL, " +
+						"words int NOT NULL, " +
+						String.format("snapshot %s NOT NULL, ", this.blobType()) +
+						"update_time timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+						"PRIMARY KEY (domain, word_type))",
+				"CREATE TABLE IF NOT EXISTS ik_schema_version (" +
+						"version int NOT NULL PRIMARY KEY, " +
+						"description varchar(200) NOT NULL, " +
+						"installed_on timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+	}
+
+	/**
+	 * 自增主键列定义
+	 * @return column definition
+	 */
+	protected String identityColumn() {
+		return "bigint AUTO_INCREMENT PRIMARY KEY";
+	}
+
+	/**
+	 * 二进制列类型，存储词库快照
+	 * @return column type
+	 */
+	protected String blobType() {
+		return "blob";
+	}
+
+	/**
+	 * 获取schema迁移锁，多个节点同时启动时只有一个节点执行迁移
+	 * @param connection 连接
+	 * @param name 锁名称
+	 * @return true获取成功
+	 * @throws SQLException sql exception
+	 */
+	public boolean lock(Connection connection, String name) throws SQLException {
+		return true;
+	}
+
+	/**
+	 * 释放schema迁移锁
+	 * @param connection 连接
+	 * @param name 锁名称
+	 * @throws SQLException sql exception
+	 */
+	public void unlock(Connection connection, String name) throws SQLException {
+
+	}
+
+	@Override
+	public String toString() {
+		return this.getName();
+	}
+}
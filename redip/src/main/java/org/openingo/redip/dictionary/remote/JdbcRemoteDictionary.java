@@ -0,0 +1,1070 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.codec.DictionarySnapshotCodec;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.helper.WordInterner;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * JdbcRemoteDictionary
+ *
+ * 基于jdbc的词源，流式读取、忽略重复词的写入、批量大小等由方言决定
+ *
+ * @author Qicz
+ * @since 2021/7/14 18:48
+ */
+@Slf4j
+public class JdbcRemoteDictionary extends AbstractRemoteDictionary {
+
+	/**
+	 * 批量查询时单条sql最多包含的词典数
+	 */
+	private static final int BATCH_KEYS_LIMIT = 500;
+
+	private final RemoteDictionaryEtymology etymology;
+
+	private final RemoteConfiguration.Jdbc jdbc;
+
+	private final JdbcDialect dialect;
+
+	private final JdbcDataSources dataSources;
+
+	/**
+	 * 并行读取的线程池，未开启并行读取时为null
+	 */
+	private final ExecutorService readExecutor;
+
+	private final int readParallelism;
+
+	private final SnapshotCompactor snapshots;
+
+	/**
+	 * 各词典最近一次交付的版本及水位，各词典各自比较版本检测变化、计算增量，不修改共享的状态
+	 */
+	private final DeliveryStates<Delivered> delivered = new DeliveryStates<>();
+
+	/**
+	 * 唯一索引及词库版本所需的schema版本
+	 */
+	private static final int UNIQUE_WORDS_SCHEMA_VERSION = 2;
+
+	/**
+	 * 权重列所需的schema版本
+	 */
+	private static final int WEIGHT_SCHEMA_VERSION = 3;
+
+	/**
+	 * 提交时间列所需的schema版本
+	 */
+	private static final int COMMIT_TIME_SCHEMA_VERSION = 4;
+
+	/**
+	 * 词库快照所需的schema版本
+	 */
+	private static final int SNAPSHOT_SCHEMA_VERSION = 5;
+
+	/**
+	 * schema在后台初始化，首次使用时等待完成，失败时重新初始化
+	 */
+	private volatile CompletableFuture<Integer> schema;
+
+	public JdbcRemoteDictionary(RemoteConfiguration remoteConfiguration) {
+		this(remoteConfiguration, RemoteDictionaryEtymology.JDBC, remoteConfiguration.getJdbc());
+	}
+
+	JdbcRemoteDictionary(RemoteConfiguration remoteConfiguration,
+						 RemoteDictionaryEtymology etymology,
+						 RemoteConfiguration.Jdbc jdbc) {
+		super(remoteConfiguration);
+		this.etymology = etymology;
+		this.jdbc = jdbc;
+		this.dialect = JdbcDialect.of(jdbc.getDialect(), jdbc.getUrl());
+		this.dataSources = new JdbcDataSources(jdbc, this.dialect);
+		// 调用方持有一个连接，其余范围各占一个连接，不超过连接池的一半，避免并发读取的调用方占满连接池后等待范围连接
+		int maximumPoolSize = Optional.ofNullable(jdbc.getPool()).map(RemoteConfiguration.Jdbc.Pool::getMaximumPoolSize).orElse(1);
+		this.readParallelism = Math.max(1, Math.min(Optional.ofNullable(jdbc.getReadParallelism()).orElse(1), maximumPoolSize / 2));
+		this.readExecutor = this.readParallelism > 1
+				? Executors.newFixedThreadPool(this.readParallelism - 1, new NamedThreadFactory(String.format("redip-%s-read", etymology.getEtymology())))
+				: null;
+		this.snapshots = new SnapshotCompactor(etymology.getEtymology(), remoteConfiguration.getSnapshot(), this::compact);
+		ThreadFactory schemaThreadFactory = new NamedThreadFactory(String.format("redip-%s-schema", etymology.getEtymology()));
+		this.schema = CompletableFuture.supplyAsync(this::initSchema, runnable -> schemaThreadFactory.newThread(runnable).start());
+		this.schema.whenComplete((version, e) -> {
+			if (Objects.nonNull(e)) {
+				log.warn("'{}' remote dictionary init schema failure, retry on first use: {}", this.etymology(), e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * schema版本，后台初始化尚未完成时等待
+	 */
+	private int schemaVersion() {
+		CompletableFuture<Integer> schema = this.schema;
+		if (schema.isCompletedExceptionally()) {
+			synchronized (this) {
+				if (this.schema == schema) {
+					this.schema = CompletableFuture.completedFuture(this.initSchema());
+				}
+				schema = this.schema;
+			}
+		}
+		try {
+			return schema.join();
+		} catch (CompletionException e) {
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+		}
+	}
+
+	/**
+	 * 是否从副本读取，版本与词库读自同一副本，副本未同步的词留待下次检测；
+	 * 先等待schema初始化完成，避免读取时表尚未迁移
+	 */
+	private boolean replicaReads() {
+		return this.schemaVersion() >= UNIQUE_WORDS_SCHEMA_VERSION && this.dataSources.hasReplicas();
+	}
+
+	/**
+	 * 是否读取快照
+	 */
+	private boolean snapshotReads() {
+		return this.snapshots.isEnabled() && this.schemaVersion() >= SNAPSHOT_SCHEMA_VERSION;
+	}
+
+	@Override
+	public Set<String> getRemoteWords(DictionaryType dictionaryType,
+									  String etymology,
+									  String domain) {
+		log.info("'{}' remote dictionary get new words from domain '{}' dictionary '{}'", this.etymology(), domain, dictionaryType);
+		DataSource reader = this.reader(Collections.singleton(domain));
+		try (Connection connection = reader.getConnection()) {
+			// 获取词库不记录交付状态，各词典重新加载时各自检测变化
+			Set<String> words = this.readWords(reader, connection, dictionaryType, domain, new Watermark());
+			log.info("'{}' remote dictionary append '{}' words.", this.etymology(), words.size());
+			return words;
+		} catch (SQLException e) {
+			this.dataSources.failed(reader);
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary get words from domain '%s' failure", this.etymology(), domain), e);
+		}
+	}
+
+	@Override
+	public Set<String> readRemoteWords(DictionaryType dictionaryType, String domain) {
+		DataSource reader = this.reader(Collections.singleton(domain));
+		try (Connection connection = reader.getConnection()) {
+			return this.readWords(reader, connection, dictionaryType, domain, new Watermark());
+		} catch (SQLException e) {
+			this.dataSources.failed(reader);
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary read words from domain '%s' failure", this.etymology(), domain), e);
+		}
+	}
+
+	@Override
+	public String currentVersion(DictionaryType dictionaryType, String domain) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+		DataSource reader = this.reader(Collections.singleton(domain));
+		try (Connection connection = reader.getConnection()) {
+			return this.currentVersions(connection, Collections.singleton(dictionaryKey)).get(dictionaryKey);
+		} catch (SQLException e) {
+			this.dataSources.failed(reader);
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary get version of domain '%s' failure", this.etymology(), domain), e);
+		}
+	}
+
+	/**
+	 * 各词典当前版本，ik_words只增不改，词数与最大id即可标识新增及删除；
+	 * 结合领域状态的version，修改权重等原地更新递增version后同样可被检测
+	 * @param dictionaryKeys 词典标识
+	 * @return 各词典的version
+	 */
+	private Map<DictionaryKey, String> currentVersions(Connection connection, Collection<DictionaryKey> dictionaryKeys) throws SQLException {
+		Map<DictionaryKey, String> versions = new LinkedHashMap<>();
+		Map<String, DictionaryKey> typedKeys = new LinkedHashMap<>();
+		for (DictionaryKey dictionaryKey : dictionaryKeys) {
+			DictionaryKey key = DictionaryKey.of(this.etymology(), dictionaryKey.getDictionaryType(), dictionaryKey.getDomain());
+			typedKeys.put(this.typedDomain(key.getDictionaryType(), key.getDomain()), key);
+			versions.put(key, "0-0");
+		}
+		List<DictionaryKey> keys = new ArrayList<>(typedKeys.values());
+		for (int from = 0; from < keys.size(); from += BATCH_KEYS_LIMIT) {
+			List<DictionaryKey> batchKeys = keys.subList(from, Math.min(keys.size(), from + BATCH_KEYS_LIMIT));
+			String sql = batchKeys.size() == 1
+					? "SELECT domain, word_type, COUNT(*) AS words, MAX(id) AS max_id FROM ik_words WHERE domain = ? AND word_type = ? GROUP BY domain, word_type"
+					: String.format("SELECT domain, word_type, COUNT(*) AS words, MAX(id) AS max_id FROM ik_words WHERE (domain, word_type) IN (%s) GROUP BY domain, word_type",
+					String.join(", ", Collections.nCopies(batchKeys.size(), "(?, ?)")));
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				int index = 1;
+				for (DictionaryKey dictionaryKey : batchKeys) {
+					statement.setString(index++, dictionaryKey.getDomain());
+					statement.setInt(index++, dictionaryKey.getDictionaryType().getType());
+				}
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						DictionaryKey dictionaryKey = typedKeys.get(this.typedDomain(DictionaryType.newByType(resultSet.getInt("word_type")), resultSet.getString("domain")));
+						if (Objects.nonNull(dictionaryKey)) {
+							versions.put(dictionaryKey, String.format("%s-%s", resultSet.getLong("words"), resultSet.getLong("max_id")));
+						}
+					}
+				}
+			}
+		}
+		if (this.schemaVersion() < UNIQUE_WORDS_SCHEMA_VERSION) {
+			return versions;
+		}
+		Map<String, Long> domainVersions = new HashMap<>();
+		Set<String> domains = new LinkedHashSet<>();
+		keys.forEach(dictionaryKey -> domains.add(dictionaryKey.getDomain()));
+		List<String> domainList = new ArrayList<>(domains);
+		for (int from = 0; from < domainList.size(); from += BATCH_KEYS_LIMIT) {
+			List<String> batchDomains = domainList.subList(from, Math.min(domainList.size(), from + BATCH_KEYS_LIMIT));
+			String sql = String.format("SELECT domain, version FROM ik_dict_state WHERE domain IN (%s)",
+					String.join(", ", Collections.nCopies(batchDomains.size(), "?")));
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				int index = 1;
+				for (String domain : batchDomains) {
+					statement.setString(index++, domain);
+				}
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						domainVersions.put(resultSet.getString("domain"), resultSet.getLong("version"));
+					}
+				}
+			}
+		}
+		versions.replaceAll((dictionaryKey, version) -> String.format("%s-%s", version, domainVersions.getOrDefault(dictionaryKey.getDomain(), 0L)));
+		return versions;
+	}
+
+	private Set<String> readWords(DataSource reader,
+								  Connection connection,
+								  DictionaryType dictionaryType,
+								  String domain,
+								  Watermark watermark) throws SQLException {
+		WordsBudget budget = WordsBudget.of(this.remoteConfiguration.getBudget(), domain);
+		if (Objects.nonNull(budget)) {
+			return this.readTopWords(connection, dictionaryType, domain, budget);
+		}
+		if (this.snapshotReads()) {
+			this.snapshots.track(domain);
+			Set<String> words = this.readSnapshot(connection, dictionaryType, domain, watermark);
+			if (Objects.nonNull(words)) {
+				return words;
+			}
+		}
+		if (this.readParallelism > 1) {
+			Set<String> words = this.readParallel(reader, connection, dictionaryType, domain, watermark);
+			if (Objects.nonNull(words)) {
+				return words;
+			}
+		}
+		Set<String> words = new HashSet<>();
+		String sql = "SELECT id, word FROM ik_words WHERE domain = ? AND word_type = ?";
+		boolean autoCommit = connection.getAutoCommit();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			this.dialect.streaming(connection, statement);
+			statement.setString(1, domain);
+			statement.setInt(2, dictionaryType.getType());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					watermark.mark(resultSet.getLong("id"));
+					words.add(WordInterner.intern(resultSet.getString("word")));
+				}
+			}
+		} finally {
+			this.streamed(connection, autoCommit);
+		}
+		return words;
+	}
+
+	/**
+	 * 按id范围并行读取：以MIN/MAX(id)将词库等分为多个范围，首个范围在当前连接读取，其余范围各用一个连接并发读取，
+	 * 范围内以id为游标分页，不产生单条大查询
+	 * @return words，词数低于阈值时为null
+	 */
+	private Set<String> readParallel(DataSource reader,
+									 Connection connection,
+									 DictionaryType dictionaryType,
+									 String domain,
+									 Watermark watermark) throws SQLException {
+		String sql = "SELECT COUNT(*) AS words, MIN(id) AS min_id, MAX(id) AS max_id FROM ik_words WHERE domain = ? AND word_type = ?";
+		long count;
+		long minId;
+		long maxId;
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, domain);
+			statement.setInt(2, dictionaryType.getType());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				resultSet.next();
+				count = resultSet.getLong("words");
+				minId = resultSet.getLong("min_id");
+				maxId = resultSet.getLong("max_id");
+			}
+		}
+		if (count < Optional.ofNullable(this.jdbc.getParallelReadThreshold()).orElse(0)) {
+			return null;
+		}
+		int ranges = (int) Math.min(this.readParallelism, Math.max(1, count / this.readChunkSize()));
+		long width = (maxId - minId) / ranges + 1;
+		List<Future<RangeWords>> futures = new ArrayList<>(ranges - 1);
+		for (int i = 1; i < ranges; i++) {
+			long from = minId - 1 + width * i;
+			long to = Math.min(maxId, from + width);
+			futures.add(this.readExecutor.submit(() -> {
+				try (Connection rangeConnection = reader.getConnection()) {
+					return this.readRange(rangeConnection, dictionaryType, domain, from, to);
+				}
+			}));
+		}
+		List<RangeWords> rangeWords = new ArrayList<>(ranges);
+		try {
+			rangeWords.add(this.readRange(connection, dictionaryType, domain, minId - 1, Math.min(maxId, minId - 1 + width)));
+			for (Future<RangeWords> future : futures) {
+				rangeWords.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException(String.format("read words of domain '%s' is interrupted", domain), e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof SQLException ? (SQLException) e.getCause() : new SQLException(e.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		Set<String> words = new HashSet<>(Math.max(16, (int) (count / 0.75f) + 1));
+		for (RangeWords range : rangeWords) {
+			words.addAll(range.words);
+			watermark.maxId = Math.max(watermark.maxId, range.watermark.maxId);
+			watermark.count += range.watermark.count;
+		}
+		log.info("'{}' remote dictionary domain '{}' dictionary '{}' read '{}' words in '{}' ranges.", this.etymology(), domain, dictionaryType, words.size(), ranges);
+		return words;
+	}
+
+	/**
+	 * 以id为游标分页读取(from, to]范围内的词
+	 */
+	private RangeWords readRange(Connection connection,
+								 DictionaryType dictionaryType,
+								 String domain,
+								 long from,
+								 long to) throws SQLException {
+		// 排序带上等值条件列，与覆盖索引的列序一致，按索引顺序读取无需排序
+		String sql = "SELECT id, word FROM ik_words WHERE domain = ? AND word_type = ? AND id > ? AND id <= ? ORDER BY domain, word_type, id LIMIT ?";
+		int chunkSize = this.readChunkSize();
+		RangeWords rangeWords = new RangeWords();
+		long lastId = from;
+		int fetched;
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			do {
+				fetched = 0;
+				statement.setString(1, domain);
+				statement.setInt(2, dictionaryType.getType());
+				statement.setLong(3, lastId);
+				statement.setLong(4, to);
+				statement.setInt(5, chunkSize);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						fetched++;
+						lastId = resultSet.getLong("id");
+						rangeWords.watermark.mark(lastId);
+						rangeWords.words.add(WordInterner.intern(resultSet.getString("word")));
+					}
+				}
+			} while (fetched == chunkSize && lastId < to);
+		}
+		return rangeWords;
+	}
+
+	private int readChunkSize() {
+		return Math.max(1, Optional.ofNullable(this.jdbc.getReadChunkSize()).orElse(10000));
+	}
+
+	/**
+	 * 按权重从高到低、同权重由新到旧，以(weight, id)为游标分页读取，预算用尽即停止
+	 */
+	private Set<String> readTopWords(Connection connection,
+									 DictionaryType dictionaryType,
+									 String domain,
+									 WordsBudget budget) throws SQLException {
+		boolean weighted = this.schemaVersion() >= WEIGHT_SCHEMA_VERSION;
+		String weight = weighted ? "weight" : "0";
+		String firstPage = String.format("SELECT id, word, %s AS weight FROM ik_words WHERE domain = ? AND word_type = ? " +
+				"ORDER BY %s LIMIT ?", weight, weighted ? "weight DESC, id DESC" : "id DESC");
+		String nextPage = String.format("SELECT id, word, %s AS weight FROM ik_words WHERE domain = ? AND word_type = ? AND %s " +
+				"ORDER BY %s LIMIT ?", weight, weighted ? "(weight < ? OR (weight = ? AND id < ?))" : "id < ?", weighted ? "weight DESC, id DESC" : "id DESC");
+		Set<String> words = new HashSet<>();
+		long lastWeight = 0;
+		long lastId = 0;
+		int fetched;
+		int pageSize;
+		do {
+			pageSize = budget.pageSize();
+			fetched = 0;
+			try (PreparedStatement statement = connection.prepareStatement(words.isEmpty() ? firstPage : nextPage)) {
+				int index = 1;
+				statement.setString(index++, domain);
+				statement.setInt(index++, dictionaryType.getType());
+				if (!words.isEmpty()) {
+					if (weighted) {
+						statement.setLong(index++, lastWeight);
+						statement.setLong(index++, lastWeight);
+					}
+					statement.setLong(index++, lastId);
+				}
+				statement.setInt(index, pageSize);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						fetched++;
+						lastId = resultSet.getLong("id");
+						lastWeight = resultSet.getLong("weight");
+						String word = WordInterner.intern(resultSet.getString("word"));
+						if (!budget.add(word)) {
+							break;
+						}
+						words.add(word);
+					}
+				}
+			}
+		} while (budget.hasNextPage(fetched, pageSize));
+		log.info("'{}' remote dictionary domain '{}' dictionary '{}' loaded top '{}' words within budget.", this.etymology(), domain, dictionaryType, words.size());
+		return words;
+	}
+
+	/**
+	 * 读取水位之后新增的词并推进水位，ik_words以自增id写入，id大于水位的即为新增；
+	 * 词数与水位词数加新增词数不一致时说明存在删除，无法计算增量
+	 * @param watermark 词典已交付的水位，读取时推进
+	 * @return delta，无法计算时为null
+	 */
+	private DictionaryDelta readDelta(Connection connection,
+									  DictionaryType dictionaryType,
+									  String domain,
+									  Watermark watermark) throws SQLException {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+		Set<String> added = new HashSet<>();
+		this.readAfter(connection, dictionaryType, domain, watermark, added);
+		if (this.countWords(connection, dictionaryType, domain) != watermark.count) {
+			log.info("'{}' remote dictionary '{}' words were removed, fallback to reload.", this.etymology(), dictionaryKey);
+			return null;
+		}
+		return DictionaryDelta.added(dictionaryKey, added);
+	}
+
+	/**
+	 * 读取水位之后新增的词并推进水位
+	 */
+	private void readAfter(Connection connection,
+						   DictionaryType dictionaryType,
+						   String domain,
+						   Watermark watermark,
+						   Set<String> words) throws SQLException {
+		String sql = "SELECT id, word FROM ik_words WHERE domain = ? AND word_type = ? AND id > ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, domain);
+			statement.setInt(2, dictionaryType.getType());
+			statement.setLong(3, watermark.maxId);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					watermark.mark(resultSet.getLong("id"));
+					words.add(WordInterner.intern(resultSet.getString("word")));
+				}
+			}
+		}
+	}
+
+	private long countWords(Connection connection,
+							DictionaryType dictionaryType,
+							String domain) throws SQLException {
+		String sql = "SELECT COUNT(*) AS words FROM ik_words WHERE domain = ? AND word_type = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, domain);
+			statement.setInt(2, dictionaryType.getType());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				resultSet.next();
+				return resultSet.getLong("words");
+			}
+		}
+	}
+
+	/**
+	 * 读取快照并应用快照水位之后新增的词，一次读取快照及少量增量，无需扫描整个词库
+	 * @return words，没有快照或快照之后存在删除时为null
+	 */
+	private Set<String> readSnapshot(Connection connection,
+									 DictionaryType dictionaryType,
+									 String domain,
+									 Watermark watermark) throws SQLException {
+		DictionarySnapshotCodec.Snapshot snapshot = this.loadSnapshot(connection, dictionaryType, domain);
+		if (Objects.isNull(snapshot)) {
+			return null;
+		}
+		Watermark snapshotWatermark = new Watermark((long) snapshot.getWatermark(), snapshot.getWords());
+		Set<String> words = snapshot.getContent();
+		this.readAfter(connection, dictionaryType, domain, snapshotWatermark, words);
+		if (this.countWords(connection, dictionaryType, domain) != snapshotWatermark.count) {
+			log.info("'{}' remote dictionary domain '{}' dictionary '{}' words were removed after snapshot, fallback to read words.", this.etymology(), domain, dictionaryType);
+			return null;
+		}
+		watermark.maxId = snapshotWatermark.maxId;
+		watermark.count = snapshotWatermark.count;
+		log.info("'{}' remote dictionary domain '{}' dictionary '{}' read snapshot of '{}' words and '{}' delta words.", this.etymology(), domain, dictionaryType, snapshot.getWords(), snapshotWatermark.count - snapshot.getWords());
+		return words;
+	}
+
+	private DictionarySnapshotCodec.Snapshot loadSnapshot(Connection connection,
+														  DictionaryType dictionaryType,
+														  String domain) throws SQLException {
+		String sql = "SELECT snapshot FROM ik_dict_snapshot WHERE domain = ? AND word_type = ?";
+		byte[] bytes;
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, domain);
+			statement.setInt(2, dictionaryType.getType());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (!resultSet.next()) {
+					return null;
+				}
+				bytes = resultSet.getBytes("snapshot");
+			}
+		}
+		try {
+			return DictionarySnapshotCodec.decode(bytes);
+		} catch (IOException e) {
+			log.warn("'{}' remote dictionary domain '{}' dictionary '{}' snapshot is corrupted, fallback to read words: {}", this.etymology(), domain, dictionaryType, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 快照水位之后新增的词达到阈值、快照之后存在删除或尚无快照时，在主库重新生成快照
+	 * @return true生成了新快照
+	 */
+	boolean compact(DictionaryType dictionaryType, String domain) throws SQLException {
+		if (this.schemaVersion() < SNAPSHOT_SCHEMA_VERSION) {
+			return false;
+		}
+		try (Connection connection = this.dataSources.primary().getConnection()) {
+			long snapshotWords = -1;
+			long maxId = 0;
+			String sql = "SELECT max_id, words FROM ik_dict_snapshot WHERE domain = ? AND word_type = ?";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setString(1, domain);
+				statement.setInt(2, dictionaryType.getType());
+				try (ResultSet resultSet = statement.executeQuery()) {
+					if (resultSet.next()) {
+						maxId = resultSet.getLong("max_id");
+						snapshotWords = resultSet.getLong("words");
+					}
+				}
+			}
+			long words;
+			long delta;
+			sql = "SELECT COUNT(*) AS words, SUM(CASE WHEN id > ? THEN 1 ELSE 0 END) AS delta FROM ik_words WHERE domain = ? AND word_type = ?";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				statement.setLong(1, maxId);
+				statement.setString(2, domain);
+				statement.setInt(3, dictionaryType.getType());
+				try (ResultSet resultSet = statement.executeQuery()) {
+					resultSet.next();
+					words = resultSet.getLong("words");
+					delta = resultSet.getLong("delta");
+				}
+			}
+			if (words == 0 || !this.snapshots.isStale(snapshotWords, words, delta)) {
+				return false;
+			}
+			RangeWords rangeWords = this.readRange(connection, dictionaryType, domain, 0, Long.MAX_VALUE);
+			byte[] snapshot = DictionarySnapshotCodec.encode(rangeWords.watermark.maxId, rangeWords.words);
+			connection.setAutoCommit(false);
+			try {
+				sql = "DELETE FROM ik_dict_snapshot WHERE domain = ? AND word_type = ?";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.setString(1, domain);
+					statement.setInt(2, dictionaryType.getType());
+					statement.execute();
+				}
+				sql = "INSERT INTO ik_dict_snapshot(domain, word_type, max_id, words, snapshot) VALUES (?, ?, ?, ?, ?)";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.setString(1, domain);
+					statement.setInt(2, dictionaryType.getType());
+					statement.setLong(3, rangeWords.watermark.maxId);
+					statement.setInt(4, rangeWords.words.size());
+					statement.setBytes(5, snapshot);
+					statement.execute();
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
+			}
+			log.info("'{}' remote dictionary domain '{}' dictionary '{}' snapshot '{}' words at id '{}', '{}' bytes.", this.etymology(), domain, dictionaryType, rangeWords.words.size(), rangeWords.watermark.maxId, snapshot.length);
+			return true;
+		}
+	}
+
+	@Override
+	public Map<DictionaryKey, Set<String>> getRemoteWords(Collection<DictionaryKey> dictionaryKeys) {
+		Map<DictionaryKey, Set<String>> remoteWords = new LinkedHashMap<>();
+		// domain + word_type => words
+		Map<String, Set<String>> typedWords = new HashMap<>();
+		Set<String> domains = new LinkedHashSet<>();
+		// 限制了预算的词典逐个分页读取
+		Set<DictionaryKey> budgetedKeys = new LinkedHashSet<>();
+		for (DictionaryKey dictionaryKey : dictionaryKeys) {
+			domains.add(dictionaryKey.getDomain());
+			if (Objects.nonNull(WordsBudget.of(this.remoteConfiguration.getBudget(), dictionaryKey.getDomain()))) {
+				budgetedKeys.add(dictionaryKey);
+				continue;
+			}
+			Set<String> words = typedWords.computeIfAbsent(this.typedDomain(dictionaryKey.getDictionaryType(), dictionaryKey.getDomain()), k -> new HashSet<>());
+			remoteWords.put(dictionaryKey, words);
+		}
+		if (domains.isEmpty()) {
+			return remoteWords;
+		}
+		log.info("'{}' remote dictionary get new words from '{}' dictionaries of '{}' domains", this.etymology(), remoteWords.size() + budgetedKeys.size(), domains.size());
+		List<DictionaryKey> keys = new ArrayList<>(remoteWords.keySet());
+		DataSource reader = this.reader(domains);
+		try (Connection connection = reader.getConnection()) {
+			for (DictionaryKey dictionaryKey : budgetedKeys) {
+				remoteWords.put(dictionaryKey, this.readWords(reader, connection, dictionaryKey.getDictionaryType(), dictionaryKey.getDomain(), new Watermark()));
+			}
+			// 已有快照的词典逐个读取快照及增量
+			Set<String> snapshotted = this.snapshotReads() ? this.snapshotted(connection, domains) : Collections.emptySet();
+			for (Iterator<DictionaryKey> iterator = keys.iterator(); iterator.hasNext(); ) {
+				DictionaryKey dictionaryKey = iterator.next();
+				if (snapshotted.contains(this.typedDomain(dictionaryKey.getDictionaryType(), dictionaryKey.getDomain()))) {
+					remoteWords.put(dictionaryKey, this.readWords(reader, connection, dictionaryKey.getDictionaryType(), dictionaryKey.getDomain(), new Watermark()));
+					iterator.remove();
+				}
+			}
+			for (int from = 0; from < keys.size(); from += BATCH_KEYS_LIMIT) {
+				List<DictionaryKey> batchKeys = keys.subList(from, Math.min(keys.size(), from + BATCH_KEYS_LIMIT));
+				String sql = String.format("SELECT id, domain, word_type, word FROM ik_words WHERE (domain, word_type) IN (%s)",
+						String.join(", ", Collections.nCopies(batchKeys.size(), "(?, ?)")));
+				boolean autoCommit = connection.getAutoCommit();
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					this.dialect.streaming(connection, statement);
+					int index = 1;
+					for (DictionaryKey dictionaryKey : batchKeys) {
+						statement.setString(index++, dictionaryKey.getDomain());
+						statement.setInt(index++, dictionaryKey.getDictionaryType().getType());
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							DictionaryType dictionaryType = DictionaryType.newByType(resultSet.getInt("word_type"));
+							String typedDomain = this.typedDomain(dictionaryType, resultSet.getString("domain"));
+							Set<String> words = typedWords.get(typedDomain);
+							if (Objects.nonNull(words)) {
+								words.add(WordInterner.intern(resultSet.getString("word")));
+							}
+						}
+					}
+				} finally {
+					this.streamed(connection, autoCommit);
+				}
+			}
+		} catch (SQLException e) {
+			this.dataSources.failed(reader);
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary get words from '%s' domains failure", this.etymology(), domains.size()), e);
+		}
+		return remoteWords;
+	}
+
+	/**
+	 * 已有快照的词典
+	 * @return domain + word_type
+	 */
+	private Set<String> snapshotted(Connection connection, Collection<String> domains) throws SQLException {
+		Set<String> snapshotted = new HashSet<>();
+		String sql = String.format("SELECT domain, word_type FROM ik_dict_snapshot WHERE domain IN (%s)",
+				String.join(", ", Collections.nCopies(domains.size(), "?")));
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			int index = 1;
+			for (String domain : domains) {
+				statement.setString(index++, domain);
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					snapshotted.add(this.typedDomain(DictionaryType.newByType(resultSet.getInt("word_type")), resultSet.getString("domain")));
+				}
+			}
+		}
+		return snapshotted;
+	}
+
+	@Override
+	protected void reloadDictionary(IDictionary dictionary,
+									DictionaryType dictionaryType,
+									String domain) {
+		log.info("'{}' remote dictionary reload dictionary from domain '{}' dictionary '{}'", this.etymology(), domain, dictionaryType);
+		DataSource reader = this.reader(Collections.singleton(domain));
+		try (Connection connection = reader.getConnection()) {
+			// 检测变化与获取词库使用同一连接，词库直接交付词典；与该词典已交付的版本比较，各词典、各节点互不影响
+			DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+			String version = this.currentVersions(connection, Collections.singleton(dictionaryKey)).get(dictionaryKey);
+			Delivered delivered = this.delivered.get(dictionary, dictionaryKey);
+			if (Objects.nonNull(delivered) && version.equals(delivered.version)) {
+				return;
+			}
+			log.info("'{}' remote dictionary '{}' version changed to '{}'", this.etymology(), dictionaryKey, version);
+			this.observed(dictionaryKey, this.commitStamp(connection, domain));
+			// 未记录交付状态的词典首次重新加载时全量交付
+			if (Objects.nonNull(delivered) && Objects.nonNull(delivered.watermark)) {
+				Watermark watermark = new Watermark(delivered.watermark.maxId, delivered.watermark.count);
+				if (this.deliver(dictionary, this.readDelta(connection, dictionaryType, domain, watermark))) {
+					this.delivered.put(dictionary, dictionaryKey, new Delivered(version, watermark));
+					return;
+				}
+			}
+			Watermark watermark = new Watermark();
+			this.deliver(dictionary, dictionaryType, this.readWords(reader, connection, dictionaryType, domain, watermark));
+			// 预算内的词随新词写入而变化，不计算增量
+			boolean budgeted = Objects.nonNull(WordsBudget.of(this.remoteConfiguration.getBudget(), domain));
+			this.delivered.put(dictionary, dictionaryKey, new Delivered(version, budgeted ? null : watermark));
+		} catch (SQLException e) {
+			this.dataSources.failed(reader);
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary reload domain '%s' failure", this.etymology(), domain), e);
+		}
+	}
+
+	@Override
+	public CommitStamp commitStamp(DictionaryType dictionaryType, String domain) {
+		if (this.schemaVersion() < COMMIT_TIME_SCHEMA_VERSION) {
+			return null;
+		}
+		DataSource reader = this.reader(Collections.singleton(domain));
+		try (Connection connection = reader.getConnection()) {
+			return this.commitStamp(connection, domain);
+		} catch (SQLException e) {
+			this.dataSources.failed(reader);
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary get commit stamp of domain '%s' failure", this.etymology(), domain), e);
+		}
+	}
+
+	private CommitStamp commitStamp(Connection connection, String domain) throws SQLException {
+		if (this.schemaVersion() < COMMIT_TIME_SCHEMA_VERSION) {
+			return null;
+		}
+		String sql = "SELECT version, committed_at FROM ik_dict_state WHERE domain = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, domain);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (!resultSet.next() || resultSet.getLong("committed_at") <= 0) {
+					return null;
+				}
+				return CommitStamp.of(resultSet.getLong("version"), resultSet.getLong("committed_at"));
+			}
+		}
+	}
+
+	private DataSource reader(Collection<String> domains) {
+		return this.replicaReads() ? this.dataSources.reader(domains) : this.dataSources.primary();
+	}
+
+	/**
+	 * 流式读取结束，恢复方言为流式读取而关闭的自动提交
+	 */
+	private void streamed(Connection connection, boolean autoCommit) throws SQLException {
+		if (autoCommit && !connection.getAutoCommit()) {
+			connection.commit();
+			connection.setAutoCommit(true);
+		}
+	}
+
+	private String typedDomain(DictionaryType dictionaryType, String domain) {
+		return String.format("%s:%s", domain, dictionaryType.getType());
+	}
+
+	@Override
+	protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
+		log.info("'{}' remote dictionary add new word '{}' for dictionary '{}'", this.etymology(), words, dictionaryType);
+		boolean ret = true;
+		this.dataSources.written(domain);
+		try (Connection connection = this.dataSources.primary().getConnection()) {
+			connection.setAutoCommit(false);
+			if (this.schemaVersion() >= UNIQUE_WORDS_SCHEMA_VERSION) {
+				this.addUniqueWords(connection, dictionaryType, domain, null, words);
+				return true;
+			}
+			String sql = "INSERT INTO ik_words(word, word_type, domain) VALUES (?, ?, ?)";
+			try (final PreparedStatement statement = connection.prepareStatement(sql)) {
+				Integer dictionaryTypeType = dictionaryType.getType();
+				for (String word : words) {
+					statement.setString(1, word);
+					statement.setInt(2, dictionaryTypeType);
+					statement.setString(3, domain);
+					statement.addBatch();
+				}
+				// add word
+				statement.executeBatch();
+				DomainDictState state = this.getState(connection, domain);
+				log.info("'{}' remote dictionary domain '{}' state '{}'", this.etymology(), domain, state);
+				DomainDictState domainState = null;
+				if (DomainDictState.NON_NEWLY.equals(state)) {
+					// update state to newly
+					sql = "UPDATE ik_dict_state SET state = ? WHERE domain = ?";
+					domainState = DomainDictState.NEWLY;
+				}
+				if (DomainDictState.NOT_FOUND.equals(state)) {
+					// insert state to newly
+					sql = "INSERT INTO ik_dict_state(state, domain) VALUES(?, ?)";
+					domainState = DomainDictState.NEWLY;
+				}
+				if (Objects.nonNull(domainState)) {
+					PreparedStatement preparedStatement = connection.prepareStatement(sql);
+					preparedStatement.setString(1, domainState.state);
+					preparedStatement.setString(2, domain);
+					preparedStatement.execute();
+					preparedStatement.close();
+				}
+			} catch (SQLException e) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+				throw e;
+			}
+			connection.commit();
+			connection.setAutoCommit(true);
+		} catch (SQLException | RemoteDictionaryException e) {
+			log.error("'{}' add new word '{}' failure =>", this.etymology(), words, e);
+			ret = false;
+		}
+		return ret;
+	}
+
+	@Override
+	protected boolean addWeightedWords(DictionaryType dictionaryType, String domain, Map<String, Integer> weights) {
+		log.info("'{}' remote dictionary add weighted word '{}' for dictionary '{}'", this.etymology(), weights, dictionaryType);
+		if (this.schemaVersion() < WEIGHT_SCHEMA_VERSION) {
+			log.error("'{}' add weighted word requires schema version '{}', please migrate", this.etymology(), WEIGHT_SCHEMA_VERSION);
+			return false;
+		}
+		this.dataSources.written(domain);
+		try (Connection connection = this.dataSources.primary().getConnection()) {
+			connection.setAutoCommit(false);
+			this.addUniqueWords(connection, dictionaryType, domain, weights, weights.keySet().toArray(new String[0]));
+			return true;
+		} catch (SQLException | RemoteDictionaryException e) {
+			log.error("'{}' add weighted word '{}' failure =>", this.etymology(), weights, e);
+			return false;
+		}
+	}
+
+	/**
+	 * 唯一索引下重复的词直接忽略，有新词写入或权重变化时标记状态并递增词库版本
+	 * @param weights 词的权重，为null时不修改权重
+	 */
+	private void addUniqueWords(Connection connection, DictionaryType dictionaryType, String domain, Map<String, Integer> weights, String... words) throws SQLException {
+		boolean added = false;
+		// 写入前确定状态sql，方言不支持当前schema时不写入任何词
+		boolean commitTime = this.schemaVersion() >= COMMIT_TIME_SCHEMA_VERSION;
+		String stateSql;
+		try {
+			stateSql = commitTime ? this.dialect.upsertStateSql() : this.dialect.upsertLegacyStateSql();
+		} catch (RuntimeException e) {
+			connection.setAutoCommit(true);
+			throw e;
+		}
+		try {
+			String sql = this.dialect.insertWordsSql();
+			int batchSize = this.dialect.getBatchSize();
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (int i = 0; i < words.length; i++) {
+					statement.setString(1, words[i]);
+					statement.setInt(2, dictionaryType.getType());
+					statement.setString(3, domain);
+					statement.addBatch();
+					if ((i + 1) % batchSize != 0 && i != words.length - 1) {
+						continue;
+					}
+					for (int count : statement.executeBatch()) {
+						added |= count > 0 || count == Statement.SUCCESS_NO_INFO;
+					}
+				}
+			}
+			if (Objects.nonNull(weights)) {
+				added |= this.updateWeights(connection, dictionaryType, domain, weights, batchSize);
+			}
+			if (added) {
+				try (PreparedStatement statement = connection.prepareStatement(stateSql)) {
+					statement.setString(1, DomainDictState.NEWLY.state);
+					statement.setString(2, domain);
+					if (commitTime) {
+						statement.setLong(3, SystemClockKit.now());
+					}
+					statement.execute();
+				}
+			}
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(true);
+		}
+		log.info("'{}' add new word '{}' success, added '{}'.", this.etymology(), words, added);
+	}
+
+	/**
+	 * 只更新权重不同的词，新写入的词权重为默认值0
+	 * @return true有权重变化
+	 */
+	private boolean updateWeights(Connection connection, DictionaryType dictionaryType, String domain, Map<String, Integer> weights, int batchSize) throws SQLException {
+		boolean updated = false;
+		String sql = "UPDATE ik_words SET weight = ? WHERE domain = ? AND word_type = ? AND word = ? AND weight <> ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			int i = 0;
+			for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+				int weight = Objects.isNull(entry.getValue()) ? 0 : entry.getValue();
+				statement.setInt(1, weight);
+				statement.setString(2, domain);
+				statement.setInt(3, dictionaryType.getType());
+				statement.setString(4, entry.getKey());
+				statement.setInt(5, weight);
+				statement.addBatch();
+				if (++i % batchSize != 0 && i != weights.size()) {
+					continue;
+				}
+				for (int count : statement.executeBatch()) {
+					updated |= count > 0 || count == Statement.SUCCESS_NO_INFO;
+				}
+			}
+		}
+		return updated;
+	}
+
+	private DomainDictState getState(Connection connection, String domain) throws SQLException {
+		DomainDictState state = DomainDictState.NOT_FOUND;
+		String sql = "SELECT state FROM ik_dict_state WHERE domain = ? LIMIT 1";
+		try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+			preparedStatement.setString(1, domain);
+			try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+				if (!resultSet.next()) {
+					log.info("Cannot find the `ik_dict_state` for domain '{}' data", domain);
+					return state;
+				}
+				state = DomainDictState.newByState(resultSet.getString("state"));
+			}
+		}
+		return state;
+	}
+
+	@Override
+	protected void closeResource() {
+		if (Objects.isNull(this.dataSources) || this.dataSources.primary().isClosed()) {
+			return;
+		}
+
+		String etymology = this.etymology();
+		log.info("'{}' remote dictionary is closing...", etymology);
+		if (Objects.nonNull(this.readExecutor)) {
+			this.readExecutor.shutdownNow();
+		}
+		this.snapshots.close();
+		this.dataSources.close();
+		log.info("'{}' remote dictionary is closed", etymology);
+	}
+
+	@Override
+	protected String etymology() {
+		return this.etymology.getEtymology();
+	}
+
+	/**
+	 * 词典水位：已交付的最大id及词数
+	 */
+	@NoArgsConstructor
+	@AllArgsConstructor
+	private static class Watermark {
+		long maxId;
+		long count;
+
+		void mark(long id) {
+			this.maxId = Math.max(this.maxId, id);
+			this.count++;
+		}
+	}
+
+	/**
+	 * 一个词典最近一次交付的版本及水位，水位为null时无法计算增量
+	 */
+	@AllArgsConstructor
+	private static class Delivered {
+		final String version;
+		final Watermark watermark;
+	}
+
+	/**
+	 * 一个id范围读取的词及水位
+	 */
+	private static class RangeWords {
+		final Set<String> words = new HashSet<>();
+		final Watermark watermark = new Watermark();
+	}
+
+	private int initSchema() {
+		JdbcSchemaMigrator migrator = new JdbcSchemaMigrator(this.dataSources.primary(), this.dialect);
+		String schemaMigration = this.jdbc.getSchemaMigration();
+		int schemaVersion;
+		if ("migrate".equalsIgnoreCase(schemaMigration)) {
+			schemaVersion = migrator.migrate();
+		} else if ("none".equalsIgnoreCase(schemaMigration)) {
+			schemaVersion = 0;
+		} else {
+			schemaVersion = migrator.validate();
+		}
+		if (this.dataSources.hasReplicas() && schemaVersion < UNIQUE_WORDS_SCHEMA_VERSION) {
+			log.warn("'{}' remote dictionary replicas require schema version '{}', reading from primary.", this.etymology(), UNIQUE_WORDS_SCHEMA_VERSION);
+		}
+		if (this.remoteConfiguration.getBudget().isLimited() && schemaVersion < WEIGHT_SCHEMA_VERSION) {
+			log.warn("'{}' remote dictionary word weight requires schema version '{}', budget loads the newest words.", this.etymology(), WEIGHT_SCHEMA_VERSION);
+		}
+		if (this.remoteConfiguration.getSnapshot().isEnabled() && schemaVersion < SNAPSHOT_SCHEMA_VERSION) {
+			log.warn("'{}' remote dictionary snapshot requires schema version '{}', reading words without snapshot.", this.etymology(), SNAPSHOT_SCHEMA_VERSION);
+		}
+		return schemaVersion;
+	}
+}
@@ -0,0 +1,335 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JdbcSchemaMigrator
+ *
+ * ik_words、ik_dict_state 的版本化迁移，已应用的版本记录于 ik_schema_version；
+ * mysql各版本均可重复执行，已有的列、索引不会重复创建，DDL以 INPLACE/LOCK=NONE 在线执行，数据修正按id分批完成；
+ * 其他方言没有历史表，直接创建最新版本的表并记录全部版本
+ *
+ * @author Qicz
+ * @since 2026/10/19 17:40
+ */
+@Slf4j
+class JdbcSchemaMigrator {
+
+	/**
+	 * 最新版本
+	 */
+	static final int LATEST_VERSION = 5;
+
+	/**
+	 * 多个节点同时启动时，只有一个节点执行迁移
+	 */
+	private static final String LOCK_NAME = "redip_schema_migration";
+
+	/**
+	 * 每批修正的id范围
+	 */
+	private static final int BATCH_SIZE = 10000;
+
+	private final DataSource dataSource;
+
+	private final JdbcDialect dialect;
+
+	private final List<Migration> migrations = Arrays.asList(
+			new Migration(1, "baseline", this::baseline),
+			new Migration(2, "covering index, unique word hash and state version", this::coveringIndexAndUniqueWords),
+			new Migration(3, "word weight", this::wordWeight),
+			new Migration(4, "state commit time", this::stateCommitTime),
+			new Migration(5, "dictionary snapshot", this::dictionarySnapshot));
+
+	JdbcSchemaMigrator(DataSource dataSource, JdbcDialect dialect) {
+		this.dataSource = dataSource;
+		this.dialect = dialect;
+	}
+
+	/**
+	 * 检查 schema 版本
+	 * @return 当前版本，未迁移过时为0
+	 */
+	int validate() {
+		try (Connection connection = this.dataSource.getConnection()) {
+			int version = this.currentVersion(connection);
+			if (version < LATEST_VERSION) {
+				log.warn("'{}' remote dictionary schema version '{}' is behind '{}', set 'schema-migration: migrate' to upgrade.", this.dialect, version, LATEST_VERSION);
+			}
+			return version;
+		} catch (SQLException e) {
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary validate schema failure", this.dialect), e);
+		}
+	}
+
+	/**
+	 * 执行未应用的迁移
+	 * @return 迁移后的版本
+	 */
+	int migrate() {
+		try (Connection connection = this.dataSource.getConnection()) {
+			if (!this.dialect.lock(connection, LOCK_NAME)) {
+				throw new RemoteDictionaryException(String.format("'%s' remote dictionary acquire schema migration lock '%s' timeout", this.dialect, LOCK_NAME));
+			}
+			try {
+				List<String> schema = this.dialect.schema();
+				if (!schema.isEmpty()) {
+					return this.createLatest(connection, schema);
+				}
+				this.createVersionTable(connection);
+				int version = this.currentVersion(connection);
+				for (Migration migration : this.migrations) {
+					if (migration.version <= version) {
+						continue;
+					}
+					log.info("'{}' remote dictionary migrating schema to version '{}' - {}", this.dialect, migration.version, migration.description);
+					migration.step.apply(connection);
+					this.record(connection, migration);
+					version = migration.version;
+				}
+				log.info("'{}' remote dictionary schema version '{}'", this.dialect, version);
+				return version;
+			} finally {
+				this.dialect.unlock(connection, LOCK_NAME);
+			}
+		} catch (SQLException e) {
+			throw new RemoteDictionaryException(String.format("'%s' remote dictionary migrate schema failure", this.dialect), e);
+		}
+	}
+
+	/**
+	 * 创建最新版本的表，并记录尚未记录的版本
+	 */
+	private int createLatest(Connection connection, List<String> schema) throws SQLException {
+		for (String sql : schema) {
+			this.execute(connection, sql);
+		}
+		int version = this.currentVersion(connection);
+		for (Migration migration : this.migrations) {
+			if (migration.version > version) {
+				this.record(connection, migration);
+			}
+		}
+		log.info("'{}' remote dictionary schema version '{}'", this.dialect, LATEST_VERSION);
+		return LATEST_VERSION;
+	}
+
+	private void baseline(Connection connection) throws SQLException {
+		this.execute(connection, "CREATE TABLE IF NOT EXISTS `ik_dict_state` (" +
+				"`id` int(10) unsigned NOT NULL AUTO_INCREMENT, " +
+				"`domain` varchar(100) NOT NULL COMMENT '所属领域', " +
+				"`state` varchar(10) NOT NULL COMMENT 'newly有更新non-newly无更新', " +
+				"PRIMARY KEY (`id`) USING BTREE, " +
+				"UNIQUE KEY `domain` (`domain`) USING BTREE" +
+				") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+		this.execute(connection, "CREATE TABLE IF NOT EXISTS `ik_words` (" +
+				"`id` int(10) unsigned NOT NULL AUTO_INCREMENT, " +
+				"`word` varchar(200) NOT NULL, " +
+				"`word_type` tinyint(4) unsigned NOT NULL COMMENT 'word类型，1主词库，2stop词库', " +
+				"`domain` varchar(100) NOT NULL COMMENT '所属领域', " +
+				"`create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间', " +
+				"PRIMARY KEY (`id`), " +
+				"KEY `domain` (`domain`) USING BTREE" +
+				") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+	}
+
+	private void coveringIndexAndUniqueWords(Connection connection) throws SQLException {
+		// 覆盖索引：按领域、类型读取词库及按id水位增量读取均无需回表
+		if (!this.indexExists(connection, "ik_words", "idx_domain_type_id_word")) {
+			this.execute(connection, "ALTER TABLE `ik_words` ADD INDEX `idx_domain_type_id_word` (`domain`, `word_type`, `id`, `word`), ALGORITHM=INPLACE, LOCK=NONE");
+		}
+		if (this.indexExists(connection, "ik_words", "domain")) {
+			this.execute(connection, "ALTER TABLE `ik_words` DROP INDEX `domain`, ALGORITHM=INPLACE, LOCK=NONE");
+		}
+		// word最长200个字符，以sha1虚拟列保证唯一索引不超出索引长度限制
+		if (!this.columnExists(connection, "ik_words", "word_hash")) {
+			this.execute(connection, "ALTER TABLE `ik_words` ADD COLUMN `word_hash` binary(20) GENERATED ALWAYS AS (UNHEX(SHA1(`word`))) VIRTUAL, ALGORITHM=INPLACE, LOCK=NONE");
+		}
+		if (!this.indexExists(connection, "ik_words", "uk_domain_type_word")) {
+			if (!this.indexExists(connection, "ik_words", "idx_domain_type_word_hash")) {
+				this.execute(connection, "ALTER TABLE `ik_words` ADD INDEX `idx_domain_type_word_hash` (`domain`, `word_type`, `word_hash`), ALGORITHM=INPLACE, LOCK=NONE");
+			}
+			this.removeDuplicateWords(connection);
+			this.execute(connection, "ALTER TABLE `ik_words` ADD UNIQUE INDEX `uk_domain_type_word` (`domain`, `word_type`, `word_hash`), ALGORITHM=INPLACE, LOCK=NONE");
+		}
+		if (this.indexExists(connection, "ik_words", "idx_domain_type_word_hash")) {
+			this.execute(connection, "ALTER TABLE `ik_words` DROP INDEX `idx_domain_type_word_hash`, ALGORITHM=INPLACE, LOCK=NONE");
+		}
+		// 领域词库版本，新词写入时递增
+		if (!this.columnExists(connection, "ik_dict_state", "version")) {
+			this.execute(connection, "ALTER TABLE `ik_dict_state` " +
+					"ADD COLUMN `version` bigint(20) unsigned NOT NULL DEFAULT 0 COMMENT '词库版本', " +
+					"ADD COLUMN `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间', " +
+					"ALGORITHM=INPLACE, LOCK=NONE");
+		}
+	}
+
+	private void wordWeight(Connection connection) throws SQLException {
+		if (!this.columnExists(connection, "ik_words", "weight")) {
+			this.execute(connection, "ALTER TABLE `ik_words` ADD COLUMN `weight` int(10) NOT NULL DEFAULT 0 COMMENT '权重，超出预算时按权重从高到低加载', ALGORITHM=INPLACE, LOCK=NONE");
+		}
+		// 覆盖索引：按权重倒序分页读取无需回表、无需排序
+		if (!this.indexExists(connection, "ik_words", "idx_domain_type_weight_id_word")) {
+			this.execute(connection, "ALTER TABLE `ik_words` ADD INDEX `idx_domain_type_weight_id_word` (`domain`, `word_type`, `weight`, `id`, `word`), ALGORITHM=INPLACE, LOCK=NONE");
+		}
+	}
+
+	private void stateCommitTime(Connection connection) throws SQLException {
+		// 与version一同写入，用于计算新词从写入到各节点生效的延迟
+		if (!this.columnExists(connection, "ik_dict_state", "committed_at")) {
+			this.execute(connection, "ALTER TABLE `ik_dict_state` ADD COLUMN `committed_at` bigint(20) unsigned NOT NULL DEFAULT 0 COMMENT '最近一次写入的提交时间，单位ms', ALGORITHM=INPLACE, LOCK=NONE");
+		}
+	}
+
+	private void dictionarySnapshot(Connection connection) throws SQLException {
+		// 每个领域词库一行，快照之后新增的词仍从ik_words按id读取
+		this.execute(connection, "CREATE TABLE IF NOT EXISTS `ik_dict_snapshot` (" +
+				"`domain` varchar(100) NOT NULL COMMENT '所属领域', " +
+				"`word_type` tinyint(4) unsigned NOT NULL COMMENT 'word类型，1主词库，2stop词库', " +
+				"`max_id` bigint(20) unsigned NOT NULL COMMENT '快照包含的最大词id', " +
+				"`words` int(10) unsigned NOT NULL COMMENT '快照词数', " +
+				"`snapshot` longblob NOT NULL COMMENT 'DictionarySnapshotCodec编码的词库', " +
+				"`update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间', " +
+				"PRIMARY KEY (`domain`, `word_type`)" +
+				") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+	}
+
+	/**
+	 * 按id分批删除重复的词，保留id最小的一条
+	 */
+	private void removeDuplicateWords(Connection connection) throws SQLException {
+		long maxId;
+		try (Statement statement = connection.createStatement();
+			 ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM `ik_words`")) {
+			resultSet.next();
+			maxId = resultSet.getLong(1);
+		}
+		String sql = "DELETE w FROM `ik_words` w JOIN `ik_words` k " +
+				"ON k.domain = w.domain AND k.word_type = w.word_type AND k.word_hash = w.word_hash AND k.id < w.id " +
+				"WHERE w.id > ? AND w.id <= ?";
+		long removed = 0;
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (long from = 0; from < maxId; from += BATCH_SIZE) {
+				statement.setLong(1, from);
+				statement.setLong(2, from + BATCH_SIZE);
+				removed += statement.executeUpdate();
+			}
+		}
+		log.info("'{}' remote dictionary removed '{}' duplicate words.", this.dialect, removed);
+	}
+
+	private int currentVersion(Connection connection) throws SQLException {
+		if (!this.tableExists(connection, "ik_schema_version")) {
+			return 0;
+		}
+		try (Statement statement = connection.createStatement();
+			 ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM ik_schema_version")) {
+			resultSet.next();
+			return resultSet.getInt(1);
+		}
+	}
+
+	private void createVersionTable(Connection connection) throws SQLException {
+		this.execute(connection, "CREATE TABLE IF NOT EXISTS `ik_schema_version` (" +
+				"`version` int(10) unsigned NOT NULL, " +
+				"`description` varchar(200) NOT NULL, " +
+				"`installed_on` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+				"PRIMARY KEY (`version`)" +
+				") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+	}
+
+	private void record(Connection connection, Migration migration) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO ik_schema_version(version, description) VALUES (?, ?)")) {
+			statement.setInt(1, migration.version);
+			statement.setString(2, migration.description);
+			statement.execute();
+		}
+	}
+
+	private boolean tableExists(Connection connection, String table) throws SQLException {
+		if (!this.dialect.schema().isEmpty()) {
+			// 未加引号的表名各库大小写处理不同
+			DatabaseMetaData metaData = connection.getMetaData();
+			for (String name : Arrays.asList(table, table.toUpperCase())) {
+				try (ResultSet resultSet = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, null)) {
+					if (resultSet.next()) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+		return this.exists(connection, "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", table);
+	}
+
+	private boolean columnExists(Connection connection, String table, String column) throws SQLException {
+		return this.exists(connection, "SELECT 1 FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?", table, column);
+	}
+
+	private boolean indexExists(Connection connection, String table, String index) throws SQLException {
+		return this.exists(connection, "SELECT 1 FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1", table, index);
+	}
+
+	private boolean exists(Connection connection, String sql, String... parameters) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setString(i + 1, parameters[i]);
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next();
+			}
+		}
+	}
+
+	private void execute(Connection connection, String sql) throws SQLException {
+		log.info("'{}' remote dictionary execute '{}'", this.dialect, sql);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Step {
+		void apply(Connection connection) throws SQLException;
+	}
+
+	@AllArgsConstructor
+	private static class Migration {
+		int version;
+		String description;
+		Step step;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openingo.redip.configuration.RemoteConfiguration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * MySQLDialect
+ *
+ * fetchSize为Integer.MIN_VALUE时逐行流式读取，schema按版本在线迁移
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:45
+ */
+class MySQLDialect extends JdbcDialect {
+
+	private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+	@Override
+	public String getName() {
+		return "mysql";
+	}
+
+	@Override
+	public boolean accepts(String url) {
+		return super.accepts(url) || (Objects.nonNull(url) && url.startsWith("jdbc:mariadb:"));
+	}
+
+	@Override
+	public String getDriverClassName() {
+		return "com.mysql.cj.jdbc.Driver";
+	}
+
+	@Override
+	public void configure(HikariDataSource dataSource, RemoteConfiguration.Jdbc.Pool pool) {
+		dataSource.addDataSourceProperty("cachePrepStmts", pool.isCachePrepStmts());
+		dataSource.addDataSourceProperty("prepStmtCacheSize", pool.getPrepStmtCacheSize());
+		dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", pool.getPrepStmtCacheSqlLimit());
+	}
+
+	@Override
+	public void streaming(Connection connection, PreparedStatement statement) throws SQLException {
+		statement.setFetchSize(Integer.MIN_VALUE);
+	}
+
+	@Override
+	public String insertWordsSql() {
+		return "INSERT IGNORE INTO ik_words(word, word_type, domain) VALUES (?, ?, ?)";
+	}
+
+	@Override
+	public String upsertStateSql() {
+		return "INSERT INTO ik_dict_state(state, domain, version, committed_at) VALUES (?, ?, 1, ?) " +
+				"ON DUPLICATE KEY UPDATE state = VALUES(state), version = version + 1, committed_at = VALUES(committed_at)";
+	}
+
+	@Override
+	public String upsertLegacyStateSql() {
+		return "INSERT INTO ik_dict_state(state, domain, version) VALUES (?, ?, 1) ON DUPLICATE KEY UPDATE state = VALUES(state), version = version + 1";
+	}
+
+	@Override
+	public List<String> schema() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean lock(Connection connection, String name) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+			statement.setString(1, name);
+			statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() && resultSet.getInt(1) == 1;
+			}
+		}
+	}
+
+	@Override
+	public void unlock(Connection connection, String name) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+			statement.setString(1, name);
+			statement.execute();
+		}
+	}
+}
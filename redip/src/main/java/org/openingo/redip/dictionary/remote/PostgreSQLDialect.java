@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQLDialect
+ *
+ * 关闭自动提交并设置fetchSize时以游标分批读取
+ *
+ * @author Qicz
+ * @since 2026/10/19 19:50
+ */
+class PostgreSQLDialect extends JdbcDialect {
+
+	@Override
+	public String getName() {
+		return "postgresql";
+	}
+
+	@Override
+	public String getDriverClassName() {
+		return "org.postgresql.Driver";
+	}
+
+	@Override
+	public void streaming(Connection connection, PreparedStatement statement) throws SQLException {
+		connection.setAutoCommit(false);
+		statement.setFetchSize(FETCH_SIZE);
+	}
+
+	@Override
+	public String insertWordsSql() {
+		return "INSERT INTO ik_words(word, word_type, domain) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+	}
+
+	@Override
+	public String upsertStateSql() {
+		return "INSERT INTO ik_dict_state(state, domain, version, committed_at) VALUES (?, ?, 1, ?) " +
+				"ON CONFLICT (domain) DO UPDATE SET state = excluded.state, version = ik_dict_state.version + 1, " +
+				"committed_at = excluded.committed_at, update_time = CURRENT_TIMESTAMP";
+	}
+
+	@Override
+	public String upsertLegacyStateSql() {
+		return "INSERT INTO ik_dict_state(state, domain, version) VALUES (?, ?, 1) " +
+				"ON CONFLICT (domain) DO UPDATE SET state = excluded.state, version = ik_dict_state.version + 1, update_time = CURRENT_TIMESTAMP";
+	}
+
+	@Override
+	protected String identityColumn() {
+		return "bigserial PRIMARY KEY";
+	}
+
+	@Override
+	protected String blobType() {
+		return "bytea";
+	}
+
+	@Override
+	public boolean lock(Connection connection, String name) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_lock(?)")) {
+			statement.setLong(1, name.hashCode());
+			statement.execute();
+			return true;
+		}
+	}
+
+	@Override
+	public void unlock(Connection connection, String name) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+			statement.setLong(1, name.hashCode());
+			statement.execute();
+		}
+	}
+}
@@ -27,27 +27,42 @@
 
 package org.openingo.redip.dictionary.remote;
 
-import io.lettuce.core.RedisClient;
-import io.lettuce.core.RedisURI;
-import io.lettuce.core.ScoredValue;
-import io.lettuce.core.TransactionResult;
+import io.lettuce.core.*;
 import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisSortedSetAsyncCommands;
+import io.lettuce.core.api.async.RedisStringAsyncCommands;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.api.sync.RedisScriptingCommands;
 import io.lettuce.core.api.sync.RedisSortedSetCommands;
 import io.lettuce.core.api.sync.RedisStreamCommands;
 import io.lettuce.core.api.sync.RedisStringCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.lang.StrKit;
 import org.openingo.jdkits.sys.SystemClockKit;
 import org.openingo.jdkits.validate.ValidateKit;
+import org.openingo.redip.codec.DictionarySnapshotCodec;
 import org.openingo.redip.configuration.RemoteConfiguration;
 import org.openingo.redip.constants.DictionaryType;
 import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
 import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.helper.WordInterner;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RedisRemoteDictionary
@@ -59,16 +74,74 @@ import java.util.*;
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class RedisRemoteDictionary extends AbstractRemoteDictionary {
 
-	private final StatefulRedisConnection<String, String> redisConnection;
-	private final StatefulRedisClusterConnection<String, String> redisClusterConnection;
+	/**
+	 * 连接在后台或首次使用时建立
+	 */
+	private volatile StatefulRedisConnection<String, String> redisConnection;
+	private volatile StatefulRedisClusterConnection<String, String> redisClusterConnection;
+	private AbstractRedisClient redisClient;
+	private volatile boolean closed;
+
+	/**
+	 * 后台建立连接的线程，关闭时中断
+	 */
+	private final Thread connectThread;
 
 	private final static String KEY_PREFIX = "es-ik-words";
 
+	/**
+	 * 原子添加新词并发布变化：KEYS[1] 词库key，KEYS[2] state key，KEYS[3] version key，KEYS[4] commit key，
+	 * ARGV[1] state，ARGV[2] 提交时间，ARGV[3..] score、word，返回实际新增的词数
+	 */
+	private final static String ADD_WORDS_SCRIPT = String.join("\n",
+			"local added = 0",
+			"for i = 3, #ARGV, 2 do",
+			"  added = added + redis.call('ZADD', KEYS[1], 'NX', ARGV[i], ARGV[i + 1])",
+			"end",
+			"if added > 0 then",
+			"  redis.call('SET', KEYS[2], ARGV[1])",
+			"  local version = redis.call('INCR', KEYS[3])",
+			"  redis.call('SET', KEYS[4], version .. ':' .. ARGV[2])",
+			"end",
+			"return added");
+
+	private final static String ADD_WORDS_SCRIPT_DIGEST = digest(ADD_WORDS_SCRIPT);
+
+	/**
+	 * 迁移时每批写入的词数
+	 */
+	private final static int MIGRATE_BATCH_SIZE = 1000;
+
+	/**
+	 * 快照以base64存储，头部base64后的长度
+	 */
+	private final static int SNAPSHOT_HEADER_LENGTH = (DictionarySnapshotCodec.HEADER_LENGTH + 2) / 3 * 4;
+
+	/**
+	 * 服务端是否支持脚本
+	 */
+	private volatile boolean scriptingSupported = true;
+
+	/**
+	 * 各词典最近一次交付的版本及水位，各词典各自比较版本检测变化、计算增量，不修改共享的状态
+	 */
+	private final DeliveryStates<Delivered> delivered = new DeliveryStates<>();
+
+	private final SnapshotCompactor snapshots;
+
 	public RedisRemoteDictionary(RemoteConfiguration remoteConfiguration) {
 		super(remoteConfiguration);
-		RemoteConfiguration.Redis redis = this.remoteConfiguration.getRedis();
-		this.redisClusterConnection = this.getRedisClusterConnection(redis);
-		this.redisConnection = this.getRedisConnection(redis);
+		this.snapshots = new SnapshotCompactor(this.etymology(), remoteConfiguration.getSnapshot(), this::compact);
+		this.connectThread = new NamedThreadFactory("redip-redis-connect").newThread(() -> {
+			try {
+				this.getConnection();
+			} catch (RuntimeException e) {
+				if (!this.closed) {
+					log.warn("'redis' remote dictionary connect failure, retry on first use: {}", e.getMessage());
+				}
+			}
+		});
+		this.connectThread.start();
 	}
 
 	@Override
@@ -76,11 +149,343 @@ public class RedisRemoteDictionary extends AbstractRemoteDictionary {
 									  String etymology,
 									  String domain) {
 		log.info("'redis' remote dictionary get new words from domain '{}' dictionary '{}'", domain, dictionaryType);
+		// 获取词库不记录交付状态，各词典重新加载时各自检测变化
+		return this.readWatermarkedWords(dictionaryType, domain, new Watermark());
+	}
+
+	/**
+	 * 读取词库，有快照时读取快照及增量
+	 * @param watermark 读取的水位，预算内读取时不计算水位
+	 */
+	private Set<String> readWatermarkedWords(DictionaryType dictionaryType, String domain, Watermark watermark) {
+		WordsBudget budget = WordsBudget.of(this.remoteConfiguration.getBudget(), domain);
+		if (Objects.nonNull(budget)) {
+			return this.readTopWords(dictionaryType, domain, budget);
+		}
+		Set<String> words = null;
+		if (this.snapshots.isEnabled()) {
+			final RedisStringCommands<String, String> sync = this.getCommands();
+			words = this.readSnapshot(dictionaryType, domain, sync.get(this.getSnapshotKey(this.getKey(dictionaryType, domain))), watermark);
+		}
+		if (Objects.isNull(words)) {
+			words = watermark.markAll(this.rangeWithScores(this.getWordKeys(dictionaryType, domain)));
+		}
+		return words;
+	}
+
+	/**
+	 * 解码快照并应用快照水位之后新增的词，一次读取快照及少量增量，无需读取整个词库
+	 * @param value 快照key的值
+	 * @param watermark 读取成功时更新为快照加增量的水位
+	 * @return words，没有快照或快照之后存在删除时为null
+	 */
+	private Set<String> readSnapshot(DictionaryType dictionaryType, String domain, String value, Watermark watermark) {
+		this.snapshots.track(domain);
+		if (Objects.isNull(value)) {
+			return null;
+		}
+		DictionarySnapshotCodec.Snapshot snapshot;
+		try {
+			snapshot = DictionarySnapshotCodec.decode(Base64.getDecoder().decode(value));
+		} catch (IOException | IllegalArgumentException e) {
+			log.warn("'redis' remote dictionary domain '{}' dictionary '{}' snapshot is corrupted, fallback to read words: {}", domain, dictionaryType, e.getMessage());
+			return null;
+		}
+		List<String> wordKeys = this.getWordKeys(dictionaryType, domain);
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		List<RedisFuture<List<ScoredValue<String>>>> ranges = new ArrayList<>(wordKeys.size());
+		for (String wordKey : wordKeys) {
+			ranges.add(async.zrangebyscoreWithScores(wordKey, Range.from(Range.Boundary.including(snapshot.getWatermark()), Range.Boundary.unbounded())));
+		}
+		List<RedisFuture<Long>> cards = this.cards(wordKeys);
+		List<RedisFuture<?>> futures = new ArrayList<>(ranges);
+		futures.addAll(cards);
+		this.awaitAll(futures);
+		Watermark snapshotWatermark = new Watermark(snapshot.getWatermark(), new HashSet<>(), snapshot.getWords());
+		Set<String> words = snapshot.getContent();
+		List<ScoredValue<String>> scoredValues = this.merge(ranges);
+		if (ranges.size() > 1) {
+			scoredValues.sort(Comparator.comparingDouble(ScoredValue::getScore));
+		}
+		for (ScoredValue<String> scoredValue : scoredValues) {
+			// 与快照水位同score的词已在快照中
+			if (words.contains(scoredValue.getValue())) {
+				if (scoredValue.getScore() == snapshotWatermark.maxScore) {
+					snapshotWatermark.boundary.add(scoredValue.getValue());
+				}
+				continue;
+			}
+			snapshotWatermark.mark(scoredValue);
+			words.add(WordInterner.intern(scoredValue.getValue()));
+		}
+		if (this.sum(cards) != snapshotWatermark.count) {
+			log.info("'redis' remote dictionary domain '{}' dictionary '{}' words were removed after snapshot, fallback to read words.", domain, dictionaryType);
+			return null;
+		}
+		watermark.maxScore = snapshotWatermark.maxScore;
+		watermark.boundary = snapshotWatermark.boundary;
+		watermark.count = snapshotWatermark.count;
+		log.info("'redis' remote dictionary domain '{}' dictionary '{}' read snapshot of '{}' words and '{}' delta words.", domain, dictionaryType, snapshot.getWords(), snapshotWatermark.count - snapshot.getWords());
+		return words;
+	}
+
+	/**
+	 * 快照水位之后新增的词达到阈值、快照之后存在删除或尚无快照时重新生成快照，只读取快照头部判断
+	 * @return true生成了新快照
+	 */
+	private boolean compact(DictionaryType dictionaryType, String domain) {
+		String snapshotKey = this.getSnapshotKey(this.getKey(dictionaryType, domain));
+		final RedisStringCommands<String, String> sync = this.getCommands();
+		String header = sync.getrange(snapshotKey, 0, SNAPSHOT_HEADER_LENGTH - 1);
+		long snapshotWords = -1;
+		Range.Boundary<Double> lower = Range.Boundary.unbounded();
+		if (ValidateKit.isNotEmpty(header)) {
+			try {
+				DictionarySnapshotCodec.Header snapshotHeader = DictionarySnapshotCodec.header(Base64.getDecoder().decode(header));
+				snapshotWords = snapshotHeader.getWords();
+				lower = Range.Boundary.excluding(snapshotHeader.getWatermark());
+			} catch (IOException | IllegalArgumentException e) {
+				log.warn("'redis' remote dictionary domain '{}' dictionary '{}' snapshot is corrupted, recompact: {}", domain, dictionaryType, e.getMessage());
+			}
+		}
+		List<String> wordKeys = this.getWordKeys(dictionaryType, domain);
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		List<RedisFuture<Long>> cards = this.cards(wordKeys);
+		List<RedisFuture<Long>> deltas = new ArrayList<>(wordKeys.size());
+		for (String wordKey : wordKeys) {
+			deltas.add(async.zcount(wordKey, Range.from(lower, Range.Boundary.unbounded())));
+		}
+		List<RedisFuture<?>> futures = new ArrayList<>(cards);
+		futures.addAll(deltas);
+		this.awaitAll(futures);
+		long words = this.sum(cards);
+		if (words == 0 || !this.snapshots.isStale(snapshotWords, words, this.sum(deltas))) {
+			return false;
+		}
+		Watermark watermark = new Watermark();
+		Set<String> content = watermark.markAll(this.rangeWithScores(wordKeys));
+		byte[] snapshot = DictionarySnapshotCodec.encode(watermark.maxScore, content);
+		sync.set(snapshotKey, Base64.getEncoder().encodeToString(snapshot));
+		log.info("'redis' remote dictionary domain '{}' dictionary '{}' snapshot '{}' words at score '{}', '{}' bytes.", domain, dictionaryType, content.size(), watermark.maxScore, snapshot.length);
+		return true;
+	}
+
+	/**
+	 * 读取词库全部的词，分桶时各桶并发读取后合并
+	 */
+	private List<ScoredValue<String>> rangeWithScores(List<String> wordKeys) {
+		if (wordKeys.size() == 1) {
+			final RedisSortedSetCommands<String, String> sync = this.getCommands();
+			return sync.zrangeWithScores(wordKeys.get(0), 0, -1);
+		}
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		List<RedisFuture<List<ScoredValue<String>>>> futures = new ArrayList<>(wordKeys.size());
+		for (String wordKey : wordKeys) {
+			futures.add(async.zrangeWithScores(wordKey, 0, -1));
+		}
+		this.awaitAll(futures);
+		return this.merge(futures);
+	}
+
+	private List<ScoredValue<String>> merge(List<RedisFuture<List<ScoredValue<String>>>> futures) {
+		if (futures.size() == 1) {
+			return futures.get(0).toCompletableFuture().join();
+		}
+		List<ScoredValue<String>> scoredValues = new ArrayList<>();
+		for (RedisFuture<List<ScoredValue<String>>> future : futures) {
+			scoredValues.addAll(future.toCompletableFuture().join());
+		}
+		return scoredValues;
+	}
+
+	/**
+	 * 先按权重key(score为权重)从高到低，再按词库key(score为写入时间)由新到旧补齐没有权重的词，
+	 * 以ZREVRANGE分页读取，预算用尽即停止
+	 */
+	private Set<String> readTopWords(DictionaryType dictionaryType, String domain, WordsBudget budget) {
 		final RedisSortedSetCommands<String, String> sync = this.getCommands();
 		String key = this.getKey(dictionaryType, domain);
-		List<String> words = sync.zrange(key, 0, -1);
-		this.resetState(dictionaryType, domain);
-		return new HashSet<>(words);
+		Set<String> words = new HashSet<>();
+		List<String> wordKeys = this.getWordKeys(dictionaryType, domain);
+		for (String rangeKey : Arrays.asList(this.getWeightKey(key), key)) {
+			if (rangeKey.equals(key) && wordKeys.size() > 1) {
+				this.readNewestBuckets(sync, wordKeys, budget, words);
+				break;
+			}
+			long start = 0;
+			int pageSize;
+			List<String> page;
+			do {
+				pageSize = budget.pageSize();
+				page = sync.zrevrange(rangeKey, start, start + pageSize - 1);
+				start += page.size();
+				for (String word : page) {
+					if (words.contains(word)) {
+						continue;
+					}
+					if (!budget.add(word)) {
+						break;
+					}
+					words.add(WordInterner.intern(word));
+				}
+			} while (budget.hasNextPage(page.size(), pageSize));
+			if (budget.isExhausted()) {
+				break;
+			}
+		}
+		log.info("'redis' remote dictionary domain '{}' dictionary '{}' loaded top '{}' words within budget.", domain, dictionaryType, words.size());
+		return words;
+	}
+
+	/**
+	 * 各桶分别由新到旧分页，按score归并，预算用尽即停止
+	 */
+	private void readNewestBuckets(RedisSortedSetCommands<String, String> sync,
+								   List<String> wordKeys,
+								   WordsBudget budget,
+								   Set<String> words) {
+		PriorityQueue<BucketCursor> cursors = new PriorityQueue<>(wordKeys.size(),
+				Comparator.comparingDouble((BucketCursor cursor) -> cursor.peek().getScore()).reversed());
+		for (String wordKey : wordKeys) {
+			BucketCursor cursor = new BucketCursor(wordKey);
+			if (cursor.fill(sync, budget.pageSize())) {
+				cursors.add(cursor);
+			}
+		}
+		while (!cursors.isEmpty() && !budget.isExhausted()) {
+			BucketCursor cursor = cursors.poll();
+			String word = cursor.next().getValue();
+			if (!words.contains(word)) {
+				if (!budget.add(word)) {
+					return;
+				}
+				words.add(WordInterner.intern(word));
+			}
+			if (cursor.hasNext() || cursor.fill(sync, budget.pageSize())) {
+				cursors.add(cursor);
+			}
+		}
+	}
+
+	@Override
+	public Set<String> readRemoteWords(DictionaryType dictionaryType, String domain) {
+		WordsBudget budget = WordsBudget.of(this.remoteConfiguration.getBudget(), domain);
+		if (Objects.nonNull(budget)) {
+			return this.readTopWords(dictionaryType, domain, budget);
+		}
+		Set<String> words = new HashSet<>();
+		List<String> wordKeys = this.getWordKeys(dictionaryType, domain);
+		if (wordKeys.size() > 1) {
+			this.rangeWithScores(wordKeys).forEach(scoredValue -> words.add(WordInterner.intern(scoredValue.getValue())));
+			return words;
+		}
+		final RedisSortedSetCommands<String, String> sync = this.getCommands();
+		sync.zrange(wordKeys.get(0), 0, -1).forEach(word -> words.add(WordInterner.intern(word)));
+		return words;
+	}
+
+	@Override
+	public String currentVersion(DictionaryType dictionaryType, String domain) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+		return this.currentVersions(Collections.singleton(dictionaryKey)).get(dictionaryKey);
+	}
+
+	/**
+	 * 各词典当前版本，一次往返获取
+	 * @param dictionaryKeys 词典标识
+	 * @return 各词典的version
+	 */
+	private Map<DictionaryKey, String> currentVersions(Collection<DictionaryKey> dictionaryKeys) {
+		final RedisStringAsyncCommands<String, String> async = this.getAsyncCommands();
+		Map<DictionaryKey, RedisFuture<String>> versions = new LinkedHashMap<>();
+		Map<DictionaryKey, List<RedisFuture<Long>>> words = new LinkedHashMap<>();
+		List<RedisFuture<?>> futures = new ArrayList<>();
+		for (DictionaryKey dictionaryKey : dictionaryKeys) {
+			DictionaryKey key = DictionaryKey.of(this.etymology(), dictionaryKey.getDictionaryType(), dictionaryKey.getDomain());
+			if (versions.containsKey(key)) {
+				continue;
+			}
+			RedisFuture<String> version = async.get(this.getVersionKey(this.getKey(key.getDictionaryType(), key.getDomain())));
+			List<RedisFuture<Long>> cards = this.cards(this.getWordKeys(key.getDictionaryType(), key.getDomain()));
+			versions.put(key, version);
+			words.put(key, cards);
+			futures.add(version);
+			futures.addAll(cards);
+		}
+		this.awaitAll(futures);
+		Map<DictionaryKey, String> currentVersions = new LinkedHashMap<>();
+		// 旧数据没有version key，结合词数标识版本
+		versions.forEach((dictionaryKey, version) -> currentVersions.put(dictionaryKey,
+				String.format("%s-%s", Optional.ofNullable(version.toCompletableFuture().join()).orElse("0"), this.sum(words.get(dictionaryKey)))));
+		return currentVersions;
+	}
+
+	private List<RedisFuture<Long>> cards(List<String> wordKeys) {
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		List<RedisFuture<Long>> cards = new ArrayList<>(wordKeys.size());
+		for (String wordKey : wordKeys) {
+			cards.add(async.zcard(wordKey));
+		}
+		return cards;
+	}
+
+	private long sum(List<RedisFuture<Long>> cards) {
+		long sum = 0;
+		for (RedisFuture<Long> card : cards) {
+			sum += card.toCompletableFuture().join();
+		}
+		return sum;
+	}
+
+	@Override
+	public Map<DictionaryKey, Set<String>> getRemoteWords(Collection<DictionaryKey> dictionaryKeys) {
+		Map<DictionaryKey, Set<String>> remoteWords = new LinkedHashMap<>();
+		Map<DictionaryKey, List<RedisFuture<List<ScoredValue<String>>>>> futures = new LinkedHashMap<>();
+		Map<DictionaryKey, RedisFuture<String>> snapshots = new LinkedHashMap<>();
+		if (this.snapshots.isEnabled()) {
+			final RedisStringAsyncCommands<String, String> stringAsync = this.getAsyncCommands();
+			for (DictionaryKey dictionaryKey : dictionaryKeys) {
+				if (Objects.isNull(WordsBudget.of(this.remoteConfiguration.getBudget(), dictionaryKey.getDomain()))) {
+					snapshots.computeIfAbsent(dictionaryKey, k -> stringAsync.get(this.getSnapshotKey(this.getKey(k.getDictionaryType(), k.getDomain()))));
+				}
+			}
+			this.awaitAll(snapshots.values());
+		}
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		// 异步命令不等待响应即写出，整批ZRANGE在一次管道往返内完成；分桶时各桶在所在节点并发读取
+		for (DictionaryKey dictionaryKey : dictionaryKeys) {
+			if (Objects.nonNull(WordsBudget.of(this.remoteConfiguration.getBudget(), dictionaryKey.getDomain()))) {
+				// 限制了预算的词典逐个分页读取
+				remoteWords.put(dictionaryKey, this.readWatermarkedWords(dictionaryKey.getDictionaryType(), dictionaryKey.getDomain(), new Watermark()));
+				continue;
+			}
+			if (snapshots.containsKey(dictionaryKey) && !remoteWords.containsKey(dictionaryKey)) {
+				// 已有快照的词典读取快照及增量
+				Set<String> words = this.readSnapshot(dictionaryKey.getDictionaryType(), dictionaryKey.getDomain(),
+						snapshots.get(dictionaryKey).toCompletableFuture().join(), new Watermark());
+				if (Objects.nonNull(words)) {
+					remoteWords.put(dictionaryKey, words);
+					continue;
+				}
+			}
+			futures.computeIfAbsent(dictionaryKey, k -> {
+				List<String> wordKeys = this.getWordKeys(k.getDictionaryType(), k.getDomain());
+				List<RedisFuture<List<ScoredValue<String>>>> ranges = new ArrayList<>(wordKeys.size());
+				for (String wordKey : wordKeys) {
+					ranges.add(async.zrangeWithScores(wordKey, 0, -1));
+				}
+				return ranges;
+			});
+		}
+		if (futures.isEmpty()) {
+			return remoteWords;
+		}
+		log.info("'redis' remote dictionary get new words from '{}' dictionaries", futures.size());
+		List<RedisFuture<?>> ranges = new ArrayList<>();
+		futures.values().forEach(ranges::addAll);
+		this.awaitAll(ranges);
+		futures.forEach((dictionaryKey, dictionaryRanges) -> remoteWords.put(dictionaryKey, new Watermark().markAll(this.merge(dictionaryRanges))));
+		return remoteWords;
 	}
 
 	@Override
@@ -88,55 +493,328 @@ public class RedisRemoteDictionary extends AbstractRemoteDictionary {
 									DictionaryType dictionaryType,
 									String domain) {
 		log.info("'redis' remote dictionary reload dictionary from domain '{}' dictionary '{}'", domain, dictionaryType);
-		final boolean reload = this.resetState(dictionaryType, domain);
-		if (reload) {
-			dictionary.reload(dictionaryType);
+		// 与该词典已交付的版本比较，各词典、各节点互不影响
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+		String version = this.currentVersion(dictionaryType, domain);
+		Delivered delivered = this.delivered.get(dictionary, dictionaryKey);
+		if (Objects.nonNull(delivered) && version.equals(delivered.version)) {
+			return;
 		}
+		log.info("'redis' remote dictionary '{}' version changed to '{}'", dictionaryKey, version);
+		this.observed(dictionaryKey, this.commitStamp(dictionaryType, domain));
+		// 未记录交付状态的词典首次重新加载时全量交付
+		if (Objects.nonNull(delivered) && Objects.nonNull(delivered.watermark)) {
+			Watermark watermark = new Watermark(delivered.watermark.maxScore, new HashSet<>(delivered.watermark.boundary), delivered.watermark.count);
+			if (this.deliver(dictionary, this.readDelta(dictionaryType, domain, watermark))) {
+				this.delivered.put(dictionary, dictionaryKey, new Delivered(version, watermark));
+				return;
+			}
+		}
+		// 无法计算增量时获取词库，直接交付词典；预算内的词随新词写入而变化，不计算增量
+		Watermark watermark = new Watermark();
+		this.deliver(dictionary, dictionaryType, this.readWatermarkedWords(dictionaryType, domain, watermark));
+		boolean budgeted = Objects.nonNull(WordsBudget.of(this.remoteConfiguration.getBudget(), domain));
+		this.delivered.put(dictionary, dictionaryKey, new Delivered(version, budgeted ? null : watermark));
 	}
 
-	private boolean resetState(DictionaryType dictionaryType, String domain) {
+	@Override
+	public CommitStamp commitStamp(DictionaryType dictionaryType, String domain) {
 		final RedisStringCommands<String, String> sync = this.getCommands();
-		// 当前 对应的 *-state key为true时，进行reload
-		String key = this.getKey(dictionaryType, domain);
-		String state = this.getStateKey(key);
-		String currentState = sync.get(state);
-		final DomainDictState domainDictState = DomainDictState.newByState(currentState);
-		log.info("'redis' remote dictionary state '{}' = '{}' for domain '{}'.", state, currentState, domain);
-		if (!DomainDictState.NEWLY.equals(domainDictState)) {
-			return false;
+		return CommitStamp.parse(sync.get(this.getCommitKey(this.getKey(dictionaryType, domain))));
+	}
+
+	/**
+	 * 读取水位之后新增的词，新词以写入时间为score，score不小于水位的即为候选新增；
+	 * 词数与水位词数加新增词数不一致时说明存在删除，无法计算增量
+	 * @param watermark 词典已交付的水位，读取时推进
+	 * @return delta，无法计算时为null
+	 */
+	private DictionaryDelta readDelta(DictionaryType dictionaryType, String domain, Watermark watermark) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(this.etymology(), dictionaryType, domain);
+		double maxScore = watermark.maxScore;
+		Set<String> boundary = watermark.boundary;
+		List<String> wordKeys = this.getWordKeys(dictionaryType, domain);
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		Range.Boundary<Double> lower = watermark.count == 0 ? Range.Boundary.unbounded() : Range.Boundary.including(watermark.maxScore);
+		List<RedisFuture<List<ScoredValue<String>>>> ranges = new ArrayList<>(wordKeys.size());
+		for (String wordKey : wordKeys) {
+			ranges.add(async.zrangebyscoreWithScores(wordKey, Range.from(lower, Range.Boundary.unbounded())));
+		}
+		List<RedisFuture<Long>> words = this.cards(wordKeys);
+		List<RedisFuture<?>> futures = new ArrayList<>(ranges);
+		futures.addAll(words);
+		this.awaitAll(futures);
+		Set<String> added = new HashSet<>();
+		// 各桶的新增按score排序，水位边界与单key时一致
+		List<ScoredValue<String>> scoredValues = this.merge(ranges);
+		if (ranges.size() > 1) {
+			scoredValues.sort(Comparator.comparingDouble(ScoredValue::getScore));
+		}
+		for (ScoredValue<String> scoredValue : scoredValues) {
+			// 与水位同score的词可能已交付
+			if (scoredValue.getScore() == maxScore && boundary.contains(scoredValue.getValue())) {
+				continue;
+			}
+			watermark.mark(scoredValue);
+			added.add(WordInterner.intern(scoredValue.getValue()));
+		}
+		if (this.sum(words) != watermark.count) {
+			log.info("'redis' remote dictionary '{}' words were removed or rescored, fallback to reload.", dictionaryKey);
+			return null;
+		}
+		return DictionaryDelta.added(dictionaryKey, added);
+	}
+
+	private void awaitAll(Collection<? extends RedisFuture<?>> futures) {
+		if (futures.isEmpty()) {
+			return;
+		}
+		boolean done;
+		try {
+			done = LettuceFutures.awaitAll(this.getConnection().getTimeout().toMillis(), TimeUnit.MILLISECONDS,
+					futures.toArray(new RedisFuture[0]));
+		} catch (RedisException e) {
+			throw new RemoteDictionaryException("'redis' remote dictionary pipeline failure", e);
+		}
+		if (!done) {
+			throw new RemoteDictionaryException(String.format("'redis' remote dictionary pipeline of '%s' commands timeout", futures.size()));
 		}
-		sync.set(state, DomainDictState.NON_NEWLY.state);
-		return true;
 	}
 
 	@Override
 	protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
 		log.info("'redis' remote dictionary add new word '{}' for dictionary '{}'", words, dictionaryType);
-		final RedisSortedSetCommands<String, String> sync = this.getCommands();
 		String key = this.getKey(dictionaryType, domain);
-		List<ScoredValue<String>> scoresAndValues = new ArrayList<>(words.length * 2);
-		for (int i = 0; i < words.length; i++) {
-			scoresAndValues.add(ScoredValue.just(SystemClockKit.now() * 1.0 + i, words[i]));
+		Long added = this.addWords(dictionaryType, domain, key, SystemClockKit.now(), words);
+		log.info("'{} add new word '{}' success, '{}' words added.", this.etymology(), words, added);
+		return true;
+	}
+
+	/**
+	 * 先写入权重key再添加词，有新词时由添加新词递增版本，只有权重变化时单独递增版本；版本变化时权重均已可读
+	 */
+	@Override
+	protected boolean addWeightedWords(DictionaryType dictionaryType, String domain, Map<String, Integer> weights) {
+		log.info("'redis' remote dictionary add weighted word '{}' for dictionary '{}'", weights, dictionaryType);
+		String key = this.getKey(dictionaryType, domain);
+		List<ScoredValue<String>> scoresAndValues = new ArrayList<>(weights.size());
+		weights.forEach((word, weight) -> scoresAndValues.add(ScoredValue.just(Objects.isNull(weight) ? 0 : weight, word)));
+		final RedisSortedSetCommands<String, String> sync = this.getCommands();
+		Long changed = sync.zadd(this.getWeightKey(key), ZAddArgs.Builder.ch(), scoresAndValues.toArray(new ScoredValue[0]));
+		long now = SystemClockKit.now();
+		Long added = this.addWords(dictionaryType, domain, key, now, weights.keySet().toArray(new String[0]));
+		if ((Objects.isNull(added) || added == 0) && Objects.nonNull(changed) && changed > 0) {
+			this.publishChange(key, now);
 		}
-		sync.zadd(key, scoresAndValues.toArray());
-		String state = this.getStateKey(key);
-		((RedisStringCommands)sync).set(state, DomainDictState.NEWLY.state);
-		log.info("'{} add new word '{}' success.", this.etymology(), words);
+		log.info("'{} add weighted word '{}' success, '{}' words added, '{}' weights changed.", this.etymology(), weights, added, changed);
 		return true;
 	}
 
+	/**
+	 * 添加新词，有新词时更新state与version
+	 * @return 实际新增的词数
+	 */
+	private Long addWords(DictionaryType dictionaryType, String domain, String key, long now, String... words) {
+		if (this.isBucketed()) {
+			return this.addBucketedWords(dictionaryType, domain, key, now, words);
+		}
+		if (this.isAtomicAdding()) {
+			try {
+				return this.addWordsByScript(key, now, words);
+			} catch (RedisCommandExecutionException e) {
+				if (!String.valueOf(e.getMessage()).contains("unknown command")) {
+					throw e;
+				}
+				log.warn("'redis' remote dictionary scripting is not supported, fallback to non-atomic adding.");
+				this.scriptingSupported = false;
+			}
+		}
+		return this.addWordsNonAtomic(key, now, words);
+	}
+
+	/**
+	 * 标记有新词，递增版本并记录提交时间，与添加新词脚本一致
+	 */
+	private void publishChange(String key, long now) {
+		final RedisStringCommands<String, String> sync = this.getCommands();
+		sync.set(this.getStateKey(key), DomainDictState.NEWLY.state);
+		Long version = sync.incr(this.getVersionKey(key));
+		sync.set(this.getCommitKey(key), CommitStamp.of(version, now).toString());
+	}
+
+	/**
+	 * 不支持脚本时逐条命令添加新词：与脚本一致，已存在的词不改变score，没有新增的词时不更新state与version
+	 * @return 实际新增的词数
+	 */
+	private Long addWordsNonAtomic(String key, long now, String... words) {
+		final RedisSortedSetCommands<String, String> sync = this.getCommands();
+		List<ScoredValue<String>> scoresAndValues = new ArrayList<>(words.length);
+		for (int i = 0; i < words.length; i++) {
+			scoresAndValues.add(ScoredValue.just(now * 1.0 + i, words[i]));
+		}
+		Long added = sync.zadd(key, ZAddArgs.Builder.nx(), scoresAndValues.toArray(new ScoredValue[0]));
+		if (Objects.nonNull(added) && added > 0) {
+			this.publishChange(key, now);
+		}
+		return added;
+	}
+
+	/**
+	 * 按桶路由写入新词，各桶并发写入；桶分布于不同slot，无法原子完成，新词全部写入后再更新state与version，
+	 * 检测到变化时新词均已可读
+	 * @return 实际新增的词数
+	 */
+	private Long addBucketedWords(DictionaryType dictionaryType, String domain, String key, long now, String... words) {
+		Map<String, List<ScoredValue<String>>> bucketWords = new LinkedHashMap<>();
+		for (int i = 0; i < words.length; i++) {
+			bucketWords.computeIfAbsent(this.getBucketKey(dictionaryType, domain, words[i]), k -> new ArrayList<>())
+					.add(ScoredValue.just(now * 1.0 + i, words[i]));
+		}
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		List<RedisFuture<Long>> futures = new ArrayList<>(bucketWords.size());
+		bucketWords.forEach((bucketKey, scoredValues) -> futures.add(async.zadd(bucketKey, ZAddArgs.Builder.nx(), scoredValues.toArray(new ScoredValue[0]))));
+		this.awaitAll(futures);
+		long added = this.sum(futures);
+		if (added > 0) {
+			this.publishChange(key, now);
+		}
+		return added;
+	}
+
+	/**
+	 * 原子添加新词，一次往返完成新词写入、state与version更新
+	 * @return 实际新增的词数
+	 */
+	private Long addWordsByScript(String key, long now, String... words) {
+		final RedisScriptingCommands<String, String> sync = this.getCommands();
+		String[] keys = { key, this.getStateKey(key), this.getVersionKey(key), this.getCommitKey(key) };
+		String[] args = new String[words.length * 2 + 2];
+		args[0] = DomainDictState.NEWLY.state;
+		args[1] = String.valueOf(now);
+		for (int i = 0; i < words.length; i++) {
+			args[i * 2 + 2] = String.valueOf(now + i);
+			args[i * 2 + 3] = words[i];
+		}
+		try {
+			return sync.evalsha(ADD_WORDS_SCRIPT_DIGEST, ScriptOutputType.INTEGER, keys, args);
+		} catch (RedisNoScriptException e) {
+			// 脚本未缓存，eval后服务端自动缓存
+			return sync.eval(ADD_WORDS_SCRIPT, ScriptOutputType.INTEGER, keys, args);
+		}
+	}
+
+	/**
+	 * 集群模式下只有hash tag key才能保证同一领域的key在同一slot
+	 */
+	private boolean isAtomicAdding() {
+		return this.scriptingSupported
+				&& (!this.isCluster() || this.remoteConfiguration.getRedis().isHashTagKeys());
+	}
+
+	/**
+	 * 将旧key布局(es-ik-words:domain:main-words)的词库迁移到hash tag key布局(es-ik-words:{domain}:main-words)，
+	 * 可重复执行：先迁移，再开启 hashTagKeys，再次迁移以补齐切换期间写入旧key的新词
+	 * @param deleteLegacy 迁移后是否删除旧key
+	 * @param domains 领域
+	 * @return 迁移的词数
+	 */
+	public long migrateToHashTagKeys(boolean deleteLegacy, String... domains) {
+		final RedisClusterCommands<String, String> sync = this.getCommands();
+		long migrated = 0;
+		for (String domain : domains) {
+			for (DictionaryType dictionaryType : DictionaryType.values()) {
+				String legacyKey = this.getKey(dictionaryType, domain, false);
+				String key = this.getKey(dictionaryType, domain, true);
+				long count = 0;
+				List<ScoredValue<String>> scoredValues;
+				for (long start = 0; !(scoredValues = sync.zrangeWithScores(legacyKey, start, start + MIGRATE_BATCH_SIZE - 1)).isEmpty(); start += MIGRATE_BATCH_SIZE) {
+					count += sync.zadd(key, ZAddArgs.Builder.nx(), scoredValues.toArray(new ScoredValue[0]));
+				}
+				// 权重原样覆盖
+				List<ScoredValue<String>> weights;
+				for (long start = 0; !(weights = sync.zrangeWithScores(this.getWeightKey(legacyKey), start, start + MIGRATE_BATCH_SIZE - 1)).isEmpty(); start += MIGRATE_BATCH_SIZE) {
+					sync.zadd(this.getWeightKey(key), weights.toArray(new ScoredValue[0]));
+				}
+				String legacyState = sync.get(this.getStateKey(legacyKey));
+				if (count > 0 || Objects.nonNull(legacyState)) {
+					sync.set(this.getStateKey(key), count > 0 ? DomainDictState.NEWLY.state : legacyState);
+					sync.incr(this.getVersionKey(key));
+				}
+				if (deleteLegacy) {
+					sync.del(legacyKey, this.getStateKey(legacyKey), this.getVersionKey(legacyKey), this.getWeightKey(legacyKey), this.getCommitKey(legacyKey));
+				}
+				log.info("'redis' remote dictionary migrate '{}' words from '{}' to '{}'.", count, legacyKey, key);
+				migrated += count;
+			}
+		}
+		return migrated;
+	}
+
+	/**
+	 * 将单key布局的词库迁移到分桶布局，按配置的分桶数分散，state、version、权重等key不变；
+	 * 可重复执行：先迁移，再开启 buckets，再次迁移以补齐切换期间写入单key的新词
+	 * @param buckets 分桶数
+	 * @param deleteLegacy 迁移后是否删除单key
+	 * @param domains 领域
+	 * @return 迁移的词数
+	 */
+	public long migrateToBuckets(int buckets, boolean deleteLegacy, String... domains) {
+		if (buckets <= 1) {
+			throw new IllegalArgumentException(String.format("the buckets '%s' should be greater than 1", buckets));
+		}
+		final RedisClusterCommands<String, String> sync = this.getCommands();
+		final RedisSortedSetAsyncCommands<String, String> async = this.getAsyncCommands();
+		long migrated = 0;
+		for (String domain : domains) {
+			for (DictionaryType dictionaryType : DictionaryType.values()) {
+				String key = this.getKey(dictionaryType, domain);
+				long count = 0;
+				List<ScoredValue<String>> scoredValues;
+				for (long start = 0; !(scoredValues = sync.zrangeWithScores(key, start, start + MIGRATE_BATCH_SIZE - 1)).isEmpty(); start += MIGRATE_BATCH_SIZE) {
+					Map<String, List<ScoredValue<String>>> bucketWords = new LinkedHashMap<>();
+					for (ScoredValue<String> scoredValue : scoredValues) {
+						bucketWords.computeIfAbsent(this.getBucketKey(dictionaryType, domain, scoredValue.getValue(), buckets), k -> new ArrayList<>()).add(scoredValue);
+					}
+					List<RedisFuture<Long>> futures = new ArrayList<>(bucketWords.size());
+					bucketWords.forEach((bucketKey, bucketValues) -> futures.add(async.zadd(bucketKey, ZAddArgs.Builder.nx(), bucketValues.toArray(new ScoredValue[0]))));
+					this.awaitAll(futures);
+					count += this.sum(futures);
+				}
+				if (count > 0) {
+					sync.set(this.getStateKey(key), DomainDictState.NEWLY.state);
+					sync.incr(this.getVersionKey(key));
+				}
+				if (deleteLegacy) {
+					sync.del(key);
+				}
+				log.info("'redis' remote dictionary migrate '{}' words from '{}' to '{}' buckets.", count, key, buckets);
+				migrated += count;
+			}
+		}
+		return migrated;
+	}
+
 	@Override
 	protected void closeResource() {
-		StatefulConnection<String, String> connection = this.redisClusterConnection;
-		if (Objects.isNull(connection)) {
-			connection = this.redisConnection;
+		// 后台连接持有锁时中断，避免关闭等待连接超时
+		this.connectThread.interrupt();
+		synchronized (this) {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
 		}
-		if (Objects.isNull(connection) || !connection.isOpen()) {
+		this.snapshots.close();
+		if (Objects.isNull(this.redisClient)) {
 			return;
 		}
 		String etymology = this.etymology();
 		log.info("'{}' remote dictionary is closing...", etymology);
-		connection.close();
+		StatefulConnection<String, String> connection = Objects.nonNull(this.redisClusterConnection) ? this.redisClusterConnection : this.redisConnection;
+		if (Objects.nonNull(connection) && connection.isOpen()) {
+			connection.close();
+		}
+		this.redisClient.shutdown();
 		log.info("'{}' remote dictionary is closed", etymology);
 	}
 
@@ -149,19 +827,217 @@ public class RedisRemoteDictionary extends AbstractRemoteDictionary {
 		return String.format("%s:state", key);
 	}
 
+	/**
+	 * 最近一次写入的写入戳：version:提交时间
+	 */
+	private String getCommitKey(String key) {
+		return String.format("%s:commit", key);
+	}
+
+	/**
+	 * 可选的权重key，score为词的权重
+	 */
+	private String getWeightKey(String key) {
+		return String.format("%s:weight", key);
+	}
+
+	/**
+	 * 词库快照，DictionarySnapshotCodec编码后base64存储
+	 */
+	private String getSnapshotKey(String key) {
+		return String.format("%s:snapshot", key);
+	}
+
+	private String getVersionKey(String key) {
+		return String.format("%s:version", key);
+	}
+
+	private boolean isBucketed() {
+		return this.getBuckets() > 1;
+	}
+
+	private int getBuckets() {
+		return Optional.ofNullable(this.remoteConfiguration.getRedis().getBuckets()).orElse(1);
+	}
+
+	/**
+	 * 存放词的key，未分桶时即词库key
+	 */
+	private List<String> getWordKeys(DictionaryType dictionaryType, String domain) {
+		int buckets = this.getBuckets();
+		if (buckets <= 1) {
+			return Collections.singletonList(this.getKey(dictionaryType, domain));
+		}
+		List<String> wordKeys = new ArrayList<>(buckets);
+		for (int bucket = 0; bucket < buckets; bucket++) {
+			wordKeys.add(this.getBucketKey(dictionaryType, domain, bucket));
+		}
+		return wordKeys;
+	}
+
+	private String getBucketKey(DictionaryType dictionaryType, String domain, String word) {
+		return this.getBucketKey(dictionaryType, domain, word, this.getBuckets());
+	}
+
+	private String getBucketKey(DictionaryType dictionaryType, String domain, String word, int buckets) {
+		// String#hashCode 由规范定义，各节点的分桶一致
+		return this.getBucketKey(dictionaryType, domain, Math.floorMod(word.hashCode(), buckets));
+	}
+
+	private String getBucketKey(DictionaryType dictionaryType, String domain, int bucket) {
+		// 以领域、词典及桶号为hash tag，各桶落在不同slot
+		return String.format("%s:{%s:%s:%d}", KEY_PREFIX, domain, dictionaryType.getDictName(), bucket);
+	}
+
 	private String getKey(DictionaryType dictionaryType, String domain) {
+		return this.getKey(dictionaryType, domain, this.remoteConfiguration.getRedis().isHashTagKeys());
+	}
+
+	private String getKey(DictionaryType dictionaryType, String domain, boolean hashTag) {
 		// # main-words key: es-ik-words:{domain}:main-words
 		// # stop-words key: es-ik-words:{domain}:stop-words
+		if (hashTag) {
+			// 花括号为hash tag，同一领域的词库、state、version key落在同一slot
+			return String.format("%s:{%s}:%s", KEY_PREFIX, domain, dictionaryType.getDictName());
+		}
 		return String.format("%s:%s:%s", KEY_PREFIX, domain, dictionaryType.getDictName());
 	}
 
+	private static String digest(String script) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 词典水位：已交付的最大score、该score下的词及词数
+	 */
+	@NoArgsConstructor
+	@AllArgsConstructor
+	private static class Watermark {
+		double maxScore = Double.NEGATIVE_INFINITY;
+		Set<String> boundary = new HashSet<>();
+		long count;
+
+		void mark(ScoredValue<String> scoredValue) {
+			double score = scoredValue.getScore();
+			if (score > this.maxScore) {
+				this.maxScore = score;
+				this.boundary = new HashSet<>();
+			}
+			if (score == this.maxScore) {
+				this.boundary.add(scoredValue.getValue());
+			}
+			this.count++;
+		}
+
+		Set<String> markAll(List<ScoredValue<String>> scoredValues) {
+			Set<String> words = new HashSet<>(Math.max(16, (int) (scoredValues.size() / 0.75f) + 1));
+			for (ScoredValue<String> scoredValue : scoredValues) {
+				this.mark(scoredValue);
+				words.add(WordInterner.intern(scoredValue.getValue()));
+			}
+			return words;
+		}
+	}
+
+	/**
+	 * 一个词典最近一次交付的版本及水位，水位为null时无法计算增量
+	 */
+	@AllArgsConstructor
+	private static class Delivered {
+		final String version;
+		final Watermark watermark;
+	}
+
+	/**
+	 * 分桶由新到旧的分页游标
+	 */
+	private static class BucketCursor {
+		final String key;
+		long start;
+		List<ScoredValue<String>> page = Collections.emptyList();
+		int index;
+		boolean drained;
+
+		BucketCursor(String key) {
+			this.key = key;
+		}
+
+		boolean fill(RedisSortedSetCommands<String, String> sync, int pageSize) {
+			if (this.drained) {
+				return false;
+			}
+			this.page = sync.zrevrangeWithScores(this.key, this.start, this.start + pageSize - 1);
+			this.start += this.page.size();
+			this.index = 0;
+			this.drained = this.page.size() < pageSize;
+			return !this.page.isEmpty();
+		}
+
+		boolean hasNext() {
+			return this.index < this.page.size();
+		}
+
+		ScoredValue<String> peek() {
+			return this.page.get(this.index);
+		}
+
+		ScoredValue<String> next() {
+			return this.page.get(this.index++);
+		}
+	}
+
 	private <T> T getCommands() {
-		if (Objects.nonNull(this.redisClusterConnection)) {
+		StatefulConnection<String, String> connection = this.getConnection();
+		if (connection instanceof StatefulRedisClusterConnection) {
 			log.info("using cluster connection");
-			return (T)this.redisClusterConnection.sync();
+			return (T)((StatefulRedisClusterConnection<String, String>) connection).sync();
 		}
 		log.info("using standalone connection");
-		return (T)this.redisConnection.sync();
+		return (T)((StatefulRedisConnection<String, String>) connection).sync();
+	}
+
+	private <T> T getAsyncCommands() {
+		StatefulConnection<String, String> connection = this.getConnection();
+		if (connection instanceof StatefulRedisClusterConnection) {
+			return (T)((StatefulRedisClusterConnection<String, String>) connection).async();
+		}
+		return (T)((StatefulRedisConnection<String, String>) connection).async();
+	}
+
+	private boolean isCluster() {
+		return this.getConnection() instanceof StatefulRedisClusterConnection;
+	}
+
+	/**
+	 * 获取连接，尚未连接时建立连接，连接失败时下次使用再重试
+	 */
+	private StatefulConnection<String, String> getConnection() {
+		StatefulConnection<String, String> connection = Objects.nonNull(this.redisClusterConnection) ? this.redisClusterConnection : this.redisConnection;
+		if (Objects.nonNull(connection)) {
+			return connection;
+		}
+		synchronized (this) {
+			if (this.closed) {
+				throw new RemoteDictionaryException("'redis' remote dictionary is closed");
+			}
+			if (Objects.isNull(this.redisClusterConnection) && Objects.isNull(this.redisConnection)) {
+				RemoteConfiguration.Redis redis = this.remoteConfiguration.getRedis();
+				this.redisClusterConnection = this.getRedisClusterConnection(redis);
+				if (Objects.isNull(this.redisClusterConnection)) {
+					this.redisConnection = this.getRedisConnection(redis);
+				}
+			}
+			return Objects.nonNull(this.redisClusterConnection) ? this.redisClusterConnection : this.redisConnection;
+		}
 	}
 
 	private StatefulRedisClusterConnection<String, String> getRedisClusterConnection(RemoteConfiguration.Redis redis) {
@@ -179,18 +1055,31 @@ public class RedisRemoteDictionary extends AbstractRemoteDictionary {
 						initialUris.add(this.getRedisUri(redis, hostPort[0], Integer.parseInt(hostPort[1])));
 					});
 			if (ValidateKit.isNotEmpty(initialUris)) {
-				return RedisClusterClient.create(initialUris).connect();
+				RedisClusterClient clusterClient = RedisClusterClient.create(initialUris);
+				try {
+					StatefulRedisClusterConnection<String, String> connection = clusterClient.connect();
+					this.redisClient = clusterClient;
+					return connection;
+				} catch (RuntimeException e) {
+					clusterClient.shutdown();
+					throw e;
+				}
 			}
 		}
 		return null;
 	}
 
 	private StatefulRedisConnection<String, String> getRedisConnection(RemoteConfiguration.Redis redis) {
-		if (Objects.nonNull(this.redisClusterConnection)) {
-			return null;
+		String host = StrKit.notBlank(redis.getHost()) ? redis.getHost() : "localhost";
+		RedisClient client = RedisClient.create(this.getRedisUri(redis, host, redis.getPort()));
+		try {
+			StatefulRedisConnection<String, String> connection = client.connect();
+			this.redisClient = client;
+			return connection;
+		} catch (RuntimeException e) {
+			client.shutdown();
+			throw e;
 		}
-
-		return RedisClient.create(this.getRedisUri(redis, redis.getHost(), redis.getPort())).connect();
 	}
 
 	private RedisURI getRedisUri(RemoteConfiguration.Redis redis, String host, Integer port) {
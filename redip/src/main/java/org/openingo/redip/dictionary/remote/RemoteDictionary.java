@@ -30,18 +30,23 @@ package org.openingo.redip.dictionary.remote;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.util.Asserts;
 import org.openingo.jdkits.lang.StrKit;
+import org.openingo.jdkits.validate.ValidateKit;
 import org.openingo.redip.configuration.RedipConfigurationProperties;
 import org.openingo.redip.configuration.RemoteConfiguration;
 import org.openingo.redip.constants.DictionaryType;
 import org.openingo.redip.constants.RemoteDictionaryEtymology;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryKey;
 import org.openingo.redip.dictionary.IDictionary;
-import org.openingo.redip.helper.StringHelper;
+import org.openingo.redip.helper.WordInterner;
+import org.openingo.redip.helper.WordInternerStats;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * RemoteDictionary
@@ -55,7 +60,31 @@ public final class RemoteDictionary {
     private static RemoteDictionary remoteDictionaryHandler;
     private static final Map<String, AbstractRemoteDictionary> REMOTE_DICTIONARY = new HashMap<>();
 
-    private RemoteDictionary() {
+    /**
+     * 词源是否已按配置创建，重复初始化时不再创建词源及注册关闭钩子
+     */
+    private static boolean etymologiesInitialed;
+
+    private final WordsCache cache;
+    private final RemoteDictionaryGuard guard;
+    private final RemoteDictionaryWarmer warmer;
+    private final FreshnessTracker freshness = new FreshnessTracker();
+
+    /**
+     * 合并同一词典的并发获取
+     */
+    private final SingleFlight<DictionaryKey, Set<String>> inflight = new SingleFlight<>();
+
+    private RemoteDictionary(RemoteConfiguration remoteConfiguration) {
+        this.cache = new WordsCache(remoteConfiguration.getCache());
+        this.guard = new RemoteDictionaryGuard(remoteConfiguration.getBreaker(), this.cache, this.freshness);
+        this.warmer = new RemoteDictionaryWarmer(remoteConfiguration.getWarmup());
+        RemoteConfiguration.Warmup warmup = remoteConfiguration.getWarmup();
+        if (Objects.nonNull(warmup) && ValidateKit.isNotEmpty(warmup.getLocations())
+                && (Objects.isNull(remoteConfiguration.getCache()) || !remoteConfiguration.getCache().isEnabled())) {
+            log.warn("the remote dictionary warm-up is configured without 'cache', warmed words are only kept for the circuit breaker, enable 'cache' to serve them.");
+        }
+        WordInterner.setEnabled(remoteConfiguration.isInternWords());
     }
 
     private static void checkInitial() {
@@ -67,36 +96,81 @@ public final class RemoteDictionary {
      * @param properties 配置信息
      */
     public static void initial(RedipConfigurationProperties properties) {
-        initial();
-        RedipConfigurationProperties.Remote remoteConfiguration = properties.getRemote();
-        final RemoteConfiguration.Http http = remoteConfiguration.getHttp();
-        if (Objects.nonNull(http) && StrKit.notBlank(http.getBase())) {
-            addRemoteDictionary(new HttpRemoteDictionary(remoteConfiguration));
-        }
-        final RemoteConfiguration.Redis redis = remoteConfiguration.getRedis();
-        if (Objects.nonNull(redis) && StrKit.notBlank(redis.getHost())) {
-            addRemoteDictionary(new RedisRemoteDictionary(remoteConfiguration));
-        }
-        final RemoteConfiguration.MySQL mysql = remoteConfiguration.getMysql();
-        if (Objects.nonNull(mysql) && StrKit.notBlank(mysql.getUrl())) {
-            addRemoteDictionary(new MySQLRemoteDictionary(remoteConfiguration));
+        synchronized (RemoteDictionary.class) {
+            if (etymologiesInitialed) {
+                log.info("Remote Dictionary already initialed");
+                return;
+            }
+            RedipConfigurationProperties.Remote remoteConfiguration = properties.getRemote();
+            initial(remoteConfiguration);
+            final RemoteConfiguration.Http http = remoteConfiguration.getHttp();
+            if (Objects.nonNull(http) && StrKit.notBlank(http.getBase())) {
+                addRemoteDictionary(new HttpRemoteDictionary(remoteConfiguration));
+            }
+            final RemoteConfiguration.Redis redis = remoteConfiguration.getRedis();
+            if (Objects.nonNull(redis) && (StrKit.notBlank(redis.getHost())
+                    || (Objects.nonNull(redis.getCluster()) && ValidateKit.isNotEmpty(redis.getCluster().getNodes())))) {
+                addRemoteDictionary(new RedisRemoteDictionary(remoteConfiguration));
+            }
+            final RemoteConfiguration.MySQL mysql = remoteConfiguration.getMysql();
+            if (Objects.nonNull(mysql) && StrKit.notBlank(mysql.getUrl())) {
+                addRemoteDictionary(new MySQLRemoteDictionary(remoteConfiguration));
+            }
+            final RemoteConfiguration.Jdbc jdbc = remoteConfiguration.getJdbc();
+            if (Objects.nonNull(jdbc) && StrKit.notBlank(jdbc.getUrl())) {
+                addRemoteDictionary(new JdbcRemoteDictionary(remoteConfiguration));
+            }
+            List<Path> mainFiles = properties.getLocalExtDictPaths(DictionaryType.MAIN_WORDS);
+            List<Path> stopFiles = properties.getLocalExtDictPaths(DictionaryType.STOP_WORDS);
+            if (!mainFiles.isEmpty() || !stopFiles.isEmpty()) {
+                addRemoteDictionary(new FileRemoteDictionary(remoteConfiguration, mainFiles, stopFiles));
+            }
+            addRemoteDictionary(new CompositeRemoteDictionary(remoteConfiguration));
+            // 词源不由容器管理，JVM退出时统一关闭
+            Runtime.getRuntime().addShutdownHook(new Thread(RemoteDictionary::close, "redip-shutdown"));
+            etymologiesInitialed = true;
         }
         log.info("Remote Dictionary Initialed");
+        warmUp();
     }
 
     /**
      * 初始化词典实例
      */
     public static void initial() {
+        initial(new RemoteConfiguration());
+    }
+
+    /**
+     * 初始化词典实例
+     * @param remoteConfiguration 远程词典配置
+     */
+    public static void initial(RemoteConfiguration remoteConfiguration) {
         if (Objects.isNull(remoteDictionaryHandler)) {
             synchronized (RemoteDictionary.class) {
                 if (Objects.isNull(remoteDictionaryHandler)) {
-                    remoteDictionaryHandler = new RemoteDictionary();
+                    remoteDictionaryHandler = new RemoteDictionary(remoteConfiguration);
                 }
             }
         }
     }
 
+    /**
+     * 关闭全部词源
+     */
+    public static void close() {
+        if (Objects.nonNull(remoteDictionaryHandler)) {
+            remoteDictionaryHandler.warmer.close();
+        }
+        REMOTE_DICTIONARY.values().forEach(remoteDictionary -> {
+            try {
+                remoteDictionary.closeResource();
+            } catch (RuntimeException e) {
+                log.warn("The Remote Dictionary For etymology '{}' close failure", remoteDictionary.etymology(), e);
+            }
+        });
+    }
+
     public static void addRemoteDictionary(AbstractRemoteDictionary remoteDictionary) {
         checkInitial();
         String etymology = remoteDictionary.etymology();
@@ -106,20 +180,32 @@ public final class RemoteDictionary {
         log.info("The Remote Dictionary For etymology '{}' is loaded!", etymology);
     }
 
+    /**
+     * 已加载的词源，组合词源据此查找成员词源
+     * @return 词源 => 远程词典
+     */
+    static Map<String, AbstractRemoteDictionary> remoteDictionaries() {
+        return Collections.unmodifiableMap(REMOTE_DICTIONARY);
+    }
+
     public static Set<String> getRemoteWords(DictionaryType dictionaryType,
                                              URI domainUri) {
         checkInitial();
         log.info("begin to get remote dictionary words...");
         final AbstractRemoteDictionary remoteDictionary = RemoteDictionary.getRemoteDictionary(domainUri);
-        Set<String> remoteWords = Collections.emptySet();
         if (Objects.isNull(remoteDictionary)) {
             log.info("the remote dictionary for '{}' not found.", domainUri);
-            return remoteWords;
+            return Collections.emptySet();
         }
-        synchronized (RemoteDictionary.class) {
-            remoteWords = AccessController.doPrivileged((PrivilegedAction<Set<String>>) () -> remoteDictionary.getRemoteWords(dictionaryType, domainUri));
-            return StringHelper.filterBlank(remoteWords);
+        DictionaryKey dictionaryKey = DictionaryKey.of(dictionaryType, domainUri);
+        Set<String> cachedWords = remoteDictionaryHandler.cache.get(dictionaryKey);
+        if (Objects.nonNull(cachedWords)) {
+            log.info("the remote dictionary words for '{}' hit cache.", domainUri);
+            return cachedWords;
         }
+        // 同一词典的并发获取共享一次远程调用，不同词典互不阻塞
+        return remoteDictionaryHandler.inflight.execute(dictionaryKey,
+                () -> remoteDictionaryHandler.guard.getRemoteWords(remoteDictionary, dictionaryType, domainUri));
     }
 
     public static Set<String> getRemoteWords(RemoteDictionaryEtymology etymology,
@@ -128,6 +214,42 @@ public final class RemoteDictionary {
         return getRemoteWords(dictionaryType, URI.create(String.format("%s://%s", etymology.getEtymology(), domain)));
     }
 
+    /**
+     * 批量获取远程词库，同一词源的词典合并为一次批量获取
+     * @param dictionaryKeys 词典标识
+     * @return 各词典的words
+     */
+    public static Map<DictionaryKey, Set<String>> getRemoteWords(Collection<DictionaryKey> dictionaryKeys) {
+        checkInitial();
+        Map<DictionaryKey, Set<String>> remoteWords = new LinkedHashMap<>();
+        Map<String, List<DictionaryKey>> etymologyKeys = dictionaryKeys.stream()
+                .collect(Collectors.groupingBy(DictionaryKey::getEtymology, LinkedHashMap::new, Collectors.toList()));
+        log.info("begin to get remote dictionary words of '{}' dictionaries...", dictionaryKeys.size());
+        etymologyKeys.forEach((etymology, keys) -> {
+            final AbstractRemoteDictionary remoteDictionary = REMOTE_DICTIONARY.get(etymology);
+            if (Objects.isNull(remoteDictionary)) {
+                log.info("the remote dictionary for etymology '{}' not found.", etymology);
+                return;
+            }
+            List<DictionaryKey> missedKeys = new ArrayList<>();
+            for (DictionaryKey dictionaryKey : keys) {
+                Set<String> cachedWords = remoteDictionaryHandler.cache.get(dictionaryKey);
+                if (Objects.isNull(cachedWords)) {
+                    missedKeys.add(dictionaryKey);
+                } else {
+                    remoteWords.put(dictionaryKey, cachedWords);
+                }
+            }
+            if (!missedKeys.isEmpty()) {
+                // 与进行中的单个或批量获取共享结果，只批量获取其余词典
+                remoteWords.putAll(remoteDictionaryHandler.inflight.executeAll(missedKeys,
+                        keysToLoad -> remoteDictionaryHandler.guard.getRemoteWords(remoteDictionary, keysToLoad)));
+            }
+        });
+        dictionaryKeys.forEach(dictionaryKey -> remoteWords.putIfAbsent(dictionaryKey, Collections.emptySet()));
+        return remoteWords;
+    }
+
     public static void reloadRemoteDictionary(IDictionary dictionary,
                                               DictionaryType dictionaryType,
                                               URI domainUri) {
@@ -136,12 +258,7 @@ public final class RemoteDictionary {
         if (Objects.isNull(remoteDictionary)) {
             return;
         }
-        synchronized (RemoteDictionary.class) {
-            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
-                remoteDictionary.reloadDictionary(dictionary, dictionaryType, domainUri);
-                return null;
-            });
-        }
+        remoteDictionaryHandler.guard.reloadDictionary(remoteDictionary, dictionary, dictionaryType, domainUri);
     }
 
     public static boolean addWord(DictionaryType dictionaryType,
@@ -158,10 +275,125 @@ public final class RemoteDictionary {
         checkInitial();
         final AbstractRemoteDictionary dictionary = REMOTE_DICTIONARY.get(etymology.getEtymology());
         synchronized (RemoteDictionary.class) {
-            return dictionary.addWord(dictionaryType, domain, words);
+            boolean added = dictionary.addWord(dictionaryType, domain, words);
+            invalidate(DictionaryKey.of(etymology, dictionaryType, domain));
+            return added;
+        }
+    }
+
+    /**
+     * 添加带权重的词，已存在的词更新权重
+     * @param dictionaryType 词典类型
+     * @param domainUri 领域uri，etymology://domain
+     * @param weights 词及权重
+     * @return true成功
+     */
+    public static boolean addWeightedWord(DictionaryType dictionaryType,
+                                          URI domainUri,
+                                          Map<String, Integer> weights) {
+        RemoteDictionaryEtymology etymology = RemoteDictionaryEtymology.newEtymology(domainUri.getScheme());
+        checkInitial();
+        return REMOTE_DICTIONARY.get(etymology.getEtymology()).addWeightedWord(dictionaryType, domainUri.getAuthority(), weights);
+    }
+
+    /**
+     * 词库有变化时使缓存失效
+     * @param dictionaryKey 词典标识
+     */
+    static void invalidate(DictionaryKey dictionaryKey) {
+        if (Objects.nonNull(remoteDictionaryHandler)) {
+            remoteDictionaryHandler.cache.invalidate(dictionaryKey);
+            // 变化前发起的获取可能读到旧词库，之后的获取不再共享它
+            remoteDictionaryHandler.inflight.forget(dictionaryKey);
         }
     }
 
+    /**
+     * 预热配置的领域词库，在词源加载完成后调用，只执行一次
+     * @return 就绪信号，全部加载或到达预热期限时完成
+     */
+    public static CompletableFuture<WarmupStatus> warmUp() {
+        checkInitial();
+        return remoteDictionaryHandler.warmer.start();
+    }
+
+    /**
+     * 就绪信号，全部加载或到达预热期限时完成
+     * @return readiness
+     */
+    public static CompletableFuture<WarmupStatus> readiness() {
+        checkInitial();
+        return remoteDictionaryHandler.warmer.readiness();
+    }
+
+    /**
+     * 预热完成信号，全部加载时完成，不受预热期限影响
+     * @return completion
+     */
+    public static CompletableFuture<WarmupStatus> warmedUp() {
+        checkInitial();
+        return remoteDictionaryHandler.warmer.completion();
+    }
+
+    /**
+     * 就绪信号，状态变为就绪时完成，包括失败的词典在后台重试成功后
+     * @return ready
+     */
+    public static CompletableFuture<WarmupStatus> warmupReady() {
+        checkInitial();
+        return remoteDictionaryHandler.warmer.ready();
+    }
+
+    /**
+     * 预热状态
+     * @return status
+     */
+    public static WarmupStatus warmupStatus() {
+        checkInitial();
+        return remoteDictionaryHandler.warmer.status();
+    }
+
+    /**
+     * 词源检测到变化时记录写入戳
+     * @param dictionaryKey 词典标识
+     * @param stamp 写入戳
+     */
+    static void observed(DictionaryKey dictionaryKey, CommitStamp stamp) {
+        if (Objects.nonNull(remoteDictionaryHandler)) {
+            remoteDictionaryHandler.freshness.observed(dictionaryKey, stamp);
+        }
+    }
+
+    /**
+     * 各词典的新鲜度统计
+     * @return 词典标识 => stats
+     */
+    public static Map<DictionaryKey, FreshnessStats> freshnessStats() {
+        checkInitial();
+        return remoteDictionaryHandler.freshness.stats();
+    }
+
+    static boolean isStale(DictionaryKey dictionaryKey) {
+        return Objects.nonNull(remoteDictionaryHandler) && remoteDictionaryHandler.guard.isStale(dictionaryKey);
+    }
+
+    /**
+     * 词库缓存统计
+     * @return stats
+     */
+    public static WordsCacheStats cacheStats() {
+        checkInitial();
+        return remoteDictionaryHandler.cache.stats();
+    }
+
+    /**
+     * 词规范化池统计
+     * @return stats
+     */
+    public static WordInternerStats internerStats() {
+        return WordInterner.stats();
+    }
+
     private static URI toUri(String location) {
         URI uri;
         try {
@@ -174,6 +406,16 @@ public final class RemoteDictionary {
         return uri;
     }
 
+    /**
+     * 获取词源对应的远程词典
+     * @param etymology 词源
+     * @return 远程词典，未加载时为null
+     */
+    public static AbstractRemoteDictionary getRemoteDictionary(RemoteDictionaryEtymology etymology) {
+        checkInitial();
+        return REMOTE_DICTIONARY.get(etymology.getEtymology());
+    }
+
     private static AbstractRemoteDictionary getRemoteDictionary(URI uri) {
         String etymology = uri.getScheme();
         log.info("Remote Dictionary etymology '{}'", etymology);
@@ -0,0 +1,382 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+import org.openingo.redip.helper.NamedThreadFactory;
+import org.openingo.redip.helper.StringHelper;
+
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * RemoteDictionaryGuard
+ *
+ * 按词源、领域熔断远程词源的访问：
+ * 访问失败或熔断期间返回上一次成功获取的词库，并在后台重新验证，
+ * 避免不可用的词源阻塞刷新线程或清空分词器词典
+ *
+ * @author Qicz
+ * @since 2026/10/19 12:10
+ */
+@Slf4j
+final class RemoteDictionaryGuard {
+
+	/**
+	 * 后台重新验证的最小间隔
+	 */
+	private static final long MIN_REVALIDATE_DELAY_MILLIS = 1000;
+
+	private final RemoteConfiguration.Breaker breaker;
+
+	private final WordsCache cache;
+
+	private final FreshnessTracker freshness;
+
+	private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+	/**
+	 * 上一次成功获取的词库
+	 */
+	private final Map<DictionaryKey, Set<String>> lastGoodWords = new ConcurrentHashMap<>();
+
+	/**
+	 * 返回过旧词库的词典，词源恢复后需强制重新加载
+	 */
+	private final Set<DictionaryKey> staleServed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 后台重新验证中的词典
+	 */
+	private final Set<DictionaryKey> revalidating = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 同一词典的重新加载串行执行，不同词典、词源互不阻塞
+	 */
+	private final Map<DictionaryKey, Object> reloadLocks = new ConcurrentHashMap<>();
+
+	/**
+	 * 词典 => 各领域词源的失效包装，包装弱引用词典，词典不再使用后随之回收
+	 */
+	private final Map<IDictionary, Map<URI, InvalidatingDictionary>> invalidatingDictionaries = new WeakHashMap<>();
+
+	private final ScheduledExecutorService revalidateExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("redip-revalidate"));
+
+	RemoteDictionaryGuard(RemoteConfiguration.Breaker breaker, WordsCache cache, FreshnessTracker freshness) {
+		this.breaker = Objects.isNull(breaker) ? new RemoteConfiguration.Breaker() : breaker;
+		this.cache = cache;
+		this.freshness = freshness;
+	}
+
+	/**
+	 * 获取远程词库
+	 * @param remoteDictionary 远程词典
+	 * @param dictionaryType 词典类型
+	 * @param domainUri 领域词源Uri
+	 * @return words
+	 */
+	Set<String> getRemoteWords(AbstractRemoteDictionary remoteDictionary,
+							   DictionaryType dictionaryType,
+							   URI domainUri) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(dictionaryType, domainUri);
+		List<CircuitBreaker> breakers = this.breakers(dictionaryKey);
+		if (!this.tryAcquire(breakers)) {
+			log.info("the circuit of '{}' is open, serve the last good words.", dictionaryKey);
+			this.revalidate(remoteDictionary, dictionaryKey, domainUri);
+			return this.staleWords(dictionaryKey);
+		}
+		try {
+			Set<String> words = this.fetch(remoteDictionary, dictionaryKey, domainUri);
+			breakers.forEach(CircuitBreaker::onSuccess);
+			this.staleServed.remove(dictionaryKey);
+			return words;
+		} catch (RuntimeException e) {
+			breakers.forEach(CircuitBreaker::onFailure);
+			log.error("get remote words of '{}' error, serve the last good words =>", dictionaryKey, e);
+			return this.staleWords(dictionaryKey);
+		}
+	}
+
+	/**
+	 * 批量获取远程词库
+	 * @param remoteDictionary 远程词典
+	 * @param dictionaryKeys 同一词源的词典标识
+	 * @return 各词典的words
+	 */
+	Map<DictionaryKey, Set<String>> getRemoteWords(AbstractRemoteDictionary remoteDictionary,
+												   Collection<DictionaryKey> dictionaryKeys) {
+		Map<DictionaryKey, Set<String>> remoteWords = new LinkedHashMap<>();
+		List<DictionaryKey> admitted = new ArrayList<>();
+		Set<CircuitBreaker> admittedBreakers = new LinkedHashSet<>();
+		for (DictionaryKey dictionaryKey : new LinkedHashSet<>(dictionaryKeys)) {
+			List<CircuitBreaker> breakers = this.breakers(dictionaryKey);
+			if (this.tryAcquire(breakers)) {
+				admitted.add(dictionaryKey);
+				admittedBreakers.addAll(breakers);
+				continue;
+			}
+			this.revalidate(remoteDictionary, dictionaryKey, dictionaryKey.toUri());
+			remoteWords.put(dictionaryKey, this.staleWords(dictionaryKey));
+		}
+		if (admitted.isEmpty()) {
+			return remoteWords;
+		}
+		Map<DictionaryKey, Long> generations = new HashMap<>();
+		admitted.forEach(dictionaryKey -> generations.put(dictionaryKey, this.cache.generation(dictionaryKey)));
+		try {
+			Map<DictionaryKey, Set<String>> words = AccessController.doPrivileged((PrivilegedAction<Map<DictionaryKey, Set<String>>>) () -> remoteDictionary.getRemoteWords(admitted));
+			admitted.forEach(dictionaryKey -> {
+				Set<String> dictionaryWords = Collections.unmodifiableSet(StringHelper.filterBlank(words.getOrDefault(dictionaryKey, Collections.emptySet())));
+				this.lastGoodWords.put(dictionaryKey, dictionaryWords);
+				this.cache.put(dictionaryKey, dictionaryWords, generations.get(dictionaryKey));
+				this.staleServed.remove(dictionaryKey);
+				remoteWords.put(dictionaryKey, dictionaryWords);
+			});
+			admittedBreakers.forEach(CircuitBreaker::onSuccess);
+		} catch (RuntimeException e) {
+			admittedBreakers.forEach(CircuitBreaker::onFailure);
+			log.error("get remote words of '{}' dictionaries error, serve the last good words =>", admitted.size(), e);
+			admitted.forEach(dictionaryKey -> remoteWords.put(dictionaryKey, this.staleWords(dictionaryKey)));
+		}
+		return remoteWords;
+	}
+
+	/**
+	 * 重新加载词库，熔断期间跳过，词源恢复后对返回过旧词库的词典强制重新加载
+	 * @param remoteDictionary 远程词典
+	 * @param dictionary 词典
+	 * @param dictionaryType 词典类型
+	 * @param domainUri 领域词源Uri
+	 */
+	void reloadDictionary(AbstractRemoteDictionary remoteDictionary,
+						  IDictionary dictionary,
+						  DictionaryType dictionaryType,
+						  URI domainUri) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(dictionaryType, domainUri);
+		List<CircuitBreaker> breakers = this.breakers(dictionaryKey);
+		if (!this.tryAcquire(breakers)) {
+			log.info("the circuit of '{}' is open, skip reloading.", dictionaryKey);
+			this.revalidate(remoteDictionary, dictionaryKey, domainUri);
+			return;
+		}
+		// 词源检测到变化时先使缓存失效，词典重新加载时获取最新词库
+		IDictionary invalidatingDictionary = this.invalidating(dictionary, dictionaryKey, domainUri);
+		if (this.staleServed.remove(dictionaryKey)) {
+			breakers.forEach(CircuitBreaker::release);
+			log.info("the dictionary '{}' was served stale words, reload it.", dictionaryKey);
+			AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+				invalidatingDictionary.reload(dictionaryType);
+				return null;
+			});
+			return;
+		}
+		try {
+			synchronized (this.reloadLocks.computeIfAbsent(dictionaryKey, k -> new Object())) {
+				AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+					remoteDictionary.reloadDictionary(invalidatingDictionary, dictionaryType, domainUri);
+					return null;
+				});
+			}
+			breakers.forEach(CircuitBreaker::onSuccess);
+		} catch (RuntimeException e) {
+			breakers.forEach(CircuitBreaker::onFailure);
+			log.error("reload remote dictionary '{}' error =>", dictionaryKey, e);
+		}
+	}
+
+	/**
+	 * 词典的失效包装，同一词典、领域词源复用同一包装，词源据此按词典记录交付状态
+	 */
+	private IDictionary invalidating(IDictionary dictionary, DictionaryKey dictionaryKey, URI domainUri) {
+		synchronized (this.invalidatingDictionaries) {
+			return this.invalidatingDictionaries.computeIfAbsent(dictionary, k -> new HashMap<>())
+					.computeIfAbsent(domainUri, k -> new InvalidatingDictionary(dictionary, dictionaryKey));
+		}
+	}
+
+	private Set<String> fetch(AbstractRemoteDictionary remoteDictionary,
+							  DictionaryKey dictionaryKey,
+							  URI domainUri) {
+		// 获取期间词典失效（词源检测到变化）时，获取到的可能是旧词库，不再缓存
+		long generation = this.cache.generation(dictionaryKey);
+		Set<String> words = AccessController.doPrivileged((PrivilegedAction<Set<String>>) () -> remoteDictionary.getRemoteWords(dictionaryKey.getDictionaryType(), domainUri));
+		return this.remember(dictionaryKey, words, generation);
+	}
+
+	private Set<String> remember(DictionaryKey dictionaryKey, Set<String> words, long generation) {
+		words = Collections.unmodifiableSet(StringHelper.filterBlank(words));
+		this.lastGoodWords.put(dictionaryKey, words);
+		this.cache.put(dictionaryKey, words, generation);
+		return words;
+	}
+
+	/**
+	 * 是否返回过旧词库，且词源尚未恢复
+	 * @param dictionaryKey 词典标识
+	 * @return true返回过旧词库
+	 */
+	boolean isStale(DictionaryKey dictionaryKey) {
+		return this.staleServed.contains(dictionaryKey);
+	}
+
+	private Set<String> staleWords(DictionaryKey dictionaryKey) {
+		this.staleServed.add(dictionaryKey);
+		return this.lastGoodWords.getOrDefault(dictionaryKey, Collections.emptySet());
+	}
+
+	private void revalidate(AbstractRemoteDictionary remoteDictionary,
+							DictionaryKey dictionaryKey,
+							URI domainUri) {
+		if (this.revalidating.add(dictionaryKey)) {
+			this.scheduleRevalidation(remoteDictionary, dictionaryKey, domainUri);
+		}
+	}
+
+	private void scheduleRevalidation(AbstractRemoteDictionary remoteDictionary,
+									  DictionaryKey dictionaryKey,
+									  URI domainUri) {
+		List<CircuitBreaker> breakers = this.breakers(dictionaryKey);
+		long delay = breakers.stream().mapToLong(CircuitBreaker::remainingOpenMillis).max().orElse(0);
+		try {
+			this.revalidateExecutor.schedule(() -> {
+				if (!this.tryAcquire(breakers)) {
+					this.scheduleRevalidation(remoteDictionary, dictionaryKey, domainUri);
+					return;
+				}
+				try {
+					this.fetch(remoteDictionary, dictionaryKey, domainUri);
+					breakers.forEach(CircuitBreaker::onSuccess);
+					this.revalidating.remove(dictionaryKey);
+					log.info("the dictionary '{}' is revalidated.", dictionaryKey);
+				} catch (RuntimeException e) {
+					breakers.forEach(CircuitBreaker::onFailure);
+					log.error("revalidate remote dictionary '{}' error =>", dictionaryKey, e);
+					this.scheduleRevalidation(remoteDictionary, dictionaryKey, domainUri);
+				}
+			}, Math.max(delay, MIN_REVALIDATE_DELAY_MILLIS), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			this.revalidating.remove(dictionaryKey);
+		}
+	}
+
+	private boolean tryAcquire(List<CircuitBreaker> breakers) {
+		for (int i = 0; i < breakers.size(); i++) {
+			if (!breakers.get(i).tryAcquire()) {
+				breakers.subList(0, i).forEach(CircuitBreaker::release);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 词源、领域熔断器
+	 * @param dictionaryKey 词典标识
+	 * @return breakers
+	 */
+	private List<CircuitBreaker> breakers(DictionaryKey dictionaryKey) {
+		if (!this.breaker.isEnabled()) {
+			return Collections.emptyList();
+		}
+		long openMillis = TimeUnit.SECONDS.toMillis(this.breaker.getOpenDuration());
+		String etymology = dictionaryKey.getEtymology();
+		CircuitBreaker etymologyBreaker = this.circuitBreakers.computeIfAbsent(etymology,
+				name -> new CircuitBreaker(name, this.breaker.getEtymologyFailureThreshold(), openMillis, this.breaker.getHalfOpenProbes()));
+		CircuitBreaker domainBreaker = this.circuitBreakers.computeIfAbsent(dictionaryKey.toUri().toString(),
+				name -> new CircuitBreaker(name, this.breaker.getFailureThreshold(), openMillis, this.breaker.getHalfOpenProbes()));
+		return Arrays.asList(etymologyBreaker, domainBreaker);
+	}
+
+	/**
+	 * 词源检测到变化时先使缓存失效再交付词典
+	 */
+	private class InvalidatingDictionary implements IDictionary {
+
+		private final WeakReference<IDictionary> dictionary;
+
+		private final DictionaryKey dictionaryKey;
+
+		InvalidatingDictionary(IDictionary dictionary, DictionaryKey dictionaryKey) {
+			this.dictionary = new WeakReference<>(dictionary);
+			this.dictionaryKey = dictionaryKey;
+		}
+
+		@Override
+		public void reload(DictionaryType type) {
+			IDictionary dictionary = this.dictionary.get();
+			if (Objects.isNull(dictionary)) {
+				return;
+			}
+			DictionaryKey typedKey = this.dictionaryKey.withDictionaryType(type);
+			RemoteDictionary.invalidate(typedKey);
+			dictionary.reload(type);
+			RemoteDictionaryGuard.this.freshness.applied(typedKey);
+		}
+
+		@Override
+		public boolean reload(DictionaryType type, Set<String> words) {
+			IDictionary dictionary = this.dictionary.get();
+			if (Objects.isNull(dictionary)) {
+				return true;
+			}
+			DictionaryKey typedKey = this.dictionaryKey.withDictionaryType(type);
+			RemoteDictionary.invalidate(typedKey);
+			Set<String> remembered = RemoteDictionaryGuard.this.remember(typedKey, words, RemoteDictionaryGuard.this.cache.generation(typedKey));
+			// 词典不支持携带词库时，回调getRemoteWords可命中缓存
+			if (!dictionary.reload(type, remembered)) {
+				dictionary.reload(type);
+			}
+			RemoteDictionaryGuard.this.freshness.applied(typedKey);
+			return true;
+		}
+
+		@Override
+		public boolean apply(DictionaryDelta delta) {
+			IDictionary dictionary = this.dictionary.get();
+			if (Objects.isNull(dictionary)) {
+				return true;
+			}
+			DictionaryKey typedKey = this.dictionaryKey.withDictionaryType(delta.getDictionaryKey().getDictionaryType());
+			RemoteDictionary.invalidate(typedKey);
+			boolean applied = dictionary.apply(delta);
+			if (applied) {
+				RemoteDictionaryGuard.this.freshness.applied(typedKey);
+			}
+			return applied;
+		}
+	}
+}
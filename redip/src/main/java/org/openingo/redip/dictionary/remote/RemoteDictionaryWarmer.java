@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.helper.NamedThreadFactory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RemoteDictionaryWarmer
+ *
+ * 初始化时预热词库：同一词源的词典合并为批量获取，不同词源并发获取，结果进入缓存及上一次成功的词库；
+ * 全部加载或到达预热期限时完成就绪信号，加载失败的词典在后台重试
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:10
+ */
+@Slf4j
+final class RemoteDictionaryWarmer {
+
+	private final RemoteConfiguration.Warmup warmup;
+
+	/**
+	 * 全部加载或到达期限时完成
+	 */
+	private final CompletableFuture<WarmupStatus> readiness = new CompletableFuture<>();
+
+	/**
+	 * 全部加载时完成
+	 */
+	private final CompletableFuture<WarmupStatus> completion = new CompletableFuture<>();
+
+	/**
+	 * 状态变为就绪时完成，包括失败的词典在后台重试成功
+	 */
+	private final CompletableFuture<WarmupStatus> ready = new CompletableFuture<>();
+
+	private final AtomicInteger loaded = new AtomicInteger();
+
+	/**
+	 * 加载失败的词典 => 领域词源Uri
+	 */
+	private final Map<DictionaryKey, URI> failed = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService retryExecutor;
+
+	private volatile int total;
+	private volatile long startAt;
+	private volatile boolean started;
+
+	RemoteDictionaryWarmer(RemoteConfiguration.Warmup warmup) {
+		this.warmup = Objects.isNull(warmup) ? new RemoteConfiguration.Warmup() : warmup;
+	}
+
+	/**
+	 * 开始预热，只执行一次
+	 * @return 就绪信号
+	 */
+	synchronized CompletableFuture<WarmupStatus> start() {
+		if (this.started) {
+			return this.readiness;
+		}
+		this.started = true;
+		this.startAt = SystemClockKit.now();
+		List<Runnable> tasks = this.tasks(Optional.ofNullable(this.warmup.getLocations()).orElse(Collections.emptyList()));
+		if (tasks.isEmpty()) {
+			this.completion.complete(this.status());
+			this.readiness.complete(this.status());
+			this.ready.complete(this.status());
+			return this.readiness;
+		}
+		log.info("warming up '{}' remote dictionaries with '{}' tasks...", this.total, tasks.size());
+		int parallelism = Math.max(1, Optional.ofNullable(this.warmup.getParallelism()).orElse(4));
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), new NamedThreadFactory("redip-warmup"));
+		CompletableFuture<?>[] futures = tasks.stream().map(task -> CompletableFuture.runAsync(task, executor)).toArray(CompletableFuture[]::new);
+		CompletableFuture.allOf(futures).whenComplete((ignored, e) -> {
+			executor.shutdown();
+			WarmupStatus status = this.status();
+			log.info("remote dictionaries warmed up: {}", status);
+			this.completion.complete(status);
+			this.readiness.complete(status);
+			this.readied(status);
+			this.retry();
+		});
+		long deadline = Optional.ofNullable(this.warmup.getDeadline()).orElse(0);
+		if (deadline > 0) {
+			ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("redip-warmup-deadline"));
+			timer.schedule(() -> {
+				if (this.readiness.complete(this.status())) {
+					log.warn("remote dictionaries warm-up deadline '{}'s reached: {}", deadline, this.status());
+					this.readied(this.status());
+				}
+			}, deadline, TimeUnit.SECONDS);
+			this.completion.whenComplete((status, e) -> timer.shutdownNow());
+		}
+		return this.readiness;
+	}
+
+	CompletableFuture<WarmupStatus> readiness() {
+		return this.readiness;
+	}
+
+	CompletableFuture<WarmupStatus> completion() {
+		return this.completion;
+	}
+
+	CompletableFuture<WarmupStatus> ready() {
+		return this.ready;
+	}
+
+	/**
+	 * 停止后台重试
+	 */
+	synchronized void close() {
+		if (Objects.nonNull(this.retryExecutor)) {
+			this.retryExecutor.shutdownNow();
+		}
+	}
+
+	private void readied(WarmupStatus status) {
+		if (status.isReady()) {
+			this.ready.complete(status);
+		}
+	}
+
+	/**
+	 * 预热完成后在后台按间隔重试失败的词典，全部加载后就绪
+	 */
+	private synchronized void retry() {
+		long retryInterval = Optional.ofNullable(this.warmup.getRetryInterval()).orElse(0);
+		if (this.failed.isEmpty() || retryInterval <= 0 || Objects.nonNull(this.retryExecutor)) {
+			return;
+		}
+		log.info("retry '{}' failed remote dictionaries every '{}'s in background.", this.failed.size(), retryInterval);
+		this.retryExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("redip-warmup-retry"));
+		this.retryExecutor.scheduleWithFixedDelay(() -> {
+			new HashMap<>(this.failed).forEach((dictionaryKey, domainUri) -> {
+				try {
+					RemoteDictionary.getRemoteWords(dictionaryKey.getDictionaryType(), domainUri);
+					if (!RemoteDictionary.isStale(dictionaryKey) && Objects.nonNull(this.failed.remove(dictionaryKey))) {
+						this.loaded.incrementAndGet();
+					}
+				} catch (RuntimeException e) {
+					log.warn("retry warming up remote dictionary '{}' failure: {}", dictionaryKey, e.getMessage());
+				}
+			});
+			if (this.failed.isEmpty()) {
+				WarmupStatus status = this.status();
+				log.info("failed remote dictionaries are loaded in background: {}", status);
+				this.readied(status);
+				this.retryExecutor.shutdown();
+			}
+		}, retryInterval, retryInterval, TimeUnit.SECONDS);
+	}
+
+	WarmupStatus status() {
+		WarmupStatus.State state;
+		if (!this.started || this.total == 0) {
+			state = WarmupStatus.State.NONE;
+		} else if (!this.completion.isDone() && this.readiness.isDone()) {
+			state = WarmupStatus.State.TIMEOUT;
+		} else if (this.loaded.get() + this.failed.size() < this.total) {
+			state = WarmupStatus.State.WARMING;
+		} else {
+			state = this.failed.isEmpty() ? WarmupStatus.State.READY : WarmupStatus.State.DEGRADED;
+		}
+		boolean ready = WarmupStatus.State.NONE.equals(state)
+				|| WarmupStatus.State.READY.equals(state)
+				|| (this.warmup.isFailOpen() && !WarmupStatus.State.WARMING.equals(state));
+		long elapsed = this.started ? SystemClockKit.now() - this.startAt : 0;
+		Set<String> failed = new TreeSet<>();
+		this.failed.keySet().forEach(dictionaryKey -> failed.add(dictionaryKey.toString()));
+		return new WarmupStatus(state, ready, this.total, this.loaded.get(), failed, elapsed);
+	}
+
+	/**
+	 * 无查询参数的领域按词源分组、分批批量获取，其余逐个获取
+	 */
+	private List<Runnable> tasks(List<String> locations) {
+		int batchSize = Math.max(1, Optional.ofNullable(this.warmup.getBatchSize()).orElse(100));
+		Map<String, List<DictionaryKey>> etymologyKeys = new LinkedHashMap<>();
+		List<Runnable> tasks = new ArrayList<>();
+		Set<String> distinct = new LinkedHashSet<>();
+		for (String location : locations) {
+			URI domainUri;
+			try {
+				domainUri = new URI(location.trim());
+			} catch (URISyntaxException e) {
+				log.warn("the warm-up location '{}' is illegal, skipped.", location);
+				continue;
+			}
+			for (DictionaryType dictionaryType : DictionaryType.values()) {
+				if (!distinct.add(String.format("%s#%s", domainUri, dictionaryType.getDictName()))) {
+					continue;
+				}
+				if (Objects.isNull(domainUri.getAuthority()) || Objects.nonNull(domainUri.getRawQuery())) {
+					tasks.add(() -> this.load(dictionaryType, domainUri));
+					continue;
+				}
+				DictionaryKey dictionaryKey = DictionaryKey.of(dictionaryType, domainUri);
+				etymologyKeys.computeIfAbsent(dictionaryKey.getEtymology(), k -> new ArrayList<>()).add(dictionaryKey);
+			}
+		}
+		etymologyKeys.values().forEach(keys -> {
+			for (int from = 0; from < keys.size(); from += batchSize) {
+				List<DictionaryKey> batchKeys = keys.subList(from, Math.min(keys.size(), from + batchSize));
+				tasks.add(() -> this.load(batchKeys));
+			}
+		});
+		this.total = distinct.size();
+		return tasks;
+	}
+
+	private void load(DictionaryType dictionaryType, URI domainUri) {
+		DictionaryKey dictionaryKey = DictionaryKey.of(dictionaryType, domainUri);
+		try {
+			RemoteDictionary.getRemoteWords(dictionaryType, domainUri);
+			this.loaded(dictionaryKey, domainUri);
+		} catch (RuntimeException e) {
+			log.error("warm up remote dictionary '{}' error =>", dictionaryKey, e);
+			this.failed.put(dictionaryKey, domainUri);
+		}
+	}
+
+	private void load(List<DictionaryKey> dictionaryKeys) {
+		try {
+			RemoteDictionary.getRemoteWords(dictionaryKeys);
+			dictionaryKeys.forEach(dictionaryKey -> this.loaded(dictionaryKey, dictionaryKey.toUri()));
+		} catch (RuntimeException e) {
+			log.error("warm up '{}' remote dictionaries error =>", dictionaryKeys.size(), e);
+			dictionaryKeys.forEach(dictionaryKey -> this.failed.put(dictionaryKey, dictionaryKey.toUri()));
+		}
+	}
+
+	/**
+	 * 词源不可用时返回的是旧词库，视为加载失败
+	 */
+	private void loaded(DictionaryKey dictionaryKey, URI domainUri) {
+		if (RemoteDictionary.isStale(dictionaryKey)) {
+			this.failed.put(dictionaryKey, domainUri);
+			return;
+		}
+		this.loaded.incrementAndGet();
+	}
+}
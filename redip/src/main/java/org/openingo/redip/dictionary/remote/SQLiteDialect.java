@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openingo.redip.configuration.RemoteConfiguration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQLiteDialect
+ *
+ * 内嵌库，WAL模式下读写互不阻塞，写入冲突时按连接超时等待；驱动逐行读取，无需设置fetchSize
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:00
+ */
+class SQLiteDialect extends JdbcDialect {
+
+	@Override
+	public String getName() {
+		return "sqlite";
+	}
+
+	@Override
+	public String getDriverClassName() {
+		return "org.sqlite.JDBC";
+	}
+
+	@Override
+	public void configure(HikariDataSource dataSource, RemoteConfiguration.Jdbc.Pool pool) {
+		dataSource.addDataSourceProperty("journal_mode", "WAL");
+		dataSource.addDataSourceProperty("busy_timeout", String.valueOf(TimeUnit.SECONDS.toMillis(pool.getConnectionTimeout())));
+	}
+
+	@Override
+	public void streaming(Connection connection, PreparedStatement statement) {
+
+	}
+
+	@Override
+	public int getBatchSize() {
+		return 500;
+	}
+
+	@Override
+	public String insertWordsSql() {
+		return "INSERT OR IGNORE INTO ik_words(word, word_type, domain) VALUES (?, ?, ?)";
+	}
+
+	@Override
+	public String upsertStateSql() {
+		return "INSERT INTO ik_dict_state(state, domain, version, committed_at) VALUES (?, ?, 1, ?) " +
+				"ON CONFLICT (domain) DO UPDATE SET state = excluded.state, version = ik_dict_state.version + 1, " +
+				"committed_at = excluded.committed_at, update_time = CURRENT_TIMESTAMP";
+	}
+
+	@Override
+	public String upsertLegacyStateSql() {
+		return "INSERT INTO ik_dict_state(state, domain, version) VALUES (?, ?, 1) " +
+				"ON CONFLICT (domain) DO UPDATE SET state = excluded.state, version = ik_dict_state.version + 1, update_time = CURRENT_TIMESTAMP";
+	}
+
+	@Override
+	protected String identityColumn() {
+		return "INTEGER PRIMARY KEY AUTOINCREMENT";
+	}
+}
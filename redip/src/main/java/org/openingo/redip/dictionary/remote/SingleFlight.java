@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight
+ *
+ * 合并同一key的并发调用：同一时刻只有一个调用真正执行，其余调用等待并共享其结果，
+ * 不同key的调用互不影响
+ *
+ * @author Qicz
+ * @since 2026/10/19 14:05
+ */
+final class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+	/**
+	 * 执行调用
+	 * @param key 调用标识
+	 * @param supplier 实际调用
+	 * @return 调用结果
+	 */
+	V execute(K key, Supplier<V> supplier) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> inflight = this.calls.putIfAbsent(key, call);
+		if (Objects.nonNull(inflight)) {
+			return this.await(inflight);
+		}
+		try {
+			V value = supplier.get();
+			call.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			this.calls.remove(key, call);
+		}
+	}
+
+	/**
+	 * 批量执行调用，已在进行中的key等待并共享其结果，其余key合并为一次调用
+	 * @param keys 调用标识
+	 * @param loader 实际调用，只传入未在进行中的key
+	 * @return 各key的调用结果，调用未返回的key不包含在内
+	 */
+	Map<K, V> executeAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+		Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+		Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+		for (K key : keys) {
+			CompletableFuture<V> call = new CompletableFuture<>();
+			CompletableFuture<V> inflight = this.calls.putIfAbsent(key, call);
+			if (Objects.isNull(inflight)) {
+				owned.put(key, call);
+			} else {
+				joined.put(key, inflight);
+			}
+		}
+		Map<K, V> values = new LinkedHashMap<>();
+		// 先完成自己负责的key再等待其他调用，交叉的批量调用不会互相等待
+		if (!owned.isEmpty()) {
+			try {
+				Map<K, V> loaded = loader.apply(new ArrayList<>(owned.keySet()));
+				owned.forEach((key, call) -> {
+					V value = loaded.get(key);
+					call.complete(value);
+					if (Objects.nonNull(value)) {
+						values.put(key, value);
+					}
+				});
+			} catch (RuntimeException | Error e) {
+				owned.values().forEach(call -> call.completeExceptionally(e));
+				throw e;
+			} finally {
+				owned.forEach(this.calls::remove);
+			}
+		}
+		joined.forEach((key, inflight) -> {
+			V value = this.await(inflight);
+			if (Objects.nonNull(value)) {
+				values.put(key, value);
+			}
+		});
+		return values;
+	}
+
+	/**
+	 * 丢弃进行中的调用，之后的调用将重新执行，已在等待的调用不受影响
+	 * @param key 调用标识
+	 */
+	void forget(K key) {
+		this.calls.remove(key);
+	}
+
+	private V await(CompletableFuture<V> inflight) {
+		try {
+			return inflight.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+}
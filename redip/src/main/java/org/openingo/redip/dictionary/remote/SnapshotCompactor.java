@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.helper.NamedThreadFactory;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnapshotCompactor
+ *
+ * 后台定期检查各领域词库，快照水位之后新增的词达到阈值、词库存在删除或尚无快照时，由词源重新生成快照；
+ * 快照水位之后新增的词即为增量，读取时在快照之上应用
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:40
+ */
+@Slf4j
+class SnapshotCompactor {
+
+	/**
+	 * 词源的快照生成
+	 */
+	@FunctionalInterface
+	interface Compaction {
+
+		/**
+		 * 按需生成快照
+		 * @param dictionaryType 词典类型
+		 * @param domain 领域
+		 * @return true生成了新快照
+		 * @throws Exception 读取或写入失败
+		 */
+		boolean compact(DictionaryType dictionaryType, String domain) throws Exception;
+	}
+
+	private final String etymology;
+
+	private final RemoteConfiguration.Snapshot snapshot;
+
+	private final Compaction compaction;
+
+	private final Set<String> domains = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 未开启后台生成时为null
+	 */
+	private final ScheduledExecutorService compactor;
+
+	SnapshotCompactor(String etymology,
+					  RemoteConfiguration.Snapshot snapshot,
+					  Compaction compaction) {
+		this.etymology = etymology;
+		this.snapshot = Optional.ofNullable(snapshot).orElseGet(RemoteConfiguration.Snapshot::new);
+		this.compaction = compaction;
+		if (!this.snapshot.isEnabled() || !this.snapshot.isCompact()) {
+			this.compactor = null;
+			return;
+		}
+		if (Objects.nonNull(this.snapshot.getDomains())) {
+			this.domains.addAll(this.snapshot.getDomains());
+		}
+		long period = Math.max(1, Optional.ofNullable(this.snapshot.getCompactPeriod()).orElse(60));
+		this.compactor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(String.format("redip-%s-compact", etymology)));
+		this.compactor.scheduleWithFixedDelay(this::compact, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * 是否读取快照
+	 */
+	boolean isEnabled() {
+		return this.snapshot.isEnabled();
+	}
+
+	/**
+	 * 是否需要生成快照
+	 * @param snapshotWords 快照词数，没有快照时为负数
+	 * @param words 当前词数
+	 * @param delta 快照水位之后新增的词数
+	 * @return true需要
+	 */
+	boolean isStale(long snapshotWords, long words, long delta) {
+		if (snapshotWords < 0) {
+			return words >= Optional.ofNullable(this.snapshot.getMinWords()).orElse(0);
+		}
+		// 词数与快照词数加增量不一致说明存在删除，快照已不可用
+		return delta >= Optional.ofNullable(this.snapshot.getDeltaThreshold()).orElse(0) || words != snapshotWords + delta;
+	}
+
+	/**
+	 * 记录读取过的领域，未配置领域时后台为这些领域生成快照
+	 * @param domain 领域
+	 */
+	void track(String domain) {
+		if (Objects.nonNull(this.compactor) && Objects.isNull(this.snapshot.getDomains())) {
+			this.domains.add(domain);
+		}
+	}
+
+	private void compact() {
+		for (String domain : this.domains) {
+			for (DictionaryType dictionaryType : DictionaryType.values()) {
+				try {
+					if (this.compaction.compact(dictionaryType, domain)) {
+						log.info("'{}' remote dictionary compacted snapshot of domain '{}' dictionary '{}'", this.etymology, domain, dictionaryType);
+					}
+				} catch (Exception e) {
+					log.warn("'{}' remote dictionary compact snapshot of domain '{}' dictionary '{}' failure: {}", this.etymology, domain, dictionaryType, e.getMessage());
+				}
+			}
+		}
+	}
+
+	void close() {
+		if (Objects.nonNull(this.compactor)) {
+			this.compactor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * WarmupStatus
+ *
+ * 词库预热状态快照
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:10
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class WarmupStatus {
+
+	/**
+	 * 预热状态
+	 */
+	private final State state;
+
+	/**
+	 * 是否就绪
+	 */
+	private final boolean ready;
+
+	/**
+	 * 需预热的词典数
+	 */
+	private final int total;
+
+	/**
+	 * 已加载的词典数
+	 */
+	private final int loaded;
+
+	/**
+	 * 加载失败的词典
+	 */
+	private final Set<String> failed;
+
+	/**
+	 * 已用时间，单位ms
+	 */
+	private final long elapsedMillis;
+
+	public enum State {
+
+		/**
+		 * 未配置预热
+		 */
+		NONE,
+
+		/**
+		 * 预热中
+		 */
+		WARMING,
+
+		/**
+		 * 全部加载成功
+		 */
+		READY,
+
+		/**
+		 * 已完成，存在加载失败的词典
+		 */
+		DEGRADED,
+
+		/**
+		 * 超过预热期限仍未完成
+		 */
+		TIMEOUT
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.openingo.redip.configuration.RemoteConfiguration;
+
+import java.util.Objects;
+
+/**
+ * WordsBudget
+ *
+ * 单次加载词库的预算，按权重从高到低分页读取词库，超出词数或估算字节数后停止，其余的词不再传输
+ *
+ * @author Qicz
+ * @since 2026/10/19 20:10
+ */
+final class WordsBudget {
+
+	/**
+	 * 分页读取时每页的最大词数
+	 */
+	private static final int PAGE_SIZE = 10000;
+
+	private final long maxWords;
+	private final long maxBytes;
+
+	private long words;
+	private long bytes;
+	private boolean exhausted;
+
+	private WordsBudget(long maxWords, long maxBytes) {
+		this.maxWords = maxWords;
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * 领域的预算
+	 * @param budget 预算配置
+	 * @param domain 领域
+	 * @return 未限制预算时为null
+	 */
+	static WordsBudget of(RemoteConfiguration.Budget budget, String domain) {
+		if (Objects.isNull(budget)) {
+			return null;
+		}
+		RemoteConfiguration.Budget domainBudget = budget.of(domain);
+		if (Objects.isNull(domainBudget) || !domainBudget.isLimited()) {
+			return null;
+		}
+		return new WordsBudget(Objects.isNull(domainBudget.getMaxWords()) ? 0 : domainBudget.getMaxWords(),
+				Objects.isNull(domainBudget.getMaxBytes()) ? 0 : domainBudget.getMaxBytes());
+	}
+
+	/**
+	 * 计入一个词
+	 * @param word 词
+	 * @return false超出预算，该词不加载
+	 */
+	boolean add(String word) {
+		long bytes = this.bytes + WordsCache.estimateBytes(word);
+		if ((this.maxWords > 0 && this.words + 1 > this.maxWords)
+				|| (this.maxBytes > 0 && bytes > this.maxBytes)) {
+			this.exhausted = true;
+			return false;
+		}
+		this.words++;
+		this.bytes = bytes;
+		return true;
+	}
+
+	/**
+	 * 下一页的词数，按剩余词数收窄，避免读取预算外的词
+	 */
+	int pageSize() {
+		if (this.maxWords <= 0) {
+			return PAGE_SIZE;
+		}
+		return (int) Math.max(1, Math.min(PAGE_SIZE, this.maxWords - this.words));
+	}
+
+	/**
+	 * 是否还需要读取下一页
+	 * @param fetched 本页读取的词数
+	 * @param pageSize 本页的词数上限
+	 */
+	boolean hasNextPage(int fetched, int pageSize) {
+		return !this.isExhausted() && fetched == pageSize;
+	}
+
+	/**
+	 * 预算是否已用尽
+	 */
+	boolean isExhausted() {
+		return this.exhausted || (this.maxWords > 0 && this.words >= this.maxWords);
+	}
+}
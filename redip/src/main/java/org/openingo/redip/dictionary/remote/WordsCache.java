@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.dictionary.DictionaryKey;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WordsCache
+ *
+ * 进程内词库缓存，按词源、词典类型、领域缓存获取到的词库，
+ * 支持有效期，按总词数或估算字节数限制容量，超限时淘汰最久未访问的词典
+ *
+ * @author Qicz
+ * @since 2026/10/19 13:10
+ */
+@Slf4j
+final class WordsCache {
+
+	/**
+	 * 单个词在词库集合中的估算固定开销：String对象、char数组及HashMap节点
+	 */
+	private static final long WORD_OVERHEAD_BYTES = 80;
+
+	private final boolean enabled;
+	private final long ttlMillis;
+	private final long maxWords;
+	private final long maxBytes;
+
+	private final LinkedHashMap<DictionaryKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * 词典 => 失效次数，获取开始后发生失效的词库不再缓存
+	 */
+	private final Map<DictionaryKey, Long> generations = new HashMap<>();
+
+	private long words;
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long expirations;
+	private long invalidations;
+
+	WordsCache(RemoteConfiguration.Cache cache) {
+		if (Objects.isNull(cache)) {
+			cache = new RemoteConfiguration.Cache();
+		}
+		this.enabled = cache.isEnabled();
+		this.ttlMillis = TimeUnit.SECONDS.toMillis(Optional.ofNullable(cache.getTtl()).orElse(0));
+		this.maxWords = Optional.ofNullable(cache.getMaxWords()).orElse(0L);
+		this.maxBytes = Optional.ofNullable(cache.getMaxBytes()).orElse(0L);
+	}
+
+	/**
+	 * 获取缓存的词库
+	 * @param dictionaryKey 词典标识
+	 * @return words，未命中时为null
+	 */
+	synchronized Set<String> get(DictionaryKey dictionaryKey) {
+		if (!this.enabled) {
+			return null;
+		}
+		Entry entry = this.entries.get(dictionaryKey);
+		if (Objects.isNull(entry)) {
+			this.misses++;
+			return null;
+		}
+		if (entry.isExpired()) {
+			this.remove(dictionaryKey);
+			this.expirations++;
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		return entry.words;
+	}
+
+	/**
+	 * 词典当前的失效代数，获取词库前记录，缓存时据此判断获取期间是否失效
+	 * @param dictionaryKey 词典标识
+	 * @return generation
+	 */
+	synchronized long generation(DictionaryKey dictionaryKey) {
+		return this.generations.getOrDefault(dictionaryKey, 0L);
+	}
+
+	/**
+	 * 缓存词库，获取期间词典已失效时不缓存，避免旧词库在有效期内继续返回
+	 * @param dictionaryKey 词典标识
+	 * @param dictionaryWords words
+	 * @param generation 获取词库前的失效代数
+	 */
+	void put(DictionaryKey dictionaryKey, Set<String> dictionaryWords, long generation) {
+		if (!this.enabled || this.ttlMillis <= 0) {
+			return;
+		}
+		// 估算字节数需遍历词库，在锁外完成
+		Entry entry = new Entry(Collections.unmodifiableSet(dictionaryWords), SystemClockKit.now() + this.ttlMillis);
+		if (this.exceeds(entry.words.size(), entry.bytes)) {
+			log.info("the words of '{}' exceed the cache bound, skip caching.", dictionaryKey);
+			return;
+		}
+		this.store(dictionaryKey, entry, generation);
+	}
+
+	private synchronized void store(DictionaryKey dictionaryKey, Entry entry, long generation) {
+		if (this.generation(dictionaryKey) != generation) {
+			log.info("the words of '{}' were invalidated while fetching, skip caching.", dictionaryKey);
+			return;
+		}
+		this.remove(dictionaryKey);
+		this.entries.put(dictionaryKey, entry);
+		this.words += entry.words.size();
+		this.bytes += entry.bytes;
+		Iterator<Map.Entry<DictionaryKey, Entry>> iterator = this.entries.entrySet().iterator();
+		while (this.exceeds(this.words, this.bytes) && iterator.hasNext()) {
+			Entry eldest = iterator.next().getValue();
+			iterator.remove();
+			this.words -= eldest.words.size();
+			this.bytes -= eldest.bytes;
+			this.evictions++;
+		}
+	}
+
+	/**
+	 * 使缓存失效
+	 * @param dictionaryKey 词典标识
+	 */
+	synchronized void invalidate(DictionaryKey dictionaryKey) {
+		this.generations.merge(dictionaryKey, 1L, Long::sum);
+		if (Objects.nonNull(this.remove(dictionaryKey))) {
+			this.invalidations++;
+		}
+	}
+
+	synchronized WordsCacheStats stats() {
+		return new WordsCacheStats(this.hits, this.misses, this.evictions, this.expirations,
+				this.invalidations, this.entries.size(), this.words, this.bytes);
+	}
+
+	private Entry remove(DictionaryKey dictionaryKey) {
+		Entry entry = this.entries.remove(dictionaryKey);
+		if (Objects.nonNull(entry)) {
+			this.words -= entry.words.size();
+			this.bytes -= entry.bytes;
+		}
+		return entry;
+	}
+
+	/**
+	 * 单个词的估算字节数
+	 */
+	static long estimateBytes(String word) {
+		return WORD_OVERHEAD_BYTES + 2L * word.length();
+	}
+
+	private boolean exceeds(long words, long bytes) {
+		return (this.maxWords > 0 && words > this.maxWords)
+				|| (this.maxBytes > 0 && bytes > this.maxBytes);
+	}
+
+	private static final class Entry {
+
+		private final Set<String> words;
+		private final long bytes;
+		private final long expireAt;
+
+		Entry(Set<String> words, long expireAt) {
+			this.words = words;
+			this.expireAt = expireAt;
+			long bytes = 0;
+			for (String word : words) {
+				bytes += estimateBytes(word);
+			}
+			this.bytes = bytes;
+		}
+
+		boolean isExpired() {
+			return SystemClockKit.now() >= this.expireAt;
+		}
+	}
+}
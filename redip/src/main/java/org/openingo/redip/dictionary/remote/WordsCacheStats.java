@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * WordsCacheStats
+ *
+ * 词库缓存统计快照
+ *
+ * @author Qicz
+ * @since 2026/10/19 13:20
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class WordsCacheStats {
+
+	/**
+	 * 命中次数
+	 */
+	private final long hits;
+
+	/**
+	 * 未命中次数
+	 */
+	private final long misses;
+
+	/**
+	 * 容量超限淘汰次数
+	 */
+	private final long evictions;
+
+	/**
+	 * 过期次数
+	 */
+	private final long expirations;
+
+	/**
+	 * 主动失效次数
+	 */
+	private final long invalidations;
+
+	/**
+	 * 缓存的词典数
+	 */
+	private final int size;
+
+	/**
+	 * 缓存的总词数
+	 */
+	private final long words;
+
+	/**
+	 * 缓存的估算字节数
+	 */
+	private final long bytes;
+
+	public double hitRate() {
+		long requests = this.hits + this.misses;
+		return requests == 0 ? 0 : (double) this.hits / requests;
+	}
+}
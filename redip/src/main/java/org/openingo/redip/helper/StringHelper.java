@@ -49,10 +49,24 @@ public final class StringHelper {
 		return strings.stream().filter(StringHelper::nonBlank).map(String::trim).collect(Collectors.toList());
 	}
 
+	/**
+	 * 过滤空白并去除首尾空白，去除空白后产生的新实例经规范化池复用
+	 */
 	public static Set<String> filterBlank(Set<String> strings) {
 		if (Objects.isNull(strings)) {
 			return Collections.emptySet();
 		}
-		return strings.stream().filter(StringHelper::nonBlank).map(String::trim).collect(Collectors.toSet());
+		Set<String> filtered = new HashSet<>(Math.max(16, (int) (strings.size() / 0.75f) + 1));
+		for (String string : strings) {
+			if (Objects.isNull(string)) {
+				continue;
+			}
+			String trimmed = string.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			filtered.add(trimmed == string ? string : WordInterner.intern(trimmed));
+		}
+		return filtered;
 	}
 }
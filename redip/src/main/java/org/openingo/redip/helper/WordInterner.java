@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.helper;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WordInterner
+ *
+ * 跨领域共享的词规范化池：内容相同的词共用同一String实例，池中以弱引用持有，不再被任何词典引用的词随gc回收；
+ * 池按hash分段加锁，不同分段的查找互不阻塞
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:50
+ */
+public final class WordInterner {
+
+	/**
+	 * 分段数，2的幂
+	 */
+	private static final int STRIPES = 64;
+
+	/**
+	 * 单个String的估算固定开销：String对象及char数组头
+	 */
+	private static final long STRING_OVERHEAD_BYTES = 40;
+
+	private static final Stripe[] POOL = new Stripe[STRIPES];
+
+	static {
+		for (int i = 0; i < STRIPES; i++) {
+			POOL[i] = new Stripe();
+		}
+	}
+
+	private static final LongAdder LOOKUPS = new LongAdder();
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder SAVED_BYTES = new LongAdder();
+
+	private static volatile boolean enabled = true;
+
+	private WordInterner() {
+	}
+
+	/**
+	 * 获取内容相同的规范实例
+	 * @param word 词
+	 * @return 池中已有的实例，没有时放入并返回word
+	 */
+	public static String intern(String word) {
+		if (!enabled || Objects.isNull(word)) {
+			return word;
+		}
+		LOOKUPS.increment();
+		int hash = word.hashCode();
+		String canonical = POOL[(hash ^ (hash >>> 16)) & (STRIPES - 1)].intern(word);
+		if (canonical != word) {
+			HITS.increment();
+			SAVED_BYTES.add(STRING_OVERHEAD_BYTES + 2L * word.length());
+		}
+		return canonical;
+	}
+
+	/**
+	 * 是否启用，不启用时intern直接返回原实例
+	 * @param enabled true启用
+	 */
+	public static void setEnabled(boolean enabled) {
+		WordInterner.enabled = enabled;
+	}
+
+	/**
+	 * 规范化池统计
+	 * @return stats
+	 */
+	public static WordInternerStats stats() {
+		long distinct = 0;
+		for (Stripe stripe : POOL) {
+			distinct += stripe.size();
+		}
+		return new WordInternerStats(distinct, LOOKUPS.sum(), HITS.sum(), SAVED_BYTES.sum());
+	}
+
+	private static final class Stripe {
+
+		/**
+		 * WeakHashMap的get同样会清理已回收的条目，读写均需加锁
+		 */
+		private final Map<String, WeakReference<String>> words = new WeakHashMap<>();
+
+		synchronized String intern(String word) {
+			WeakReference<String> reference = this.words.get(word);
+			String canonical = Objects.isNull(reference) ? null : reference.get();
+			if (Objects.nonNull(canonical)) {
+				return canonical;
+			}
+			this.words.put(word, new WeakReference<>(word));
+			return word;
+		}
+
+		synchronized int size() {
+			return this.words.size();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.helper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * WordInternerStats
+ *
+ * 词规范化池统计快照
+ *
+ * @author Qicz
+ * @since 2026/10/19 21:50
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class WordInternerStats {
+
+	/**
+	 * 池中存活的不同词数
+	 */
+	private final long distinct;
+
+	/**
+	 * 规范化的词数，即各词典引用的词数
+	 */
+	private final long referenced;
+
+	/**
+	 * 复用池中已有实例的次数
+	 */
+	private final long hits;
+
+	/**
+	 * 复用已有实例节省的估算字节数
+	 */
+	private final long savedBytes;
+
+	public double hitRate() {
+		return this.referenced == 0 ? 0 : (double) this.hits / this.referenced;
+	}
+}
@@ -15,6 +15,9 @@ CREATE TABLE `ik_dict_state` (
   `id` int(10) unsigned NOT NULL AUTO_INCREMENT,
   `domain` varchar(100) NOT NULL COMMENT '所属领域',
   `state` varchar(10) NOT NULL COMMENT 'newly有更新non-newly无更新',
+  `version` bigint(20) unsigned NOT NULL DEFAULT 0 COMMENT '词库版本',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `committed_at` bigint(20) unsigned NOT NULL DEFAULT 0 COMMENT '最近一次写入的提交时间，单位ms',
   PRIMARY KEY (`id`) USING BTREE,
   UNIQUE KEY `domain` (`domain`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -29,8 +32,40 @@ CREATE TABLE `ik_words` (
   `word_type` tinyint(4) unsigned NOT NULL COMMENT 'word类型，1主词库，2stop词库',
   `domain` varchar(100) NOT NULL COMMENT '所属领域',
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `word_hash` binary(20) GENERATED ALWAYS AS (UNHEX(SHA1(`word`))) VIRTUAL COMMENT 'word的sha1，用于唯一索引',
+  `weight` int(10) NOT NULL DEFAULT 0 COMMENT '权重，超出预算时按权重从高到低加载',
   PRIMARY KEY (`id`),
-  KEY `domain` (`domain`) USING BTREE
+  UNIQUE KEY `uk_domain_type_word` (`domain`, `word_type`, `word_hash`),
+  KEY `idx_domain_type_id_word` (`domain`, `word_type`, `id`, `word`),
+  KEY `idx_domain_type_weight_id_word` (`domain`, `word_type`, `weight`, `id`, `word`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- ----------------------------
+-- Table structure for ik_dict_snapshot
+-- 开启 snapshot 时由后台生成，快照之后新增的词仍从 ik_words 按id读取
+-- ----------------------------
+DROP TABLE IF EXISTS `ik_dict_snapshot`;
+CREATE TABLE `ik_dict_snapshot` (
+  `domain` varchar(100) NOT NULL COMMENT '所属领域',
+  `word_type` tinyint(4) unsigned NOT NULL COMMENT 'word类型，1主词库，2stop词库',
+  `max_id` bigint(20) unsigned NOT NULL COMMENT '快照包含的最大词id',
+  `words` int(10) unsigned NOT NULL COMMENT '快照词数',
+  `snapshot` longblob NOT NULL COMMENT 'DictionarySnapshotCodec编码的词库',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`domain`, `word_type`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- ----------------------------
+-- Table structure for ik_schema_version
+-- 已有的表可配置 schema-migration: migrate 在线迁移
+-- ----------------------------
+DROP TABLE IF EXISTS `ik_schema_version`;
+CREATE TABLE `ik_schema_version` (
+  `version` int(10) unsigned NOT NULL,
+  `description` varchar(200) NOT NULL,
+  `installed_on` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`version`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+INSERT INTO `ik_schema_version`(`version`, `description`) VALUES (1, 'baseline'), (2, 'covering index, unique word hash and state version'), (3, 'word weight'), (4, 'state commit time'), (5, 'dictionary snapshot');
+
 SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.codec;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * TestDictionaryBinaryCodec
+ *
+ * @author Qicz
+ * @since 2026/10/19 16:40
+ */
+public class TestDictionaryBinaryCodec {
+
+	@Test
+	public void roundTrip() throws IOException {
+		Set<String> words = new HashSet<>(Arrays.asList("中华", "中华人民", "中华人民共和国", "redip", "redis", "", "emoji😀"));
+		for (int i = 0; i < 1000; i++) {
+			words.add("word" + i);
+		}
+		Assert.assertEquals(words, DictionaryBinaryCodec.decode(DictionaryBinaryCodec.encode(words)));
+		Assert.assertEquals(words, DictionaryBinaryCodec.decode(new ByteArrayInputStream(DictionaryBinaryCodec.encode(words, true))));
+		Assert.assertEquals(Collections.emptySet(), DictionaryBinaryCodec.decode(DictionaryBinaryCodec.encode(Collections.emptyList())));
+	}
+
+	@Test(expected = IOException.class)
+	public void corrupted() throws IOException {
+		byte[] bytes = DictionaryBinaryCodec.encode(Arrays.asList("中华", "中华人民"));
+		bytes[bytes.length - 6] ^= 0x01;
+		DictionaryBinaryCodec.decode(bytes);
+	}
+
+	@Test
+	public void snapshot() throws IOException {
+		List<String> words = Arrays.asList("中华", "中华人民", "redip", "redip");
+		byte[] bytes = DictionarySnapshotCodec.encode(1634630400123.0, words);
+		DictionarySnapshotCodec.Header header = DictionarySnapshotCodec.header(Arrays.copyOf(bytes, DictionarySnapshotCodec.HEADER_LENGTH));
+		Assert.assertEquals(1634630400123.0, header.getWatermark(), 0);
+		Assert.assertEquals(3, header.getWords());
+		DictionarySnapshotCodec.Snapshot snapshot = DictionarySnapshotCodec.decode(bytes);
+		Assert.assertEquals(new HashSet<>(words), snapshot.getContent());
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.IDictionary;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * CapturingDictionary
+ *
+ * 记录词源交付的测试词典，按词典类型保存词库，增量的新增、删除均生效
+ *
+ * @author Qicz
+ * @since 2026/10/20 09:40
+ */
+final class CapturingDictionary implements IDictionary {
+
+	private final Map<DictionaryType, Set<String>> words = new EnumMap<>(DictionaryType.class);
+
+	private final List<DictionaryDelta> deltas = new ArrayList<>();
+
+	private int fullDeliveries;
+
+	synchronized Set<String> words(DictionaryType dictionaryType) {
+		return new HashSet<>(this.words.getOrDefault(dictionaryType, Collections.emptySet()));
+	}
+
+	synchronized boolean contains(DictionaryType dictionaryType, String word) {
+		return this.words.getOrDefault(dictionaryType, Collections.emptySet()).contains(word);
+	}
+
+	synchronized int fullDeliveries() {
+		return this.fullDeliveries;
+	}
+
+	synchronized List<DictionaryDelta> deltas() {
+		return new ArrayList<>(this.deltas);
+	}
+
+	/**
+	 * 各次增量新增的词
+	 */
+	synchronized List<Set<String>> added() {
+		return this.deltas.stream().map(delta -> new HashSet<>(delta.getAdded())).collect(Collectors.toList());
+	}
+
+	/**
+	 * 各次增量删除的词
+	 */
+	synchronized List<Set<String>> removed() {
+		return this.deltas.stream().map(delta -> new HashSet<>(delta.getRemoved())).collect(Collectors.toList());
+	}
+
+	@Override
+	public void reload(DictionaryType dictionaryType) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public synchronized boolean reload(DictionaryType dictionaryType, Set<String> words) {
+		this.fullDeliveries++;
+		this.words.put(dictionaryType, new HashSet<>(words));
+		return true;
+	}
+
+	@Override
+	public synchronized boolean apply(DictionaryDelta delta) {
+		this.deltas.add(delta);
+		Set<String> current = this.words.computeIfAbsent(delta.getDictionaryKey().getDictionaryType(), k -> new HashSet<>());
+		current.addAll(delta.getAdded());
+		current.removeAll(delta.getRemoved());
+		return true;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TestCircuitBreaker
+ *
+ * @author Qicz
+ * @since 2026/10/19 22:10
+ */
+public class TestCircuitBreaker {
+
+	@Test
+	public void opensAfterThresholdAndClosesAfterProbe() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, 50, 1);
+		Assert.assertTrue(breaker.tryAcquire());
+		breaker.onFailure();
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		breaker.onFailure();
+		Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		Assert.assertFalse(breaker.tryAcquire());
+
+		Thread.sleep(80);
+		// 熔断期满进入半开状态，只允许配置数量的探测
+		Assert.assertTrue(breaker.tryAcquire());
+		Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		Assert.assertFalse(breaker.tryAcquire());
+		breaker.onSuccess();
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		Assert.assertTrue(breaker.tryAcquire());
+	}
+
+	@Test
+	public void failedProbeReopens() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, 50, 1);
+		breaker.onFailure();
+		Thread.sleep(80);
+		Assert.assertTrue(breaker.tryAcquire());
+		breaker.onFailure();
+		Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		Assert.assertTrue(breaker.remainingOpenMillis() > 0);
+		Assert.assertFalse(breaker.tryAcquire());
+	}
+
+	@Test
+	public void releaseReturnsProbe() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, 50, 1);
+		breaker.onFailure();
+		Thread.sleep(80);
+		Assert.assertTrue(breaker.tryAcquire());
+		breaker.release();
+		Assert.assertTrue(breaker.tryAcquire());
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * TestCompositeRemoteDictionary
+ *
+ * @author Qicz
+ * @since 2026/10/20 09:20
+ */
+public class TestCompositeRemoteDictionary {
+
+	private final Map<String, AbstractRemoteDictionary> members = new HashMap<>();
+
+	private final CompositeRemoteDictionary compositeRemoteDictionary;
+
+	public TestCompositeRemoteDictionary() {
+		this.members.put("a", new StaticRemoteDictionary("a", "redip", "alpha"));
+		this.members.put("b", new StaticRemoteDictionary("b", "redip", "beta"));
+		this.compositeRemoteDictionary = new CompositeRemoteDictionary(new RemoteConfiguration(), this.members);
+	}
+
+	@Test
+	public void keysCarryNormalizedQuery() {
+		DictionaryKey first = DictionaryKey.of(DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=a,b&stopOverrides=true"));
+		DictionaryKey reordered = DictionaryKey.of(DictionaryType.MAIN_WORDS, URI.create("composite://user?stopOverrides=true&sources=a,b"));
+		DictionaryKey other = DictionaryKey.of(DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=a"));
+		Assert.assertEquals(first, reordered);
+		Assert.assertNotEquals(first, other);
+		Assert.assertEquals(URI.create("composite://user?sources=a,b&stopOverrides=true"), first.toUri());
+		Assert.assertEquals(first.getQuery(), first.withDictionaryType(DictionaryType.STOP_WORDS).getQuery());
+	}
+
+	@Test
+	public void queriesDoNotShareCachedWords() {
+		RemoteConfiguration.Cache cache = new RemoteConfiguration.Cache();
+		cache.setEnabled(true);
+		RemoteDictionaryGuard guard = new RemoteDictionaryGuard(new RemoteConfiguration.Breaker(), new WordsCache(cache), new FreshnessTracker());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "alpha")),
+				guard.getRemoteWords(this.compositeRemoteDictionary, DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=a")));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "beta")),
+				guard.getRemoteWords(this.compositeRemoteDictionary, DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=b")));
+	}
+
+	@Test
+	public void batchKeepsSources() {
+		RemoteDictionaryGuard guard = new RemoteDictionaryGuard(new RemoteConfiguration.Breaker(), new WordsCache(new RemoteConfiguration.Cache()), new FreshnessTracker());
+		DictionaryKey a = DictionaryKey.of(DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=a"));
+		DictionaryKey ab = DictionaryKey.of(DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=a,b"));
+		Map<DictionaryKey, Set<String>> words = guard.getRemoteWords(this.compositeRemoteDictionary, Arrays.asList(a, ab));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "alpha")), words.get(a));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "alpha", "beta")), words.get(ab));
+	}
+
+	@Test
+	public void sourceRemovalsReachDictionary() {
+		CapturingDictionary dictionary = new CapturingDictionary();
+		URI domainUri = URI.create("composite://user?sources=a,b");
+		this.compositeRemoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, domainUri);
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "alpha", "beta")), dictionary.words(DictionaryType.MAIN_WORDS));
+
+		// 成员词源删除的词只在没有其他成员提供时从组合词库删除
+		StaticRemoteDictionary a = (StaticRemoteDictionary) this.members.get("a");
+		a.consumer.apply(DictionaryDelta.of(DictionaryKey.of("a", DictionaryType.MAIN_WORDS, "user"),
+				Collections.singleton("gamma"), new HashSet<>(Arrays.asList("redip", "alpha"))));
+		Assert.assertEquals(Collections.singletonList(Collections.singleton("alpha")), dictionary.removed());
+		Assert.assertEquals(Collections.singletonList(Collections.singleton("gamma")), dictionary.added());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "beta", "gamma")), dictionary.words(DictionaryType.MAIN_WORDS));
+	}
+
+	@Test
+	public void everyDictionaryReceivesComposite() {
+		CapturingDictionary first = new CapturingDictionary();
+		CapturingDictionary second = new CapturingDictionary();
+		URI domainUri = URI.create("composite://user?sources=a,b");
+		this.compositeRemoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, domainUri);
+		// 成员词源已向组合词库交付过，不再交付，后加入的词典仍获得组合词库
+		this.compositeRemoteDictionary.reloadDictionary(second, DictionaryType.MAIN_WORDS, domainUri);
+		Set<String> merged = new HashSet<>(Arrays.asList("redip", "alpha", "beta"));
+		Assert.assertEquals(merged, first.words(DictionaryType.MAIN_WORDS));
+		Assert.assertEquals(merged, second.words(DictionaryType.MAIN_WORDS));
+		Assert.assertEquals(1, first.fullDeliveries());
+		Assert.assertEquals(1, second.fullDeliveries());
+
+		// 成员词源的异步变化交付给每个词典
+		StaticRemoteDictionary b = (StaticRemoteDictionary) this.members.get("b");
+		b.consumer.apply(DictionaryDelta.added(DictionaryKey.of("b", DictionaryType.MAIN_WORDS, "user"), Collections.singleton("gamma")));
+		for (CapturingDictionary dictionary : Arrays.asList(first, second)) {
+			Assert.assertTrue(dictionary.contains(DictionaryType.MAIN_WORDS, "gamma"));
+			Assert.assertEquals(Collections.singletonList(Collections.singleton("gamma")), dictionary.added());
+		}
+	}
+
+	@Test
+	public void stopWordsOverrideMainWords() {
+		StaticRemoteDictionary b = (StaticRemoteDictionary) this.members.get("b");
+		b.words.put(DictionaryType.STOP_WORDS, new HashSet<>(Collections.singleton("alpha")));
+		URI overridden = URI.create("composite://user?sources=a,b&stopOverrides=true");
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "beta")), this.compositeRemoteDictionary.getRemoteWords(DictionaryType.MAIN_WORDS, overridden));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "alpha", "beta")),
+				this.compositeRemoteDictionary.getRemoteWords(DictionaryType.MAIN_WORDS, URI.create("composite://user?sources=a,b")));
+
+		CapturingDictionary main = new CapturingDictionary();
+		CapturingDictionary stop = new CapturingDictionary();
+		this.compositeRemoteDictionary.reloadDictionary(main, DictionaryType.MAIN_WORDS, overridden);
+		this.compositeRemoteDictionary.reloadDictionary(stop, DictionaryType.STOP_WORDS, URI.create("composite://user?sources=a,b&stopOverrides=true"));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "beta")), main.words(DictionaryType.MAIN_WORDS));
+		Assert.assertEquals(Collections.singleton("alpha"), stop.words(DictionaryType.STOP_WORDS));
+
+		// stop词变化时主词库随之重新合并
+		b.consumer.apply(DictionaryDelta.added(DictionaryKey.of("b", DictionaryType.STOP_WORDS, "user"), Collections.singleton("beta")));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("alpha", "beta")), stop.words(DictionaryType.STOP_WORDS));
+		Assert.assertEquals(Collections.singleton("redip"), main.words(DictionaryType.MAIN_WORDS));
+		Assert.assertEquals(Collections.singletonList(Collections.singleton("beta")), main.removed());
+	}
+
+	static class StaticRemoteDictionary extends AbstractRemoteDictionary {
+
+		private final String etymology;
+
+		final Map<DictionaryType, Set<String>> words = new EnumMap<>(DictionaryType.class);
+
+		volatile IDictionary consumer;
+
+		private final Set<IDictionary> delivered = Collections.synchronizedSet(new HashSet<>());
+
+		StaticRemoteDictionary(String etymology, String... mainWords) {
+			super(new RemoteConfiguration());
+			this.etymology = etymology;
+			this.words.put(DictionaryType.MAIN_WORDS, new HashSet<>(Arrays.asList(mainWords)));
+		}
+
+		@Override
+		public Set<String> getRemoteWords(DictionaryType dictionaryType, String etymology, String domain) {
+			return new HashSet<>(this.words.getOrDefault(dictionaryType, Collections.emptySet()));
+		}
+
+		@Override
+		protected void reloadDictionary(IDictionary dictionary, DictionaryType dictionaryType, String domain) {
+			this.consumer = dictionary;
+			// 与各词源一致，已交付且无变化时不再交付
+			if (!this.delivered.add(dictionary)) {
+				return;
+			}
+			dictionary.reload(dictionaryType, this.getRemoteWords(dictionaryType, this.etymology, domain));
+		}
+
+		@Override
+		protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
+			return false;
+		}
+
+		@Override
+		protected void closeResource() {
+
+		}
+
+		@Override
+		protected String etymology() {
+			return this.etymology;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * TestFileRemoteDictionary
+ *
+ * @author Qicz
+ * @since 2026/10/19 23:40
+ */
+public class TestFileRemoteDictionary {
+
+	private Path directory;
+
+	private Path mainFile;
+
+	private FileRemoteDictionary remoteDictionary;
+
+	@Before
+	public void setUp() throws IOException {
+		this.directory = Files.createTempDirectory("redip-file");
+		this.mainFile = this.directory.resolve("main.dic");
+		Files.write(this.mainFile, "seed\n".getBytes(StandardCharsets.UTF_8));
+		this.remoteDictionary = new FileRemoteDictionary(new RemoteConfiguration(),
+				Collections.singletonList(this.mainFile), Collections.emptyList());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		this.remoteDictionary.closeResource();
+		Files.deleteIfExists(this.mainFile);
+		Files.deleteIfExists(this.directory);
+	}
+
+	@Test
+	public void everyDictionaryReceivesAppends() throws IOException {
+		CapturingDictionary first = new CapturingDictionary();
+		CapturingDictionary second = new CapturingDictionary();
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, "first");
+		this.remoteDictionary.reloadDictionary(second, DictionaryType.MAIN_WORDS, "second");
+		Assert.assertEquals(Collections.singleton("seed"), first.words(DictionaryType.MAIN_WORDS));
+		Assert.assertEquals(Collections.singleton("seed"), second.words(DictionaryType.MAIN_WORDS));
+
+		this.append("appended\n");
+		// 第一个词典交付后，第二个词典仍能检测到变化
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, "first");
+		this.remoteDictionary.reloadDictionary(second, DictionaryType.MAIN_WORDS, "second");
+		for (CapturingDictionary dictionary : Arrays.asList(first, second)) {
+			Assert.assertEquals(new HashSet<>(Arrays.asList("seed", "appended")), dictionary.words(DictionaryType.MAIN_WORDS));
+			Assert.assertEquals(1, dictionary.fullDeliveries());
+			Assert.assertEquals(Collections.singletonList(Collections.singleton("appended")), dictionary.added());
+		}
+
+		// 没有变化时不再交付
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, "first");
+		Assert.assertEquals(1, first.deltas().size());
+	}
+
+	@Test
+	public void watcherNotifiesEveryDictionary() throws Exception {
+		CapturingDictionary first = new CapturingDictionary();
+		CapturingDictionary second = new CapturingDictionary();
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, "first");
+		this.remoteDictionary.reloadDictionary(second, DictionaryType.MAIN_WORDS, "second");
+
+		this.append("watched\n");
+		long deadline = System.currentTimeMillis() + 20_000;
+		while ((!first.contains(DictionaryType.MAIN_WORDS, "watched") || !second.contains(DictionaryType.MAIN_WORDS, "watched")) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		Assert.assertTrue(first.contains(DictionaryType.MAIN_WORDS, "watched"));
+		Assert.assertTrue(second.contains(DictionaryType.MAIN_WORDS, "watched"));
+	}
+
+	private void append(String lines) throws IOException {
+		// 保证修改时间变化
+		Files.write(this.mainFile, lines.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		Files.setLastModifiedTime(this.mainFile, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+	}
+}
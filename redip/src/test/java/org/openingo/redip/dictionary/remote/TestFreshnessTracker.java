@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryKey;
+
+/**
+ * TestFreshnessTracker
+ *
+ * @author Qicz
+ * @since 2026/10/20 11:30
+ */
+public class TestFreshnessTracker {
+
+	private static final DictionaryKey KEY = DictionaryKey.of("mysql", DictionaryType.MAIN_WORDS, "freshness");
+
+	@Test
+	public void parseCommitStamp() {
+		Assert.assertEquals(CommitStamp.of(3, 1634630400123L), CommitStamp.parse(" 3:1634630400123 "));
+		Assert.assertEquals("3:1634630400123", CommitStamp.of(3, 1634630400123L).toString());
+		// 没有提交时间或格式不正确
+		Assert.assertNull(CommitStamp.parse("3:0"));
+		Assert.assertNull(CommitStamp.parse(":1634630400123"));
+		Assert.assertNull(CommitStamp.parse("3"));
+		Assert.assertNull(CommitStamp.parse("v3:now"));
+		Assert.assertNull(CommitStamp.parse(null));
+	}
+
+	@Test
+	public void appliedRecordsLatestObservedWrite() {
+		FreshnessTracker tracker = new FreshnessTracker();
+		// 没有检测到写入时生效不记录
+		tracker.applied(KEY);
+		Assert.assertTrue(tracker.stats().isEmpty());
+
+		long now = SystemClockKit.now();
+		tracker.observed(KEY, CommitStamp.of(1, now - 200));
+		tracker.observed(KEY, CommitStamp.of(2, now - 100));
+		tracker.observed(KEY, CommitStamp.of(1, now - 200));
+		FreshnessStats pending = tracker.stats().get(KEY);
+		Assert.assertEquals(0, pending.getCount());
+		Assert.assertTrue(pending.getStalenessMillis() >= 100);
+
+		tracker.applied(KEY);
+		FreshnessStats stats = tracker.stats().get(KEY);
+		Assert.assertEquals(1, stats.getCount());
+		Assert.assertEquals(2, stats.getAppliedVersion());
+		Assert.assertEquals(now - 100, stats.getAppliedCommittedAt());
+		Assert.assertEquals(0, stats.getStalenessMillis());
+		Assert.assertTrue(stats.getMaxMillis() >= 100);
+		Assert.assertEquals(stats.getMaxMillis(), stats.percentile(0.99));
+
+		// 已生效的版本再次检测到时不重复记录
+		tracker.observed(KEY, CommitStamp.of(2, now - 100));
+		tracker.applied(KEY);
+		Assert.assertEquals(1, tracker.stats().get(KEY).getCount());
+	}
+
+	@Test
+	public void stampWithoutCommitTimeIsIgnored() {
+		FreshnessTracker tracker = new FreshnessTracker();
+		tracker.observed(KEY, null);
+		tracker.applied(KEY);
+		Assert.assertTrue(tracker.stats().isEmpty());
+	}
+}
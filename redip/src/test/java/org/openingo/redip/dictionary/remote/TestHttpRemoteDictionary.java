@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openingo.redip.configuration.RedipConfigurationProperties;
+import org.openingo.redip.constants.DictionaryType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * TestHttpRemoteDictionary
+ *
+ * @author Qicz
+ * @since 2026/10/20 10:10
+ */
+public class TestHttpRemoteDictionary {
+
+	private HttpServer server;
+
+	private URI domainUri;
+
+	/**
+	 * 服务端忽略If-None-Match及Prefer: wait，总是立即返回200
+	 */
+	private volatile String eTag = "\"v1\"";
+
+	private volatile String words = "redip\n";
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private HttpRemoteDictionary remoteDictionary;
+
+	@Before
+	public void setUp() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/words.dic", this::handle);
+		this.server.start();
+		this.domainUri = URI.create(String.format("http:http://127.0.0.1:%d/words.dic", this.server.getAddress().getPort()));
+	}
+
+	@After
+	public void tearDown() {
+		if (this.remoteDictionary != null) {
+			this.remoteDictionary.closeResource();
+		}
+		this.server.stop(0);
+	}
+
+	@Test
+	public void headPollingTracksEveryDictionary() {
+		this.remoteDictionary = new HttpRemoteDictionary(new RedipConfigurationProperties.Remote());
+		CapturingDictionary first = new CapturingDictionary();
+		CapturingDictionary second = new CapturingDictionary();
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, this.domainUri);
+		// 第一个词典记录的ETag不影响第二个词典
+		this.remoteDictionary.reloadDictionary(second, DictionaryType.MAIN_WORDS, this.domainUri);
+		Assert.assertEquals(Collections.singleton("redip"), first.words(DictionaryType.MAIN_WORDS));
+		Assert.assertEquals(Collections.singleton("redip"), second.words(DictionaryType.MAIN_WORDS));
+
+		// ETag未变化时不再交付
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, this.domainUri);
+		Assert.assertEquals(1, first.fullDeliveries());
+	}
+
+	@Test
+	public void longPollFeedsEveryDictionaryAndBacksOff() throws InterruptedException {
+		RedipConfigurationProperties.Remote remote = new RedipConfigurationProperties.Remote();
+		remote.http().setLongPoll(true);
+		remote.http().setLongPollTimeout(2);
+		this.remoteDictionary = new HttpRemoteDictionary(remote);
+		CapturingDictionary first = new CapturingDictionary();
+		CapturingDictionary second = new CapturingDictionary();
+		this.remoteDictionary.reloadDictionary(first, DictionaryType.MAIN_WORDS, this.domainUri);
+		Assert.assertTrue(this.await(() -> first.contains(DictionaryType.MAIN_WORDS, "redip")));
+		// 长轮询已获取过词库，后加入的词典直接获得当前词库
+		this.remoteDictionary.reloadDictionary(second, DictionaryType.MAIN_WORDS, this.domainUri);
+		Assert.assertTrue(second.contains(DictionaryType.MAIN_WORDS, "redip"));
+
+		// 立即返回的200同样按等待时间间隔轮询，ETag未变化时不再交付
+		Thread.sleep(1000);
+		Assert.assertTrue(this.requests.get() <= 2);
+		Assert.assertEquals(1, first.fullDeliveries());
+
+		this.words = "redip\nchanged\n";
+		this.eTag = "\"v2\"";
+		Assert.assertTrue(this.await(() -> first.contains(DictionaryType.MAIN_WORDS, "changed")
+				&& second.contains(DictionaryType.MAIN_WORDS, "changed")));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("redip", "changed")), second.words(DictionaryType.MAIN_WORDS));
+	}
+
+	private boolean await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		return condition.getAsBoolean();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		this.requests.incrementAndGet();
+		byte[] body = this.words.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("ETag", this.eTag);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+		if ("HEAD".equals(exchange.getRequestMethod())) {
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+			return;
+		}
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(body);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * TestJdbcDataSources
+ *
+ * @author Qicz
+ * @since 2026/10/19 23:55
+ */
+public class TestJdbcDataSources {
+
+	private JdbcDataSources dataSources;
+
+	@After
+	public void tearDown() {
+		if (this.dataSources != null) {
+			this.dataSources.close();
+		}
+	}
+
+	@Test
+	public void readsOwnWritesFromPrimary() {
+		this.dataSources = this.dataSources(5);
+		Assert.assertNotSame(this.dataSources.primary(), this.dataSources.reader(Collections.singleton("written")));
+		this.dataSources.written("written");
+		// 刚写入的领域读主库，其他领域仍读副本
+		Assert.assertSame(this.dataSources.primary(), this.dataSources.reader(Collections.singleton("written")));
+		Assert.assertSame(this.dataSources.primary(), this.dataSources.reader(Arrays.asList("other", "written")));
+		Assert.assertNotSame(this.dataSources.primary(), this.dataSources.reader(Collections.singleton("other")));
+	}
+
+	@Test
+	public void readsReplicaWithoutReadYourWrites() {
+		this.dataSources = this.dataSources(0);
+		this.dataSources.written("written");
+		Assert.assertNotSame(this.dataSources.primary(), this.dataSources.reader(Collections.singleton("written")));
+	}
+
+	@Test
+	public void fallsBackToPrimaryWhenReplicaFailed() {
+		this.dataSources = this.dataSources(5);
+		this.dataSources.failed(this.dataSources.reader(Collections.singleton("domain")));
+		Assert.assertSame(this.dataSources.primary(), this.dataSources.reader(Collections.singleton("domain")));
+	}
+
+	private JdbcDataSources dataSources(int readYourWrites) {
+		long id = System.nanoTime();
+		RemoteConfiguration.Jdbc jdbc = new RemoteConfiguration.Jdbc();
+		jdbc.setUrl(String.format("jdbc:h2:mem:redip-primary-%s;DB_CLOSE_DELAY=-1", id));
+		jdbc.setReplicas(Collections.singletonList(String.format("jdbc:h2:mem:redip-replica-%s;DB_CLOSE_DELAY=-1", id)));
+		jdbc.setUsername("sa");
+		jdbc.setReadYourWrites(readYourWrites);
+		jdbc.getPool().setMinimumIdle(0);
+		return new JdbcDataSources(jdbc, JdbcDialect.of(null, jdbc.getUrl()));
+	}
+}
@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openingo.jdkits.sys.SystemClockKit;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.CommitStamp;
+import org.openingo.redip.dictionary.DictionaryDelta;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * TestJdbcRemoteDictionary
+ *
+ * @author Qicz
+ * @since 2026/10/20 00:05
+ */
+public class TestJdbcRemoteDictionary {
+
+	private static final String DOMAIN = "h2";
+
+	private String url;
+
+	private final List<JdbcRemoteDictionary> remoteDictionaries = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		this.url = String.format("jdbc:h2:mem:redip-jdbc-%s;DB_CLOSE_DELAY=-1", System.nanoTime());
+	}
+
+	@After
+	public void tearDown() {
+		this.remoteDictionaries.forEach(JdbcRemoteDictionary::closeResource);
+	}
+
+	@Test
+	public void addWordBumpsVersion() {
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(this.remoteConfiguration());
+		String version = remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertTrue(remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "first", "second"));
+		String added = remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertNotEquals(version, added);
+		// 重复的词不改变词库
+		Assert.assertTrue(remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "first"));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+	}
+
+	@Test
+	public void addWordRecordsCommitStamp() {
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(this.remoteConfiguration());
+		long before = SystemClockKit.now();
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "first");
+		CommitStamp first = remoteDictionary.commitStamp(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertTrue(first.getCommittedAt() >= before);
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "second");
+		CommitStamp second = remoteDictionary.commitStamp(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(first.getVersion() + 1, second.getVersion());
+		Assert.assertTrue(second.getCommittedAt() >= first.getCommittedAt());
+	}
+
+	@Test
+	public void parallelReadMatchesSequentialRead() throws SQLException {
+		JdbcRemoteDictionary sequential = this.remoteDictionary(this.remoteConfiguration());
+		this.addWords(sequential, 100);
+		// 删除部分词，使id范围存在空洞
+		this.execute("DELETE FROM ik_words WHERE MOD(id, 5) = 0");
+		RemoteConfiguration remoteConfiguration = this.remoteConfiguration();
+		remoteConfiguration.getJdbc().setReadParallelism(4);
+		remoteConfiguration.getJdbc().setParallelReadThreshold(1);
+		remoteConfiguration.getJdbc().setReadChunkSize(7);
+		remoteConfiguration.getJdbc().getPool().setMaximumPoolSize(8);
+		JdbcRemoteDictionary parallel = this.remoteDictionary(remoteConfiguration);
+		Set<String> words = sequential.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(80, words.size());
+		Assert.assertEquals(words, parallel.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+	}
+
+	@Test
+	public void batchReadGroupsDictionaries() {
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(this.remoteConfiguration());
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "main");
+		remoteDictionary.addWord(DictionaryType.STOP_WORDS, DOMAIN, "stop");
+		DictionaryKey mainKey = DictionaryKey.of(remoteDictionary.etymology(), DictionaryType.MAIN_WORDS, DOMAIN);
+		DictionaryKey stopKey = DictionaryKey.of(remoteDictionary.etymology(), DictionaryType.STOP_WORDS, DOMAIN);
+		DictionaryKey emptyKey = DictionaryKey.of(remoteDictionary.etymology(), DictionaryType.MAIN_WORDS, "empty");
+		Map<DictionaryKey, Set<String>> remoteWords = remoteDictionary.getRemoteWords(Arrays.asList(mainKey, stopKey, emptyKey));
+		Assert.assertEquals(Collections.singleton("main"), remoteWords.get(mainKey));
+		Assert.assertEquals(Collections.singleton("stop"), remoteWords.get(stopKey));
+		Assert.assertTrue(remoteWords.get(emptyKey).isEmpty());
+	}
+
+	@Test
+	public void snapshotWithDeltaAndRemovalFallback() throws SQLException {
+		RemoteConfiguration remoteConfiguration = this.remoteConfiguration();
+		remoteConfiguration.getSnapshot().setEnabled(true);
+		remoteConfiguration.getSnapshot().setMinWords(1);
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(remoteConfiguration);
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "a", "b", "c");
+		Assert.assertTrue(remoteDictionary.compact(DictionaryType.MAIN_WORDS, DOMAIN));
+		Assert.assertFalse(remoteDictionary.compact(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 原地修改词不改变词数与id，读到的仍是快照中的词，证明读取了快照
+		this.execute("UPDATE ik_words SET word = 'renamed' WHERE word = 'a'");
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "d");
+		Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d")), remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 快照之后删除了词，回退为读取词库
+		this.execute("DELETE FROM ik_words WHERE word = 'b'");
+		Assert.assertEquals(new HashSet<>(Arrays.asList("renamed", "c", "d")), remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 删除使快照失效，重新生成
+		Assert.assertTrue(remoteDictionary.compact(DictionaryType.MAIN_WORDS, DOMAIN));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("renamed", "c", "d")), remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+	}
+
+	@Test
+	public void reloadDeliversDeltaUntilWordsRemoved() throws SQLException {
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(this.remoteConfiguration());
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed");
+		CapturingDictionary dictionary = new CapturingDictionary();
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(1, dictionary.fullDeliveries());
+		// 版本未变化时不交付
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(1, dictionary.fullDeliveries());
+		Assert.assertTrue(dictionary.deltas().isEmpty());
+
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "added");
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(1, dictionary.fullDeliveries());
+		Assert.assertEquals(Collections.singletonList(Collections.singleton("added")), dictionary.added());
+
+		// 删除一个词同时新增一个词，水位之后的新增词看似完整，词数校验发现删除后回退为全量交付
+		this.execute("DELETE FROM ik_words WHERE word = 'seed'");
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "replaced");
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(2, dictionary.fullDeliveries());
+		Assert.assertEquals(1, dictionary.deltas().size());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("added", "replaced")), dictionary.words(DictionaryType.MAIN_WORDS));
+	}
+
+	@Test
+	public void weightedWordsBumpVersionAndRankWithinBudget() {
+		RemoteConfiguration remoteConfiguration = this.remoteConfiguration();
+		remoteConfiguration.getBudget().setMaxWords(2L);
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(remoteConfiguration);
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "low", "middle", "high");
+		String version = remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Map<String, Integer> weights = new HashMap<>();
+		weights.put("high", 30);
+		weights.put("middle", 20);
+		// 只修改已存在的词的权重也递增版本
+		Assert.assertTrue(remoteDictionary.addWeightedWord(DictionaryType.MAIN_WORDS, DOMAIN, weights));
+		String weighted = remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertNotEquals(version, weighted);
+		Assert.assertEquals(new HashSet<>(Arrays.asList("high", "middle")), remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 权重不变时不改变版本
+		Assert.assertTrue(remoteDictionary.addWeightedWord(DictionaryType.MAIN_WORDS, DOMAIN, weights));
+		Assert.assertEquals(weighted, remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		// 新词带权重写入
+		Assert.assertTrue(remoteDictionary.addWeightedWord(DictionaryType.MAIN_WORDS, DOMAIN, Collections.singletonMap("top", 40)));
+		Assert.assertNotEquals(weighted, remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("top", "high")), remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN));
+	}
+
+	@Test
+	public void addWordFailsWhenDialectRequiresLatestSchema() throws SQLException {
+		this.remoteDictionary(this.remoteConfiguration());
+		// 回退到没有committed_at记录的schema版本3
+		this.execute("DELETE FROM ik_schema_version WHERE version > 3");
+		JdbcDialect h2 = JdbcDialect.of("h2", this.url);
+		JdbcDialect.register(new JdbcDialect() {
+			@Override
+			public String getName() {
+				return "latest-only-h2";
+			}
+
+			@Override
+			public String getDriverClassName() {
+				return h2.getDriverClassName();
+			}
+
+			@Override
+			public String insertWordsSql() {
+				return h2.insertWordsSql();
+			}
+
+			@Override
+			public String upsertStateSql() {
+				return h2.upsertStateSql();
+			}
+		});
+		RemoteConfiguration remoteConfiguration = this.remoteConfiguration();
+		remoteConfiguration.getJdbc().setDialect("latest-only-h2");
+		remoteConfiguration.getJdbc().setSchemaMigration("validate");
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(remoteConfiguration);
+		Assert.assertFalse(remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "word"));
+		Assert.assertTrue(remoteDictionary.readRemoteWords(DictionaryType.MAIN_WORDS, DOMAIN).isEmpty());
+	}
+
+	@Test
+	public void reloadFallsBackForDictionaryWithoutDelta() {
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(this.remoteConfiguration());
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "seed");
+		// 只实现reload(dictionaryType)的词典，不支持携带词库及增量
+		List<DictionaryType> reloads = new ArrayList<>();
+		IDictionary dictionary = reloads::add;
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(Collections.singletonList(DictionaryType.MAIN_WORDS), reloads);
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, "added");
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(2, reloads.size());
+		remoteDictionary.reloadDictionary(dictionary, DictionaryType.MAIN_WORDS, DOMAIN);
+		Assert.assertEquals(2, reloads.size());
+	}
+
+	@Test
+	public void emptyDeltaIsNotApplied() {
+		JdbcRemoteDictionary remoteDictionary = this.remoteDictionary(this.remoteConfiguration());
+		CapturingDictionary dictionary = new CapturingDictionary();
+		DictionaryKey dictionaryKey = DictionaryKey.of(remoteDictionary.etymology(), DictionaryType.MAIN_WORDS, DOMAIN);
+		DictionaryDelta delta = DictionaryDelta.of(dictionaryKey, new HashSet<>(), new HashSet<>());
+		Assert.assertTrue(delta.isEmpty());
+		Assert.assertTrue(remoteDictionary.deliver(dictionary, delta));
+		Assert.assertTrue(dictionary.deltas().isEmpty());
+		Assert.assertFalse(remoteDictionary.deliver(dictionary, (DictionaryDelta) null));
+		Assert.assertTrue(remoteDictionary.deliver(dictionary, DictionaryDelta.added(dictionaryKey, Collections.singleton("word"))));
+		Assert.assertTrue(dictionary.contains(DictionaryType.MAIN_WORDS, "word"));
+	}
+
+	private JdbcRemoteDictionary remoteDictionary(RemoteConfiguration remoteConfiguration) {
+		JdbcRemoteDictionary remoteDictionary = new JdbcRemoteDictionary(remoteConfiguration);
+		this.remoteDictionaries.add(remoteDictionary);
+		// 等待schema初始化完成，避免多个实例并发迁移
+		remoteDictionary.currentVersion(DictionaryType.MAIN_WORDS, DOMAIN);
+		return remoteDictionary;
+	}
+
+	private RemoteConfiguration remoteConfiguration() {
+		RemoteConfiguration remoteConfiguration = new RemoteConfiguration();
+		RemoteConfiguration.Jdbc jdbc = new RemoteConfiguration.Jdbc();
+		jdbc.setUrl(this.url);
+		jdbc.setUsername("sa");
+		jdbc.setSchemaMigration("migrate");
+		jdbc.getPool().setMinimumIdle(0);
+		remoteConfiguration.setJdbc(jdbc);
+		return remoteConfiguration;
+	}
+
+	private void addWords(JdbcRemoteDictionary remoteDictionary, int count) {
+		String[] words = new String[count];
+		for (int i = 0; i < count; i++) {
+			words[i] = String.format("word-%s", i);
+		}
+		remoteDictionary.addWord(DictionaryType.MAIN_WORDS, DOMAIN, words);
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(this.url, "sa", "");
+			 PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.execute();
+		}
+	}
+}
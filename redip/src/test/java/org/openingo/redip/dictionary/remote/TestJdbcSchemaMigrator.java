@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * TestJdbcSchemaMigrator
+ *
+ * @author Qicz
+ * @since 2026/10/19 23:50
+ */
+public class TestJdbcSchemaMigrator {
+
+	private final JdbcDialect dialect = JdbcDialect.of("h2", null);
+
+	private JdbcDataSource dataSource;
+
+	@Before
+	public void setUp() {
+		this.dataSource = new JdbcDataSource();
+		this.dataSource.setURL(String.format("jdbc:h2:mem:redip-migrator-%s;DB_CLOSE_DELAY=-1", System.nanoTime()));
+		this.dataSource.setUser("sa");
+	}
+
+	@Test
+	public void migrateCreatesLatestSchema() throws SQLException {
+		JdbcSchemaMigrator migrator = new JdbcSchemaMigrator(this.dataSource, this.dialect);
+		Assert.assertEquals(0, migrator.validate());
+		Assert.assertEquals(JdbcSchemaMigrator.LATEST_VERSION, migrator.migrate());
+		Assert.assertEquals(JdbcSchemaMigrator.LATEST_VERSION, migrator.validate());
+		// 重复迁移不会重复创建或记录
+		Assert.assertEquals(JdbcSchemaMigrator.LATEST_VERSION, migrator.migrate());
+		try (Connection connection = this.dataSource.getConnection();
+			 Statement statement = connection.createStatement();
+			 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM ik_schema_version")) {
+			resultSet.next();
+			Assert.assertEquals(JdbcSchemaMigrator.LATEST_VERSION, resultSet.getInt(1));
+		}
+	}
+
+	@Test
+	public void stateUpsertIncrementsVersion() throws SQLException {
+		new JdbcSchemaMigrator(this.dataSource, this.dialect).migrate();
+		try (Connection connection = this.dataSource.getConnection()) {
+			for (long committedAt = 1; committedAt <= 2; committedAt++) {
+				try (PreparedStatement statement = connection.prepareStatement(this.dialect.upsertStateSql())) {
+					statement.setString(1, "newly");
+					statement.setString(2, "upsert");
+					statement.setLong(3, committedAt);
+					statement.execute();
+				}
+			}
+			try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT state, version, committed_at FROM ik_dict_state WHERE domain = 'upsert'")) {
+				Assert.assertTrue(resultSet.next());
+				Assert.assertEquals("newly", resultSet.getString("state"));
+				Assert.assertEquals(2, resultSet.getLong("version"));
+				Assert.assertEquals(2, resultSet.getLong("committed_at"));
+			}
+		}
+	}
+
+	@Test
+	public void legacyStateUpsertWithoutCommitTime() throws SQLException {
+		try (Connection connection = this.dataSource.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				// schema版本4之前没有committed_at列
+				statement.execute("CREATE TABLE ik_dict_state (id bigint AUTO_INCREMENT PRIMARY KEY, domain varchar(100) NOT NULL UNIQUE, " +
+						"state varchar(10) NOT NULL, version bigint NOT NULL DEFAULT 0, update_time timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+			}
+			for (int i = 0; i < 2; i++) {
+				try (PreparedStatement statement = connection.prepareStatement(this.dialect.upsertLegacyStateSql())) {
+					statement.setString(1, "newly");
+					statement.setString(2, "legacy");
+					statement.execute();
+				}
+			}
+			try (Statement statement = connection.createStatement();
+				 ResultSet resultSet = statement.executeQuery("SELECT version FROM ik_dict_state WHERE domain = 'legacy'")) {
+				Assert.assertTrue(resultSet.next());
+				Assert.assertEquals(2, resultSet.getLong("version"));
+			}
+		}
+	}
+
+	@Test(expected = RemoteDictionaryException.class)
+	public void customDialectRefusesLegacySchema() {
+		new JdbcDialect() {
+			@Override
+			public String getName() {
+				return "custom";
+			}
+
+			@Override
+			public String insertWordsSql() {
+				return null;
+			}
+
+			@Override
+			public String upsertStateSql() {
+				return null;
+			}
+		}.upsertLegacyStateSql();
+	}
+}
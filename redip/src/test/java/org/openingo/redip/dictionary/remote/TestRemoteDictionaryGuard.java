@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryKey;
+import org.openingo.redip.dictionary.IDictionary;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestRemoteDictionaryGuard
+ *
+ * @author Qicz
+ * @since 2026/10/19 22:10
+ */
+public class TestRemoteDictionaryGuard {
+
+	private final FlakyRemoteDictionary remoteDictionary = new FlakyRemoteDictionary();
+
+	private RemoteDictionaryGuard guard;
+
+	@After
+	public void tearDown() {
+		this.remoteDictionary.failing.set(false);
+	}
+
+	@Test
+	public void servesLastGoodWordsUntilRecovered() {
+		RemoteConfiguration.Breaker breaker = new RemoteConfiguration.Breaker();
+		breaker.setFailureThreshold(2);
+		breaker.setOpenDuration(60);
+		this.guard = new RemoteDictionaryGuard(breaker, new WordsCache(new RemoteConfiguration.Cache()), new FreshnessTracker());
+		URI domainUri = URI.create("flaky://user");
+		DictionaryKey dictionaryKey = DictionaryKey.of(DictionaryType.MAIN_WORDS, domainUri);
+
+		Set<String> words = this.guard.getRemoteWords(this.remoteDictionary, DictionaryType.MAIN_WORDS, domainUri);
+		Assert.assertEquals(Collections.singleton("redip"), words);
+		Assert.assertFalse(this.guard.isStale(dictionaryKey));
+
+		this.remoteDictionary.failing.set(true);
+		for (int i = 0; i < 2; i++) {
+			Assert.assertEquals(words, this.guard.getRemoteWords(this.remoteDictionary, DictionaryType.MAIN_WORDS, domainUri));
+		}
+		Assert.assertTrue(this.guard.isStale(dictionaryKey));
+		int calls = this.remoteDictionary.calls.get();
+		// 熔断期间不再访问词源
+		Assert.assertEquals(words, this.guard.getRemoteWords(this.remoteDictionary, DictionaryType.MAIN_WORDS, domainUri));
+		Assert.assertEquals(calls, this.remoteDictionary.calls.get());
+	}
+
+	@Test
+	public void breakerIsPerDomain() {
+		RemoteConfiguration.Breaker breaker = new RemoteConfiguration.Breaker();
+		breaker.setFailureThreshold(1);
+		breaker.setOpenDuration(60);
+		this.guard = new RemoteDictionaryGuard(breaker, new WordsCache(new RemoteConfiguration.Cache()), new FreshnessTracker());
+		this.remoteDictionary.failing.set(true);
+		this.guard.getRemoteWords(this.remoteDictionary, DictionaryType.MAIN_WORDS, URI.create("flaky://user"));
+		this.remoteDictionary.failing.set(false);
+		Assert.assertEquals(Collections.singleton("redip"), this.guard.getRemoteWords(this.remoteDictionary, DictionaryType.MAIN_WORDS, URI.create("flaky://order")));
+	}
+
+	@Test
+	public void reloadsKeepOneConsumerPerDictionary() {
+		this.guard = new RemoteDictionaryGuard(new RemoteConfiguration.Breaker(), new WordsCache(new RemoteConfiguration.Cache()), new FreshnessTracker());
+		URI domainUri = URI.create("flaky://user");
+		IDictionary first = dictionaryType -> { };
+		IDictionary second = dictionaryType -> { };
+		this.guard.reloadDictionary(this.remoteDictionary, first, DictionaryType.MAIN_WORDS, domainUri);
+		this.guard.reloadDictionary(this.remoteDictionary, first, DictionaryType.MAIN_WORDS, domainUri);
+		this.guard.reloadDictionary(this.remoteDictionary, second, DictionaryType.MAIN_WORDS, domainUri);
+		// 词源按词典记录交付状态，同一词典的多次重新加载是同一消费者
+		Assert.assertEquals(3, this.remoteDictionary.consumers.size());
+		Assert.assertSame(this.remoteDictionary.consumers.get(0), this.remoteDictionary.consumers.get(1));
+		Assert.assertNotSame(this.remoteDictionary.consumers.get(0), this.remoteDictionary.consumers.get(2));
+	}
+
+	@Test
+	public void invalidationDuringFetchSkipsCaching() {
+		RemoteConfiguration.Cache cacheConfiguration = new RemoteConfiguration.Cache();
+		cacheConfiguration.setEnabled(true);
+		WordsCache cache = new WordsCache(cacheConfiguration);
+		this.guard = new RemoteDictionaryGuard(new RemoteConfiguration.Breaker(), cache, new FreshnessTracker());
+		URI domainUri = URI.create("flaky://user");
+		DictionaryKey dictionaryKey = DictionaryKey.of(DictionaryType.MAIN_WORDS, domainUri);
+		// 获取开始后词源检测到变化，本次获取到的词库可能已过期
+		this.remoteDictionary.fetching = () -> cache.invalidate(dictionaryKey);
+		Assert.assertEquals(Collections.singleton("redip"), this.guard.getRemoteWords(this.remoteDictionary, DictionaryType.MAIN_WORDS, domainUri));
+		Assert.assertNull(cache.get(dictionaryKey));
+
+		this.remoteDictionary.fetching = () -> { };
+		this.guard.getRemoteWords(this.remoteDictionary, Collections.singletonList(dictionaryKey));
+		Assert.assertEquals(Collections.singleton("redip"), cache.get(dictionaryKey));
+	}
+
+	private static class FlakyRemoteDictionary extends AbstractRemoteDictionary {
+
+		final AtomicBoolean failing = new AtomicBoolean();
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		final List<IDictionary> consumers = new ArrayList<>();
+
+		volatile Runnable fetching = () -> { };
+
+		FlakyRemoteDictionary() {
+			super(new RemoteConfiguration());
+		}
+
+		@Override
+		public Set<String> getRemoteWords(DictionaryType dictionaryType, String etymology, String domain) {
+			this.calls.incrementAndGet();
+			this.fetching.run();
+			if (this.failing.get()) {
+				throw new RemoteDictionaryException("flaky");
+			}
+			return new HashSet<>(Collections.singletonList("redip"));
+		}
+
+		@Override
+		protected void reloadDictionary(IDictionary dictionary, DictionaryType dictionaryType, String domain) {
+			this.consumers.add(dictionary);
+		}
+
+		@Override
+		protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
+			return false;
+		}
+
+		@Override
+		protected void closeResource() {
+
+		}
+
+		@Override
+		protected String etymology() {
+			return "flaky";
+		}
+	}
+}
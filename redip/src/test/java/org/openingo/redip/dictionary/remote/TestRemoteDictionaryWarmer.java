@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.IDictionary;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * TestRemoteDictionaryWarmer
+ *
+ * @author Qicz
+ * @since 2026/10/20 11:00
+ */
+public class TestRemoteDictionaryWarmer {
+
+	private static final RecoveringRemoteDictionary REMOTE_DICTIONARY = new RecoveringRemoteDictionary();
+
+	@BeforeClass
+	public static void initial() {
+		RemoteDictionary.initial();
+		RemoteDictionary.addRemoteDictionary(REMOTE_DICTIONARY);
+	}
+
+	@Test
+	public void failedDictionariesAreRetriedInBackground() throws Exception {
+		RemoteConfiguration.Warmup warmup = new RemoteConfiguration.Warmup();
+		warmup.setLocations(Collections.singletonList("warmup://user"));
+		warmup.setDeadline(0);
+		warmup.setRetryInterval(1);
+		RemoteDictionaryWarmer warmer = new RemoteDictionaryWarmer(warmup);
+		REMOTE_DICTIONARY.failing.set(true);
+		try {
+			WarmupStatus status = warmer.start().get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(WarmupStatus.State.DEGRADED, status.getState());
+			Assert.assertFalse(status.isReady());
+			Assert.assertEquals(2, status.getFailed().size());
+			Assert.assertFalse(warmer.ready().isDone());
+
+			// 词源恢复后，后台重试加载失败的词典并就绪
+			REMOTE_DICTIONARY.failing.set(false);
+			WarmupStatus ready = warmer.ready().get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(WarmupStatus.State.READY, ready.getState());
+			Assert.assertTrue(ready.isReady());
+			Assert.assertEquals(2, ready.getLoaded());
+			Assert.assertTrue(ready.getFailed().isEmpty());
+		} finally {
+			warmer.close();
+		}
+	}
+
+	@Test
+	public void failOpenIsReadyWithoutRetrying() throws Exception {
+		RemoteConfiguration.Warmup warmup = new RemoteConfiguration.Warmup();
+		warmup.setLocations(Collections.singletonList("warmup://order"));
+		warmup.setDeadline(0);
+		warmup.setFailOpen(true);
+		RemoteDictionaryWarmer warmer = new RemoteDictionaryWarmer(warmup);
+		REMOTE_DICTIONARY.failing.set(true);
+		try {
+			WarmupStatus status = warmer.start().get(10, TimeUnit.SECONDS);
+			Assert.assertEquals(WarmupStatus.State.DEGRADED, status.getState());
+			Assert.assertTrue(status.isReady());
+			Assert.assertTrue(warmer.ready().isDone());
+		} finally {
+			REMOTE_DICTIONARY.failing.set(false);
+			warmer.close();
+		}
+	}
+
+	private static class RecoveringRemoteDictionary extends AbstractRemoteDictionary {
+
+		final AtomicBoolean failing = new AtomicBoolean();
+
+		RecoveringRemoteDictionary() {
+			super(new RemoteConfiguration());
+		}
+
+		@Override
+		public Set<String> getRemoteWords(DictionaryType dictionaryType, String etymology, String domain) {
+			if (this.failing.get()) {
+				throw new RemoteDictionaryException("recovering");
+			}
+			return new HashSet<>(Collections.singletonList("redip"));
+		}
+
+		@Override
+		protected void reloadDictionary(IDictionary dictionary, DictionaryType dictionaryType, String domain) {
+
+		}
+
+		@Override
+		protected boolean addWord(DictionaryType dictionaryType, String domain, String... words) {
+			return false;
+		}
+
+		@Override
+		protected void closeResource() {
+
+		}
+
+		@Override
+		protected String etymology() {
+			return "warmup";
+		}
+	}
+}
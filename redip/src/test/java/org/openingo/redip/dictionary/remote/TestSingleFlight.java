@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestSingleFlight
+ *
+ * @author Qicz
+ * @since 2026/10/19 22:40
+ */
+public class TestSingleFlight {
+
+	@Test
+	public void batchJoinsInflightCall() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger singleCalls = new AtomicInteger();
+		CompletableFuture<String> single = CompletableFuture.supplyAsync(() -> flight.execute("a", () -> {
+			singleCalls.incrementAndGet();
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "a-single";
+		}));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		CountDownLatch batchLoaded = new CountDownLatch(1);
+		List<List<String>> loaded = Collections.synchronizedList(new ArrayList<>());
+		CompletableFuture<Map<String, String>> batch = CompletableFuture.supplyAsync(() -> flight.executeAll(Arrays.asList("a", "b"), keys -> {
+			loaded.add(keys);
+			Map<String, String> values = new HashMap<>();
+			keys.forEach(key -> values.put(key, key + "-batch"));
+			batchLoaded.countDown();
+			return values;
+		}));
+		// 批量调用已登记全部key后才结束进行中的调用
+		Assert.assertTrue(batchLoaded.await(5, TimeUnit.SECONDS));
+		release.countDown();
+
+		Map<String, String> values = batch.get(5, TimeUnit.SECONDS);
+		Assert.assertEquals("a-single", single.get(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1, singleCalls.get());
+		// 进行中的key不再重复获取，只批量获取其余key
+		Assert.assertEquals(Collections.singletonList(Collections.singletonList("b")), loaded);
+		Assert.assertEquals("a-single", values.get("a"));
+		Assert.assertEquals("b-batch", values.get("b"));
+	}
+
+	@Test
+	public void failedBatchReleasesKeys() {
+		SingleFlight<String, String> flight = new SingleFlight<>();
+		try {
+			flight.executeAll(Collections.singletonList("a"), keys -> {
+				throw new IllegalStateException("down");
+			});
+			Assert.fail();
+		} catch (IllegalStateException expected) {
+			// 失败后key被释放
+		}
+		Assert.assertEquals("a", flight.execute("a", () -> "a"));
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+
+import java.util.Collections;
+
+/**
+ * TestWordsBudget
+ *
+ * @author Qicz
+ * @since 2026/10/20 11:50
+ */
+public class TestWordsBudget {
+
+	@Test
+	public void unlimitedBudgetIsNull() {
+		Assert.assertNull(WordsBudget.of(null, "user"));
+		Assert.assertNull(WordsBudget.of(new RemoteConfiguration.Budget(), "user"));
+	}
+
+	@Test
+	public void maxWordsNarrowsPages() {
+		RemoteConfiguration.Budget budget = new RemoteConfiguration.Budget();
+		budget.setMaxWords(3L);
+		WordsBudget wordsBudget = WordsBudget.of(budget, "user");
+		Assert.assertEquals(3, wordsBudget.pageSize());
+		Assert.assertTrue(wordsBudget.add("a"));
+		Assert.assertTrue(wordsBudget.add("b"));
+		Assert.assertEquals(1, wordsBudget.pageSize());
+		Assert.assertTrue(wordsBudget.hasNextPage(1, 1));
+		Assert.assertTrue(wordsBudget.add("c"));
+		Assert.assertTrue(wordsBudget.isExhausted());
+		Assert.assertFalse(wordsBudget.hasNextPage(1, 1));
+		Assert.assertFalse(wordsBudget.add("d"));
+	}
+
+	@Test
+	public void maxBytesStopsAtFirstOverflow() {
+		RemoteConfiguration.Budget budget = new RemoteConfiguration.Budget();
+		budget.setMaxBytes(WordsCache.estimateBytes("short") + WordsCache.estimateBytes("tiny"));
+		WordsBudget wordsBudget = WordsBudget.of(budget, "user");
+		Assert.assertTrue(wordsBudget.add("short"));
+		Assert.assertFalse(wordsBudget.isExhausted());
+		Assert.assertFalse(wordsBudget.add("a much longer word"));
+		// 超出后预算用尽，不再读取下一页
+		Assert.assertTrue(wordsBudget.isExhausted());
+		Assert.assertFalse(wordsBudget.hasNextPage(10, 10));
+	}
+
+	@Test
+	public void domainBudgetOverridesDefault() {
+		RemoteConfiguration.Budget budget = new RemoteConfiguration.Budget();
+		budget.setMaxWords(1L);
+		budget.setDomains(Collections.singletonMap("unlimited", new RemoteConfiguration.Budget()));
+		Assert.assertNotNull(WordsBudget.of(budget, "user"));
+		Assert.assertNull(WordsBudget.of(budget, "unlimited"));
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.dictionary.remote;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.configuration.RemoteConfiguration;
+import org.openingo.redip.constants.DictionaryType;
+import org.openingo.redip.dictionary.DictionaryKey;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * TestWordsCache
+ *
+ * @author Qicz
+ * @since 2026/10/20 10:40
+ */
+public class TestWordsCache {
+
+	private static final DictionaryKey USER = DictionaryKey.of("mysql", DictionaryType.MAIN_WORDS, "user");
+
+	private static final DictionaryKey ORDER = DictionaryKey.of("mysql", DictionaryType.MAIN_WORDS, "order");
+
+	private static final DictionaryKey GOODS = DictionaryKey.of("mysql", DictionaryType.MAIN_WORDS, "goods");
+
+	@Test
+	public void wordsFetchedBeforeInvalidationAreNotCached() {
+		WordsCache cache = this.cache(60, 0L);
+		long generation = cache.generation(USER);
+		// 获取期间词源检测到变化
+		cache.invalidate(USER);
+		cache.put(USER, words("stale"), generation);
+		Assert.assertNull(cache.get(USER));
+
+		cache.put(USER, words("fresh"), cache.generation(USER));
+		Assert.assertEquals(words("fresh"), cache.get(USER));
+		// 其他词典的失效不影响
+		long orderGeneration = cache.generation(ORDER);
+		cache.invalidate(USER);
+		cache.put(ORDER, words("order"), orderGeneration);
+		Assert.assertEquals(words("order"), cache.get(ORDER));
+	}
+
+	@Test
+	public void expiresAfterTtl() throws InterruptedException {
+		WordsCache cache = this.cache(1, 0L);
+		cache.put(USER, words("redip"), cache.generation(USER));
+		Assert.assertEquals(words("redip"), cache.get(USER));
+		Thread.sleep(1100);
+		Assert.assertNull(cache.get(USER));
+		Assert.assertEquals(1, cache.stats().getExpirations());
+		Assert.assertEquals(0, cache.stats().getSize());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedBeyondBound() {
+		WordsCache cache = this.cache(60, 3L);
+		cache.put(USER, words("u1", "u2"), cache.generation(USER));
+		cache.put(ORDER, words("o1"), cache.generation(ORDER));
+		// 访问后user成为最近使用
+		Assert.assertNotNull(cache.get(USER));
+		cache.put(GOODS, words("g1"), cache.generation(GOODS));
+		Assert.assertNull(cache.get(ORDER));
+		Assert.assertNotNull(cache.get(USER));
+		Assert.assertNotNull(cache.get(GOODS));
+		Assert.assertEquals(1, cache.stats().getEvictions());
+		Assert.assertEquals(3, cache.stats().getWords());
+
+		// 超过容量的词库不缓存，也不淘汰其他词库
+		DictionaryKey large = DictionaryKey.of("mysql", DictionaryType.STOP_WORDS, "user");
+		cache.put(large, words("a", "b", "c", "d"), cache.generation(large));
+		Assert.assertNull(cache.get(large));
+		Assert.assertEquals(2, cache.stats().getSize());
+	}
+
+	private WordsCache cache(int ttl, Long maxWords) {
+		RemoteConfiguration.Cache cache = new RemoteConfiguration.Cache();
+		cache.setEnabled(true);
+		cache.setTtl(ttl);
+		cache.setMaxWords(maxWords);
+		return new WordsCache(cache);
+	}
+
+	private static Set<String> words(String... words) {
+		return new HashSet<>(Arrays.asList(words));
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OpeningO Co.,Ltd.
+ *
+ *    https://openingo.org
+ *    contactus(at)openingo.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.openingo.redip.helper;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openingo.redip.codec.DictionaryBinaryCodec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * TestWordInterner
+ *
+ * @author Qicz
+ * @since 2026/10/20 11:20
+ */
+public class TestWordInterner {
+
+	@After
+	public void tearDown() {
+		WordInterner.setEnabled(true);
+	}
+
+	@Test
+	public void equalWordsShareInstance() {
+		String word = new String("interned-word");
+		String copy = new String("interned-word");
+		WordInternerStats before = WordInterner.stats();
+		Assert.assertSame(word, WordInterner.intern(word));
+		Assert.assertSame(word, WordInterner.intern(copy));
+		WordInternerStats after = WordInterner.stats();
+		Assert.assertEquals(2, after.getReferenced() - before.getReferenced());
+		Assert.assertEquals(1, after.getHits() - before.getHits());
+		Assert.assertTrue(after.getSavedBytes() > before.getSavedBytes());
+	}
+
+	@Test
+	public void disabledReturnsSameInstance() {
+		WordInterner.setEnabled(false);
+		String word = new String("disabled-word");
+		String copy = new String("disabled-word");
+		Assert.assertSame(word, WordInterner.intern(word));
+		Assert.assertSame(copy, WordInterner.intern(copy));
+		Assert.assertNull(WordInterner.intern(null));
+	}
+
+	@Test
+	public void decodedDictionariesShareWords() throws IOException {
+		// 两个领域的词库各自解码，相同的词共用同一实例
+		Set<String> first = DictionaryBinaryCodec.decode(DictionaryBinaryCodec.encode(Arrays.asList("中华人民", "domain-a")));
+		Set<String> second = DictionaryBinaryCodec.decode(DictionaryBinaryCodec.encode(Arrays.asList("中华人民", "domain-b")));
+		Assert.assertSame(this.find(first, "中华人民"), this.find(second, "中华人民"));
+	}
+
+	private String find(Set<String> words, String word) {
+		return words.stream().filter(word::equals).findFirst().orElseThrow(AssertionError::new);
+	}
+}